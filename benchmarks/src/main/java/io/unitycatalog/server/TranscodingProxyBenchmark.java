@@ -0,0 +1,153 @@
+package io.unitycatalog.server;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.MediaType;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import io.unitycatalog.server.utils.TestUtils;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency of requests served by the server directly with requests that go through
+ * the Vert.x URL transcoding proxy that used to run in front of it. The proxy is reproduced here
+ * as it was: it buffers the request body, forwards the request over a second connection, and
+ * buffers the response before writing it back.
+ *
+ * <p>Requests are sent by several threads at once, and the sample time mode reports latency
+ * percentiles, including p99. Listing catalogs returns a large response, and the Iceberg config
+ * call a small one.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run TranscodingProxyBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class TranscodingProxyBenchmark {
+
+  private static final String API_PATH = "/api/2.1/unity-catalog/";
+  private static final int CATALOGS = 200;
+
+  @Param({"direct", "proxied"})
+  public String route;
+
+  private UnityCatalogServer server;
+  private Vertx vertx;
+  private WebClient client;
+
+  @Setup
+  public void setUp() {
+    int port = TestUtils.getRandomPort();
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    server =
+        UnityCatalogServer.builder()
+            .port(port)
+            .serverProperties(new ServerProperties(properties))
+            .build();
+    server.start();
+
+    int clientPort = port;
+    if (route.equals("proxied")) {
+      clientPort = port + 1;
+      vertx = Vertx.vertx();
+      startProxy(vertx, clientPort, port);
+    }
+    client = WebClient.of("http://localhost:" + clientPort);
+
+    for (int i = 0; i < CATALOGS; i++) {
+      String body = "{\"name\":\"catalog_" + i + "\",\"comment\":\"" + "x".repeat(200) + "\"}";
+      AggregatedHttpResponse response =
+          client
+              .execute(
+                  HttpRequest.of(
+                      HttpMethod.POST, API_PATH + "catalogs", MediaType.JSON_UTF_8, body))
+              .aggregate()
+              .join();
+      if (!response.status().isSuccess()) {
+        throw new IllegalStateException("Failed to create catalog: " + response.contentUtf8());
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (vertx != null) {
+      vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+    server.stop();
+  }
+
+  @Benchmark
+  public String listCatalogs() {
+    return client.get(API_PATH + "catalogs").aggregate().join().contentUtf8();
+  }
+
+  @Benchmark
+  public String icebergConfig() {
+    return client
+        .get(API_PATH + "iceberg/v1/config?warehouse=catalog_0")
+        .aggregate()
+        .join()
+        .contentUtf8();
+  }
+
+  /** Starts the URL transcoding proxy the way the server used to run it. */
+  private static void startProxy(Vertx vertx, int proxyPort, int servicePort) {
+    HttpServer proxy = vertx.createHttpServer();
+    io.vertx.ext.web.client.WebClient proxyClient =
+        io.vertx.ext.web.client.WebClient.create(vertx, new WebClientOptions());
+    proxy.requestHandler(
+        request ->
+            request
+                .body()
+                .compose(
+                    buffer -> {
+                      String path = request.path().replace("%1F", ".");
+                      io.vertx.ext.web.client.HttpRequest<Buffer> serviceRequest =
+                          proxyClient.request(request.method(), servicePort, "127.0.0.1", path);
+                      serviceRequest.putHeaders(request.headers());
+                      for (Map.Entry<String, String> entry : request.params()) {
+                        serviceRequest.addQueryParam(
+                            entry.getKey(), entry.getValue().replace('\u001f', '.'));
+                      }
+                      return serviceRequest.sendBuffer(buffer);
+                    })
+                .compose(
+                    serviceResponse -> {
+                      HttpServerResponse response = request.response();
+                      response.setStatusCode(serviceResponse.statusCode());
+                      for (Map.Entry<String, String> entry : serviceResponse.headers()) {
+                        response.putHeader(entry.getKey(), entry.getValue());
+                      }
+                      return response.end(serviceResponse.bodyAsBuffer());
+                    }));
+    proxy.listen(proxyPort).toCompletionStage().toCompletableFuture().join();
+  }
+}
@@ -0,0 +1,126 @@
+package io.unitycatalog.server.auth.decorator;
+
+import io.unitycatalog.server.auth.AllowingAuthorizer;
+import io.unitycatalog.server.auth.UnityCatalogAuthorizer;
+import io.unitycatalog.server.auth.annotation.AuthorizeExpression;
+import io.unitycatalog.server.model.SecurableType;
+import io.unitycatalog.server.service.CatalogService;
+import io.unitycatalog.server.service.CredentialService;
+import io.unitycatalog.server.service.DeltaCommitsService;
+import io.unitycatalog.server.service.ExternalLocationService;
+import io.unitycatalog.server.service.FunctionService;
+import io.unitycatalog.server.service.ModelService;
+import io.unitycatalog.server.service.PermissionService;
+import io.unitycatalog.server.service.SchemaService;
+import io.unitycatalog.server.service.Scim2SelfService;
+import io.unitycatalog.server.service.Scim2UserService;
+import io.unitycatalog.server.service.StagingTableService;
+import io.unitycatalog.server.service.TableService;
+import io.unitycatalog.server.service.TemporaryPathCredentialsService;
+import io.unitycatalog.server.service.VolumeService;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.Expression;
+
+/**
+ * Measures {@link UnityAccessEvaluator#evaluate} with the expressions of the
+ * {@code @AuthorizeExpression} annotations of the services. By default each call evaluates the
+ * next of all the expressions, so the score is the average over the whole API; {@code -p
+ * method=TableService.getTable} restricts it to one method.
+ *
+ * <p>An authorizer that allows everything stops at the first clause of an expression that grants
+ * access; one that denies everything evaluates every clause. Neither looks up policies, so this
+ * measures the evaluator itself.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run AccessEvaluatorBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessEvaluatorBenchmark {
+
+  private static final Class<?>[] SERVICES = {
+    CatalogService.class,
+    CredentialService.class,
+    DeltaCommitsService.class,
+    ExternalLocationService.class,
+    FunctionService.class,
+    ModelService.class,
+    PermissionService.class,
+    SchemaService.class,
+    Scim2SelfService.class,
+    Scim2UserService.class,
+    StagingTableService.class,
+    TableService.class,
+    TemporaryPathCredentialsService.class,
+    VolumeService.class,
+  };
+
+  @Param({"all"})
+  public String method;
+
+  @Param({"allowing", "denying"})
+  public String authorizer;
+
+  private UnityAccessEvaluator evaluator;
+  private Expression[] expressions;
+  private UUID principal;
+  private Map<SecurableType, Object> resourceIds;
+  private int next;
+
+  @Setup
+  public void setUp() throws Exception {
+    UnityCatalogAuthorizer delegate =
+        authorizer.equals("allowing")
+            ? new AllowingAuthorizer()
+            : new AuthorizationPlanBenchmark.DenyingAuthorizer();
+    evaluator = new UnityAccessEvaluator(delegate);
+
+    // Sorted by method name, so that every run evaluates them in the same order.
+    Map<String, Expression> byMethod = new TreeMap<>();
+    for (Class<?> service : SERVICES) {
+      for (Method serviceMethod : service.getDeclaredMethods()) {
+        AuthorizeExpression annotation = serviceMethod.getAnnotation(AuthorizeExpression.class);
+        String name = service.getSimpleName() + "." + serviceMethod.getName();
+        if (annotation != null && (method.equals("all") || method.equals(name))) {
+          byMethod.put(name, evaluator.compile(annotation.value()));
+        }
+      }
+    }
+    if (byMethod.isEmpty()) {
+      throw new IllegalArgumentException("No @AuthorizeExpression found for " + method);
+    }
+    expressions = byMethod.values().toArray(new Expression[0]);
+
+    principal = UUID.randomUUID();
+    resourceIds = new EnumMap<>(SecurableType.class);
+    for (SecurableType type : SecurableType.values()) {
+      resourceIds.put(type, UUID.randomUUID());
+    }
+  }
+
+  @Benchmark
+  public boolean evaluate() {
+    Expression expression = expressions[next];
+    next = (next + 1) % expressions.length;
+    return evaluator.evaluate(principal, expression, resourceIds);
+  }
+}
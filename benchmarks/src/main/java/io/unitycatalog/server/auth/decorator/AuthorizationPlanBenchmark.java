@@ -0,0 +1,162 @@
+package io.unitycatalog.server.auth.decorator;
+
+import static io.unitycatalog.server.auth.decorator.KeyLocator.Source.PARAM;
+import static io.unitycatalog.server.auth.decorator.KeyLocator.Source.SYSTEM;
+
+import io.unitycatalog.server.auth.AllowingAuthorizer;
+import io.unitycatalog.server.auth.annotation.AuthorizeExpression;
+import io.unitycatalog.server.auth.annotation.AuthorizeKey;
+import io.unitycatalog.server.model.SecurableType;
+import io.unitycatalog.server.persist.model.Privileges;
+import io.unitycatalog.server.service.TableService;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Compares the per-request cost of authorizing {@code TableService.getTable} with a precompiled
+ * {@link AuthorizationPlan} against resolving the method annotations and parsing the expression
+ * on every request, which is what the access decorator used to do.
+ *
+ * <p>The authorizer denies everything so that the whole expression is evaluated, and resource ids
+ * are already resolved; this measures the decorator overhead, not the policy lookups.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run AuthorizationPlanBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationPlanBenchmark {
+
+  private static final String SERVICE_CLASS = TableService.class.getName();
+  private static final String SERVICE_METHOD = "getTable";
+
+  private DenyingAuthorizer authorizer;
+  private UnityAccessEvaluator evaluator;
+  private AuthorizationPlan plan;
+  private UUID principal;
+  private Map<SecurableType, Object> resourceIds;
+  private SpelExpressionParser parser;
+  private MethodHandle authorizeHandle;
+  private MethodHandle authorizeAnyHandle;
+
+  @Setup
+  public void setUp() throws Exception {
+    authorizer = new DenyingAuthorizer();
+    evaluator = new UnityAccessEvaluator(authorizer);
+    List<Method> methods =
+        AuthorizationPlanRegistry.findMethodsByName(TableService.class, SERVICE_METHOD);
+    plan = AuthorizationPlan.forMethod(methods.get(0), evaluator);
+    principal = UUID.randomUUID();
+    resourceIds =
+        Map.of(
+            SecurableType.METASTORE, UUID.randomUUID(),
+            SecurableType.CATALOG, UUID.randomUUID(),
+            SecurableType.SCHEMA, UUID.randomUUID(),
+            SecurableType.TABLE, UUID.randomUUID());
+
+    parser = new SpelExpressionParser();
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    authorizeHandle =
+        lookup
+            .findVirtual(
+                DenyingAuthorizer.class,
+                "authorize",
+                MethodType.methodType(boolean.class, UUID.class, UUID.class, Privileges.class))
+            .bindTo(authorizer);
+    authorizeAnyHandle =
+        lookup
+            .findVirtual(
+                DenyingAuthorizer.class,
+                "authorizeAnyOf",
+                MethodType.methodType(boolean.class, Object[].class))
+            .bindTo(authorizer);
+  }
+
+  @Benchmark
+  public boolean precompiledPlan(Blackhole blackhole) {
+    Map<SecurableType, Object> keys = new HashMap<>();
+    plan.getSystemLocators().forEach(l -> keys.put(l.getType(), "metastore"));
+    plan.getParamLocators().forEach(l -> keys.put(l.getType(), "catalog.schema.table"));
+    blackhole.consume(keys);
+    return evaluator.evaluate(principal, plan.getExpression(), resourceIds);
+  }
+
+  @Benchmark
+  public boolean perRequestResolution(Blackhole blackhole) throws Exception {
+    // Method lookup, annotation scan and locator construction.
+    Method method = null;
+    for (Method candidate : Class.forName(SERVICE_CLASS).getDeclaredMethods()) {
+      if (candidate.getName().equals(SERVICE_METHOD)) {
+        method = candidate;
+      }
+    }
+    String expression = method.getAnnotation(AuthorizeExpression.class).value();
+    List<KeyLocator> locators = new ArrayList<>();
+    AuthorizeKey methodKey = method.getAnnotation(AuthorizeKey.class);
+    locators.add(KeyLocator.builder().source(SYSTEM).type(methodKey.value()).build());
+    for (Parameter parameter : method.getParameters()) {
+      AuthorizeKey key = parameter.getAnnotation(AuthorizeKey.class);
+      if (key != null) {
+        locators.add(KeyLocator.builder().source(PARAM).type(key.value()).build());
+      }
+    }
+    Map<SecurableType, Object> keys = new HashMap<>();
+    locators.forEach(l -> keys.put(l.getType(), "catalog.schema.table"));
+    blackhole.consume(keys);
+
+    // Parse and build a fresh evaluation context, as UnityAccessEvaluator used to on every call.
+    StandardEvaluationContext context = new StandardEvaluationContext(Privileges.class);
+    context.registerFunction("authorize", authorizeHandle);
+    context.registerFunction("authorizeAny", authorizeAnyHandle);
+    context.setVariable("principal", principal);
+    resourceIds.forEach((k, v) -> context.setVariable(k.name().toLowerCase(), v));
+    return parser.parseExpression(expression).getValue(context, Boolean.class);
+  }
+
+  /** Denies everything, so that every clause of an expression gets evaluated. */
+  public static class DenyingAuthorizer extends AllowingAuthorizer {
+    @Override
+    public boolean authorize(UUID principal, UUID resource, Privileges action) {
+      return false;
+    }
+
+    @Override
+    public boolean authorizeAny(UUID principal, UUID resource, Privileges... actions) {
+      return false;
+    }
+
+    @Override
+    public boolean authorizeAll(UUID principal, UUID resource, Privileges... actions) {
+      return false;
+    }
+
+    public boolean authorizeAnyOf(Object... parameters) {
+      return false;
+    }
+  }
+}
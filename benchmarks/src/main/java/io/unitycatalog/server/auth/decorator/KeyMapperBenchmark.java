@@ -0,0 +1,130 @@
+package io.unitycatalog.server.auth.decorator;
+
+import static io.unitycatalog.server.model.SecurableType.CATALOG;
+import static io.unitycatalog.server.model.SecurableType.FUNCTION;
+import static io.unitycatalog.server.model.SecurableType.METASTORE;
+import static io.unitycatalog.server.model.SecurableType.SCHEMA;
+import static io.unitycatalog.server.model.SecurableType.TABLE;
+import static io.unitycatalog.server.model.SecurableType.VOLUME;
+import static io.unitycatalog.server.utils.BenchmarkDataGenerator.catalogName;
+import static io.unitycatalog.server.utils.BenchmarkDataGenerator.schemaName;
+
+import io.unitycatalog.server.model.SecurableType;
+import io.unitycatalog.server.persist.Repositories;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.utils.BenchmarkDataGenerator;
+import io.unitycatalog.server.utils.BenchmarkDataGenerator.Shape;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures resolving the resource keys of a request to resource ids with {@link KeyMapper}, as the
+ * access decorator does before every authorization check, for a random entity of an H2 database
+ * populated by {@link BenchmarkDataGenerator} with its default shape of 100,000 tables.
+ *
+ * <p>The keys are those of the corresponding requests: the three name parts of a table, volume or
+ * function, a table addressed by full name or by id, a schema or a catalog, each along with the
+ * metastore.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run KeyMapperBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class KeyMapperBenchmark {
+
+  private static final Shape SHAPE = Shape.DEFAULT;
+
+  @Param({"table", "tableFullName", "tableId", "volume", "function", "schema", "catalog"})
+  public String keys;
+
+  private SessionFactory sessionFactory;
+  private KeyMapper keyMapper;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    ServerProperties serverProperties = new ServerProperties(properties);
+    sessionFactory = new HibernateConfigurator(serverProperties).getSessionFactory();
+    Repositories repositories = new Repositories(sessionFactory, serverProperties);
+    repositories.getMetastoreRepository().initMetastoreIfNeeded();
+    BenchmarkDataGenerator.populate(sessionFactory, repositories, SHAPE);
+    keyMapper = new KeyMapper(repositories);
+  }
+
+  @TearDown
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public Map<SecurableType, Object> mapResourceKeys() {
+    return keyMapper.mapResourceKeys(randomResourceKeys());
+  }
+
+  private Map<SecurableType, Object> randomResourceKeys() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int c = random.nextInt(SHAPE.catalogs());
+    int s = random.nextInt(SHAPE.schemasPerCatalog());
+    int t = random.nextInt(SHAPE.tablesPerSchema());
+    int v = random.nextInt(SHAPE.volumesPerSchema());
+    return switch (keys) {
+      case "table" -> Map.of(
+          METASTORE,
+          "metastore",
+          CATALOG,
+          catalogName(c),
+          SCHEMA,
+          schemaName(s),
+          TABLE,
+          BenchmarkDataGenerator.tableName(t));
+      case "tableFullName" -> Map.of(
+          METASTORE, "metastore", TABLE, BenchmarkDataGenerator.tableFullName(c, s, t));
+      case "tableId" -> Map.of(
+          METASTORE, "metastore", TABLE, BenchmarkDataGenerator.tableId(c, s, t).toString());
+      case "volume" -> Map.of(
+          METASTORE,
+          "metastore",
+          CATALOG,
+          catalogName(c),
+          SCHEMA,
+          schemaName(s),
+          VOLUME,
+          BenchmarkDataGenerator.volumeName(v));
+      case "function" -> Map.of(
+          METASTORE,
+          "metastore",
+          CATALOG,
+          catalogName(c),
+          SCHEMA,
+          schemaName(s),
+          FUNCTION,
+          BenchmarkDataGenerator.FUNCTION_NAME);
+      case "schema" -> Map.of(
+          METASTORE, "metastore", CATALOG, catalogName(c), SCHEMA, schemaName(s));
+      case "catalog" -> Map.of(METASTORE, "metastore", CATALOG, catalogName(c));
+      default -> throw new IllegalArgumentException("Unknown keys: " + keys);
+    };
+  }
+}
@@ -0,0 +1,619 @@
+package io.unitycatalog.server.load;
+
+import static io.unitycatalog.server.security.SecurityContext.Issuers.INTERNAL;
+
+import com.auth0.jwt.JWT;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.unitycatalog.client.ApiClient;
+import io.unitycatalog.client.ApiException;
+import io.unitycatalog.client.api.CatalogsApi;
+import io.unitycatalog.client.api.DeltaCommitsApi;
+import io.unitycatalog.client.api.GrantsApi;
+import io.unitycatalog.client.api.SchemasApi;
+import io.unitycatalog.client.api.TablesApi;
+import io.unitycatalog.client.api.TemporaryCredentialsApi;
+import io.unitycatalog.client.model.ColumnInfo;
+import io.unitycatalog.client.model.ColumnTypeName;
+import io.unitycatalog.client.model.CreateCatalog;
+import io.unitycatalog.client.model.CreateSchema;
+import io.unitycatalog.client.model.CreateStagingTable;
+import io.unitycatalog.client.model.CreateTable;
+import io.unitycatalog.client.model.DataSourceFormat;
+import io.unitycatalog.client.model.DeltaCommit;
+import io.unitycatalog.client.model.DeltaCommitInfo;
+import io.unitycatalog.client.model.DeltaGetCommits;
+import io.unitycatalog.client.model.GenerateTemporaryTableCredential;
+import io.unitycatalog.client.model.PermissionsChange;
+import io.unitycatalog.client.model.Privilege;
+import io.unitycatalog.client.model.SecurableType;
+import io.unitycatalog.client.model.StagingTableInfo;
+import io.unitycatalog.client.model.TableOperation;
+import io.unitycatalog.client.model.TableType;
+import io.unitycatalog.client.model.UpdatePermissions;
+import io.unitycatalog.control.api.UsersApi;
+import io.unitycatalog.control.model.Email;
+import io.unitycatalog.control.model.UserResource;
+import io.unitycatalog.server.UnityCatalogServer;
+import io.unitycatalog.server.base.ServerConfig;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.load.LatencyRecorder.Outcome;
+import io.unitycatalog.server.load.LatencyRecorder.Summary;
+import io.unitycatalog.server.persist.model.Privileges;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.security.SecurityConfiguration;
+import io.unitycatalog.server.security.SecurityContext;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import io.unitycatalog.server.utils.TestUtils;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+/**
+ * A load test of the server as a whole. Starts {@link UnityCatalogServer} in-process with
+ * authorization enabled, the way {@code BaseServerTest} does, populates catalogs, schemas, external
+ * and managed tables and the grants of a few users, and then drives a weighted mix of operations
+ * from many concurrent clients:
+ *
+ * <ul>
+ *   <li>{@code getTable} and {@code listTables} of a random table or schema;
+ *   <li>{@code vendCredentials}, temporary credentials for a random external table, which live in
+ *       S3 and are vended by {@link LocalCredentialsGenerator} instead of AWS STS;
+ *   <li>{@code postCommit} and {@code getCommits}, Delta commits to and reads of a random managed
+ *       table. A commit that loses a race with another client is a conflict, not an error; its
+ *       latency includes reading the latest version;
+ *   <li>{@code icebergLoadTable} of a random external table, through the Iceberg REST catalog.
+ * </ul>
+ *
+ * <p>Each client runs on a virtual thread when the JVM supports them, and issues one request at a
+ * time. Requests made during the warmup are not measured. The report holds the error rate, the
+ * throughput and the p50, p99 and p999 latency of each operation, as JSON; the throughput and the
+ * latencies leave out failed requests. Given the report of an earlier run as {@code --baseline},
+ * the run fails if the error rate, the p99 latency or the throughput of an operation is worse by
+ * more than {@code --max-regression}, or if an operation fails that did not fail in the baseline;
+ * see {@link LoadTestConfig} for all options.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/runMain io.unitycatalog.server.load.CatalogLoadTest
+ * --clients=256 --duration-seconds=60"}.
+ */
+public class CatalogLoadTest {
+
+  private static final String BUCKET = "uc-load-test";
+  private static final String API_PATH = "/api/2.1/unity-catalog";
+  private static final int LIST_PAGE_SIZE = 50;
+  private static final int MAX_LOGGED_ERRORS = 10;
+  private static final List<ColumnInfo> COLUMNS =
+      List.of(
+          new ColumnInfo()
+              .name("id")
+              .typeText("INTEGER")
+              .typeJson("{\"type\": \"integer\"}")
+              .typeName(ColumnTypeName.INT)
+              .position(0)
+              .nullable(true));
+
+  private record SchemaRef(String catalog, String schema) {}
+
+  private record TableRef(String catalog, String schema, String name, String tableId) {
+    String fullName() {
+      return catalog + "." + schema + "." + name;
+    }
+  }
+
+  /** A managed table, with the latest version the clients know it to have. */
+  private record ManagedTable(String tableId, String storageLocation, AtomicLong version) {}
+
+  /** The clients of a user, shared by all the load test clients that authenticate as it. */
+  private record UserClients(
+      String token,
+      TablesApi tables,
+      TemporaryCredentialsApi credentials,
+      DeltaCommitsApi commits) {}
+
+  private final LoadTestConfig config;
+  private final List<SchemaRef> schemas = new ArrayList<>();
+  private final List<TableRef> tables = new ArrayList<>();
+  private final List<ManagedTable> managedTables = new ArrayList<>();
+  private final List<UserClients> users = new ArrayList<>();
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private final AtomicInteger loggedErrors = new AtomicInteger();
+  private ServerProperties serverProperties;
+  private UnityCatalogServer server;
+  private String serverUrl;
+
+  CatalogLoadTest(LoadTestConfig config) {
+    this.config = config;
+  }
+
+  public static void main(String[] args) throws Exception {
+    CatalogLoadTest loadTest = new CatalogLoadTest(LoadTestConfig.parse(args));
+    int status;
+    try {
+      loadTest.startServer();
+      loadTest.populate();
+      status = loadTest.report(loadTest.run());
+    } finally {
+      loadTest.stopServer();
+    }
+    System.exit(status);
+  }
+
+  private void startServer() {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    properties.setProperty(Property.AUTHORIZATION_ENABLED.getKey(), "enable");
+    properties.setProperty(Property.MANAGED_TABLE_ENABLED.getKey(), "true");
+    properties.setProperty("s3.bucketPath.0", "s3://" + BUCKET);
+    properties.setProperty("s3.accessKey.0", "accessKey");
+    properties.setProperty("s3.secretKey.0", "secretKey");
+    properties.setProperty("s3.sessionToken.0", "sessionToken");
+    properties.setProperty("s3.credentialsGenerator.0", LocalCredentialsGenerator.class.getName());
+    LocalCredentialsGenerator.setLatency(Duration.ofMillis(config.credentialsLatencyMs()));
+    serverProperties = new ServerProperties(properties);
+
+    int port = TestUtils.getRandomPort();
+    server = UnityCatalogServer.builder().port(port).serverProperties(serverProperties).build();
+    server.start();
+    serverUrl = "http://localhost:" + port;
+  }
+
+  private void stopServer() {
+    if (server != null) {
+      server.stop();
+    }
+  }
+
+  /** Creates the users, catalogs, schemas and tables, and grants the users access to all. */
+  private void populate() throws Exception {
+    if (config.managedTablesPerSchema() == 0
+        && (config.mix().containsKey(Operation.POST_COMMIT)
+            || config.mix().containsKey(Operation.GET_COMMITS))) {
+      throw new IllegalArgumentException("Delta commits need --managed-tables-per-schema > 0");
+    }
+    System.out.println("Populating the metastore...");
+    Path configurationFolder = Path.of("etc", "conf");
+    SecurityConfiguration securityConfiguration = new SecurityConfiguration(configurationFolder);
+    SecurityContext securityContext =
+        new SecurityContext(configurationFolder, securityConfiguration, "server", INTERNAL);
+    ServerConfig adminConfig = new ServerConfig(serverUrl, securityContext.createServiceToken());
+    ApiClient adminClient = TestUtils.createApiClient(adminConfig);
+    CatalogsApi catalogsApi = new CatalogsApi(adminClient);
+    SchemasApi schemasApi = new SchemasApi(adminClient);
+    TablesApi tablesApi = new TablesApi(adminClient);
+    GrantsApi grantsApi = new GrantsApi(adminClient);
+
+    UsersApi usersApi = new UsersApi(controlApiClient(adminConfig));
+    List<String> emails = new ArrayList<>();
+    for (int u = 0; u < config.users(); u++) {
+      String email = String.format("load-user-%d@example.com", u);
+      usersApi.createUser(
+          new UserResource()
+              .displayName("Load user " + u)
+              .emails(List.of(new Email().value(email).primary(true))));
+      emails.add(email);
+      String token =
+          JWT.create()
+              .withSubject(email)
+              .withIssuer(INTERNAL)
+              .withIssuedAt(new Date())
+              .withKeyId(securityConfiguration.getKeyId())
+              .withJWTId(UUID.randomUUID().toString())
+              .withClaim("email", email)
+              .sign(securityConfiguration.algorithmRSA());
+      ApiClient userClient = TestUtils.createApiClient(new ServerConfig(serverUrl, token));
+      users.add(
+          new UserClients(
+              token,
+              new TablesApi(userClient),
+              new TemporaryCredentialsApi(userClient),
+              new DeltaCommitsApi(userClient)));
+    }
+
+    for (int c = 0; c < config.catalogs(); c++) {
+      String catalog = String.format("catalog_%03d", c);
+      catalogsApi.createCatalog(new CreateCatalog().name(catalog));
+      grant(grantsApi, emails, SecurableType.CATALOG, catalog, Privileges.USE_CATALOG);
+      for (int s = 0; s < config.schemasPerCatalog(); s++) {
+        String schema = String.format("schema_%03d", s);
+        schemasApi.createSchema(new CreateSchema().name(schema).catalogName(catalog));
+        grant(
+            grantsApi, emails, SecurableType.SCHEMA, catalog + "." + schema, Privileges.USE_SCHEMA);
+        schemas.add(new SchemaRef(catalog, schema));
+        for (int t = 0; t < config.tablesPerSchema(); t++) {
+          String name = String.format("table_%05d", t);
+          String tableId =
+              tablesApi
+                  .createTable(
+                      newTable(catalog, schema, name)
+                          .tableType(TableType.EXTERNAL)
+                          .storageLocation(
+                              String.format("s3://%s/%s/%s/%s", BUCKET, catalog, schema, name)))
+                  .getTableId();
+          TableRef table = new TableRef(catalog, schema, name, tableId);
+          grant(grantsApi, emails, SecurableType.TABLE, table.fullName(), Privileges.SELECT);
+          tables.add(table);
+        }
+        for (int t = 0; t < config.managedTablesPerSchema(); t++) {
+          String name = String.format("managed_%05d", t);
+          StagingTableInfo staging =
+              tablesApi.createStagingTable(
+                  new CreateStagingTable().catalogName(catalog).schemaName(schema).name(name));
+          String tableId =
+              tablesApi
+                  .createTable(
+                      newTable(catalog, schema, name)
+                          .tableType(TableType.MANAGED)
+                          .storageLocation(staging.getStagingLocation()))
+                  .getTableId();
+          grant(
+              grantsApi,
+              emails,
+              SecurableType.TABLE,
+              catalog + "." + schema + "." + name,
+              Privileges.SELECT,
+              Privileges.MODIFY);
+          managedTables.add(
+              new ManagedTable(tableId, staging.getStagingLocation(), new AtomicLong()));
+        }
+      }
+    }
+    addIcebergMetadata();
+    System.out.printf(
+        "Populated %d schemas, %d external and %d managed tables for %d users.%n",
+        schemas.size(), tables.size(), managedTables.size(), users.size());
+  }
+
+  private static CreateTable newTable(String catalog, String schema, String name) {
+    return new CreateTable()
+        .name(name)
+        .catalogName(catalog)
+        .schemaName(schema)
+        .columns(COLUMNS)
+        .dataSourceFormat(DataSourceFormat.DELTA);
+  }
+
+  private static void grant(
+      GrantsApi grantsApi,
+      List<String> emails,
+      SecurableType securableType,
+      String fullName,
+      Privileges... privileges)
+      throws ApiException {
+    List<Privilege> added =
+        Arrays.stream(privileges).map(p -> Privilege.fromValue(p.getValue())).toList();
+    List<PermissionsChange> changes =
+        emails.stream()
+            .map(email -> new PermissionsChange().principal(email).add(added).remove(List.of()))
+            .toList();
+    grantsApi.update(securableType, fullName, new UpdatePermissions().changes(changes));
+  }
+
+  private static io.unitycatalog.control.ApiClient controlApiClient(ServerConfig config) {
+    io.unitycatalog.control.ApiClient client = new io.unitycatalog.control.ApiClient();
+    URI uri = URI.create(config.getServerUrl());
+    client.setHost(uri.getHost());
+    client.setPort(uri.getPort());
+    client.setScheme(uri.getScheme());
+    client.setRequestInterceptor(
+        request -> request.header("Authorization", "Bearer " + config.getAuthToken()));
+    return client;
+  }
+
+  /**
+   * Makes the external tables Delta UniForm tables, so that the Iceberg REST catalog serves them.
+   * The metadata location can only be set in the database.
+   */
+  private void addIcebergMetadata() throws Exception {
+    String metadataLocation =
+        Objects.requireNonNull(CatalogLoadTest.class.getResource("/iceberg.metadata.json"))
+            .toURI()
+            .toString();
+    HibernateConfigurator hibernateConfigurator = new HibernateConfigurator(serverProperties);
+    try (Session session = hibernateConfigurator.getSessionFactory().openSession()) {
+      Transaction tx = session.beginTransaction();
+      session
+          .createMutationQuery(
+              "update TableInfoDAO set uniformIcebergMetadataLocation = :location "
+                  + "where type = :type")
+          .setParameter("location", metadataLocation)
+          .setParameter("type", TableType.EXTERNAL.getValue())
+          .executeUpdate();
+      tx.commit();
+    } finally {
+      hibernateConfigurator.getSessionFactory().close();
+    }
+  }
+
+  /** Runs the clients through the warmup and the measurement, and summarizes the latter. */
+  private Map<Operation, Summary> run() throws InterruptedException {
+    System.out.printf(
+        "Running %d clients for %ds of warmup and %ds of measurement...%n",
+        config.clients(), config.warmupSeconds(), config.durationSeconds());
+    long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+    long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+    List<LatencyRecorder> recorders = new ArrayList<>();
+    ExecutorService executor = clientExecutor();
+    for (int i = 0; i < config.clients(); i++) {
+      LatencyRecorder recorder = new LatencyRecorder();
+      recorders.add(recorder);
+      UserClients user = users.get(i % users.size());
+      executor.execute(() -> runClient(user, recorder, measureStart, measureEnd));
+    }
+    executor.shutdown();
+    long timeoutSeconds = config.warmupSeconds() + config.durationSeconds() + 60L;
+    if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("The clients did not finish in time");
+    }
+    return LatencyRecorder.summarize(recorders, config.durationSeconds());
+  }
+
+  /**
+   * Runs every client on its own virtual thread if the JVM supports them. The benchmarks are
+   * compiled for Java 17, so the Java 21 API is looked up reflectively.
+   */
+  private ExecutorService clientExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      System.out.println("Virtual threads are not available, running clients on platform threads.");
+      return Executors.newFixedThreadPool(config.clients());
+    }
+  }
+
+  private void runClient(
+      UserClients user, LatencyRecorder recorder, long measureStart, long measureEnd) {
+    Operation[] operations = config.mix().keySet().toArray(new Operation[0]);
+    int[] cumulativeWeights = new int[operations.length];
+    int totalWeight = 0;
+    for (int i = 0; i < operations.length; i++) {
+      totalWeight += config.mix().get(operations[i]);
+      cumulativeWeights[i] = totalWeight;
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long start;
+    while ((start = System.nanoTime()) < measureEnd) {
+      int pick = random.nextInt(totalWeight);
+      int index = 0;
+      while (cumulativeWeights[index] <= pick) {
+        index++;
+      }
+      Operation operation = operations[index];
+      Outcome outcome;
+      try {
+        outcome = execute(operation, user, random);
+      } catch (Exception e) {
+        outcome = Outcome.ERROR;
+        if (loggedErrors.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+          System.out.println(operation.key() + " failed: " + e);
+        }
+      }
+      if (start >= measureStart) {
+        recorder.record(operation, System.nanoTime() - start, outcome);
+      }
+    }
+  }
+
+  private Outcome execute(Operation operation, UserClients user, ThreadLocalRandom random)
+      throws Exception {
+    switch (operation) {
+      case GET_TABLE -> user.tables().getTable(randomTable(random).fullName(), true, true);
+      case LIST_TABLES -> {
+        SchemaRef schema = schemas.get(random.nextInt(schemas.size()));
+        user.tables().listTables(schema.catalog(), schema.schema(), LIST_PAGE_SIZE, null);
+      }
+      case VEND_CREDENTIALS -> user.credentials()
+          .generateTemporaryTableCredentials(
+              new GenerateTemporaryTableCredential()
+                  .tableId(randomTable(random).tableId())
+                  .operation(TableOperation.READ));
+      case POST_COMMIT -> {
+        return postCommit(user, managedTables.get(random.nextInt(managedTables.size())));
+      }
+      case GET_COMMITS -> getLatestVersion(
+          user, managedTables.get(random.nextInt(managedTables.size())));
+      case ICEBERG_LOAD_TABLE -> {
+        return icebergLoadTable(user, randomTable(random));
+      }
+      default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+    }
+    return Outcome.OK;
+  }
+
+  private TableRef randomTable(ThreadLocalRandom random) {
+    return tables.get(random.nextInt(tables.size()));
+  }
+
+  /**
+   * Commits the version after the latest one known, and backfills the one before it, as clients
+   * do. A commit rejected because another client committed that version first is a conflict.
+   */
+  private Outcome postCommit(UserClients user, ManagedTable table) throws ApiException {
+    long version = table.version().get() + 1;
+    long now = System.currentTimeMillis();
+    try {
+      user.commits()
+          .commit(
+              new DeltaCommit()
+                  .tableId(table.tableId())
+                  .tableUri(table.storageLocation())
+                  .commitInfo(
+                      new DeltaCommitInfo()
+                          .version(version)
+                          .timestamp(now)
+                          .fileName(String.format("%020d.json", version))
+                          .fileSize(1024L)
+                          .fileModificationTimestamp(now))
+                  .latestBackfilledVersion(version > 1 ? version - 1 : null));
+      table.version().accumulateAndGet(version, Math::max);
+      return Outcome.OK;
+    } catch (ApiException e) {
+      if (e.getCode() != ErrorCode.ALREADY_EXISTS.getHttpStatus().code()) {
+        throw e;
+      }
+      getLatestVersion(user, table);
+      return Outcome.CONFLICT;
+    }
+  }
+
+  private void getLatestVersion(UserClients user, ManagedTable table) throws ApiException {
+    Long latest =
+        user.commits()
+            .getCommits(
+                new DeltaGetCommits()
+                    .tableId(table.tableId())
+                    .tableUri(table.storageLocation())
+                    .startVersion(0L))
+            .getLatestTableVersion();
+    if (latest != null) {
+      table.version().accumulateAndGet(latest, Math::max);
+    }
+  }
+
+  private Outcome icebergLoadTable(UserClients user, TableRef table) throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder(
+                URI.create(
+                    String.format(
+                        "%s%s/iceberg/v1/catalogs/%s/namespaces/%s/tables/%s",
+                        serverUrl, API_PATH, table.catalog(), table.schema(), table.name())))
+            .header("Authorization", "Bearer " + user.token())
+            .GET()
+            .build();
+    HttpResponse<byte[]> response =
+        httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    return response.statusCode() == 200 ? Outcome.OK : Outcome.ERROR;
+  }
+
+  /**
+   * Prints the summaries and writes them to the report file, along with the options of the run.
+   * Returns the exit status: 1 if an operation regressed against the baseline, 0 otherwise.
+   */
+  private int report(Map<Operation, Summary> summaries) throws Exception {
+    ObjectMapper mapper =
+        new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    Map<String, Summary> operations = new LinkedHashMap<>();
+    summaries.forEach((operation, summary) -> operations.put(operation.key(), summary));
+    List<String> regressions = new ArrayList<>();
+    if (config.baseline().isPresent()) {
+      JsonNode baseline = mapper.readTree(config.baseline().get().toFile()).path("operations");
+      operations.forEach(
+          (operation, summary) -> regressions.addAll(regressions(operation, summary, baseline)));
+    }
+
+    Map<String, Object> options = new LinkedHashMap<>();
+    options.put("catalogs", config.catalogs());
+    options.put("schemas_per_catalog", config.schemasPerCatalog());
+    options.put("tables_per_schema", config.tablesPerSchema());
+    options.put("managed_tables_per_schema", config.managedTablesPerSchema());
+    options.put("users", config.users());
+    options.put("clients", config.clients());
+    options.put("warmup_seconds", config.warmupSeconds());
+    options.put("duration_seconds", config.durationSeconds());
+    options.put("credentials_latency_ms", config.credentialsLatencyMs());
+    Map<String, Integer> mix = new LinkedHashMap<>();
+    config.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+    options.put("mix", mix);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("java_version", Runtime.version().toString());
+    report.put("options", options);
+    report.put("operations", operations);
+    report.put("regressions", regressions);
+
+    Path output = config.output();
+    if (output.getParent() != null) {
+      Files.createDirectories(output.getParent());
+    }
+    mapper.writeValue(output.toFile(), report);
+
+    System.out.printf(
+        "%n%-18s %10s %8s %9s %12s %10s %10s %10s%n",
+        "operation",
+        "requests",
+        "errors",
+        "conflicts",
+        "per second",
+        "p50 ms",
+        "p99 ms",
+        "p999 ms");
+    operations.forEach(
+        (operation, s) ->
+            System.out.printf(
+                "%-18s %10d %8d %9d %12.1f %10.3f %10.3f %10.3f%n",
+                operation,
+                s.requests(),
+                s.errors(),
+                s.conflicts(),
+                s.throughputPerSecond(),
+                s.p50Ms(),
+                s.p99Ms(),
+                s.p999Ms()));
+    System.out.println("\nReport written to " + output.toAbsolutePath());
+    regressions.forEach(regression -> System.out.println("Regression: " + regression));
+    return regressions.isEmpty() ? 0 : 1;
+  }
+
+  private List<String> regressions(String operation, Summary summary, JsonNode baseline) {
+    JsonNode previous = baseline.path(operation);
+    if (previous.isMissingNode()) {
+      return List.of();
+    }
+    List<String> regressions = new ArrayList<>();
+    long previousRequests = previous.path("requests").asLong();
+    double previousErrorRate =
+        previous.has("error_rate")
+            ? previous.path("error_rate").asDouble()
+            : previousRequests > 0 ? (double) previous.path("errors").asLong() / previousRequests : 0;
+    if (summary.errors() > 0
+        && summary.errorRate() > previousErrorRate * (1 + config.maxRegression())) {
+      regressions.add(
+          String.format(
+              "%s %d errors, error rate %.4f, baseline %.4f",
+              operation, summary.errors(), summary.errorRate(), previousErrorRate));
+    }
+    double previousP99 = previous.path("p99_ms").asDouble();
+    if (summary.p99Ms() > previousP99 * (1 + config.maxRegression())) {
+      regressions.add(
+          String.format(
+              "%s p99 latency %.3f ms, baseline %.3f ms", operation, summary.p99Ms(), previousP99));
+    }
+    double previousThroughput = previous.path("throughput_per_second").asDouble();
+    if (summary.throughputPerSecond() < previousThroughput * (1 - config.maxRegression())) {
+      regressions.add(
+          String.format(
+              "%s throughput %.1f/s, baseline %.1f/s",
+              operation, summary.throughputPerSecond(), previousThroughput));
+    }
+    return regressions;
+  }
+}
@@ -0,0 +1,129 @@
+package io.unitycatalog.server.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the latency of every measured request of one client, so that percentiles are exact
+ * rather than read from buckets. A client records from a single thread; the recorders of all
+ * clients are merged once the run is over. Failed requests are only counted: they can fail fast,
+ * which would otherwise lower the latency and raise the throughput of a run that is broken.
+ */
+final class LatencyRecorder {
+
+  /** The outcome of a request. A conflict is a commit rejected because of a concurrent one. */
+  enum Outcome {
+    OK,
+    CONFLICT,
+    ERROR
+  }
+
+  /**
+   * The summary of the requests of an operation, with latencies in milliseconds. The throughput
+   * and the latencies only cover the requests that did not fail.
+   */
+  record Summary(
+      long requests,
+      long errors,
+      long conflicts,
+      double errorRate,
+      double throughputPerSecond,
+      double meanMs,
+      double p50Ms,
+      double p99Ms,
+      double p999Ms,
+      double maxMs) {}
+
+  private final Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+
+  void record(Operation operation, long nanos, Outcome outcome) {
+    latencies.computeIfAbsent(operation, o -> new Latencies()).add(nanos, outcome);
+  }
+
+  /** Summarizes the requests of all recorders, by operation, over a run of the given length. */
+  static Map<Operation, Summary> summarize(List<LatencyRecorder> recorders, double seconds) {
+    Map<Operation, Summary> summaries = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      Latencies merged = new Latencies();
+      for (LatencyRecorder recorder : recorders) {
+        Latencies latencies = recorder.latencies.get(operation);
+        if (latencies != null) {
+          merged.addAll(latencies);
+        }
+      }
+      if (merged.size > 0 || merged.errors > 0) {
+        summaries.put(operation, merged.summarize(seconds));
+      }
+    }
+    return summaries;
+  }
+
+  /** A growable array of latencies, to avoid boxing millions of them. */
+  private static final class Latencies {
+    private long[] nanos = new long[1024];
+    private int size;
+    private long errors;
+    private long conflicts;
+
+    void add(long latencyNanos, Outcome outcome) {
+      if (outcome == Outcome.ERROR) {
+        errors++;
+        return;
+      }
+      if (size == nanos.length) {
+        nanos = Arrays.copyOf(nanos, size * 2);
+      }
+      nanos[size++] = latencyNanos;
+      if (outcome == Outcome.CONFLICT) {
+        conflicts++;
+      }
+    }
+
+    void addAll(Latencies other) {
+      if (size + other.size > nanos.length) {
+        nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+      }
+      System.arraycopy(other.nanos, 0, nanos, size, other.size);
+      size += other.size;
+      errors += other.errors;
+      conflicts += other.conflicts;
+    }
+
+    Summary summarize(double seconds) {
+      long requests = size + errors;
+      double errorRate = (double) errors / requests;
+      if (size == 0) {
+        return new Summary(requests, errors, conflicts, errorRate, 0, 0, 0, 0, 0, 0);
+      }
+      long[] sorted = Arrays.copyOf(nanos, size);
+      Arrays.sort(sorted);
+      double sum = 0;
+      for (long latency : sorted) {
+        sum += latency;
+      }
+      return new Summary(
+          requests,
+          errors,
+          conflicts,
+          errorRate,
+          size / seconds,
+          millis(sum / size),
+          millis(percentile(sorted, 0.5)),
+          millis(percentile(sorted, 0.99)),
+          millis(percentile(sorted, 0.999)),
+          millis(sorted[size - 1]));
+    }
+
+    /** The nearest-rank percentile. */
+    private static long percentile(long[] sorted, double quantile) {
+      int rank = (int) Math.ceil(quantile * sorted.length);
+      return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(double nanos) {
+      return Math.round(nanos / 1_000) / 1_000.0;
+    }
+  }
+}
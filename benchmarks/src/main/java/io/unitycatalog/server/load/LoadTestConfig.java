@@ -0,0 +1,124 @@
+package io.unitycatalog.server.load;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The options of a load test run, given as {@code --name=value} arguments.
+ *
+ * @param catalogs the number of catalogs to populate
+ * @param schemasPerCatalog the number of schemas in every catalog
+ * @param tablesPerSchema the number of external tables in every schema, which every operation but
+ *     the Delta commits addresses
+ * @param managedTablesPerSchema the number of managed tables in every schema, which the Delta
+ *     commits address
+ * @param users the number of users the clients authenticate as, each granted access to every
+ *     catalog, schema and table
+ * @param clients the number of concurrent clients, each issuing one request at a time
+ * @param warmupSeconds how long the clients run before requests are measured
+ * @param durationSeconds how long requests are measured
+ * @param credentialsLatencyMs how long the stand-in cloud provider takes to vend credentials
+ * @param mix the relative weight of each operation
+ * @param output the file the JSON report is written to
+ * @param baseline a report to compare this run with
+ * @param maxRegression the fraction by which the error rate, p99 latency or throughput of an
+ *     operation may be worse than in the baseline before the run fails
+ */
+public record LoadTestConfig(
+    int catalogs,
+    int schemasPerCatalog,
+    int tablesPerSchema,
+    int managedTablesPerSchema,
+    int users,
+    int clients,
+    int warmupSeconds,
+    int durationSeconds,
+    int credentialsLatencyMs,
+    Map<Operation, Integer> mix,
+    Path output,
+    Optional<Path> baseline,
+    double maxRegression) {
+
+  private static final Set<String> OPTIONS =
+      Set.of(
+          "catalogs",
+          "schemas-per-catalog",
+          "tables-per-schema",
+          "managed-tables-per-schema",
+          "users",
+          "clients",
+          "warmup-seconds",
+          "duration-seconds",
+          "credentials-latency-ms",
+          "mix",
+          "output",
+          "baseline",
+          "max-regression");
+
+  private static final String DEFAULT_MIX =
+      "getTable:35,listTables:15,vendCredentials:15,postCommit:10,getCommits:15,"
+          + "icebergLoadTable:10";
+
+  public static LoadTestConfig parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+      }
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    Set<String> unknown = new TreeSet<>(options.keySet());
+    unknown.removeAll(OPTIONS);
+    if (!unknown.isEmpty()) {
+      throw new IllegalArgumentException("Unknown options: " + unknown);
+    }
+    return new LoadTestConfig(
+        intOption(options, "catalogs", 2),
+        intOption(options, "schemas-per-catalog", 5),
+        intOption(options, "tables-per-schema", 50),
+        intOption(options, "managed-tables-per-schema", 2),
+        intOption(options, "users", 4),
+        intOption(options, "clients", 64),
+        intOption(options, "warmup-seconds", 10),
+        intOption(options, "duration-seconds", 30),
+        intOption(options, "credentials-latency-ms", 0),
+        parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+        Path.of(options.getOrDefault("output", "benchmarks/target/load-test-report.json")),
+        Optional.ofNullable(options.get("baseline")).map(Path::of),
+        Double.parseDouble(options.getOrDefault("max-regression", "0.2")));
+  }
+
+  private static int intOption(Map<String, String> options, String name, int defaultValue) {
+    String value = options.get(name);
+    int parsed = value == null ? defaultValue : Integer.parseInt(value);
+    if (parsed < 0) {
+      throw new IllegalArgumentException("--" + name + " must not be negative");
+    }
+    return parsed;
+  }
+
+  /** Parses weights given as {@code operation:weight,...}; operations not listed are not run. */
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected operation:weight, got: " + entry);
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight > 0) {
+        weights.put(Operation.fromKey(parts[0].trim()), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The mix has no operation with a positive weight");
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,40 @@
+package io.unitycatalog.server.load;
+
+import io.unitycatalog.server.service.credential.CredentialContext;
+import io.unitycatalog.server.service.credential.aws.CredentialsGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+/**
+ * Stands in for AWS STS during load tests: issues fresh credentials valid for an hour, after an
+ * optional delay that stands for the round trip to the cloud provider. The server instantiates
+ * the generator by class name, so the delay is set statically by the load test.
+ */
+public class LocalCredentialsGenerator implements CredentialsGenerator {
+
+  private static volatile Duration latency = Duration.ZERO;
+
+  static void setLatency(Duration latency) {
+    LocalCredentialsGenerator.latency = latency;
+  }
+
+  @Override
+  public Credentials generate(CredentialContext ctx) {
+    if (!latency.isZero()) {
+      try {
+        Thread.sleep(latency.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while vending credentials", e);
+      }
+    }
+    return Credentials.builder()
+        .accessKeyId("load-test-" + UUID.randomUUID())
+        .secretAccessKey("secret")
+        .sessionToken("token")
+        .expiration(Instant.now().plus(Duration.ofHours(1)))
+        .build();
+  }
+}
@@ -0,0 +1,30 @@
+package io.unitycatalog.server.load;
+
+/** The operations the load test issues, by the name they have in its options and report. */
+public enum Operation {
+  GET_TABLE("getTable"),
+  LIST_TABLES("listTables"),
+  VEND_CREDENTIALS("vendCredentials"),
+  POST_COMMIT("postCommit"),
+  GET_COMMITS("getCommits"),
+  ICEBERG_LOAD_TABLE("icebergLoadTable");
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public static Operation fromKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation: " + key);
+  }
+}
@@ -0,0 +1,116 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.model.CreateCatalog;
+import io.unitycatalog.server.model.UpdateCatalog;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and updating catalogs from many concurrent threads, with connections taken from
+ * the connection pool, and opened by Hibernate's built-in connection provider.
+ *
+ * <p>The database is an in-memory H2 database, as is, and in PostgreSQL compatibility mode as a
+ * stand-in for a PostgreSQL server. A real server can be measured with {@code -p
+ * url=jdbc:postgresql://localhost/uc -p user=... -p password=...}, once its JDBC driver is added to
+ * the dependencies of the benchmarks.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run ConnectionPoolBenchmark"}. The default of 16
+ * threads stays within the 20 connections both keep; with {@code -t} above that, requests wait for
+ * a pooled connection, whereas the built-in provider fails them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+  private static final int CATALOGS = 100;
+
+  @Param({
+    "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+    "jdbc:h2:mem:bench_pg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;"
+        + "DB_CLOSE_DELAY=-1"
+  })
+  public String url;
+
+  @Param({""})
+  public String user;
+
+  @Param({""})
+  public String password;
+
+  @Param({"pooled", "built-in"})
+  public String connections;
+
+  private HibernateConfigurator hibernateConfigurator;
+  private CatalogRepository catalogRepository;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    properties.setProperty(
+        Property.DB_POOL_MAX_SIZE.getKey(), connections.equals("pooled") ? "20" : "0");
+    properties.setProperty(Property.DB_POOL_MIN_IDLE.getKey(), "20");
+    ServerProperties serverProperties = new ServerProperties(properties);
+
+    Properties hibernateProperties = new Properties();
+    if (url.startsWith("jdbc:h2:")) {
+      hibernateProperties.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+    }
+    hibernateProperties.setProperty("hibernate.connection.url", url);
+    if (!user.isEmpty()) {
+      hibernateProperties.setProperty("hibernate.connection.user", user);
+      hibernateProperties.setProperty("hibernate.connection.password", password);
+    }
+    hibernateProperties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+    hibernateConfigurator = new HibernateConfigurator(serverProperties, hibernateProperties);
+    catalogRepository =
+        new Repositories(hibernateConfigurator.getSessionFactory(), serverProperties)
+            .getCatalogRepository();
+    for (int i = 0; i < CATALOGS; i++) {
+      catalogRepository.addCatalog(new CreateCatalog().name("catalog_" + i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    hibernateConfigurator.getSessionFactory().close();
+  }
+
+  private static String randomCatalog() {
+    return "catalog_" + ThreadLocalRandom.current().nextInt(CATALOGS);
+  }
+
+  @Benchmark
+  public Object getCatalog() {
+    return catalogRepository.getCatalog(randomCatalog());
+  }
+
+  @Benchmark
+  public Object updateCatalog() {
+    return catalogRepository.updateCatalog(
+        randomCatalog(),
+        new UpdateCatalog().comment(String.valueOf(ThreadLocalRandom.current().nextLong())));
+  }
+}
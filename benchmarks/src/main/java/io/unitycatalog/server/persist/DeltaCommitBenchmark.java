@@ -0,0 +1,177 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.DeltaCommit;
+import io.unitycatalog.server.model.DeltaCommitInfo;
+import io.unitycatalog.server.model.DeltaGetCommits;
+import io.unitycatalog.server.model.DeltaGetCommitsResponse;
+import io.unitycatalog.server.persist.dao.TableInfoDAO;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Date;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Delta commits per second from many concurrent writers, all committing to a single table,
+ * or each to a random one of 10,000 tables. Every writer commits the version after the last one it
+ * knows of, and backfills the version before it, as clients do. A writer that loses a race is
+ * rejected with ALREADY_EXISTS, reloads the table version and tries again.
+ *
+ * <p>The {@code commits} and {@code conflicts} counters report accepted and rejected commits per
+ * second; the primary score counts both.
+ *
+ * <p>{@code getCommits} measures readers polling a random table for its commits instead. Every
+ * table starts with a few commits, the last of which is not backfilled yet.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run DeltaCommitBenchmark"}, and {@code -t} to vary
+ * the number of writers. The default of 16 writers stays within the pool of 20 connections, so
+ * that no writer waits for a connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class DeltaCommitBenchmark {
+
+  private static final String TABLE_URI_PREFIX = "file:///tmp/managed_tables/";
+  private static final long INITIAL_VERSIONS = 3;
+
+  @Param({"1", "10000"})
+  public int tables;
+
+  private HibernateConfigurator hibernateConfigurator;
+  private DeltaCommitRepository deltaCommitRepository;
+  private UUID[] tableIds;
+  /** The last version each table is known to have, as writers would have read it. */
+  private AtomicLongArray knownVersions;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    properties.setProperty(Property.MANAGED_TABLE_ENABLED.getKey(), "true");
+    ServerProperties serverProperties = new ServerProperties(properties);
+    hibernateConfigurator = new HibernateConfigurator(serverProperties);
+    SessionFactory sessionFactory = hibernateConfigurator.getSessionFactory();
+    deltaCommitRepository =
+        new Repositories(sessionFactory, serverProperties).getDeltaCommitRepository();
+
+    tableIds = new UUID[tables];
+    knownVersions = new AtomicLongArray(tables);
+    UUID schemaId = UUID.randomUUID();
+    Date now = new Date();
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction tx = session.beginTransaction();
+      for (int i = 0; i < tables; i++) {
+        tableIds[i] = UUID.randomUUID();
+        session.insert(
+            TableInfoDAO.builder()
+                .id(tableIds[i])
+                .name("table_" + i)
+                .schemaId(schemaId)
+                .type("MANAGED")
+                .dataSourceFormat("DELTA")
+                .url(TABLE_URI_PREFIX + tableIds[i])
+                .columnCount(0)
+                .createdAt(now)
+                .build());
+      }
+      tx.commit();
+    }
+    for (int i = 0; i < tables; i++) {
+      for (long version = 1; version <= INITIAL_VERSIONS; version++) {
+        deltaCommitRepository.postCommit(commit(tableIds[i], version));
+      }
+      knownVersions.set(i, INITIAL_VERSIONS);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    hibernateConfigurator.getSessionFactory().close();
+  }
+
+  /** Per-writer counters of accepted and rejected commits. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Outcomes {
+    public long commits;
+    public long conflicts;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      commits = 0;
+      conflicts = 0;
+    }
+  }
+
+  @Benchmark
+  public void commit(Outcomes outcomes) {
+    int table = ThreadLocalRandom.current().nextInt(tables);
+    long version = knownVersions.get(table) + 1;
+    try {
+      deltaCommitRepository.postCommit(commit(tableIds[table], version));
+      knownVersions.accumulateAndGet(table, version, Math::max);
+      outcomes.commits++;
+    } catch (BaseException e) {
+      if (e.getErrorCode() != ErrorCode.ALREADY_EXISTS) {
+        throw e;
+      }
+      long latest =
+          deltaCommitRepository
+              .getCommits(
+                  new DeltaGetCommits().tableId(tableIds[table].toString()).startVersion(0L))
+              .getLatestTableVersion();
+      knownVersions.accumulateAndGet(table, latest, Math::max);
+      outcomes.conflicts++;
+    }
+  }
+
+  @Benchmark
+  public DeltaGetCommitsResponse getCommits() {
+    int table = ThreadLocalRandom.current().nextInt(tables);
+    return deltaCommitRepository.getCommits(
+        new DeltaGetCommits().tableId(tableIds[table].toString()).startVersion(0L));
+  }
+
+  private static DeltaCommit commit(UUID tableId, long version) {
+    return new DeltaCommit()
+        .tableId(tableId.toString())
+        .tableUri(TABLE_URI_PREFIX + tableId)
+        .commitInfo(
+            new DeltaCommitInfo()
+                .version(version)
+                .timestamp(System.currentTimeMillis())
+                .fileName(String.format("%020d.json", version))
+                .fileSize(1024L)
+                .fileModificationTimestamp(System.currentTimeMillis()))
+        .latestBackfilledVersion(version > 1 ? version - 1 : null);
+  }
+}
@@ -0,0 +1,124 @@
+package io.unitycatalog.server.persist;
+
+import static io.unitycatalog.server.utils.BenchmarkDataGenerator.catalogId;
+import static io.unitycatalog.server.utils.BenchmarkDataGenerator.schemaId;
+
+import io.unitycatalog.server.persist.dao.IdentifiableDAO;
+import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
+import io.unitycatalog.server.persist.dao.TableInfoDAO;
+import io.unitycatalog.server.persist.dao.VolumeInfoDAO;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.persist.utils.PageTokens;
+import io.unitycatalog.server.persist.utils.PagedListingHelper;
+import io.unitycatalog.server.persist.utils.TransactionManager;
+import io.unitycatalog.server.utils.BenchmarkDataGenerator;
+import io.unitycatalog.server.utils.BenchmarkDataGenerator.Shape;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures listing a page of schemas, tables or volumes with {@link PagedListingHelper}, in its
+ * own read-only transaction as the repositories do, from an H2 database populated by {@link
+ * BenchmarkDataGenerator} with its default shape of 100,000 tables. Each call lists a random
+ * parent, either from its start or from a page token in the middle of it.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run EntityListingBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EntityListingBenchmark {
+
+  private static final Shape SHAPE = Shape.DEFAULT;
+  private static final int PAGE_SIZE = 100;
+
+  @Param({"schemas", "tables", "volumes"})
+  public String entities;
+
+  private SessionFactory sessionFactory;
+  private Class<? extends IdentifiableDAO> entityClass;
+  private PagedListingHelper<? extends IdentifiableDAO> helper;
+  private String middleName;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    ServerProperties serverProperties = new ServerProperties(properties);
+    sessionFactory = new HibernateConfigurator(serverProperties).getSessionFactory();
+    BenchmarkDataGenerator.populate(
+        sessionFactory, new Repositories(sessionFactory, serverProperties), SHAPE);
+
+    switch (entities) {
+      case "schemas" -> {
+        entityClass = SchemaInfoDAO.class;
+        middleName = BenchmarkDataGenerator.schemaName(SHAPE.schemasPerCatalog() / 2);
+      }
+      case "tables" -> {
+        entityClass = TableInfoDAO.class;
+        middleName = BenchmarkDataGenerator.tableName(SHAPE.tablesPerSchema() / 2);
+      }
+      case "volumes" -> {
+        entityClass = VolumeInfoDAO.class;
+        middleName = BenchmarkDataGenerator.volumeName(SHAPE.volumesPerSchema() / 2);
+      }
+      default -> throw new IllegalArgumentException("Unknown entities: " + entities);
+    }
+    helper = new PagedListingHelper<>(entityClass);
+  }
+
+  @TearDown
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  private UUID randomParent() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int catalog = random.nextInt(SHAPE.catalogs());
+    return entities.equals("schemas")
+        ? catalogId(catalog)
+        : schemaId(catalog, random.nextInt(SHAPE.schemasPerCatalog()));
+  }
+
+  private PagedListingHelper.Page<? extends IdentifiableDAO> listPage(
+      UUID parentId, Optional<String> pageToken) {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> helper.listPage(session, Optional.of(PAGE_SIZE), pageToken, parentId),
+        "Failed to list entities",
+        /* readOnly = */ true);
+  }
+
+  @Benchmark
+  public PagedListingHelper.Page<? extends IdentifiableDAO> firstPage() {
+    return listPage(randomParent(), Optional.empty());
+  }
+
+  @Benchmark
+  public PagedListingHelper.Page<? extends IdentifiableDAO> middlePage() {
+    UUID parentId = randomParent();
+    String scope = entityClass.getSimpleName() + "/" + parentId;
+    return listPage(parentId, Optional.of(PageTokens.encode(scope, middleName)));
+  }
+}
@@ -0,0 +1,42 @@
+package io.unitycatalog.server.persist.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures standardizing storage locations with {@link FileOperations#toStandardizedURIString},
+ * which runs whenever a table, volume or credential request names a location. Cloud URIs are only
+ * parsed; local paths are resolved against the file system.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run FileOperationsBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileOperationsBenchmark {
+
+  @Param({
+    "s3://bucket/catalog/schema/tables/table",
+    "abfss://container@account.dfs.core.windows.net/catalog/schema/tables/table",
+    "file:///tmp/catalog/schema/tables/table",
+    "/tmp/catalog/schema/tables/table"
+  })
+  public String location;
+
+  @Benchmark
+  public String toStandardizedURIString() {
+    return FileOperations.toStandardizedURIString(location);
+  }
+}
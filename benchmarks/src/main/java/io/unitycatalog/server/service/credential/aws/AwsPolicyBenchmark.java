@@ -0,0 +1,57 @@
+package io.unitycatalog.server.service.credential.aws;
+
+import io.unitycatalog.server.service.credential.CredentialContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures generating the session policy that scopes vended S3 credentials down to the storage
+ * locations of a request, which every credential cache miss does. A table or volume has a single
+ * location; several are spread over two buckets.
+ *
+ * <p>Run with {@code build/sbt "benchmarks/Jmh/run AwsPolicyBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AwsPolicyBenchmark {
+
+  @Param({"1", "10"})
+  public int locations;
+
+  @Param({"SELECT", "UPDATE"})
+  public CredentialContext.Privilege privilege;
+
+  private Set<CredentialContext.Privilege> privileges;
+  private List<String> paths;
+
+  @Setup
+  public void setUp() {
+    privileges = Set.of(privilege);
+    paths = new ArrayList<>();
+    for (int i = 0; i < locations; i++) {
+      paths.add(String.format("s3://bucket-%d/catalog/schema/tables/table_%d", i % 2, i));
+    }
+  }
+
+  @Benchmark
+  public String generatePolicy() {
+    return AwsPolicyGenerator.generatePolicy(privileges, paths);
+  }
+}
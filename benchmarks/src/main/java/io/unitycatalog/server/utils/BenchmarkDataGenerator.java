@@ -0,0 +1,190 @@
+package io.unitycatalog.server.utils;
+
+import io.unitycatalog.server.model.DataSourceFormat;
+import io.unitycatalog.server.model.TableType;
+import io.unitycatalog.server.model.VolumeType;
+import io.unitycatalog.server.persist.Repositories;
+import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
+import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
+import io.unitycatalog.server.persist.dao.TableInfoDAO;
+import io.unitycatalog.server.persist.dao.VolumeInfoDAO;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Properties;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+/**
+ * Populates a database with a metastore of a given shape for the benchmarks: catalogs, each
+ * holding schemas, each holding external Delta tables and volumes, and the sample functions of
+ * {@link PopulateTestDatabase}. Names and ids are derived from the position of each entity, so
+ * every run generates the same data and benchmarks can address any entity without reading it
+ * back first.
+ *
+ * <p>Entities are inserted directly, one transaction per batch; a hundred thousand of them take a
+ * few seconds. To populate the dev database (at etc/db) instead of an in-memory one, delete it
+ * first and run {@code build/sbt "benchmarks/runMain
+ * io.unitycatalog.server.utils.BenchmarkDataGenerator 10 10 1000 100"}, with the number of
+ * catalogs, schemas per catalog, tables per schema and volumes per schema.
+ */
+public class BenchmarkDataGenerator extends PopulateTestDatabase {
+
+  /** The name of one of the functions {@link #insertFunctionSampleData} adds to every schema. */
+  public static final String FUNCTION_NAME = "sum";
+
+  private static final int BATCH_SIZE = 10_000;
+  private static final String STORAGE_ROOT = "file:///tmp/benchmarks/";
+
+  /**
+   * The shape of a generated metastore.
+   *
+   * <p>The default shape of 10 catalogs of 10 schemas of 1,000 tables and 100 volumes holds 100,000
+   * tables and 10,000 volumes.
+   */
+  public record Shape(
+      int catalogs, int schemasPerCatalog, int tablesPerSchema, int volumesPerSchema) {
+
+    public static final Shape DEFAULT = new Shape(10, 10, 1000, 100);
+  }
+
+  public static void main(String[] args) {
+    Shape shape =
+        args.length == 4
+            ? new Shape(
+                Integer.parseInt(args[0]),
+                Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]),
+                Integer.parseInt(args[3]))
+            : Shape.DEFAULT;
+    System.out.println("Populating benchmark database with " + shape + "...");
+
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "dev");
+    ServerProperties serverProperties = new ServerProperties(properties);
+    HibernateConfigurator hibernateConfigurator = new HibernateConfigurator(serverProperties);
+    SessionFactory sessionFactory = hibernateConfigurator.getSessionFactory();
+    populate(sessionFactory, new Repositories(sessionFactory, serverProperties), shape);
+    sessionFactory.close();
+  }
+
+  /** Inserts the entities of {@code shape}, which must not exist yet. */
+  public static void populate(
+      SessionFactory sessionFactory, Repositories repositories, Shape shape) {
+    Date now = new Date();
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction tx = session.beginTransaction();
+      int pending = 0;
+      for (int c = 0; c < shape.catalogs(); c++) {
+        session.insert(
+            CatalogInfoDAO.builder()
+                .id(catalogId(c))
+                .name(catalogName(c))
+                .comment("Benchmark catalog")
+                .createdAt(now)
+                .build());
+        for (int s = 0; s < shape.schemasPerCatalog(); s++) {
+          session.insert(
+              SchemaInfoDAO.builder()
+                  .id(schemaId(c, s))
+                  .name(schemaName(s))
+                  .catalogId(catalogId(c))
+                  .comment("Benchmark schema")
+                  .createdAt(now)
+                  .build());
+          for (int t = 0; t < shape.tablesPerSchema(); t++) {
+            session.insert(
+                TableInfoDAO.builder()
+                    .id(tableId(c, s, t))
+                    .name(tableName(t))
+                    .schemaId(schemaId(c, s))
+                    .type(TableType.EXTERNAL.getValue())
+                    .dataSourceFormat(DataSourceFormat.DELTA.getValue())
+                    .url(storageLocation(c, s, "tables", tableName(t)))
+                    .columnCount(0)
+                    .createdAt(now)
+                    .build());
+            if (++pending % BATCH_SIZE == 0) {
+              tx.commit();
+              tx = session.beginTransaction();
+            }
+          }
+          for (int v = 0; v < shape.volumesPerSchema(); v++) {
+            session.insert(
+                VolumeInfoDAO.builder()
+                    .id(volumeId(c, s, v))
+                    .name(volumeName(v))
+                    .schemaId(schemaId(c, s))
+                    .volumeType(VolumeType.EXTERNAL.getValue())
+                    .storageLocation(storageLocation(c, s, "volumes", volumeName(v)))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            if (++pending % BATCH_SIZE == 0) {
+              tx.commit();
+              tx = session.beginTransaction();
+            }
+          }
+        }
+      }
+      tx.commit();
+    }
+    // Functions are few, and their parameters are stored the way the function repository does.
+    for (int c = 0; c < shape.catalogs(); c++) {
+      for (int s = 0; s < shape.schemasPerCatalog(); s++) {
+        insertFunctionSampleData(catalogName(c), schemaName(s), repositories);
+      }
+    }
+  }
+
+  public static String catalogName(int c) {
+    return String.format("catalog_%03d", c);
+  }
+
+  public static String schemaName(int s) {
+    return String.format("schema_%03d", s);
+  }
+
+  public static String tableName(int t) {
+    return String.format("table_%06d", t);
+  }
+
+  public static String volumeName(int v) {
+    return String.format("volume_%06d", v);
+  }
+
+  public static String tableFullName(int c, int s, int t) {
+    return catalogName(c) + "." + schemaName(s) + "." + tableName(t);
+  }
+
+  public static String volumeFullName(int c, int s, int v) {
+    return catalogName(c) + "." + schemaName(s) + "." + volumeName(v);
+  }
+
+  public static UUID catalogId(int c) {
+    return id("catalog/" + c);
+  }
+
+  public static UUID schemaId(int c, int s) {
+    return id("schema/" + c + "/" + s);
+  }
+
+  public static UUID tableId(int c, int s, int t) {
+    return id("table/" + c + "/" + s + "/" + t);
+  }
+
+  public static UUID volumeId(int c, int s, int v) {
+    return id("volume/" + c + "/" + s + "/" + v);
+  }
+
+  private static UUID id(String key) {
+    return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String storageLocation(int c, int s, String kind, String name) {
+    return STORAGE_ROOT + catalogName(c) + "/" + schemaName(s) + "/" + kind + "/" + name;
+  }
+}
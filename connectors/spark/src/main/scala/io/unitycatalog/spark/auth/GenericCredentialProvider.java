@@ -12,6 +12,10 @@ import io.unitycatalog.spark.ApiClientFactory;
 import io.unitycatalog.spark.UCHadoopConf;
 import io.unitycatalog.spark.utils.Clock;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.hadoop.conf.Configuration;
 import org.sparkproject.guava.base.Preconditions;
 import org.sparkproject.guava.cache.Cache;
@@ -29,6 +33,12 @@ public abstract class GenericCredentialProvider {
     globalCache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
   }
 
+  // The renewals in progress, keyed by credential UID if the credential cache is enabled, or else
+  // by provider. Each credential is renewed by one thread at a time, while renewals of different
+  // credentials proceed in parallel.
+  private static final ConcurrentMap<Object, CompletableFuture<GenericCredential>> renewals =
+      new ConcurrentHashMap<>();
+
   private Configuration conf;
   private Clock clock;
   private long renewalLeadTimeMillis;
@@ -77,19 +87,14 @@ public abstract class GenericCredentialProvider {
   public abstract GenericCredential initGenericCredential(Configuration conf);
 
   public GenericCredential accessCredentials() {
-    if (credential == null || credential.readyToRenew(clock, renewalLeadTimeMillis)) {
-      synchronized (this) {
-        if (credential == null || credential.readyToRenew(clock, renewalLeadTimeMillis)) {
-          try {
-            credential = renewCredential();
-          } catch (ApiException e) {
-            throw new RuntimeException(e);
-          }
-        }
-      }
+    GenericCredential current = credential;
+    if (current == null || current.readyToRenew(clock, renewalLeadTimeMillis)) {
+      GenericCredential renewed = renewCredential(current);
+      credential = renewed;
+      return renewed;
     }
 
-    return credential;
+    return current;
   }
 
   protected TemporaryCredentialsApi temporaryCredentialsApi() {
@@ -108,22 +113,68 @@ public abstract class GenericCredentialProvider {
     return tempCredApi;
   }
 
-  private GenericCredential renewCredential() throws ApiException {
-    if (credCacheEnabled) {
-      synchronized (globalCache) {
-        GenericCredential cached = globalCache.getIfPresent(credUid);
-        // Use the cached one if existing and valid.
-        if (cached != null && !cached.readyToRenew(clock, renewalLeadTimeMillis)) {
-          return cached;
+  /**
+   * Renews the credential, unless another thread already has. The first thread to get here renews
+   * it, and the others keep using the current credential until it expires, or else wait for the
+   * renewal in progress.
+   *
+   * @param current the credential that is due for renewal, or null if there is none yet.
+   */
+  private GenericCredential renewCredential(GenericCredential current) {
+    GenericCredential cached = getValidCachedCredential();
+    if (cached != null) {
+      return cached;
+    }
+
+    Object renewalKey = credCacheEnabled ? credUid : this;
+    CompletableFuture<GenericCredential> renewal = new CompletableFuture<>();
+    CompletableFuture<GenericCredential> inProgress = renewals.putIfAbsent(renewalKey, renewal);
+    if (inProgress != null) {
+      // A credential is expired once there's no lead time left before its expiration.
+      if (current != null && !current.readyToRenew(clock, 0L)) {
+        return current;
+      }
+      try {
+        return inProgress.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException
+            ? (RuntimeException) e.getCause()
+            : new RuntimeException(e.getCause());
+      }
+    }
+
+    try {
+      // Check again, in case a renewal completed after the first check.
+      GenericCredential renewed = getValidCachedCredential();
+      if (renewed == null) {
+        renewed = createGenericCredentials();
+        if (credCacheEnabled) {
+          globalCache.put(credUid, renewed);
         }
-        // Renew the credential and update the cache.
-        GenericCredential renewed = createGenericCredentials();
-        globalCache.put(credUid, renewed);
-        return renewed;
       }
-    } else {
-      return createGenericCredentials();
+      renewal.complete(renewed);
+      return renewed;
+    } catch (ApiException e) {
+      renewal.completeExceptionally(e);
+      throw new RuntimeException(e);
+    } catch (RuntimeException e) {
+      renewal.completeExceptionally(e);
+      throw e;
+    } finally {
+      renewals.remove(renewalKey, renewal);
+    }
+  }
+
+  private GenericCredential getValidCachedCredential() {
+    if (!credCacheEnabled) {
+      return null;
+    }
+    GenericCredential cached = globalCache.getIfPresent(credUid);
+    // Use the cached one if existing and valid.
+    if (cached != null && !cached.readyToRenew(clock, renewalLeadTimeMillis)) {
+      return cached;
     }
+    return null;
   }
 
   private GenericCredential createGenericCredentials() throws ApiException {
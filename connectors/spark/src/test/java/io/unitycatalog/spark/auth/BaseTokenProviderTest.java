@@ -6,13 +6,25 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.unitycatalog.client.api.TemporaryCredentialsApi;
+import io.unitycatalog.client.model.GenerateTemporaryTableCredential;
 import io.unitycatalog.client.model.PathOperation;
 import io.unitycatalog.client.model.TableOperation;
 import io.unitycatalog.client.model.TemporaryCredentials;
 import io.unitycatalog.spark.UCHadoopConf;
 import io.unitycatalog.spark.utils.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.hadoop.conf.Configuration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -304,6 +316,78 @@ public abstract class BaseTokenProviderTest<T extends GenericCredentialProvider>
     assertGlobalCache(4, tableACred2, tableBCred2, pathACred2, pathBCred2);
   }
 
+  @Test
+  public void testConcurrentRenewalsOfManyCredentials() throws Exception {
+    int numProviders = 20;
+    int threadsPerProvider = 4;
+    String slowTableId = "table0";
+    AtomicReference<CountDownLatch> slowRenewal = new AtomicReference<>(new CountDownLatch(1));
+    Map<String, AtomicInteger> renewals = new ConcurrentHashMap<>();
+
+    // The n-th renewal of a table's credential has the ID "<table>-<n>", and expires 2 seconds
+    // after it is made. Renewals of the slow table block until released.
+    TemporaryCredentialsApi tempCredApi = mock(TemporaryCredentialsApi.class);
+    when(tempCredApi.generateTemporaryTableCredentials(any())).thenAnswer(invocation -> {
+      String tableId = invocation.<GenerateTemporaryTableCredential>getArgument(0).getTableId();
+      int renewal = renewals.computeIfAbsent(tableId, id -> new AtomicInteger()).incrementAndGet();
+      if (tableId.equals(slowTableId)) {
+        assertThat(slowRenewal.get().await(30, TimeUnit.SECONDS)).isTrue();
+      }
+      return newTempCred(tableId + "-" + renewal, clock.now().toEpochMilli() + 2000L);
+    });
+
+    List<T> providers = new ArrayList<>();
+    for (int i = 0; i < numProviders; i++) {
+      Configuration conf = newTableBasedConf("table" + i);
+      conf.set(UCHadoopConf.UC_TEST_CLOCK_NAME, clockName);
+      conf.setLong(UCHadoopConf.UC_RENEWAL_LEAD_TIME_KEY, 1000L);
+      providers.add(createTestProvider(conf, tempCredApi));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(numProviders * threadsPerProvider);
+    try {
+      long firstExpiration = clock.now().toEpochMilli() + 2000L;
+      List<Future<?>> slowAccesses = new ArrayList<>();
+      List<Future<?>> otherAccesses = new ArrayList<>();
+      for (int i = 0; i < numProviders; i++) {
+        T provider = providers.get(i);
+        TemporaryCredentials expected = newTempCred("table" + i + "-1", firstExpiration);
+        for (int j = 0; j < threadsPerProvider; j++) {
+          (i == 0 ? slowAccesses : otherAccesses)
+              .add(executor.submit(() -> assertCred(provider, expected)));
+        }
+      }
+
+      // The slow renewal does not hold up the credentials of the other tables.
+      for (Future<?> access : otherAccesses) {
+        access.get(30, TimeUnit.SECONDS);
+      }
+      assertThat(slowAccesses).noneMatch(Future::isDone);
+      slowRenewal.get().countDown();
+      for (Future<?> access : slowAccesses) {
+        access.get(30, TimeUnit.SECONDS);
+      }
+      // Each credential was renewed once, however many threads needed it.
+      assertThat(renewals).hasSize(numProviders);
+      assertThat(renewals.values()).allMatch(count -> count.get() == 1);
+
+      // Within the renewal lead time, readers keep the valid credential while it's renewed.
+      slowRenewal.set(new CountDownLatch(1));
+      clock.sleep(Duration.ofMillis(1000));
+      TemporaryCredentials renewed = newTempCred(slowTableId + "-2", firstExpiration + 1000L);
+      Future<?> renewing = executor.submit(() -> assertCred(providers.get(0), renewed));
+      while (renewals.get(slowTableId).get() < 2) {
+        Thread.sleep(10);
+      }
+      assertCred(providers.get(0), newTempCred(slowTableId + "-1", firstExpiration));
+      assertThat(renewing).isNotDone();
+      slowRenewal.get().countDown();
+      renewing.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private static void assertGlobalCache(int expectedSize, TemporaryCredentials... creds) {
     assertThat(expectedSize).isEqualTo(creds.length);
     assertThat(GenericCredentialProvider.globalCache.size()).isEqualTo(expectedSize);
@@ -8,13 +8,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.server.Server;
 import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.server.annotation.JacksonRequestConverterFunction;
 import com.linecorp.armeria.server.annotation.JacksonResponseConverterFunction;
 import com.linecorp.armeria.server.docs.DocService;
+import com.linecorp.armeria.server.metric.MetricCollectingService;
 import io.unitycatalog.server.auth.AllowingAuthorizer;
+import io.unitycatalog.server.auth.CachedPolicyAuthorizer;
 import io.unitycatalog.server.auth.JCasbinAuthorizer;
+import io.unitycatalog.server.auth.MeteredAuthorizer;
 import io.unitycatalog.server.auth.UnityCatalogAuthorizer;
 import io.unitycatalog.server.auth.decorator.UnityAccessDecorator;
 import io.unitycatalog.server.auth.decorator.UnityAccessUtil;
@@ -22,12 +26,19 @@ import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.exception.ExceptionHandlingDecorator;
 import io.unitycatalog.server.exception.GlobalExceptionHandler;
+import io.unitycatalog.server.metrics.EventLoopLagMonitor;
+import io.unitycatalog.server.metrics.RequestTracingDecorator;
+import io.unitycatalog.server.metrics.ServerMetrics;
+import io.unitycatalog.server.persist.DeltaCommitCache;
 import io.unitycatalog.server.persist.Repositories;
+import io.unitycatalog.server.persist.StoragePurgeWorker;
+import io.unitycatalog.server.persist.utils.ConnectionPool;
 import io.unitycatalog.server.persist.utils.HibernateConfigurator;
 import io.unitycatalog.server.security.SecurityConfiguration;
 import io.unitycatalog.server.security.SecurityContext;
 import io.unitycatalog.server.service.AuthDecorator;
 import io.unitycatalog.server.service.AuthService;
+import io.unitycatalog.server.service.BlockingTaskDecorator;
 import io.unitycatalog.server.service.CatalogService;
 import io.unitycatalog.server.service.CredentialService;
 import io.unitycatalog.server.service.DeltaCommitsService;
@@ -54,12 +65,13 @@ import io.unitycatalog.server.service.credential.gcp.GcpCredentialVendor;
 import io.unitycatalog.server.service.iceberg.FileIOFactory;
 import io.unitycatalog.server.service.iceberg.MetadataService;
 import io.unitycatalog.server.service.iceberg.TableConfigService;
+import io.unitycatalog.server.service.iceberg.TableMetadataCache;
+import io.unitycatalog.server.utils.BlockingExecutor;
 import io.unitycatalog.server.utils.OptionParser;
 import io.unitycatalog.server.utils.RESTObjectMapper;
 import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
 import io.unitycatalog.server.utils.VersionUtils;
-import io.vertx.core.Verticle;
-import io.vertx.core.Vertx;
 import java.nio.file.Path;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
@@ -70,10 +82,15 @@ public class UnityCatalogServer {
   private static final String BASE_PATH = "/api/2.1/unity-catalog/";
   private static final String CONTROL_PATH = "/api/1.0/unity-control/";
   private static final int DEFAULT_PORT = 8080;
+  private static final String CACHED_AUTHORIZER_BACKEND = "cached";
   public static final String SERVER_PROPERTIES_FILE = "etc/conf/server.properties";
   private final Server server;
   private final ServerProperties serverProperties;
   private final SecurityContext securityContext;
+  private StoragePurgeWorker storagePurgeWorker;
+  private CachedPolicyAuthorizer cachedPolicyAuthorizer;
+  private ServerMetrics serverMetrics;
+  private EventLoopLagMonitor eventLoopLagMonitor;
 
   static {
     System.setProperty("log4j.configurationFile", "etc/conf/server.log4j2.properties");
@@ -111,7 +128,10 @@ public class UnityCatalogServer {
           new GcpCredentialVendor(unityCatalogServerBuilder.serverProperties);
       CloudCredentialVendor cloudCredentialVendor =
           new CloudCredentialVendor(
-              awsCredentialVendor, azureCredentialVendor, gcpCredentialVendor);
+              awsCredentialVendor,
+              azureCredentialVendor,
+              gcpCredentialVendor,
+              unityCatalogServerBuilder.serverProperties);
       unityCatalogServerBuilder.credentialOperations(cloudCredentialVendor);
     }
   }
@@ -121,15 +141,60 @@ public class UnityCatalogServer {
         Server.builder()
             .http(unityCatalogServerBuilder.port)
             .serviceUnder("/docs", new DocService());
+    serverMetrics = new ServerMetrics();
+    armeriaServerBuilder
+        .meterRegistry(serverMetrics.registry())
+        .service(ServerMetrics.PATH, serverMetrics.service());
+    // Database and cloud provider calls are made from the blocking task executor, never from the
+    // event loop. Armeria shuts it down when the server stops.
+    BlockingExecutor blockingExecutor =
+        new BlockingExecutor(unityCatalogServerBuilder.serverProperties);
+    armeriaServerBuilder.blockingTaskExecutor(
+        blockingExecutor.executor(), /* shutdownOnStop = */ true);
+    serverMetrics
+        .bind("uc.blocking.executor", blockingExecutor::stats)
+        .gauge("threads", BlockingExecutor.Stats::threads)
+        .gauge("active.tasks", BlockingExecutor.Stats::activeTasks)
+        .gauge("queued.tasks", BlockingExecutor.Stats::queuedTasks)
+        .counter("completed.tasks", BlockingExecutor.Stats::completedTasks);
 
     // Init hibernate
     HibernateConfigurator hibernateConfigurator =
         new HibernateConfigurator(unityCatalogServerBuilder.serverProperties);
+    ConnectionPool connectionPool = hibernateConfigurator.getConnectionPool();
+    if (connectionPool != null) {
+      serverMetrics
+          .bind("uc.db.pool", connectionPool::stats)
+          .gauge("active.connections", ConnectionPool.Stats::activeConnections)
+          .gauge("idle.connections", ConnectionPool.Stats::idleConnections)
+          .gauge("total.connections", ConnectionPool.Stats::totalConnections)
+          .gauge("waiting.threads", ConnectionPool.Stats::waitingThreads);
+    }
     // Init all repositories
     Repositories repositories =
         new Repositories(hibernateConfigurator.getSessionFactory(), serverProperties);
     // Init metastore
     repositories.getMetastoreRepository().initMetastoreIfNeeded();
+    // Init the background deletion of dropped managed storage
+    storagePurgeWorker =
+        new StoragePurgeWorker(
+            repositories.getStoragePurgeRepository(),
+            repositories.getFileOperations(),
+            unityCatalogServerBuilder.serverProperties);
+    serverMetrics
+        .bind("uc.storage.purge", storagePurgeWorker::stats)
+        .counter("purged", StoragePurgeWorker.Stats::purged)
+        .counter("failures", StoragePurgeWorker.Stats::failures)
+        .gauge("pending", StoragePurgeWorker.Stats::pending)
+        .gauge("parked", StoragePurgeWorker.Stats::parked);
+    DeltaCommitCache deltaCommitCache = repositories.getDeltaCommitRepository().getCommitCache();
+    serverMetrics
+        .bind("uc.delta.commit.cache", deltaCommitCache::stats)
+        .counter("hits", DeltaCommitCache.Stats::hits)
+        .counter("misses", DeltaCommitCache.Stats::misses)
+        .counter("invalidations", DeltaCommitCache.Stats::invalidations)
+        .gauge("tables", DeltaCommitCache.Stats::tables);
+    unityCatalogServerBuilder.cloudCredentialVendor.bindTo(serverMetrics.registry());
     // Init authorizer
     UnityCatalogAuthorizer authorizer =
         initializeAuthorizer(
@@ -137,10 +202,23 @@ public class UnityCatalogServer {
     // Init services
     addApiServices(armeriaServerBuilder, unityCatalogServerBuilder, authorizer, repositories);
     // Init security decorators
-    addSecurityDecorators(
-        armeriaServerBuilder, unityCatalogServerBuilder.serverProperties, authorizer, repositories);
+    UnityAccessDecorator accessDecorator =
+        addSecurityDecorators(
+            armeriaServerBuilder,
+            unityCatalogServerBuilder.serverProperties,
+            authorizer,
+            repositories);
+    // Outermost, so that everything logged while serving a request carries its trace ID.
+    armeriaServerBuilder
+        .decorator(MetricCollectingService.newDecorator(MeterIdPrefixFunction.ofDefault("uc.http")))
+        .decorator(new RequestTracingDecorator(serverMetrics.registry()));
 
-    return armeriaServerBuilder.build();
+    Server server = armeriaServerBuilder.build();
+    if (accessDecorator != null) {
+      // Resolve the authorization rules of all service methods before serving any request.
+      accessDecorator.registerServices(server.serviceConfigs());
+    }
+    return server;
   }
 
   private UnityCatalogAuthorizer initializeAuthorizer(
@@ -149,10 +227,21 @@ public class UnityCatalogServer {
       Repositories repositories) {
     if (serverProperties.isAuthorizationEnabled()) {
       try {
-        LOGGER.info("Initializing JCasbinAuthorizer...");
-        UnityCatalogAuthorizer authorizer = new JCasbinAuthorizer(hibernateConfigurator);
+        UnityCatalogAuthorizer authorizer;
+        if (CACHED_AUTHORIZER_BACKEND.equalsIgnoreCase(
+            serverProperties.get(Property.AUTHORIZATION_BACKEND))) {
+          LOGGER.info("Initializing CachedPolicyAuthorizer...");
+          cachedPolicyAuthorizer =
+              new CachedPolicyAuthorizer(
+                  hibernateConfigurator,
+                  serverProperties.getLong(Property.AUTHORIZATION_CACHE_REFRESH_INTERVAL_MS));
+          authorizer = cachedPolicyAuthorizer;
+        } else {
+          LOGGER.info("Initializing JCasbinAuthorizer...");
+          authorizer = new JCasbinAuthorizer(hibernateConfigurator);
+        }
         new UnityAccessUtil(repositories).initializeAdmin(authorizer);
-        return authorizer;
+        return new MeteredAuthorizer(authorizer, serverMetrics.registry());
       } catch (Exception e) {
         throw new BaseException(ErrorCode.INTERNAL, "Problem initializing authorizer.");
       }
@@ -281,7 +370,15 @@ public class UnityCatalogServer {
     JacksonResponseConverterFunction icebergResponseConverter =
         new JacksonResponseConverterFunction(icebergMapper);
     MetadataService metadataService =
-        new MetadataService(new FileIOFactory(cloudCredentialVendor, serverProperties));
+        new MetadataService(
+            new FileIOFactory(cloudCredentialVendor, serverProperties), serverProperties);
+    serverMetrics
+        .bind("uc.iceberg.metadata.cache", metadataService::getCacheStats)
+        .counter("hits", TableMetadataCache.Stats::hits)
+        .counter("spill.hits", TableMetadataCache.Stats::spillHits)
+        .counter("misses", TableMetadataCache.Stats::misses)
+        .gauge("weight.bytes", TableMetadataCache.Stats::weightBytes)
+        .gauge("spill.bytes", TableMetadataCache.Stats::spillBytes);
     TableConfigService tableConfigService =
         new TableConfigService(cloudCredentialVendor, serverProperties);
 
@@ -298,7 +395,8 @@ public class UnityCatalogServer {
         icebergResponseConverter);
   }
 
-  private void addSecurityDecorators(
+  /** Returns the access decorator, or null if authorization is disabled. */
+  private UnityAccessDecorator addSecurityDecorators(
       ServerBuilder armeriaServerBuilder,
       ServerProperties serverProperties,
       UnityCatalogAuthorizer authorizer,
@@ -324,10 +422,21 @@ public class UnityCatalogServer {
           .exclude(CONTROL_PATH + "auth/tokens")
           .build(authDecorator);
 
+      // The decorators above access the database, so they are moved off the event loop.
+      BlockingTaskDecorator blockingTaskDecorator = new BlockingTaskDecorator();
+      armeriaServerBuilder.routeDecorator().pathPrefix(BASE_PATH).build(blockingTaskDecorator);
+      armeriaServerBuilder
+          .routeDecorator()
+          .pathPrefix(CONTROL_PATH)
+          .exclude(CONTROL_PATH + "auth/tokens")
+          .build(blockingTaskDecorator);
+
       ExceptionHandlingDecorator exceptionDecorator =
           new ExceptionHandlingDecorator(new GlobalExceptionHandler());
       armeriaServerBuilder.decorator(exceptionDecorator);
+      return accessDecorator;
     }
+    return null;
   }
 
   public static void main(String[] args) {
@@ -335,24 +444,30 @@ public class UnityCatalogServer {
     options.parse(args);
     // Start Unity Catalog server
     UnityCatalogServer unityCatalogServer =
-        UnityCatalogServer.builder().port(options.getPort() + 1).build();
+        UnityCatalogServer.builder().port(options.getPort()).build();
     unityCatalogServer.printArt();
     unityCatalogServer.start();
-    // Start URL transcoder
-    Vertx vertx = Vertx.vertx();
-    Verticle transcodeVerticle =
-        new URLTranscoderVerticle(options.getPort(), options.getPort() + 1);
-    vertx.deployVerticle(transcodeVerticle);
   }
 
   public void start() {
     LOGGER.info("Starting Unity Catalog server...");
     server.start().join();
+    storagePurgeWorker.start();
+    eventLoopLagMonitor =
+        new EventLoopLagMonitor(server.config().workerGroup(), serverMetrics.registry());
     LOGGER.info("Unity Catalog server started.");
   }
 
   public void stop() {
+    if (eventLoopLagMonitor != null) {
+      eventLoopLagMonitor.close();
+    }
     server.stop().join();
+    storagePurgeWorker.close();
+    if (cachedPolicyAuthorizer != null) {
+      cachedPolicyAuthorizer.close();
+    }
+    serverMetrics.close();
     LOGGER.info("Unity Catalog server stopped.");
   }
 
@@ -0,0 +1,601 @@
+package io.unitycatalog.server.auth;
+
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.persist.dao.AuthorizationChangeDAO;
+import io.unitycatalog.server.persist.dao.AuthorizationChangeDAO.ChangeType;
+import io.unitycatalog.server.persist.model.Privileges;
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.persist.utils.TransactionManager;
+import jakarta.persistence.PersistenceException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.casbin.adapter.JDBCAdapter;
+import org.casbin.jcasbin.model.Model;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An authorizer that answers every check from an in-memory {@link PolicyIndex}.
+ *
+ * <p>Policies are persisted in the same {@code casbin_rule} table, in the layout of the JCasbin
+ * {@link JDBCAdapter}, that {@link JCasbinAuthorizer} uses, so both backends can be switched
+ * between without migrating data. Each mutation appends an entry to the {@link
+ * AuthorizationChangeDAO} change log in the transaction that changes the policy table, so a change
+ * is never made without being logged. A background task polls the change log and applies the
+ * changes made by other server replicas to the local index, which keeps all replicas consistent
+ * without a restart.
+ *
+ * <p>A unique index on the rule columns of {@code casbin_rule} keeps replicas that add the same
+ * rule concurrently from writing it twice; the replica that loses the race treats the rule as
+ * already present. The index keeps the ids of revoked principals and removed resources until it
+ * is rebuilt from the policy table, which happens once enough rules have been removed.
+ *
+ * <p>Versions are allocated by the database before the inserting transaction commits, so a
+ * concurrent writer may make a lower version visible after a higher one. Such gaps are remembered
+ * and re-polled for a grace period before they are considered rolled back.
+ */
+public class CachedPolicyAuthorizer implements UnityCatalogAuthorizer, AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachedPolicyAuthorizer.class);
+
+  private static final String POLICY_SECTION = "p";
+  private static final String POLICY_TYPE = "p";
+  private static final String GROUPING_SECTION = "g";
+  private static final String HIERARCHY_POLICY = "g2";
+  private static final int PRINCIPAL_INDEX = 0;
+  private static final int RESOURCE_INDEX = 1;
+  private static final int PRIVILEGE_INDEX = 2;
+  private static final int HIERARCHY_PARENT_INDEX = 0;
+  private static final int HIERARCHY_CHILD_INDEX = 1;
+  // The number of value columns of the casbin_rule table.
+  private static final int RULE_VALUES = 6;
+  private static final int MAX_CHANGES_PER_POLL = 10000;
+  private static final int GAP_GRACE_POLLS = 30;
+  // Sequences may legitimately jump (e.g. cached identity values after a database restart), so
+  // only the versions right below a newly seen one are tracked as potential gaps.
+  private static final int MAX_TRACKED_GAPS = 1000;
+  private static final String RULE_INDEX = "idx_casbin_rule_values";
+
+  private final JDBCAdapter adapter;
+  private final SessionFactory sessionFactory;
+  private final long refreshIntervalMillis;
+  private final ScheduledExecutorService refresher;
+  private final Object mutationLock = new Object();
+
+  private volatile PolicyIndex index;
+  private long lastSeenVersion;
+  // Versions written by this instance; they are already applied to the index.
+  private final Set<Long> localVersions = ConcurrentHashMap.newKeySet();
+  // Versions below lastSeenVersion that were not visible yet, mapped to the time they were found.
+  private final Map<Long, Long> pendingGaps = new HashMap<>();
+
+  public CachedPolicyAuthorizer(
+      HibernateConfigurator hibernateConfigurator, long refreshIntervalMillis) throws Exception {
+    this.adapter = JCasbinAuthorizer.createAdapter(hibernateConfigurator);
+    this.sessionFactory = hibernateConfigurator.getSessionFactory();
+    this.refreshIntervalMillis = refreshIntervalMillis;
+    createRuleIndex();
+    reload();
+    this.refresher =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "authorization-policy-refresher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    refresher.scheduleWithFixedDelay(
+        this::refreshQuietly, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /** Stops refreshing the index. */
+  @Override
+  public void close() {
+    refresher.shutdownNow();
+  }
+
+  /** Rebuilds the index from the policy table. */
+  public synchronized void reload() throws Exception {
+    // A mutation applied to the index being replaced would be lost.
+    synchronized (mutationLock) {
+      reloadIndex();
+    }
+  }
+
+  private void reloadIndex() throws Exception {
+    long version = findLatestVersion();
+    Model model = JCasbinAuthorizer.loadModel();
+    adapter.loadPolicy(model);
+    PolicyIndex newIndex = new PolicyIndex();
+    for (List<String> rule : model.getPolicy(POLICY_SECTION, POLICY_TYPE)) {
+      newIndex.grant(
+          UUID.fromString(rule.get(PRINCIPAL_INDEX)),
+          UUID.fromString(rule.get(RESOURCE_INDEX)),
+          Privileges.fromValue(rule.get(PRIVILEGE_INDEX)));
+    }
+    for (List<String> rule : model.getPolicy(GROUPING_SECTION, HIERARCHY_POLICY)) {
+      newIndex.addChild(
+          UUID.fromString(rule.get(HIERARCHY_PARENT_INDEX)),
+          UUID.fromString(rule.get(HIERARCHY_CHILD_INDEX)));
+    }
+    index = newIndex;
+    lastSeenVersion = version;
+    pendingGaps.clear();
+    localVersions.removeIf(v -> v <= version);
+    LOGGER.info("Loaded authorization policies up to change version {}", version);
+  }
+
+  /** Applies the changes made by other replicas since the last refresh. */
+  public synchronized void refresh() {
+    List<Long> gapVersions = new ArrayList<>(pendingGaps.keySet());
+    List<AuthorizationChangeDAO> changes =
+        TransactionManager.executeWithTransaction(
+            sessionFactory,
+            session -> {
+              List<AuthorizationChangeDAO> result = new ArrayList<>();
+              if (!gapVersions.isEmpty()) {
+                result.addAll(
+                    session
+                        .createQuery(
+                            "FROM AuthorizationChangeDAO WHERE version IN (:versions) "
+                                + "ORDER BY version",
+                            AuthorizationChangeDAO.class)
+                        .setParameter("versions", gapVersions)
+                        .list());
+              }
+              result.addAll(
+                  session
+                      .createQuery(
+                          "FROM AuthorizationChangeDAO WHERE version > :version ORDER BY version",
+                          AuthorizationChangeDAO.class)
+                      .setParameter("version", lastSeenVersion)
+                      .setMaxResults(MAX_CHANGES_PER_POLL)
+                      .list());
+              return result;
+            },
+            "Failed to poll authorization changes",
+            /* readOnly = */ true);
+
+    long now = System.currentTimeMillis();
+    PolicyIndex current = index;
+    current.update(
+        () -> {
+          for (AuthorizationChangeDAO change : changes) {
+            long version = change.getVersion();
+            pendingGaps.remove(version);
+            if (version > lastSeenVersion) {
+              long firstMissing = Math.max(lastSeenVersion + 1, version - MAX_TRACKED_GAPS);
+              for (long missing = firstMissing; missing < version; missing++) {
+                pendingGaps.put(missing, now);
+              }
+              lastSeenVersion = version;
+            }
+            if (!localVersions.remove(version)) {
+              apply(current, change);
+            }
+          }
+        });
+    pendingGaps
+        .values()
+        .removeIf(foundAt -> now - foundAt > GAP_GRACE_POLLS * refreshIntervalMillis);
+    localVersions.removeIf(v -> v <= lastSeenVersion && !pendingGaps.containsKey(v));
+    if (current.needsCompaction()) {
+      try {
+        reload();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to rebuild authorization policies", e);
+      }
+    }
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to refresh authorization policies", e);
+    }
+  }
+
+  private static void apply(PolicyIndex index, AuthorizationChangeDAO change) {
+    switch (ChangeType.valueOf(change.getChangeType())) {
+      case GRANT ->
+          index.grant(
+              change.getPrincipalId(),
+              change.getResourceId(),
+              Privileges.fromValue(change.getPrivilege()));
+      case REVOKE ->
+          index.revoke(
+              change.getPrincipalId(),
+              change.getResourceId(),
+              Privileges.fromValue(change.getPrivilege()));
+      case CLEAR_PRINCIPAL -> index.clearPrincipal(change.getPrincipalId());
+      case CLEAR_RESOURCE -> index.clearResource(change.getResourceId());
+      case ADD_CHILD -> index.addChild(change.getParentId(), change.getResourceId());
+      case REMOVE_CHILD -> index.removeChild(change.getParentId(), change.getResourceId());
+      case REMOVE_CHILDREN -> index.removeChildren(change.getParentId());
+    }
+  }
+
+  /**
+   * Creates the unique index on the rule columns, after removing the duplicate rules that replicas
+   * could write concurrently before it existed.
+   */
+  private void createRuleIndex() {
+    if (hasRuleIndex()) {
+      return;
+    }
+    try {
+      TransactionManager.executeWithTransaction(
+          sessionFactory,
+          session -> {
+            int duplicates =
+                session
+                    .createNativeQuery(
+                        "DELETE FROM casbin_rule WHERE id NOT IN (SELECT id FROM (SELECT MIN(id)"
+                            + " AS id FROM casbin_rule GROUP BY ptype, v0, v1, v2, v3, v4, v5)"
+                            + " first_rules)")
+                    .executeUpdate();
+            if (duplicates > 0) {
+              LOGGER.info("Removed {} duplicate authorization rules", duplicates);
+            }
+            session
+                .createNativeQuery(
+                    "CREATE UNIQUE INDEX "
+                        + RULE_INDEX
+                        + " ON casbin_rule (ptype, v0, v1, v2, v3, v4, v5)")
+                .executeUpdate();
+            return null;
+          },
+          "Failed to create the authorization rule index",
+          /* readOnly = */ false);
+    } catch (BaseException e) {
+      // Another replica starting at the same time may have created it.
+      if (!hasRuleIndex()) {
+        throw e;
+      }
+    }
+  }
+
+  private boolean hasRuleIndex() {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> session.doReturningWork(CachedPolicyAuthorizer::ruleIndexExists),
+        "Failed to read the authorization rule indexes",
+        /* readOnly = */ true);
+  }
+
+  private static boolean ruleIndexExists(Connection connection) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    // Databases differ in the case they store unquoted names in.
+    for (String table : List.of("casbin_rule", "CASBIN_RULE")) {
+      try (ResultSet indexes = metaData.getIndexInfo(null, null, table, true, false)) {
+        while (indexes.next()) {
+          if (RULE_INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private long findLatestVersion() {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          Long version =
+              session
+                  .createQuery("SELECT MAX(version) FROM AuthorizationChangeDAO", Long.class)
+                  .uniqueResult();
+          return version == null ? 0L : version;
+        },
+        "Failed to get latest authorization change version",
+        /* readOnly = */ true);
+  }
+
+  /**
+   * Writes a change to the policy table and appends it to the change log in one transaction, so
+   * that other replicas learn of every change that is made to the policy table.
+   *
+   * @param write updates the policy table and returns false if it was already as requested, in
+   *     which case no change is recorded
+   */
+  private boolean writeChange(
+      PolicyWrite write,
+      ChangeType changeType,
+      UUID principal,
+      UUID resource,
+      UUID parent,
+      Privileges privilege) {
+    try {
+      return TransactionManager.executeWithTransaction(
+          sessionFactory,
+          session -> {
+            if (!write.execute(session)) {
+              return false;
+            }
+            AuthorizationChangeDAO change =
+                AuthorizationChangeDAO.builder()
+                    .changeType(changeType.name())
+                    .principalId(principal)
+                    .resourceId(resource)
+                    .parentId(parent)
+                    .privilege(privilege == null ? null : privilege.toString())
+                    .createdAt(new Date())
+                    .build();
+            session.persist(change);
+            // The identity version is assigned on persist. Register it before the commit so that
+            // a concurrent refresh never re-applies our own change.
+            localVersions.add(change.getVersion());
+            return true;
+          },
+          "Failed to update authorization policy",
+          /* readOnly = */ false);
+    } catch (BaseException e) {
+      if (e.getErrorCode() == ErrorCode.ALREADY_EXISTS) {
+        // Another replica made the same change, and logged it.
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  @FunctionalInterface
+  private interface PolicyWrite {
+    boolean execute(Session session);
+  }
+
+  /**
+   * Adds a rule unless the policy table already has it. The rule is written in the same layout as
+   * the {@link JDBCAdapter} writes it, which pads the unused values with empty strings.
+   *
+   * @throws BaseException with ALREADY_EXISTS if another replica added the rule concurrently
+   */
+  private static boolean addRule(Session session, String ptype, Object... values) {
+    NativeQuery<?> existing =
+        session.createNativeQuery("SELECT ptype FROM casbin_rule WHERE " + ruleConditions(values));
+    setRuleParameters(existing, ptype, values);
+    if (!existing.setMaxResults(1).list().isEmpty()) {
+      return false;
+    }
+    NativeQuery<?> insert =
+        session.createNativeQuery(
+            "INSERT INTO casbin_rule (ptype, v0, v1, v2, v3, v4, v5) "
+                + "VALUES (:ptype, :v0, :v1, :v2, :v3, :v4, :v5)");
+    insert.setParameter("ptype", ptype);
+    for (int i = 0; i < RULE_VALUES; i++) {
+      insert.setParameter("v" + i, i < values.length ? values[i].toString() : "");
+    }
+    try {
+      insert.executeUpdate();
+    } catch (PersistenceException e) {
+      if (!isConstraintViolation(e)) {
+        throw e;
+      }
+      // Some databases cannot go on with a transaction after a failed statement, so it is rolled
+      // back instead of committed without a change.
+      throw new BaseException(ErrorCode.ALREADY_EXISTS, "Authorization rule already exists", e);
+    }
+    return true;
+  }
+
+  private static boolean isConstraintViolation(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Removes the rules with the given leading values, and returns false if there were none. */
+  private static boolean removeRules(Session session, String ptype, Object... values) {
+    NativeQuery<?> delete =
+        session.createNativeQuery("DELETE FROM casbin_rule WHERE " + ruleConditions(values));
+    setRuleParameters(delete, ptype, values);
+    return delete.executeUpdate() > 0;
+  }
+
+  /** Removes the rules with the given value at the given index. */
+  private static boolean removeFilteredRules(
+      Session session, String ptype, int fieldIndex, Object value) {
+    NativeQuery<?> delete =
+        session.createNativeQuery(
+            "DELETE FROM casbin_rule WHERE ptype = :ptype AND v" + fieldIndex + " = :value");
+    delete.setParameter("ptype", ptype);
+    delete.setParameter("value", value.toString());
+    return delete.executeUpdate() > 0;
+  }
+
+  private static String ruleConditions(Object... values) {
+    StringBuilder conditions = new StringBuilder("ptype = :ptype");
+    for (int i = 0; i < values.length; i++) {
+      conditions.append(" AND v").append(i).append(" = :v").append(i);
+    }
+    return conditions.toString();
+  }
+
+  private static void setRuleParameters(NativeQuery<?> query, String ptype, Object... values) {
+    query.setParameter("ptype", ptype);
+    for (int i = 0; i < values.length; i++) {
+      query.setParameter("v" + i, values[i].toString());
+    }
+  }
+
+  // Mutations are serialized, so that a rule is never checked for and then added twice, and the
+  // index sees the changes in the order they were committed.
+
+  @Override
+  public boolean grantAuthorization(UUID principal, UUID resource, Privileges action) {
+    synchronized (mutationLock) {
+      if (!writeChange(
+          session -> addRule(session, POLICY_TYPE, principal, resource, action),
+          ChangeType.GRANT,
+          principal,
+          resource,
+          null,
+          action)) {
+        return false;
+      }
+      index.grant(principal, resource, action);
+      return true;
+    }
+  }
+
+  @Override
+  public boolean revokeAuthorization(UUID principal, UUID resource, Privileges action) {
+    synchronized (mutationLock) {
+      if (!writeChange(
+          session -> removeRules(session, POLICY_TYPE, principal, resource, action),
+          ChangeType.REVOKE,
+          principal,
+          resource,
+          null,
+          action)) {
+        return false;
+      }
+      index.revoke(principal, resource, action);
+      return true;
+    }
+  }
+
+  @Override
+  public boolean clearAuthorizationsForPrincipal(UUID principal) {
+    synchronized (mutationLock) {
+      writeChange(
+          session -> {
+            removeFilteredRules(session, POLICY_TYPE, PRINCIPAL_INDEX, principal);
+            return true;
+          },
+          ChangeType.CLEAR_PRINCIPAL,
+          principal,
+          null,
+          null,
+          null);
+      return index.clearPrincipal(principal);
+    }
+  }
+
+  @Override
+  public boolean clearAuthorizationsForResource(UUID resource) {
+    synchronized (mutationLock) {
+      writeChange(
+          session -> {
+            removeFilteredRules(session, POLICY_TYPE, RESOURCE_INDEX, resource);
+            return true;
+          },
+          ChangeType.CLEAR_RESOURCE,
+          null,
+          resource,
+          null,
+          null);
+      return index.clearResource(resource);
+    }
+  }
+
+  @Override
+  public boolean addHierarchyChild(UUID parent, UUID child) {
+    synchronized (mutationLock) {
+      if (!writeChange(
+          session -> addRule(session, HIERARCHY_POLICY, parent, child),
+          ChangeType.ADD_CHILD,
+          null,
+          child,
+          parent,
+          null)) {
+        return false;
+      }
+      return index.addChild(parent, child);
+    }
+  }
+
+  @Override
+  public boolean removeHierarchyChild(UUID parent, UUID child) {
+    synchronized (mutationLock) {
+      writeChange(
+          session -> {
+            removeRules(session, HIERARCHY_POLICY, parent, child);
+            return true;
+          },
+          ChangeType.REMOVE_CHILD,
+          null,
+          child,
+          parent,
+          null);
+      return index.removeChild(parent, child);
+    }
+  }
+
+  @Override
+  public boolean removeHierarchyChildren(UUID resource) {
+    synchronized (mutationLock) {
+      writeChange(
+          session -> {
+            removeFilteredRules(session, HIERARCHY_POLICY, HIERARCHY_PARENT_INDEX, resource);
+            return true;
+          },
+          ChangeType.REMOVE_CHILDREN,
+          null,
+          null,
+          resource,
+          null);
+      return index.removeChildren(resource);
+    }
+  }
+
+  /** Returns the number of ids interned in the index, for tests. */
+  int indexSize() {
+    return index.size();
+  }
+
+  @Override
+  public UUID getHierarchyParent(UUID resource) {
+    return index.getParent(resource);
+  }
+
+  @Override
+  public boolean authorize(UUID principal, UUID resource, Privileges action) {
+    return index.authorize(principal, resource, action);
+  }
+
+  @Override
+  public boolean authorizeAny(UUID principal, UUID resource, Privileges... actions) {
+    return index.authorizeAny(principal, resource, PolicyIndex.mask(actions));
+  }
+
+  @Override
+  public boolean authorizeAll(UUID principal, UUID resource, Privileges... actions) {
+    return index.authorizeAll(principal, resource, PolicyIndex.mask(actions));
+  }
+
+  @Override
+  public boolean[] authorizeMany(UUID principal, UUID[] resources, Privileges... actions) {
+    return index.authorizeMany(principal, resources, PolicyIndex.mask(actions));
+  }
+
+  @Override
+  public List<Privileges> listAuthorizations(UUID principal, UUID resource) {
+    return index.listPrivileges(principal, resource);
+  }
+
+  @Override
+  public Map<UUID, List<Privileges>> listAuthorizations(UUID resource) {
+    return index.listPrivileges(resource);
+  }
+}
@@ -1,7 +1,9 @@
 package io.unitycatalog.server.auth;
 
 import io.unitycatalog.server.persist.model.Privileges;
+import io.unitycatalog.server.persist.utils.ConnectionPool;
 import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -21,7 +23,8 @@ import org.casbin.jcasbin.model.Model;
  * <p>This class is an implementation of UnityCatalogAuthorizor that uses JCasbin as the back end to
  * both store and enforce access control policies.
  *
- * <p>The implementation stores the policies in a database using the JDBCAdapter class.
+ * <p>The implementation stores the policies in a database using the JDBCAdapter class, with
+ * connections from the pool Hibernate uses, if any.
  */
 public class JCasbinAuthorizer implements UnityCatalogAuthorizer {
   private final Enforcer enforcer;
@@ -35,20 +38,32 @@ public class JCasbinAuthorizer implements UnityCatalogAuthorizer {
   private static final int HIERARCHY_CHILD_INDEX = 1;
 
   public JCasbinAuthorizer(HibernateConfigurator hibernateConfigurator) throws Exception {
+    enforcer = new Enforcer(loadModel(), createAdapter(hibernateConfigurator));
+    enforcer.enableAutoSave(true);
+  }
+
+  static JDBCAdapter createAdapter(HibernateConfigurator hibernateConfigurator) throws Exception {
+    ConnectionPool connectionPool = hibernateConfigurator.getConnectionPool();
+    if (connectionPool != null) {
+      // Takes connections from the pool Hibernate uses rather than opening its own.
+      return new JDBCAdapter(connectionPool.getDataSource());
+    }
     Properties properties = hibernateConfigurator.getHibernateProperties();
     String driver = properties.getProperty("hibernate.connection.driver_class");
     String url = properties.getProperty("hibernate.connection.url");
     String user = properties.getProperty("hibernate.connection.user");
     String password = properties.getProperty("hibernate.connection.password");
-    JDBCAdapter adapter = new JDBCAdapter(driver, url, user, password);
-
-    InputStream modelStream = this.getClass().getResourceAsStream("/jcasbin_auth_model.conf");
-    String string = IOUtils.toString(modelStream, StandardCharsets.UTF_8);
-    Model model = new Model();
-    model.loadModelFromText(string);
+    return new JDBCAdapter(driver, url, user, password);
+  }
 
-    enforcer = new Enforcer(model, adapter);
-    enforcer.enableAutoSave(true);
+  static Model loadModel() throws IOException {
+    try (InputStream modelStream =
+        JCasbinAuthorizer.class.getResourceAsStream("/jcasbin_auth_model.conf")) {
+      String string = IOUtils.toString(modelStream, StandardCharsets.UTF_8);
+      Model model = new Model();
+      model.loadModelFromText(string);
+      return model;
+    }
   }
 
   @Override
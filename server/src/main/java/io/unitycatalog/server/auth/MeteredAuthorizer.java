@@ -0,0 +1,144 @@
+package io.unitycatalog.server.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.unitycatalog.server.persist.model.Privileges;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An authorizer that times the calls to another one, by method, and counts the access decisions
+ * it makes, for monitoring.
+ */
+public class MeteredAuthorizer implements UnityCatalogAuthorizer {
+
+  private final UnityCatalogAuthorizer delegate;
+  private final MeterRegistry registry;
+  private final Counter allowed;
+  private final Counter denied;
+  // The timer of each method, registered on its first call.
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public MeteredAuthorizer(UnityCatalogAuthorizer delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.registry = registry;
+    this.allowed = decisionCounter(registry, "allowed");
+    this.denied = decisionCounter(registry, "denied");
+  }
+
+  private static Counter decisionCounter(MeterRegistry registry, String result) {
+    return Counter.builder("uc.authorizer.decisions")
+        .description("The access decisions made by the authorizer")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  private <T> T timed(String method, Supplier<T> call) {
+    long startNanos = System.nanoTime();
+    try {
+      return call.get();
+    } finally {
+      timers
+          .computeIfAbsent(
+              method,
+              m ->
+                  Timer.builder("uc.authorizer.calls")
+                      .description("The calls to the authorizer")
+                      .tag("method", m)
+                      .register(registry))
+          .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private boolean decided(boolean decision) {
+    (decision ? allowed : denied).increment();
+    return decision;
+  }
+
+  @Override
+  public boolean grantAuthorization(UUID principal, UUID resource, Privileges action) {
+    return timed(
+        "grantAuthorization", () -> delegate.grantAuthorization(principal, resource, action));
+  }
+
+  @Override
+  public boolean revokeAuthorization(UUID principal, UUID resource, Privileges action) {
+    return timed(
+        "revokeAuthorization", () -> delegate.revokeAuthorization(principal, resource, action));
+  }
+
+  @Override
+  public boolean clearAuthorizationsForPrincipal(UUID principal) {
+    return timed(
+        "clearAuthorizationsForPrincipal",
+        () -> delegate.clearAuthorizationsForPrincipal(principal));
+  }
+
+  @Override
+  public boolean clearAuthorizationsForResource(UUID resource) {
+    return timed(
+        "clearAuthorizationsForResource", () -> delegate.clearAuthorizationsForResource(resource));
+  }
+
+  @Override
+  public boolean addHierarchyChild(UUID parent, UUID child) {
+    return timed("addHierarchyChild", () -> delegate.addHierarchyChild(parent, child));
+  }
+
+  @Override
+  public boolean removeHierarchyChild(UUID parent, UUID child) {
+    return timed("removeHierarchyChild", () -> delegate.removeHierarchyChild(parent, child));
+  }
+
+  @Override
+  public boolean removeHierarchyChildren(UUID resource) {
+    return timed("removeHierarchyChildren", () -> delegate.removeHierarchyChildren(resource));
+  }
+
+  @Override
+  public UUID getHierarchyParent(UUID resource) {
+    return timed("getHierarchyParent", () -> delegate.getHierarchyParent(resource));
+  }
+
+  @Override
+  public boolean authorize(UUID principal, UUID resource, Privileges action) {
+    return decided(timed("authorize", () -> delegate.authorize(principal, resource, action)));
+  }
+
+  @Override
+  public boolean authorizeAny(UUID principal, UUID resource, Privileges... actions) {
+    return decided(
+        timed("authorizeAny", () -> delegate.authorizeAny(principal, resource, actions)));
+  }
+
+  @Override
+  public boolean authorizeAll(UUID principal, UUID resource, Privileges... actions) {
+    return decided(
+        timed("authorizeAll", () -> delegate.authorizeAll(principal, resource, actions)));
+  }
+
+  @Override
+  public boolean[] authorizeMany(UUID principal, UUID[] resources, Privileges... actions) {
+    boolean[] decisions =
+        timed("authorizeMany", () -> delegate.authorizeMany(principal, resources, actions));
+    for (boolean decision : decisions) {
+      decided(decision);
+    }
+    return decisions;
+  }
+
+  @Override
+  public List<Privileges> listAuthorizations(UUID principal, UUID resource) {
+    return timed("listAuthorizations", () -> delegate.listAuthorizations(principal, resource));
+  }
+
+  @Override
+  public Map<UUID, List<Privileges>> listAuthorizations(UUID resource) {
+    return timed("listAuthorizations", () -> delegate.listAuthorizations(resource));
+  }
+}
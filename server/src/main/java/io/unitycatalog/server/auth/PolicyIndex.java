@@ -0,0 +1,520 @@
+package io.unitycatalog.server.auth;
+
+import io.unitycatalog.server.persist.model.Privileges;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory, primitive-keyed index of authorization policies.
+ *
+ * <p>Every principal and resource UUID is interned to a dense int id. Grants are kept in an
+ * open-addressing map from the packed (principal, resource) pair to a bitset of {@link Privileges}
+ * ordinals, and the resource hierarchy (the JCasbin {@code g2} relation) is kept as a parent array
+ * indexed by the resource id. A check therefore costs one hash lookup per hierarchy level and does
+ * not allocate. Ids are never released, so once {@link #needsCompaction} reports that many of them
+ * may be unreferenced, the index is rebuilt rather than compacted in place.
+ *
+ * <p>The evaluation semantics match the JCasbin model in {@code jcasbin_auth_model.conf}: OWNER is
+ * only granted by an exact (principal, resource) match, while every other privilege is inherited
+ * from any ancestor of the resource.
+ */
+class PolicyIndex {
+  private static final int NO_PARENT = -1;
+  // Same limit the JCasbin default role manager applies to g2 lookups.
+  private static final int MAX_HIERARCHY_DEPTH = 10;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final long OWNER_BIT = bit(Privileges.OWNER);
+  private static final Privileges[] PRIVILEGES = Privileges.values();
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<UUID, Integer> ids = new HashMap<>();
+  private UUID[] uuids = new UUID[INITIAL_CAPACITY];
+  private int[] parents = newParentArray(INITIAL_CAPACITY);
+  private int size = 0;
+  // Removals since the index was built. Ids that lost their last rule stay interned, so this bounds
+  // how many ids may be unreferenced.
+  private int removals = 0;
+
+  private final LongLongMap grants = new LongLongMap();
+
+  // Secondary indexes only used by the (rare) mutation and listing paths.
+  private final Map<Integer, Set<Integer>> resourcesByPrincipal = new HashMap<>();
+  private final Map<Integer, Set<Integer>> principalsByResource = new HashMap<>();
+  private final Map<Integer, Set<Integer>> childrenByParent = new HashMap<>();
+
+  static long bit(Privileges privilege) {
+    return 1L << privilege.ordinal();
+  }
+
+  static long mask(Privileges... privileges) {
+    long mask = 0;
+    for (Privileges privilege : privileges) {
+      mask |= bit(privilege);
+    }
+    return mask;
+  }
+
+  boolean authorize(UUID principal, UUID resource, Privileges privilege) {
+    long bit = bit(privilege);
+    lock.readLock().lock();
+    try {
+      int principalId = lookup(principal);
+      int resourceId = lookup(resource);
+      if (principalId == NO_PARENT || resourceId == NO_PARENT) {
+        return false;
+      }
+      if (bit == OWNER_BIT) {
+        return (grants.get(pack(principalId, resourceId)) & bit) != 0;
+      }
+      return (inheritedBits(principalId, resourceId) & bit) != 0;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean authorizeAny(UUID principal, UUID resource, long mask) {
+    lock.readLock().lock();
+    try {
+      int principalId = lookup(principal);
+      int resourceId = lookup(resource);
+      if (principalId == NO_PARENT || resourceId == NO_PARENT) {
+        return false;
+      }
+      return (effectiveBits(principalId, resourceId) & mask) != 0;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean[] authorizeMany(UUID principal, UUID[] resources, long mask) {
+    boolean[] decisions = new boolean[resources.length];
+    lock.readLock().lock();
+    try {
+      int principalId = lookup(principal);
+      if (principalId == NO_PARENT) {
+        return decisions;
+      }
+      for (int i = 0; i < resources.length; i++) {
+        int resourceId = lookup(resources[i]);
+        decisions[i] =
+            resourceId != NO_PARENT && (effectiveBits(principalId, resourceId) & mask) != 0;
+      }
+      return decisions;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean authorizeAll(UUID principal, UUID resource, long mask) {
+    lock.readLock().lock();
+    try {
+      int principalId = lookup(principal);
+      int resourceId = lookup(resource);
+      if (principalId == NO_PARENT || resourceId == NO_PARENT) {
+        return mask == 0;
+      }
+      return (effectiveBits(principalId, resourceId) & mask) == mask;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean hasGrant(UUID principal, UUID resource, Privileges privilege) {
+    lock.readLock().lock();
+    try {
+      int principalId = lookup(principal);
+      int resourceId = lookup(resource);
+      return principalId != NO_PARENT
+          && resourceId != NO_PARENT
+          && (grants.get(pack(principalId, resourceId)) & bit(privilege)) != 0;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  UUID getParent(UUID resource) {
+    lock.readLock().lock();
+    try {
+      int resourceId = lookup(resource);
+      if (resourceId == NO_PARENT || parents[resourceId] == NO_PARENT) {
+        return null;
+      }
+      return uuids[parents[resourceId]];
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  List<Privileges> listPrivileges(UUID principal, UUID resource) {
+    lock.readLock().lock();
+    try {
+      int principalId = lookup(principal);
+      int resourceId = lookup(resource);
+      if (principalId == NO_PARENT || resourceId == NO_PARENT) {
+        return new ArrayList<>();
+      }
+      return toPrivileges(grants.get(pack(principalId, resourceId)));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  Map<UUID, List<Privileges>> listPrivileges(UUID resource) {
+    lock.readLock().lock();
+    try {
+      int resourceId = lookup(resource);
+      if (resourceId == NO_PARENT) {
+        return new HashMap<>();
+      }
+      Map<UUID, List<Privileges>> result = new HashMap<>();
+      for (int principalId : principalsByResource.getOrDefault(resourceId, Set.of())) {
+        result.put(
+            uuids[principalId], toPrivileges(grants.get(pack(principalId, resourceId))));
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean grant(UUID principal, UUID resource, Privileges privilege) {
+    lock.writeLock().lock();
+    try {
+      int principalId = intern(principal);
+      int resourceId = intern(resource);
+      long key = pack(principalId, resourceId);
+      long bits = grants.get(key);
+      if ((bits & bit(privilege)) != 0) {
+        return false;
+      }
+      grants.put(key, bits | bit(privilege));
+      resourcesByPrincipal.computeIfAbsent(principalId, k -> new HashSet<>()).add(resourceId);
+      principalsByResource.computeIfAbsent(resourceId, k -> new HashSet<>()).add(principalId);
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean revoke(UUID principal, UUID resource, Privileges privilege) {
+    lock.writeLock().lock();
+    try {
+      int principalId = lookup(principal);
+      int resourceId = lookup(resource);
+      if (principalId == NO_PARENT || resourceId == NO_PARENT) {
+        return false;
+      }
+      long key = pack(principalId, resourceId);
+      long bits = grants.get(key);
+      if ((bits & bit(privilege)) == 0) {
+        return false;
+      }
+      setBits(principalId, resourceId, bits & ~bit(privilege));
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean clearPrincipal(UUID principal) {
+    lock.writeLock().lock();
+    try {
+      int principalId = lookup(principal);
+      Set<Integer> resources =
+          principalId == NO_PARENT ? null : resourcesByPrincipal.get(principalId);
+      if (resources == null || resources.isEmpty()) {
+        return false;
+      }
+      for (int resourceId : new ArrayList<>(resources)) {
+        setBits(principalId, resourceId, 0);
+      }
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean clearResource(UUID resource) {
+    lock.writeLock().lock();
+    try {
+      int resourceId = lookup(resource);
+      Set<Integer> principals =
+          resourceId == NO_PARENT ? null : principalsByResource.get(resourceId);
+      if (principals == null || principals.isEmpty()) {
+        return false;
+      }
+      for (int principalId : new ArrayList<>(principals)) {
+        setBits(principalId, resourceId, 0);
+      }
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean addChild(UUID parent, UUID child) {
+    lock.writeLock().lock();
+    try {
+      int parentId = intern(parent);
+      int childId = intern(child);
+      if (parents[childId] == parentId) {
+        return false;
+      }
+      if (parents[childId] != NO_PARENT) {
+        removeChildLink(parents[childId], childId);
+      }
+      parents[childId] = parentId;
+      childrenByParent.computeIfAbsent(parentId, k -> new HashSet<>()).add(childId);
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean removeChild(UUID parent, UUID child) {
+    lock.writeLock().lock();
+    try {
+      int parentId = lookup(parent);
+      int childId = lookup(child);
+      if (parentId == NO_PARENT || childId == NO_PARENT || parents[childId] != parentId) {
+        return false;
+      }
+      removeChildLink(parentId, childId);
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean removeChildren(UUID parent) {
+    lock.writeLock().lock();
+    try {
+      int parentId = lookup(parent);
+      Set<Integer> children = parentId == NO_PARENT ? null : childrenByParent.remove(parentId);
+      if (children == null || children.isEmpty()) {
+        return false;
+      }
+      for (int childId : children) {
+        parents[childId] = NO_PARENT;
+      }
+      removals += children.size();
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns whether enough rules were removed since the index was built that many of its interned
+   * ids may be unreferenced, and the index should be rebuilt from the policy table.
+   */
+  boolean needsCompaction() {
+    lock.readLock().lock();
+    try {
+      return removals > Math.max(INITIAL_CAPACITY, size / 2);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Returns the number of interned ids. */
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Runs a batch of mutations atomically with respect to concurrent checks. */
+  void update(Runnable mutations) {
+    lock.writeLock().lock();
+    try {
+      mutations.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void removeChildLink(int parentId, int childId) {
+    parents[childId] = NO_PARENT;
+    removals++;
+    Set<Integer> children = childrenByParent.get(parentId);
+    if (children != null) {
+      children.remove(childId);
+      if (children.isEmpty()) {
+        childrenByParent.remove(parentId);
+      }
+    }
+  }
+
+  private void setBits(int principalId, int resourceId, long bits) {
+    grants.put(pack(principalId, resourceId), bits);
+    if (bits == 0) {
+      removals++;
+      removeFromSet(resourcesByPrincipal, principalId, resourceId);
+      removeFromSet(principalsByResource, resourceId, principalId);
+    }
+  }
+
+  private static void removeFromSet(Map<Integer, Set<Integer>> map, int key, int value) {
+    Set<Integer> set = map.get(key);
+    if (set != null) {
+      set.remove(value);
+      if (set.isEmpty()) {
+        map.remove(key);
+      }
+    }
+  }
+
+  /** Bits granted on the resource or inherited from its ancestors, excluding inherited OWNER. */
+  private long inheritedBits(int principalId, int resourceId) {
+    long bits = 0;
+    int current = resourceId;
+    for (int depth = 0; current != NO_PARENT && depth <= MAX_HIERARCHY_DEPTH; depth++) {
+      bits |= grants.get(pack(principalId, current));
+      current = parents[current];
+    }
+    return bits & ~OWNER_BIT;
+  }
+
+  private long effectiveBits(int principalId, int resourceId) {
+    return inheritedBits(principalId, resourceId)
+        | (grants.get(pack(principalId, resourceId)) & OWNER_BIT);
+  }
+
+  private int lookup(UUID uuid) {
+    Integer id = ids.get(uuid);
+    return id == null ? NO_PARENT : id;
+  }
+
+  private int intern(UUID uuid) {
+    Integer id = ids.get(uuid);
+    if (id != null) {
+      return id;
+    }
+    if (size == uuids.length) {
+      int capacity = uuids.length * 2;
+      uuids = Arrays.copyOf(uuids, capacity);
+      int[] newParents = newParentArray(capacity);
+      System.arraycopy(parents, 0, newParents, 0, size);
+      parents = newParents;
+    }
+    uuids[size] = uuid;
+    ids.put(uuid, size);
+    return size++;
+  }
+
+  private static int[] newParentArray(int capacity) {
+    int[] array = new int[capacity];
+    Arrays.fill(array, NO_PARENT);
+    return array;
+  }
+
+  private static long pack(int principalId, int resourceId) {
+    return ((long) principalId << 32) | (resourceId & 0xFFFFFFFFL);
+  }
+
+  private static List<Privileges> toPrivileges(long bits) {
+    if (bits == 0) {
+      return new ArrayList<>();
+    }
+    List<Privileges> privileges = new ArrayList<>(Long.bitCount(bits));
+    for (Privileges privilege : PRIVILEGES) {
+      if ((bits & bit(privilege)) != 0) {
+        privileges.add(privilege);
+      }
+    }
+    return Collections.unmodifiableList(privileges);
+  }
+
+  /**
+   * Open-addressing long to long hash map with linear probing. Keys are always non-negative so -1
+   * marks an empty slot. Removed entries keep their slot with a zero value until the next resize.
+   */
+  private static class LongLongMap {
+    private static final long EMPTY = -1L;
+    private long[] keys;
+    private long[] values;
+    private int used;
+
+    private LongLongMap() {
+      allocate(INITIAL_CAPACITY);
+    }
+
+    private long get(long key) {
+      int mask = keys.length - 1;
+      for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+        long current = keys[slot];
+        if (current == key) {
+          return values[slot];
+        }
+        if (current == EMPTY) {
+          return 0;
+        }
+      }
+    }
+
+    private void put(long key, long value) {
+      int mask = keys.length - 1;
+      for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+        long current = keys[slot];
+        if (current == key) {
+          values[slot] = value;
+          return;
+        }
+        if (current == EMPTY) {
+          if (value == 0) {
+            return;
+          }
+          keys[slot] = key;
+          values[slot] = value;
+          if (++used * 2 > keys.length) {
+            resize();
+          }
+          return;
+        }
+      }
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      long[] oldValues = values;
+      int live = 0;
+      for (long value : oldValues) {
+        if (value != 0) {
+          live++;
+        }
+      }
+      allocate(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(live, 1)) * 4));
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY && oldValues[i] != 0) {
+          put(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+
+    private void allocate(int capacity) {
+      keys = new long[capacity];
+      values = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      used = 0;
+    }
+
+    private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+  }
+}
@@ -38,6 +38,19 @@ public interface UnityCatalogAuthorizer {
 
   boolean authorizeAll(UUID principal, UUID resource, Privileges... actions);
 
+  /**
+   * Checks {@link #authorizeAny} for several resources at once, returning one decision per
+   * resource in the same order. Implementations can override this to answer the whole batch with
+   * a single lookup.
+   */
+  default boolean[] authorizeMany(UUID principal, UUID[] resources, Privileges... actions) {
+    boolean[] decisions = new boolean[resources.length];
+    for (int i = 0; i < resources.length; i++) {
+      decisions[i] = authorizeAny(principal, resources[i], actions);
+    }
+    return decisions;
+  }
+
   List<Privileges> listAuthorizations(UUID principal, UUID resource);
 
   Map<UUID, List<Privileges>> listAuthorizations(UUID resource);
@@ -0,0 +1,88 @@
+package io.unitycatalog.server.auth.decorator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+
+/**
+ * Per-evaluation SpEL context.
+ *
+ * <p>Holds only the request specific variables (principal and resource ids) and delegates
+ * everything else, including the registered authorization functions and the property accessors
+ * with their reflection caches, to a shared context that is set up once per evaluator.
+ */
+class AuthorizationEvaluationContext implements EvaluationContext {
+
+  private final EvaluationContext shared;
+  private final Map<String, Object> variables = new HashMap<>();
+
+  AuthorizationEvaluationContext(EvaluationContext shared) {
+    this.shared = shared;
+  }
+
+  @Override
+  public TypedValue getRootObject() {
+    return shared.getRootObject();
+  }
+
+  @Override
+  public List<PropertyAccessor> getPropertyAccessors() {
+    return shared.getPropertyAccessors();
+  }
+
+  @Override
+  public List<ConstructorResolver> getConstructorResolvers() {
+    return shared.getConstructorResolvers();
+  }
+
+  @Override
+  public List<MethodResolver> getMethodResolvers() {
+    return shared.getMethodResolvers();
+  }
+
+  @Override
+  public BeanResolver getBeanResolver() {
+    return shared.getBeanResolver();
+  }
+
+  @Override
+  public TypeLocator getTypeLocator() {
+    return shared.getTypeLocator();
+  }
+
+  @Override
+  public TypeConverter getTypeConverter() {
+    return shared.getTypeConverter();
+  }
+
+  @Override
+  public TypeComparator getTypeComparator() {
+    return shared.getTypeComparator();
+  }
+
+  @Override
+  public OperatorOverloader getOperatorOverloader() {
+    return shared.getOperatorOverloader();
+  }
+
+  @Override
+  public void setVariable(String name, Object value) {
+    variables.put(name, value);
+  }
+
+  @Override
+  public Object lookupVariable(String name) {
+    Object value = variables.get(name);
+    return (value != null || variables.containsKey(name)) ? value : shared.lookupVariable(name);
+  }
+}
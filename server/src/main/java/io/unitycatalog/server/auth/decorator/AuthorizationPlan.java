@@ -0,0 +1,112 @@
+package io.unitycatalog.server.auth.decorator;
+
+import static io.unitycatalog.server.auth.decorator.KeyLocator.Source.PARAM;
+import static io.unitycatalog.server.auth.decorator.KeyLocator.Source.PAYLOAD;
+import static io.unitycatalog.server.auth.decorator.KeyLocator.Source.SYSTEM;
+
+import com.linecorp.armeria.server.annotation.Param;
+import io.unitycatalog.server.auth.annotation.AuthorizeExpression;
+import io.unitycatalog.server.auth.annotation.AuthorizeKey;
+import io.unitycatalog.server.auth.annotation.AuthorizeKeys;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.expression.Expression;
+
+/**
+ * The authorization rule of a single service method, resolved from its annotations once.
+ *
+ * <p>It holds the parsed {@code @AuthorizeExpression} and the {@code @AuthorizeKey} locators,
+ * already split by their source, so that authorizing a request needs neither reflection nor
+ * expression parsing.
+ */
+@Getter
+class AuthorizationPlan {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuthorizationPlan.class);
+
+  private final String methodName;
+  private final Expression expression;
+  private final List<KeyLocator> systemLocators;
+  private final List<KeyLocator> paramLocators;
+  private final List<KeyLocator> payloadLocators;
+
+  private AuthorizationPlan(String methodName, Expression expression, List<KeyLocator> locators) {
+    this.methodName = methodName;
+    this.expression = expression;
+    this.systemLocators = locators.stream().filter(l -> l.getSource() == SYSTEM).toList();
+    this.paramLocators = locators.stream().filter(l -> l.getSource() == PARAM).toList();
+    this.payloadLocators = locators.stream().filter(l -> l.getSource() == PAYLOAD).toList();
+  }
+
+  /**
+   * Builds the plan for the given service method, or returns null if the method has no
+   * {@code @AuthorizeExpression}.
+   */
+  static AuthorizationPlan forMethod(Method method, UnityAccessEvaluator evaluator) {
+    AuthorizeExpression annotation = method.getAnnotation(AuthorizeExpression.class);
+    if (annotation == null) {
+      LOGGER.debug("No authorization expression found for {}.", method.getName());
+      return null;
+    }
+    String methodName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    LOGGER.debug("authorize expression for {} = {}", methodName, annotation.value());
+    return new AuthorizationPlan(
+        methodName, evaluator.compile(annotation.value()), findAuthorizeKeys(method));
+  }
+
+  boolean hasLocators() {
+    return !systemLocators.isEmpty() || !paramLocators.isEmpty() || !payloadLocators.isEmpty();
+  }
+
+  private static List<KeyLocator> findAuthorizeKeys(Method method) {
+    List<KeyLocator> locators = new ArrayList<>();
+
+    AuthorizeKey methodKey = method.getAnnotation(AuthorizeKey.class);
+
+    // If resource is on the method, its source is from a global/system variable
+    if (methodKey != null) {
+      locators.add(KeyLocator.builder().source(SYSTEM).type(methodKey.value()).build());
+    }
+
+    for (Parameter parameter : method.getParameters()) {
+      AuthorizeKey paramKey = parameter.getAnnotation(AuthorizeKey.class);
+      AuthorizeKeys paramKeys = parameter.getAnnotation(AuthorizeKeys.class);
+
+      if (paramKey != null && paramKeys != null) {
+        LOGGER.warn("Both AuthorizeKey and AuthorizeKeys present");
+      }
+
+      List<AuthorizeKey> allKeys = new ArrayList<>();
+      if (paramKey != null) {
+        allKeys.add(paramKey);
+      }
+      if (paramKeys != null) {
+        allKeys.addAll(Arrays.asList(paramKeys.value()));
+      }
+
+      for (AuthorizeKey key : allKeys) {
+        if (!key.key().isEmpty()) {
+          // Explicitly declaring a key, so it's the source is from the payload data
+          locators.add(
+              KeyLocator.builder().source(PAYLOAD).type(key.value()).key(key.key()).build());
+        } else {
+          // No key defined so implicitly referencing an (annotated) (query) parameter
+          Param param = parameter.getAnnotation(Param.class);
+          if (param != null) {
+            locators.add(
+                KeyLocator.builder().source(PARAM).type(key.value()).key(param.value()).build());
+          } else {
+            LOGGER.warn("Couldn't find param key for authorization key");
+          }
+        }
+      }
+    }
+    return locators;
+  }
+}
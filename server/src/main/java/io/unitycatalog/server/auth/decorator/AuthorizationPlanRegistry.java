@@ -0,0 +1,98 @@
+package io.unitycatalog.server.auth.decorator;
+
+import com.linecorp.armeria.internal.server.annotation.AnnotatedService;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceConfig;
+import com.linecorp.armeria.server.SimpleDecoratingHttpService;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the {@link AuthorizationPlan} of every annotated service method.
+ *
+ * <p>Plans are keyed by the route's service instance, which is the object Armeria hands to the
+ * decorator as {@code ctx.config().service()}. The registry is normally populated for all routes
+ * when the server is built; a service that shows up later is resolved on its first request.
+ */
+class AuthorizationPlanRegistry {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuthorizationPlanRegistry.class);
+
+  private final UnityAccessEvaluator evaluator;
+  private final Map<HttpService, Optional<AuthorizationPlan>> plans = new ConcurrentHashMap<>();
+
+  AuthorizationPlanRegistry(UnityAccessEvaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /** Resolves the plans of all the given routes up front. */
+  void register(Iterable<ServiceConfig> serviceConfigs) {
+    int count = 0;
+    for (ServiceConfig serviceConfig : serviceConfigs) {
+      if (planFor(serviceConfig.service()).isPresent()) {
+        count++;
+      }
+    }
+    LOGGER.info("Registered {} authorization plans.", count);
+  }
+
+  /**
+   * Returns the plan for the given route service, or empty if the service is not an annotated
+   * service method or has no authorization expression.
+   */
+  Optional<AuthorizationPlan> planFor(HttpService httpService) {
+    Optional<AuthorizationPlan> plan = plans.get(httpService);
+    return plan != null ? plan : plans.computeIfAbsent(httpService, this::resolve);
+  }
+
+  private Optional<AuthorizationPlan> resolve(HttpService httpService) {
+    Method method = findServiceMethod(httpService);
+    if (method == null) {
+      LOGGER.debug("Couldn't unwrap service {}.", httpService);
+      return Optional.empty();
+    }
+    return Optional.ofNullable(AuthorizationPlan.forMethod(method, evaluator));
+  }
+
+  private static Method findServiceMethod(HttpService httpService) {
+    if (httpService.unwrap() instanceof SimpleDecoratingHttpService decoratingService
+        && decoratingService.unwrap() instanceof AnnotatedService service) {
+
+      LOGGER.debug(
+          "serviceName = {}, methodName = {}", service.serviceName(), service.methodName());
+
+      Class<?> clazz;
+      try {
+        clazz = Class.forName(service.serviceName());
+      } catch (ClassNotFoundException e) {
+        throw new BaseException(
+            ErrorCode.INTERNAL, "Unable to load service class " + service.serviceName(), e);
+      }
+      List<Method> methods = findMethodsByName(clazz, service.methodName());
+      return (methods.size() == 1) ? methods.get(0) : null;
+    } else {
+      return null;
+    }
+  }
+
+  static List<Method> findMethodsByName(Class<?> clazz, String methodName) {
+    List<Method> matchingMethods = new ArrayList<>();
+    Method[] methods = clazz.getDeclaredMethods();
+
+    for (Method method : methods) {
+      if (method.getName().equals(methodName)) {
+        matchingMethods.add(method);
+      }
+    }
+
+    return matchingMethods;
+  }
+}
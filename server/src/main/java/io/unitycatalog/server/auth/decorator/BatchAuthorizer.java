@@ -0,0 +1,111 @@
+package io.unitycatalog.server.auth.decorator;
+
+import io.unitycatalog.server.auth.UnityCatalogAuthorizer;
+import io.unitycatalog.server.model.SecurableType;
+import io.unitycatalog.server.persist.model.Privileges;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answers the authorization functions of an expression for a whole page of list results.
+ *
+ * <p>The rows of a page mostly share their metastore, catalog and schema, so every decision is
+ * remembered per (function, privileges, resource) and the shared terms of the expression are
+ * checked once per page. The first time a term is needed for a resource, it is decided for all the
+ * resources of the same type on the page with a single {@link
+ * UnityCatalogAuthorizer#authorizeMany} call, which covers the per-row leaf terms.
+ *
+ * <p>Instances are only used by the thread filtering the page.
+ */
+class BatchAuthorizer {
+
+  private record Term(boolean all, List<Privileges> privileges) {}
+
+  private final UnityCatalogAuthorizer authorizer;
+  private final UUID principal;
+  private final Map<UUID, SecurableType> resourceTypes = new HashMap<>();
+  private final Map<SecurableType, Set<UUID>> resourcesByType = new EnumMap<>(SecurableType.class);
+  private final Map<Term, Map<UUID, Boolean>> decisions = new HashMap<>();
+
+  BatchAuthorizer(
+      UnityCatalogAuthorizer authorizer,
+      UUID principal,
+      List<Map<SecurableType, Object>> resourceIds) {
+    this.authorizer = authorizer;
+    this.principal = principal;
+    for (Map<SecurableType, Object> ids : resourceIds) {
+      ids.forEach(
+          (type, id) -> {
+            if (id instanceof UUID uuid) {
+              resourceTypes.putIfAbsent(uuid, type);
+              resourcesByType.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(uuid);
+            }
+          });
+    }
+  }
+
+  boolean authorize(UUID principal, UUID resource, Privileges privilege) {
+    return decide(principal, resource, false, privilege);
+  }
+
+  boolean authorizeAny(Object... parameters) {
+    return decide((UUID) parameters[0], (UUID) parameters[1], false, privileges(parameters));
+  }
+
+  boolean authorizeAll(Object... parameters) {
+    return decide((UUID) parameters[0], (UUID) parameters[1], true, privileges(parameters));
+  }
+
+  private static Privileges[] privileges(Object[] parameters) {
+    Privileges[] privileges = new Privileges[parameters.length - 2];
+    System.arraycopy(parameters, 2, privileges, 0, privileges.length);
+    return privileges;
+  }
+
+  private boolean decide(UUID principal, UUID resource, boolean all, Privileges... privileges) {
+    SecurableType type = resource != null ? resourceTypes.get(resource) : null;
+    if (type == null || !Objects.equals(this.principal, principal)) {
+      return all
+          ? authorizer.authorizeAll(principal, resource, privileges)
+          : authorizer.authorizeAny(principal, resource, privileges);
+    }
+
+    Map<UUID, Boolean> known =
+        decisions.computeIfAbsent(new Term(all, List.of(privileges)), t -> new HashMap<>());
+    Boolean decision = known.get(resource);
+    if (decision == null) {
+      UUID[] pending =
+          resourcesByType.get(type).stream()
+              .filter(id -> !known.containsKey(id))
+              .toArray(UUID[]::new);
+      boolean[] results = authorizeMany(pending, all, privileges);
+      for (int i = 0; i < pending.length; i++) {
+        known.put(pending[i], results[i]);
+      }
+      decision = known.get(resource);
+    }
+    return decision;
+  }
+
+  private boolean[] authorizeMany(UUID[] resources, boolean all, Privileges[] privileges) {
+    if (!all) {
+      return authorizer.authorizeMany(principal, resources, privileges);
+    }
+    boolean[] results = new boolean[resources.length];
+    Arrays.fill(results, true);
+    for (Privileges privilege : privileges) {
+      boolean[] granted = authorizer.authorizeMany(principal, resources, privilege);
+      for (int i = 0; i < resources.length; i++) {
+        results[i] &= granted[i];
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,221 @@
+package io.unitycatalog.server.auth.decorator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.MediaType;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.SecurableType;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extracts the {@code @AuthorizeKey} values from a JSON request payload as it streams in.
+ *
+ * <p>The request body arrives a block at a time, so each block is fed once into a non-blocking
+ * Jackson parser as it streams in, followed by {@link #endOfPayload()} when the body ends. Only the
+ * paths of the payload locators (dotted field names, e.g. {@code "table.schema_name"}) are tracked
+ * and no data is buffered beyond the token being parsed.
+ *
+ * <p>The keys are only complete once the top level object ends: the service binds the last value
+ * of a field, so the payload is parsed to the end and a duplicate of a locator field, or of an
+ * object enclosing one, is rejected. Only those paths are remembered, so the memory used does not
+ * grow with the size of the payload. Anything that cannot be authorized, a malformed, truncated or
+ * non JSON payload, fails the request with {@link ErrorCode#INVALID_ARGUMENT} rather than being
+ * authorized with missing keys.
+ *
+ * <p>A better long term solution would be to intercept the service method call directly and
+ * extract the payload data from the method arguments.
+ */
+class PeekDataHandler {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final MediaType contentType;
+  private final Map<String, List<KeyLocator>> pendingLocators = new HashMap<>();
+  private final Map<SecurableType, Object> resourceKeys;
+  // The locator paths and the paths of the objects enclosing them, e.g. "table.schema_name" and
+  // "table", and those of them already seen in the payload.
+  private final Set<String> locatorPaths = new HashSet<>();
+  private final Set<String> seenPaths = new HashSet<>();
+  private int maxLocatorDepth = 0;
+
+  // The current field name of each enclosing object; arrays don't get an entry.
+  private final Deque<String> fieldNames = new ArrayDeque<>();
+  private int arrayDepth = 0;
+  private JsonParser parser;
+  private boolean done = false;
+
+  PeekDataHandler(
+      MediaType contentType,
+      List<KeyLocator> payloadLocators,
+      Map<SecurableType, Object> resourceKeys) {
+    this.contentType = contentType;
+    this.resourceKeys = resourceKeys;
+    payloadLocators.forEach(
+        l -> pendingLocators.computeIfAbsent(l.getKey(), k -> new ArrayList<>()).add(l));
+    for (String key : pendingLocators.keySet()) {
+      int depth = 1;
+      for (int i = key.indexOf('.'); i >= 0; i = key.indexOf('.', i + 1)) {
+        locatorPaths.add(key.substring(0, i));
+        depth++;
+      }
+      locatorPaths.add(key);
+      maxLocatorDepth = Math.max(maxLocatorDepth, depth);
+    }
+  }
+
+  /**
+   * Feeds the next block of the payload. Returns true exactly once, when the top level object has
+   * ended, the resource keys are complete and the authorization can be checked.
+   *
+   * @throws BaseException if the payload is not a well-formed JSON object or duplicates a locator field
+   */
+  boolean processPeekData(HttpData data) {
+    if (done) {
+      return false;
+    }
+    if (contentType == null || !contentType.is(MediaType.JSON)) {
+      throw invalidPayload("Unsupported content type: " + contentType);
+    }
+
+    try {
+      if (parser == null) {
+        parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+      }
+      byte[] bytes = data.array();
+      ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+
+      JsonToken token;
+      while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+        if (handleToken(token)) {
+          return complete();
+        }
+      }
+    } catch (IOException e) {
+      String message =
+          e instanceof JsonProcessingException jsonException
+              ? jsonException.getOriginalMessage()
+              : e.getMessage();
+      throw invalidPayload("Invalid JSON payload: " + message);
+    }
+    return false;
+  }
+
+  /**
+   * Signals the end of the payload.
+   *
+   * @throws BaseException if the payload ended before its top level object did
+   */
+  void endOfPayload() {
+    if (!done) {
+      throw invalidPayload("Incomplete JSON payload.");
+    }
+  }
+
+  /** Returns true once the top level object has ended. */
+  private boolean handleToken(JsonToken token) throws IOException {
+    switch (token) {
+      case START_OBJECT:
+        fieldNames.push("");
+        return false;
+      case END_OBJECT:
+        fieldNames.pop();
+        return fieldNames.isEmpty();
+      case START_ARRAY:
+        if (fieldNames.isEmpty()) {
+          throw invalidPayload("The JSON payload is not an object.");
+        }
+        arrayDepth++;
+        return false;
+      case END_ARRAY:
+        arrayDepth--;
+        return false;
+      case FIELD_NAME:
+        fieldNames.pop();
+        fieldNames.push(parser.currentName());
+        if (arrayDepth == 0 && fieldNames.size() <= maxLocatorDepth) {
+          String path = currentPath();
+          if (locatorPaths.contains(path) && !seenPaths.add(path)) {
+            throw invalidPayload("Duplicate field '" + path + "' in JSON payload.");
+          }
+        }
+        return false;
+      default:
+        if (fieldNames.isEmpty()) {
+          throw invalidPayload("The JSON payload is not an object.");
+        }
+        if (arrayDepth == 0) {
+          List<KeyLocator> locators = pendingLocators.remove(currentPath());
+          if (locators != null) {
+            Object value = scalarValue(token);
+            locators.forEach(l -> resourceKeys.put(l.getType(), value));
+          }
+        }
+        return false;
+    }
+  }
+
+  private String currentPath() {
+    if (fieldNames.size() == 1) {
+      return fieldNames.peek();
+    }
+    // The deque is a stack, so the outermost field name comes last.
+    Iterator<String> names = fieldNames.descendingIterator();
+    StringBuilder path = new StringBuilder(names.next());
+    while (names.hasNext()) {
+      path.append('.').append(names.next());
+    }
+    return path.toString();
+  }
+
+  private Object scalarValue(JsonToken token) throws IOException {
+    return switch (token) {
+      case VALUE_STRING -> parser.getText();
+      case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+      case VALUE_TRUE -> Boolean.TRUE;
+      case VALUE_FALSE -> Boolean.FALSE;
+      default -> null;
+    };
+  }
+
+  private boolean complete() {
+    done = true;
+    // Keys that aren't in the payload are still part of the authorization context.
+    pendingLocators.values().forEach(ls -> ls.forEach(l -> resourceKeys.put(l.getType(), null)));
+    pendingLocators.clear();
+    release();
+    return true;
+  }
+
+  private void release() {
+    fieldNames.clear();
+    seenPaths.clear();
+    if (parser != null) {
+      try {
+        parser.close();
+      } catch (IOException e) {
+        // IGNORE
+      }
+      parser = null;
+    }
+  }
+
+  private BaseException invalidPayload(String message) {
+    done = true;
+    release();
+    return new BaseException(ErrorCode.INVALID_ARGUMENT, message);
+  }
+}
@@ -6,13 +6,19 @@ import io.unitycatalog.server.persist.model.Privileges;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
@@ -27,21 +33,45 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  * <p>Example:
  *
  * <p>#authorize(#principal, #schema, 'USE SCHEMA') || #authorize(#principal, #table, 'OWNER')
+ *
+ * <p>Expressions are parsed once and cached by their text, and the parser runs in mixed compiler
+ * mode so that the parts of an expression SpEL can compile to bytecode are compiled after their
+ * first evaluations. The authorization functions and constants are registered once in a shared
+ * context; each evaluation only binds the principal and resource ids.
  */
 public class UnityAccessEvaluator {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(UnityAccessEvaluator.class);
 
+  private static final Map<SecurableType, String> VARIABLE_NAMES =
+      new EnumMap<>(SecurableType.class);
+
+  static {
+    for (SecurableType type : SecurableType.values()) {
+      VARIABLE_NAMES.put(type, type.name().toLowerCase(Locale.ROOT));
+    }
+  }
+
   private final UnityCatalogAuthorizer authorizer;
   private final ExpressionParser parser;
   private final MethodHandle authorizeHandle;
   private final MethodHandle authorizeAnyHandle;
   private final MethodHandle authorizeAllHandle;
+  // Unbound handles of the BatchAuthorizer functions, bound to a new instance for each filter call.
+  private final MethodHandle batchAuthorizeHandle;
+  private final MethodHandle batchAuthorizeAnyHandle;
+  private final MethodHandle batchAuthorizeAllHandle;
+  private final StandardEvaluationContext sharedContext;
+  // Keyed by the expression text. Expressions come from annotations and service constants, so
+  // the number of entries is bounded by the code base.
+  private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
 
   public UnityAccessEvaluator(UnityCatalogAuthorizer authorizer)
       throws NoSuchMethodException, IllegalAccessException {
     this.authorizer = authorizer;
-    this.parser = new SpelExpressionParser();
+    this.parser =
+        new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
 
     MethodHandles.Lookup lookup = MethodHandles.lookup();
     MethodType mt = MethodType.methodType(boolean.class, UUID.class, UUID.class, Privileges.class);
@@ -55,6 +85,24 @@ public class UnityAccessEvaluator {
     mt = MethodType.methodType(boolean.class, Object[].class);
     mh = lookup.findVirtual(this.getClass(), "authorizeAll", mt);
     authorizeAllHandle = mh.bindTo(this);
+
+    mt = MethodType.methodType(boolean.class, UUID.class, UUID.class, Privileges.class);
+    batchAuthorizeHandle = lookup.findVirtual(BatchAuthorizer.class, "authorize", mt);
+    mt = MethodType.methodType(boolean.class, Object[].class);
+    batchAuthorizeAnyHandle = lookup.findVirtual(BatchAuthorizer.class, "authorizeAny", mt);
+    batchAuthorizeAllHandle = lookup.findVirtual(BatchAuthorizer.class, "authorizeAll", mt);
+
+    sharedContext = new StandardEvaluationContext(Privileges.class);
+    sharedContext.registerFunction("authorize", authorizeHandle);
+    sharedContext.registerFunction("authorizeAny", authorizeAnyHandle);
+    sharedContext.registerFunction("authorizeAll", authorizeAllHandle);
+    sharedContext.setVariable("deny", Boolean.FALSE);
+    sharedContext.setVariable("permit", Boolean.TRUE);
+    sharedContext.setVariable("defer", Boolean.TRUE);
+    // Initialize the default accessors and resolvers eagerly, they are shared between threads.
+    sharedContext.getPropertyAccessors();
+    sharedContext.getMethodResolvers();
+    sharedContext.getConstructorResolvers();
   }
 
   protected boolean authorizeAny(Object... parameters) {
@@ -75,34 +123,76 @@ public class UnityAccessEvaluator {
     return authorizer.authorizeAll(principalId, resource, privileges);
   }
 
+  /**
+   * Parses the given expression, or returns the already parsed instance if the same expression
+   * text was seen before.
+   */
+  public Expression compile(String expression) {
+    return expressions.computeIfAbsent(expression, parser::parseExpression);
+  }
+
   public boolean evaluate(
       UUID principal, String expression, Map<SecurableType, Object> resourceIds) {
+    return evaluate(principal, compile(expression), resourceIds);
+  }
 
-    StandardEvaluationContext context = new StandardEvaluationContext(Privileges.class);
+  public boolean evaluate(
+      UUID principal, Expression expression, Map<SecurableType, Object> resourceIds) {
+    return evaluate(principal, expression, resourceIds, null);
+  }
 
-    context.registerFunction("authorize", authorizeHandle);
-    context.registerFunction("authorizeAny", authorizeAnyHandle);
-    context.registerFunction("authorizeAll", authorizeAllHandle);
+  private boolean evaluate(
+      UUID principal,
+      Expression expression,
+      Map<SecurableType, Object> resourceIds,
+      MethodHandle[] functions) {
 
-    context.setVariable("deny", Boolean.FALSE);
-    context.setVariable("permit", Boolean.TRUE);
-    context.setVariable("defer", Boolean.TRUE);
+    AuthorizationEvaluationContext context = new AuthorizationEvaluationContext(sharedContext);
     context.setVariable("principal", principal);
+    if (functions != null) {
+      context.setVariable("authorize", functions[0]);
+      context.setVariable("authorizeAny", functions[1]);
+      context.setVariable("authorizeAll", functions[2]);
+    }
 
-    resourceIds.forEach((k, v) -> context.setVariable(k.name().toLowerCase(), v));
+    resourceIds.forEach((k, v) -> context.setVariable(VARIABLE_NAMES.get(k), v));
 
-    Boolean result = parser.parseExpression(expression).getValue(context, Boolean.class);
+    Boolean result = expression.getValue(context, Boolean.class);
 
-    LOGGER.debug("evaluating {} = {}", expression, result);
+    LOGGER.debug("evaluating {} = {}", expression.getExpressionString(), result);
 
     return result != null ? result : false;
   }
 
+  /**
+   * Removes the entries the principal is not authorized for. All entries are resolved first, and
+   * the authorization functions are answered by a {@link BatchAuthorizer} for the whole list, so
+   * the terms shared between entries are checked once.
+   */
   public <T> void filter(
       UUID principalId,
       String expression,
       List<T> entries,
       Function<T, Map<SecurableType, Object>> resolver) {
-    entries.removeIf(c -> !evaluate(principalId, expression, resolver.apply(c)));
+    if (entries.isEmpty()) {
+      return;
+    }
+    Expression compiled = compile(expression);
+    List<Map<SecurableType, Object>> resourceIds = entries.stream().map(resolver).toList();
+
+    BatchAuthorizer batch = new BatchAuthorizer(authorizer, principalId, resourceIds);
+    MethodHandle[] functions = {
+      batchAuthorizeHandle.bindTo(batch),
+      batchAuthorizeAnyHandle.bindTo(batch),
+      batchAuthorizeAllHandle.bindTo(batch)
+    };
+
+    boolean[] permitted = new boolean[resourceIds.size()];
+    for (int i = 0; i < permitted.length; i++) {
+      permitted[i] = evaluate(principalId, compiled, resourceIds.get(i), functions);
+    }
+    // removeIf visits the entries in order
+    int[] index = {0};
+    entries.removeIf(c -> !permitted[index[0]++]);
   }
 }
@@ -2,6 +2,7 @@ package io.unitycatalog.server.exception;
 
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.server.DecoratingHttpServiceFunction;
 import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -14,7 +15,8 @@ import com.linecorp.armeria.server.annotation.ExceptionHandlerFunction;
  * used to catch those and return the desired response.
  *
  * <p>This should be set at the bottom of the decorator chain to ensure that it will catch
- * exceptions from upstream decorators.
+ * exceptions from upstream decorators. Both exceptions thrown by them and responses failed by
+ * decorators that serve requests asynchronously are handled.
  *
  * <p>.decorator(decorator1) .decorator(decorator2) .decorator(new ExceptionHandlingDecorator())
  */
@@ -29,10 +31,13 @@ public class ExceptionHandlingDecorator implements DecoratingHttpServiceFunction
   @Override
   public HttpResponse serve(HttpService delegate, ServiceRequestContext ctx, HttpRequest req)
       throws Exception {
+    HttpResponse response;
     try {
-      return delegate.serve(ctx, req);
+      response = delegate.serve(ctx, req);
     } catch (Exception e) {
       return exceptionHandlerFunction.handleException(ctx, req, e);
     }
+    return response.recover(
+        cause -> exceptionHandlerFunction.handleException(ctx, req, Exceptions.peel(cause)));
   }
 }
@@ -0,0 +1,68 @@
+package io.unitycatalog.server.metrics;
+
+import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import io.netty.util.AttributeKey;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the JDBC statements Hibernate runs on behalf of a request, and the time they take, so
+ * that they can be reported by route.
+ *
+ * <p>Hibernate creates a listener for every session, which is used by one thread at a time. The
+ * statements are added to the {@link RequestStatements} of the request being served, if any;
+ * statements run by background work are not counted.
+ */
+public class DatabaseMetricsListener implements SessionEventListener {
+
+  static final AttributeKey<RequestStatements> STATEMENTS =
+      AttributeKey.valueOf(DatabaseMetricsListener.class, "STATEMENTS");
+
+  private long startNanos;
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    startNanos = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    record();
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    startNanos = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    record();
+  }
+
+  private void record() {
+    long elapsedNanos = System.nanoTime() - startNanos;
+    RequestContext ctx = RequestContext.currentOrNull();
+    ServiceRequestContext root = ctx != null ? ctx.root() : null;
+    RequestStatements statements = root != null ? root.attr(STATEMENTS) : null;
+    if (statements != null) {
+      statements.count.increment();
+      statements.nanos.add(elapsedNanos);
+    }
+  }
+
+  /** The statements run on behalf of a request. */
+  static final class RequestStatements {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    long count() {
+      return count.sum();
+    }
+
+    long nanos() {
+      return nanos.sum();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package io.unitycatalog.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how late the event loops run a task scheduled on them. A lag beyond a millisecond or
+ * two means that something blocks an event loop, which delays every connection it serves.
+ */
+public class EventLoopLagMonitor implements AutoCloseable {
+
+  private static final long INTERVAL_MILLIS = 100;
+  private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS);
+
+  private final Timer lag;
+  private volatile boolean closed;
+
+  public EventLoopLagMonitor(EventExecutorGroup eventLoops, MeterRegistry registry) {
+    this.lag =
+        Timer.builder("uc.event.loop.lag")
+            .description("How late the event loops run scheduled tasks")
+            .register(registry);
+    for (EventExecutor eventLoop : eventLoops) {
+      schedule(eventLoop);
+    }
+  }
+
+  private void schedule(EventExecutor eventLoop) {
+    if (closed || eventLoop.isShuttingDown()) {
+      return;
+    }
+    long scheduledAtNanos = System.nanoTime();
+    try {
+      eventLoop.schedule(
+          () -> {
+            long lagNanos = System.nanoTime() - scheduledAtNanos - INTERVAL_NANOS;
+            lag.record(Math.max(lagNanos, 0), TimeUnit.NANOSECONDS);
+            schedule(eventLoop);
+          },
+          INTERVAL_MILLIS,
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // The event loop is shutting down.
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+}
@@ -0,0 +1,114 @@
+package io.unitycatalog.server.metrics;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.DecoratingHttpServiceFunction;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.AsciiString;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.MDC;
+
+/**
+ * Assigns every request a trace ID, which is added to the log lines written while serving it as
+ * {@value #TRACE_ID}, and returned in the {@code X-Request-Id} response header. The trace ID of a
+ * W3C {@code traceparent} request header, or the value of an {@code X-Request-Id} one, is used if
+ * present, so that a request can be followed across services.
+ *
+ * <p>Also reports the number of database statements each request runs and the time they take, by
+ * route.
+ */
+public class RequestTracingDecorator implements DecoratingHttpServiceFunction {
+
+  public static final String TRACE_ID = "trace_id";
+
+  private static final AsciiString TRACEPARENT = HttpHeaderNames.of("traceparent");
+  private static final AsciiString X_REQUEST_ID = HttpHeaderNames.of("x-request-id");
+  private static final Pattern TRACEPARENT_PATTERN =
+      Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+  private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9._:-]{1,128}");
+
+  private final MeterRegistry registry;
+  // The meters of each method and route, registered on their first request.
+  private final Map<RouteKey, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+  private record RouteKey(String method, String route) {}
+
+  private record RouteMeters(DistributionSummary statements, Timer time) {}
+
+  public RequestTracingDecorator(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public HttpResponse serve(HttpService delegate, ServiceRequestContext ctx, HttpRequest req)
+      throws Exception {
+    String traceId = traceId(ctx, req);
+    ctx.addAdditionalResponseHeader(X_REQUEST_ID, traceId);
+
+    DatabaseMetricsListener.RequestStatements statements =
+        new DatabaseMetricsListener.RequestStatements();
+    ctx.setAttr(DatabaseMetricsListener.STATEMENTS, statements);
+    ctx.log().whenComplete().thenAccept(log -> recordStatements(ctx, statements));
+
+    // The request is served from several threads; the trace ID is set whenever its context is.
+    ctx.hook(
+        () -> {
+          MDC.put(TRACE_ID, traceId);
+          return () -> MDC.remove(TRACE_ID);
+        });
+    MDC.put(TRACE_ID, traceId);
+    try {
+      return delegate.serve(ctx, req);
+    } finally {
+      MDC.remove(TRACE_ID);
+    }
+  }
+
+  private static String traceId(ServiceRequestContext ctx, HttpRequest req) {
+    String traceparent = req.headers().get(TRACEPARENT);
+    if (traceparent != null) {
+      Matcher matcher = TRACEPARENT_PATTERN.matcher(traceparent.trim());
+      if (matcher.matches()) {
+        return matcher.group(1);
+      }
+    }
+    String requestId = req.headers().get(X_REQUEST_ID);
+    if (requestId != null && REQUEST_ID_PATTERN.matcher(requestId).matches()) {
+      return requestId;
+    }
+    return ctx.id().text();
+  }
+
+  private void recordStatements(
+      ServiceRequestContext ctx, DatabaseMetricsListener.RequestStatements statements) {
+    RouteMeters meters =
+        routeMeters.computeIfAbsent(
+            new RouteKey(ctx.method().name(), ctx.config().route().patternString()),
+            this::registerMeters);
+    meters.statements().record(statements.count());
+    meters.time().record(statements.nanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private RouteMeters registerMeters(RouteKey key) {
+    Tags tags = Tags.of("method", key.method(), "route", key.route());
+    return new RouteMeters(
+        DistributionSummary.builder("uc.db.request.statements")
+            .description("The database statements run by a request")
+            .tags(tags)
+            .register(registry),
+        Timer.builder("uc.db.request.time")
+            .description("The time a request spends running database statements")
+            .tags(tags)
+            .register(registry));
+  }
+}
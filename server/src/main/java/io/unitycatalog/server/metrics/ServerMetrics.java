@@ -0,0 +1,163 @@
+package io.unitycatalog.server.metrics;
+
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.server.HttpService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.unitycatalog.server.utils.BlockingExecutor;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The metrics of the server, served in the Prometheus text format on {@value #PATH}.
+ *
+ * <p>Besides the JVM metrics, they cover the latency of each route, the event loop lag, the
+ * database statements run by each request, the calls to the authorizer and to the cloud providers,
+ * and the counters of the caches and background workers. The names of the server's own meters
+ * start with {@code uc.}, and their timers and distributions are published as histograms.
+ */
+public class ServerMetrics implements AutoCloseable {
+
+  public static final String PATH = "/metrics";
+
+  private static final String PREFIX = "uc.";
+  // How long the meters of a component share one snapshot of its counters, which covers a scrape.
+  private static final long SNAPSHOT_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final MediaType PROMETHEUS_TEXT =
+      MediaType.parse("text/plain; version=0.0.4; charset=utf-8");
+
+  private final PrometheusMeterRegistry registry;
+  private final JvmGcMetrics jvmGcMetrics = new JvmGcMetrics();
+  // Meters only hold weak references to the functions they read.
+  private final List<Supplier<?>> boundStats = new CopyOnWriteArrayList<>();
+
+  public ServerMetrics() {
+    registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    registry
+        .config()
+        .meterFilter(
+            new MeterFilter() {
+              @Override
+              public DistributionStatisticConfig configure(
+                  Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().startsWith(PREFIX)) {
+                  return DistributionStatisticConfig.builder()
+                      .percentilesHistogram(true)
+                      .build()
+                      .merge(config);
+                }
+                return config;
+              }
+            });
+    new ClassLoaderMetrics().bindTo(registry);
+    new JvmMemoryMetrics().bindTo(registry);
+    new JvmThreadMetrics().bindTo(registry);
+    new ProcessorMetrics().bindTo(registry);
+    jvmGcMetrics.bindTo(registry);
+  }
+
+  public MeterRegistry registry() {
+    return registry;
+  }
+
+  /**
+   * Returns the service serving the metrics. Some meters read the database, so they are read from
+   * the blocking task executor.
+   */
+  public HttpService service() {
+    return (ctx, req) ->
+        HttpResponse.of(
+            BlockingExecutor.supplyOffEventLoop(
+                ctx, () -> HttpResponse.of(HttpStatus.OK, PROMETHEUS_TEXT, registry.scrape())));
+  }
+
+  /**
+   * Registers meters reading the counters a component reports, e.g. {@code
+   * metrics.bind("uc.delta.commit.cache", cache::stats).counter("hits", Stats::hits)}. The meters
+   * of a component read one snapshot of its counters per scrape, so {@code stats} may be costly,
+   * e.g. query the database.
+   *
+   * @param name the prefix of the names of the meters
+   * @param stats returns the current counters of the component
+   * @param tags the tags of the meters, as alternating keys and values
+   */
+  public <S> StatsBinder<S> bind(String name, Supplier<S> stats, String... tags) {
+    Supplier<S> snapshot = new Snapshot<>(stats);
+    boundStats.add(snapshot);
+    return new StatsBinder<>(name, snapshot, Tags.of(tags));
+  }
+
+  /** Reuses the counters of a component for {@link #SNAPSHOT_TTL_NANOS}. */
+  private static final class Snapshot<S> implements Supplier<S> {
+    private final Supplier<S> stats;
+    private S value;
+    private long readAtNanos;
+
+    private Snapshot(Supplier<S> stats) {
+      this.stats = stats;
+    }
+
+    @Override
+    public synchronized S get() {
+      long now = System.nanoTime();
+      if (value == null || now - readAtNanos >= SNAPSHOT_TTL_NANOS) {
+        value = stats.get();
+        readAtNanos = now;
+      }
+      return value;
+    }
+  }
+
+  /** Registers the meters of one component. */
+  public final class StatsBinder<S> {
+    private final String name;
+    private final Supplier<S> stats;
+    private final Tags tags;
+
+    private StatsBinder(String name, Supplier<S> stats, Tags tags) {
+      this.name = name;
+      this.stats = stats;
+      this.tags = tags;
+    }
+
+    /** Registers a counter, which only ever increases. */
+    public StatsBinder<S> counter(String counterName, ToDoubleFunction<S> value) {
+      FunctionCounter.builder(
+              name + "." + counterName, stats, s -> value.applyAsDouble(s.get()))
+          .tags(tags)
+          .register(registry);
+      return this;
+    }
+
+    /** Registers a gauge, which goes up and down. */
+    public StatsBinder<S> gauge(String gaugeName, ToDoubleFunction<S> value) {
+      Gauge.builder(name + "." + gaugeName, stats, s -> value.applyAsDouble(s.get()))
+          .tags(tags)
+          .register(registry);
+      return this;
+    }
+  }
+
+  @Override
+  public void close() {
+    jvmGcMetrics.close();
+    registry.close();
+  }
+}
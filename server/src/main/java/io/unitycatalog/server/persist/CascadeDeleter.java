@@ -0,0 +1,400 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.TableType;
+import io.unitycatalog.server.model.VolumeType;
+import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
+import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
+import io.unitycatalog.server.persist.utils.TransactionManager;
+import io.unitycatalog.server.utils.Constants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes schemas and catalogs together with everything they contain.
+ *
+ * <p>Children are deleted with bulk statements, at most {@code chunkSize} of one kind per
+ * transaction, each transaction in a new session, so that neither the transactions nor the session
+ * cache grow with the size of the schema. The schema or catalog itself is removed last, once it has
+ * no children left. If a deletion is interrupted, the chunks deleted so far stay deleted and the
+ * schema or catalog remains; deleting it again resumes where the first attempt stopped.
+ *
+ * <p>The chunks are deleted one after the other, on the thread of the request. Deleting them in
+ * parallel would take several connections of the pool shared with all other requests for a single
+ * deletion, and the chunks of one schema delete rows of the same tables and indexes, so they would
+ * mostly wait on each other's locks. Each chunk is a single bulk statement per table, so the
+ * deletion is bound by the database rather than by round trips.
+ */
+public class CascadeDeleter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CascadeDeleter.class);
+
+  private static final int DEFAULT_CHUNK_SIZE = 500;
+  private static final long PROGRESS_LOG_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+  /** The number of entities a cascade deletion removed. */
+  public record Progress(long schemas, long tables, long volumes, long functions, long models) {}
+
+  @FunctionalInterface
+  private interface ChunkDeleter {
+    /** Deletes up to {@code chunkSize} children of the schema, and returns how many. */
+    int deleteChunk(Session session, UUID schemaId);
+  }
+
+  /** A kind of schema child, in the order they are checked and deleted. */
+  private record Kind(String name, String entity, ChunkDeleter deleter) {
+    boolean hasChildren(Session session, UUID schemaId) {
+      return !session
+          .createQuery("SELECT e.id FROM " + entity + " e WHERE e.schemaId = :schemaId", UUID.class)
+          .setParameter("schemaId", schemaId)
+          .setMaxResults(1)
+          .list()
+          .isEmpty();
+    }
+  }
+
+  private final Repositories repositories;
+  private final SessionFactory sessionFactory;
+  private final int chunkSize;
+  private final List<Kind> kinds =
+      List.of(
+          new Kind("tables", "TableInfoDAO", this::deleteTables),
+          new Kind("volumes", "VolumeInfoDAO", this::deleteVolumes),
+          new Kind("functions", "FunctionInfoDAO", this::deleteFunctions),
+          new Kind("models", "RegisteredModelInfoDAO", this::deleteModels));
+
+  public CascadeDeleter(Repositories repositories, SessionFactory sessionFactory) {
+    this(repositories, sessionFactory, DEFAULT_CHUNK_SIZE);
+  }
+
+  CascadeDeleter(Repositories repositories, SessionFactory sessionFactory, int chunkSize) {
+    this.repositories = repositories;
+    this.sessionFactory = sessionFactory;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Deletes a schema. Without {@code force}, the schema must be empty; it is then checked and
+   * deleted in one transaction, so that a child created meanwhile is never deleted with it.
+   *
+   * @return what was deleted
+   */
+  public Progress deleteSchema(String catalogName, String schemaName, boolean force) {
+    String fullName = catalogName + "." + schemaName;
+    Tracker tracker = new Tracker(fullName);
+    if (!force) {
+      TransactionManager.executeWithTransaction(
+          sessionFactory,
+          session -> {
+            UUID schemaId = getSchemaId(session, catalogName, schemaName);
+            for (Kind kind : kinds) {
+              if (kind.hasChildren(session, schemaId)) {
+                throw new BaseException(
+                    ErrorCode.FAILED_PRECONDITION, "Cannot delete schema with " + kind.name());
+              }
+            }
+            deleteSchemaRow(session, schemaId);
+            return null;
+          },
+          "Failed to delete schema",
+          /* readOnly = */ false);
+      tracker.schemaDeleted();
+    } else {
+      UUID schemaId =
+          TransactionManager.executeWithTransaction(
+              sessionFactory,
+              session -> getSchemaId(session, catalogName, schemaName),
+              "Failed to delete schema",
+              /* readOnly = */ true);
+      deleteSchema(schemaId, tracker);
+    }
+    LOGGER.info("Deleted schema {}: {}", fullName, tracker.progress());
+    return tracker.progress();
+  }
+
+  private UUID getSchemaId(Session session, String catalogName, String schemaName) {
+    UUID catalogId = getCatalogId(session, catalogName);
+    SchemaInfoDAO schema =
+        repositories.getSchemaRepository().getSchemaDAO(session, catalogId, schemaName);
+    if (schema == null) {
+      throw new BaseException(ErrorCode.NOT_FOUND, "Schema not found: " + schemaName);
+    }
+    return schema.getId();
+  }
+
+  private UUID getCatalogId(Session session, String catalogName) {
+    CatalogInfoDAO catalog =
+        repositories.getCatalogRepository().getCatalogDAO(session, catalogName);
+    if (catalog == null) {
+      throw new BaseException(ErrorCode.NOT_FOUND, "Catalog not found: " + catalogName);
+    }
+    return catalog.getId();
+  }
+
+  /**
+   * Deletes a catalog. Without {@code force}, the catalog must have no schemas; it is then checked
+   * and deleted in one transaction, as with schemas.
+   *
+   * @return what was deleted
+   */
+  public Progress deleteCatalog(String catalogName, boolean force) {
+    Tracker tracker = new Tracker(catalogName);
+    if (!force) {
+      TransactionManager.executeWithTransaction(
+          sessionFactory,
+          session -> {
+            UUID catalogId = getCatalogId(session, catalogName);
+            if (!listSchemaIds(session, catalogId).isEmpty()) {
+              throw new BaseException(
+                  ErrorCode.FAILED_PRECONDITION,
+                  "Cannot delete catalog with schemas. Use force=true to force deletion.");
+            }
+            deleteCatalogRow(session, catalogId);
+            return null;
+          },
+          "Failed to delete catalog",
+          /* readOnly = */ false);
+      LOGGER.info("Deleted catalog {}: {}", catalogName, tracker.progress());
+      return tracker.progress();
+    }
+
+    UUID catalogId =
+        TransactionManager.executeWithTransaction(
+            sessionFactory,
+            session -> getCatalogId(session, catalogName),
+            "Failed to delete catalog",
+            /* readOnly = */ true);
+    boolean deleted = false;
+    while (!deleted) {
+      List<UUID> schemaIds;
+      while (!(schemaIds = listSchemaIdsInTransaction(catalogId)).isEmpty()) {
+        for (UUID schemaId : schemaIds) {
+          deleteSchema(schemaId, tracker);
+        }
+      }
+      deleted =
+          TransactionManager.executeWithTransaction(
+              sessionFactory,
+              session -> {
+                // A schema created meanwhile is deleted on the next round.
+                if (!listSchemaIds(session, catalogId).isEmpty()) {
+                  return false;
+                }
+                deleteCatalogRow(session, catalogId);
+                return true;
+              },
+              "Failed to delete catalog",
+              /* readOnly = */ false);
+    }
+    LOGGER.info("Deleted catalog {}: {}", catalogName, tracker.progress());
+    return tracker.progress();
+  }
+
+  /** Deletes the children of a schema chunk by chunk, then the schema. */
+  private void deleteSchema(UUID schemaId, Tracker tracker) {
+    boolean deleted = false;
+    while (!deleted) {
+      for (Kind kind : kinds) {
+        int count;
+        do {
+          count =
+              TransactionManager.executeWithTransaction(
+                  sessionFactory,
+                  session -> kind.deleter().deleteChunk(session, schemaId),
+                  "Failed to delete schema " + kind.name(),
+                  /* readOnly = */ false);
+          tracker.add(kind, count);
+          // A short chunk was the last one.
+        } while (count == chunkSize);
+      }
+      deleted =
+          TransactionManager.executeWithTransaction(
+              sessionFactory,
+              session -> {
+                // A child created meanwhile is deleted on the next round.
+                for (Kind kind : kinds) {
+                  if (kind.hasChildren(session, schemaId)) {
+                    return false;
+                  }
+                }
+                deleteSchemaRow(session, schemaId);
+                return true;
+              },
+              "Failed to delete schema",
+              /* readOnly = */ false);
+    }
+    tracker.schemaDeleted();
+  }
+
+  private static void deleteSchemaRow(Session session, UUID schemaId) {
+    deleteProperties(session, List.of(schemaId), Constants.SCHEMA);
+    bulkDelete(session, "DELETE FROM SchemaInfoDAO WHERE id IN :ids", List.of(schemaId));
+  }
+
+  private static void deleteCatalogRow(Session session, UUID catalogId) {
+    deleteProperties(session, List.of(catalogId), Constants.CATALOG);
+    bulkDelete(session, "DELETE FROM CatalogInfoDAO WHERE id IN :ids", List.of(catalogId));
+  }
+
+  private int deleteTables(Session session, UUID schemaId) {
+    List<Object[]> rows =
+        session
+            .createQuery(
+                "SELECT t.id, t.type, t.url FROM TableInfoDAO t WHERE t.schemaId = :schemaId",
+                Object[].class)
+            .setParameter("schemaId", schemaId)
+            .setMaxResults(chunkSize)
+            .list();
+    List<UUID> ids = new ArrayList<>();
+    for (Object[] row : rows) {
+      UUID id = (UUID) row[0];
+      ids.add(id);
+      if (TableType.MANAGED.getValue().equals(row[1])) {
+        // The directory is deleted in the background once this transaction commits.
+        repositories
+            .getStoragePurgeRepository()
+            .enqueue(session, (String) row[2], Constants.TABLE, id);
+        repositories.getDeltaCommitRepository().getCommitCache().invalidate(id);
+      }
+    }
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    bulkDelete(session, "DELETE FROM DeltaCommitDAO WHERE tableId IN :ids", ids);
+    bulkDelete(session, "DELETE FROM ColumnInfoDAO WHERE table.id IN :ids", ids);
+    deleteProperties(session, ids, Constants.TABLE);
+    return bulkDelete(session, "DELETE FROM TableInfoDAO WHERE id IN :ids", ids);
+  }
+
+  private int deleteVolumes(Session session, UUID schemaId) {
+    List<Object[]> rows =
+        session
+            .createQuery(
+                "SELECT v.id, v.volumeType, v.storageLocation FROM VolumeInfoDAO v "
+                    + "WHERE v.schemaId = :schemaId",
+                Object[].class)
+            .setParameter("schemaId", schemaId)
+            .setMaxResults(chunkSize)
+            .list();
+    List<UUID> ids = new ArrayList<>();
+    for (Object[] row : rows) {
+      UUID id = (UUID) row[0];
+      ids.add(id);
+      if (VolumeType.MANAGED.getValue().equals(row[1])) {
+        // The directory is deleted in the background once this transaction commits.
+        repositories
+            .getStoragePurgeRepository()
+            .enqueue(session, (String) row[2], Constants.VOLUME, id);
+      }
+    }
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return bulkDelete(session, "DELETE FROM VolumeInfoDAO WHERE id IN :ids", ids);
+  }
+
+  private int deleteFunctions(Session session, UUID schemaId) {
+    List<UUID> ids = listChildIds(session, "FunctionInfoDAO", schemaId);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    bulkDelete(session, "DELETE FROM FunctionParameterInfoDAO WHERE function.id IN :ids", ids);
+    deleteProperties(session, ids, Constants.FUNCTION);
+    return bulkDelete(session, "DELETE FROM FunctionInfoDAO WHERE id IN :ids", ids);
+  }
+
+  private int deleteModels(Session session, UUID schemaId) {
+    List<UUID> ids = listChildIds(session, "RegisteredModelInfoDAO", schemaId);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    bulkDelete(session, "DELETE FROM ModelVersionInfoDAO WHERE registeredModelId IN :ids", ids);
+    return bulkDelete(session, "DELETE FROM RegisteredModelInfoDAO WHERE id IN :ids", ids);
+  }
+
+  private List<UUID> listChildIds(Session session, String entity, UUID schemaId) {
+    return session
+        .createQuery("SELECT e.id FROM " + entity + " e WHERE e.schemaId = :schemaId", UUID.class)
+        .setParameter("schemaId", schemaId)
+        .setMaxResults(chunkSize)
+        .list();
+  }
+
+  private List<UUID> listSchemaIdsInTransaction(UUID catalogId) {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> listSchemaIds(session, catalogId),
+        "Failed to list schemas to delete",
+        /* readOnly = */ true);
+  }
+
+  private List<UUID> listSchemaIds(Session session, UUID catalogId) {
+    return session
+        .createQuery("SELECT s.id FROM SchemaInfoDAO s WHERE s.catalogId = :catalogId", UUID.class)
+        .setParameter("catalogId", catalogId)
+        .setMaxResults(chunkSize)
+        .list();
+  }
+
+  private static void deleteProperties(Session session, List<UUID> entityIds, String entityType) {
+    session
+        .createMutationQuery(
+            "DELETE FROM PropertyDAO WHERE entityId IN :ids AND entityType = :entityType")
+        .setParameter("ids", entityIds)
+        .setParameter("entityType", entityType)
+        .executeUpdate();
+  }
+
+  private static int bulkDelete(Session session, String hql, List<UUID> ids) {
+    return session.createMutationQuery(hql).setParameter("ids", ids).executeUpdate();
+  }
+
+  /** Counts what a deletion removed, and logs it periodically while the deletion runs. */
+  private static class Tracker {
+    private final String name;
+    private long lastLogMillis = System.currentTimeMillis();
+    private long schemas;
+    private long tables;
+    private long volumes;
+    private long functions;
+    private long models;
+
+    Tracker(String name) {
+      this.name = name;
+    }
+
+    void add(Kind kind, int count) {
+      switch (kind.name()) {
+        case "tables" -> tables += count;
+        case "volumes" -> volumes += count;
+        case "functions" -> functions += count;
+        case "models" -> models += count;
+        default -> throw new IllegalArgumentException(kind.name());
+      }
+      logPeriodically();
+    }
+
+    void schemaDeleted() {
+      schemas++;
+      logPeriodically();
+    }
+
+    Progress progress() {
+      return new Progress(schemas, tables, volumes, functions, models);
+    }
+
+    private void logPeriodically() {
+      long now = System.currentTimeMillis();
+      if (now - lastLogMillis >= PROGRESS_LOG_INTERVAL_MILLIS) {
+        lastLogMillis = now;
+        LOGGER.info("Deleting {}: {}", name, progress());
+      }
+    }
+  }
+}
@@ -5,8 +5,6 @@ import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.model.CatalogInfo;
 import io.unitycatalog.server.model.CreateCatalog;
 import io.unitycatalog.server.model.ListCatalogsResponse;
-import io.unitycatalog.server.model.ListSchemasResponse;
-import io.unitycatalog.server.model.SchemaInfo;
 import io.unitycatalog.server.model.UpdateCatalog;
 import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
 import io.unitycatalog.server.persist.dao.PropertyDAO;
@@ -91,17 +89,14 @@ public class CatalogRepository {
 
   public ListCatalogsResponse listCatalogs(
       Session session, Optional<Integer> maxResults, Optional<String> pageToken) {
-    List<CatalogInfoDAO> catalogInfoDAOList =
-        LISTING_HELPER.listEntity(session, maxResults, pageToken, null);
-    String nextPageToken = LISTING_HELPER.getNextPageToken(catalogInfoDAOList, maxResults);
+    PagedListingHelper.Page<CatalogInfoDAO> page =
+        LISTING_HELPER.listPage(session, maxResults, pageToken, null);
     List<CatalogInfo> result = new ArrayList<>();
-    for (CatalogInfoDAO catalogInfoDAO : catalogInfoDAOList) {
-      CatalogInfo catalogInfo = catalogInfoDAO.toCatalogInfo();
-      RepositoryUtils.attachProperties(
-          catalogInfo, catalogInfo.getId(), Constants.CATALOG, session);
-      result.add(catalogInfo);
+    for (CatalogInfoDAO catalogInfoDAO : page.entities()) {
+      result.add(catalogInfoDAO.toCatalogInfo());
     }
-    return new ListCatalogsResponse().catalogs(result).nextPageToken(nextPageToken);
+    RepositoryUtils.attachProperties(result, CatalogInfo::getId, Constants.CATALOG, session);
+    return new ListCatalogsResponse().catalogs(result).nextPageToken(page.nextPageToken());
   }
 
   public CatalogInfo getCatalog(String name) {
@@ -187,73 +182,12 @@ public class CatalogRepository {
         /* readOnly = */ false);
   }
 
-  public void deleteCatalog(String name, boolean force) {
-    TransactionManager.executeWithTransaction(
-        sessionFactory,
-        session -> {
-          CatalogInfoDAO catalogInfo = getCatalogDAO(session, name);
-          if (catalogInfo == null) {
-            throw new BaseException(ErrorCode.NOT_FOUND, "Catalog not found: " + name);
-          }
-
-          // First, check if there are any schemas in the catalog (to determine if force is needed)
-          ListSchemasResponse initialSchemaCheck =
-              repositories
-                  .getSchemaRepository()
-                  .listSchemas(
-                      session,
-                      catalogInfo.getId(),
-                      catalogInfo.getName(),
-                      Optional.of(1), // We just need to know if there are any schemas
-                      Optional.empty());
-
-          if (!initialSchemaCheck.getSchemas().isEmpty() && !force) {
-            throw new BaseException(
-                ErrorCode.FAILED_PRECONDITION,
-                "Cannot delete catalog with schemas. Use force=true to force deletion.");
-          }
-
-          // If we're proceeding with force=true, delete all schemas with pagination
-          if (force) {
-            String nextPageToken = null;
-            do {
-              ListSchemasResponse schemaResponse =
-                  repositories
-                      .getSchemaRepository()
-                      .listSchemas(
-                          session,
-                          catalogInfo.getId(),
-                          catalogInfo.getName(),
-                          Optional.empty(), // Use default page size for efficiency
-                          Optional.ofNullable(nextPageToken));
-
-              // Process this page of schemas
-              for (SchemaInfo schema : schemaResponse.getSchemas()) {
-                repositories
-                    .getSchemaRepository()
-                    .deleteSchema(
-                        session,
-                        catalogInfo.getId(),
-                        catalogInfo.getName(),
-                        schema.getName(),
-                        force);
-              }
-
-              // Get the token for the next page
-              nextPageToken = schemaResponse.getNextPageToken();
-            } while (nextPageToken != null);
-          }
-
-          // Delete properties
-          PropertyRepository.findProperties(session, catalogInfo.getId(), Constants.CATALOG)
-              .forEach(session::remove);
-
-          // Remove the catalog
-          session.remove(catalogInfo);
-          LOGGER.info("Deleted catalog: {}", name);
-          return null;
-        },
-        "Failed to delete catalog",
-        /* readOnly = */ false);
+  /**
+   * Deletes a catalog, and with {@code force} all its schemas; see {@link CascadeDeleter}.
+   *
+   * @return what was deleted
+   */
+  public CascadeDeleter.Progress deleteCatalog(String name, boolean force) {
+    return repositories.getCascadeDeleter().deleteCatalog(name, force);
   }
 }
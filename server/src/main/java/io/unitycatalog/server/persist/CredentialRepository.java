@@ -107,12 +107,11 @@ public class CredentialRepository {
     return TransactionManager.executeWithTransaction(
         sessionFactory,
         session -> {
-          List<CredentialDAO> daoList =
-              LISTING_HELPER.listEntity(
+          PagedListingHelper.Page<CredentialDAO> page =
+              LISTING_HELPER.listPage(
                   session, maxResults, pageToken, /* parentEntityId = */ null);
-          String nextPageToken = LISTING_HELPER.getNextPageToken(daoList, maxResults);
           List<CredentialInfo> results = new ArrayList<>();
-          for (CredentialDAO dao : daoList) {
+          for (CredentialDAO dao : page.entities()) {
             try {
               results.add(dao.toCredentialInfo());
             } catch (Exception e) {
@@ -120,7 +119,9 @@ public class CredentialRepository {
               LOGGER.error("Failed to process credential: {}", dao.getName(), e);
             }
           }
-          return new ListCredentialsResponse().credentials(results).nextPageToken(nextPageToken);
+          return new ListCredentialsResponse()
+              .credentials(results)
+              .nextPageToken(page.nextPageToken());
         },
         "Failed to list storage credentials",
         /* readOnly = */ true);
@@ -0,0 +1,150 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.persist.dao.DeltaCommitDAO;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A write-through cache of the commits of managed Delta tables, keyed by table ID.
+ *
+ * <p>An entry holds the commits a table has in the database, newest first, which are at most a
+ * handful once commits are backfilled. Committing through this server replaces the entry of the
+ * table with the commits read back in the committing transaction, and deleting the table
+ * invalidates it. Entries expire after a time-to-live, which bounds how long commits made through
+ * another server sharing the database remain unseen, unless that server's commits are relayed to
+ * {@link #invalidate(UUID)}. The least recently used entry is dropped once the cache is full.
+ *
+ * <p>Every entry carries a future that completes when the entry is replaced, so that readers can
+ * wait for the next commit to a table instead of polling.
+ */
+public class DeltaCommitCache {
+
+  /** Counters of the cache, for monitoring. */
+  public record Stats(long hits, long misses, long invalidations, int tables) {}
+
+  /**
+   * The cached commits of a table.
+   *
+   * @param commitsDesc the commits of the table ordered by version in descending order, or null if
+   *     the entry was invalidated
+   * @param stamp the position of this entry in the order of all entries put in the cache
+   * @param replaced completes when the entry is replaced, reloaded or invalidated
+   */
+  record Entry(
+      List<DeltaCommitDAO> commitsDesc,
+      long stamp,
+      long expiresAtNanos,
+      CompletableFuture<Void> replaced) {}
+
+  private final long ttlNanos;
+  private final Map<UUID, Entry> entries;
+  private final AtomicLong stamps = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  DeltaCommitCache(int maxSize, long ttlMillis) {
+    this.ttlNanos = maxSize > 0 ? Math.max(ttlMillis, 0) * 1_000_000 : 0;
+    // Guarded by itself.
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, /* accessOrder = */ true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            // Readers waiting on an evicted entry are not woken up, since they would load it again
+            // and evict another one. They check the table again after the time-to-live.
+            return size() > maxSize;
+          }
+        };
+  }
+
+  /**
+   * How long an entry is used before the commits are read from the database again, or 0 if the
+   * cache is disabled.
+   */
+  long ttlNanos() {
+    return ttlNanos;
+  }
+
+  /**
+   * Returns the entry of a table, loading the commits with {@code loader} if they are not cached or
+   * have expired. Concurrent loads of the same table each read the database; a load that started
+   * before a commit or invalidation of the table does not replace the entry that put.
+   */
+  Entry get(UUID tableId, Function<UUID, List<DeltaCommitDAO>> loader) {
+    long loadStamp;
+    synchronized (entries) {
+      Entry entry = entries.get(tableId);
+      if (entry != null
+          && entry.commitsDesc() != null
+          && System.nanoTime() - entry.expiresAtNanos() < 0) {
+        hits.increment();
+        return entry;
+      }
+      loadStamp = stamps.get();
+    }
+    misses.increment();
+    List<DeltaCommitDAO> commitsDesc = loader.apply(tableId);
+    synchronized (entries) {
+      Entry entry = entries.get(tableId);
+      if (entry != null && entry.stamp() > loadStamp) {
+        // Replaced while loading. The newer entry wins; the loaded commits are still returned, as
+        // they were current when this request was made.
+        return entry.commitsDesc() != null
+            ? entry
+            : new Entry(commitsDesc, loadStamp, System.nanoTime(), entry.replaced());
+      }
+      return replace(tableId, entry, commitsDesc);
+    }
+  }
+
+  /** Replaces the entry of a table with the commits a committing transaction read back. */
+  void put(UUID tableId, List<DeltaCommitDAO> commitsDesc) {
+    synchronized (entries) {
+      replace(tableId, entries.get(tableId), commitsDesc);
+    }
+  }
+
+  /**
+   * Drops the commits of a table, so that they are read from the database on next access, and
+   * wakes up readers waiting for a commit to it.
+   */
+  public void invalidate(UUID tableId) {
+    invalidations.increment();
+    synchronized (entries) {
+      // Leaves an invalidated entry behind even if none was cached, so that a load in progress
+      // does not put commits it read before the invalidation.
+      replace(tableId, entries.get(tableId), null);
+    }
+  }
+
+  private Entry replace(UUID tableId, Entry previous, List<DeltaCommitDAO> commitsDesc) {
+    Entry entry =
+        new Entry(
+            commitsDesc != null ? List.copyOf(commitsDesc) : null,
+            stamps.incrementAndGet(),
+            System.nanoTime() + ttlNanos,
+            new CompletableFuture<>());
+    if (ttlNanos > 0) {
+      entries.put(tableId, entry);
+    }
+    if (previous != null) {
+      previous.replaced().complete(null);
+    }
+    return entry;
+  }
+
+  public Stats stats() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new Stats(hits.sum(), misses.sum(), invalidations.sum(), size);
+  }
+}
@@ -1,9 +1,12 @@
 package io.unitycatalog.server.persist;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
 import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.model.ColumnInfos;
 import io.unitycatalog.server.model.DataSourceFormat;
+import io.unitycatalog.server.model.DeltaBatchCommitResult;
 import io.unitycatalog.server.model.DeltaCommit;
 import io.unitycatalog.server.model.DeltaCommitInfo;
 import io.unitycatalog.server.model.DeltaCommitMetadataProperties;
@@ -20,15 +23,30 @@ import io.unitycatalog.server.persist.utils.TransactionManager;
 import io.unitycatalog.server.utils.Constants;
 import io.unitycatalog.server.utils.IdentityUtils;
 import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
 import io.unitycatalog.server.utils.ValidationUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.NativeQuery;
@@ -45,6 +63,16 @@ import org.slf4j.LoggerFactory;
  * is_backfilled_latest_commit=true. So it's guaranteed that there would be at least one record (the
  * last commit) once the table is onboarded.
  *
+ * <p>Concurrent writers of a table are sequenced by the table's last_commit_version column: a commit
+ * only proceeds after advancing it from the version it was validated against with a compare-and-set
+ * update, so a writer that lost a race fails with ALREADY_EXISTS before writing anything. Commits to
+ * the same table on this server are additionally serialized by a striped lock, so that they queue
+ * here rather than on the database row lock.
+ *
+ * <p>The commits of each table are cached in a {@link DeltaCommitCache}, which commits through this
+ * server write through, so that readers polling a table for new versions do not query the database
+ * each time.
+ *
  * <p>For example, consider the following sequence of commit operations:
  *
  * <ol>
@@ -82,12 +110,44 @@ public class DeltaCommitRepository {
    */
   private static final int NUM_COMMITS_PER_BATCH = 20;
 
+  /** The number of locks that commits are serialized on, by table ID. */
+  private static final int NUM_COMMIT_LOCK_STRIPES = 1024;
+
+  /**
+   * The longest a reader waiting for a commit goes without reading the commits of the table again,
+   * unless the cache expires entries sooner. Commits through other servers are only noticed then.
+   */
+  private static final long MIN_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /** The most commits a batch commit may have. */
+  public static final int MAX_BATCH_COMMITS = 1000;
+
+  /**
+   * The number of tables whose commits in a batch share a transaction. It bounds how long the
+   * tables stay locked, and the number of parameters of the statements that write their commits.
+   */
+  private static final int NUM_TABLES_PER_COMMIT_GROUP = 100;
+
   private final SessionFactory sessionFactory;
   private final ServerProperties serverProperties;
+  private final Striped<Lock> commitLocks = Striped.lock(NUM_COMMIT_LOCK_STRIPES);
+  private final DeltaCommitCache commitCache;
 
   public DeltaCommitRepository(SessionFactory sessionFactory, ServerProperties serverProperties) {
     this.sessionFactory = sessionFactory;
     this.serverProperties = serverProperties;
+    this.commitCache =
+        new DeltaCommitCache(
+            (int) serverProperties.getLong(Property.DELTA_COMMIT_CACHE_MAX_SIZE),
+            serverProperties.getLong(Property.DELTA_COMMIT_CACHE_TTL_MS));
+  }
+
+  /**
+   * Returns the cache of the commits of each table. Deployments that relay commits between servers
+   * invalidate the tables committed through other servers here.
+   */
+  public DeltaCommitCache getCommitCache() {
+    return commitCache;
   }
 
   /**
@@ -102,19 +162,42 @@ public class DeltaCommitRepository {
             throw new BaseException(ErrorCode.NOT_FOUND, "Table not found: " + tableId);
           }
           validateTable(tableInfoDAO);
-
-          Query<DeltaCommitDAO> query =
-              session.createQuery(
-                  "FROM DeltaCommitDAO WHERE tableId = :tableId ORDER BY commitVersion DESC",
-                  DeltaCommitDAO.class);
-          query.setParameter("tableId", tableId);
-          query.setMaxResults(NUM_COMMITS_PER_BATCH);
-          return query.list();
+          return getAllCommitDAOsDesc(session, tableId);
         },
         "Failed to get latest commits",
         /* readOnly= */ true);
   }
 
+  private static List<DeltaCommitDAO> getAllCommitDAOsDesc(Session session, UUID tableId) {
+    Query<DeltaCommitDAO> query =
+        session.createQuery(
+            "FROM DeltaCommitDAO WHERE tableId = :tableId ORDER BY commitVersion DESC",
+            DeltaCommitDAO.class);
+    query.setParameter("tableId", tableId);
+    query.setMaxResults(NUM_COMMITS_PER_BATCH);
+    return query.list();
+  }
+
+  /**
+   * Retrieves all commits of many tables in one query, in descending order by version for each
+   * table. Tables without commits map to an empty list.
+   */
+  private static Map<UUID, List<DeltaCommitDAO>> getAllCommitDAOsDesc(
+      Session session, Collection<UUID> tableIds) {
+    Map<UUID, List<DeltaCommitDAO>> commitsDesc = new HashMap<>();
+    tableIds.forEach(tableId -> commitsDesc.put(tableId, new ArrayList<>()));
+    if (!tableIds.isEmpty()) {
+      session
+          .createQuery(
+              "FROM DeltaCommitDAO WHERE tableId IN :tableIds ORDER BY commitVersion DESC",
+              DeltaCommitDAO.class)
+          .setParameterList("tableIds", tableIds)
+          .list()
+          .forEach(commitDAO -> commitsDesc.get(commitDAO.getTableId()).add(commitDAO));
+    }
+    return commitsDesc;
+  }
+
   /**
    * Retrieves commits for a managed Delta table within a specified version range.
    *
@@ -137,19 +220,74 @@ public class DeltaCommitRepository {
    */
   public DeltaGetCommitsResponse getCommits(DeltaGetCommits rpc) {
     serverProperties.checkManagedTableEnabled();
+    validateGetCommits(rpc);
+    UUID tableId = UUID.fromString(rpc.getTableId());
+    return toGetCommitsResponse(
+        tableId, rpc, commitCache.get(tableId, this::getAllCommitDAOsDesc).commitsDesc());
+  }
+
+  /**
+   * Retrieves commits like {@link #getCommits(DeltaGetCommits)}, but once the latest version of
+   * the table differs from the given one, so that readers can wait for a new version instead of
+   * polling.
+   *
+   * <p>The returned future completes as soon as the table is committed to through this server.
+   * Commits through other servers are noticed when the cached commits of the table are read again,
+   * at least every second. If the latest version is still the given one when the timeout elapses,
+   * the future completes with the unchanged commits.
+   *
+   * @param latestTableVersion the latest version of the table known to the caller
+   * @param timeout how long to wait for a different version
+   * @param executor the executor to read commits on, since that may query the database
+   */
+  public CompletableFuture<DeltaGetCommitsResponse> awaitCommits(
+      DeltaGetCommits rpc, long latestTableVersion, Duration timeout, Executor executor) {
+    serverProperties.checkManagedTableEnabled();
+    validateGetCommits(rpc);
+    UUID tableId = UUID.fromString(rpc.getTableId());
+    long deadlineNanos = System.nanoTime() + timeout.toNanos();
+    return CompletableFuture.supplyAsync(
+            () -> awaitCommits(tableId, rpc, latestTableVersion, deadlineNanos, executor), executor)
+        .thenCompose(response -> response);
+  }
+
+  private CompletableFuture<DeltaGetCommitsResponse> awaitCommits(
+      UUID tableId,
+      DeltaGetCommits rpc,
+      long latestTableVersion,
+      long deadlineNanos,
+      Executor executor) {
+    DeltaCommitCache.Entry entry = commitCache.get(tableId, this::getAllCommitDAOsDesc);
+    DeltaGetCommitsResponse response = toGetCommitsResponse(tableId, rpc, entry.commitsDesc());
+    long remainingNanos = deadlineNanos - System.nanoTime();
+    if (response.getLatestTableVersion() != latestTableVersion || remainingNanos <= 0) {
+      return CompletableFuture.completedFuture(response);
+    }
+    // Wakes up when the entry is replaced, or to read the commits again.
+    long waitNanos = Math.min(remainingNanos, Math.max(commitCache.ttlNanos(), MIN_RECHECK_NANOS));
+    return entry
+        .replaced()
+        .copy()
+        .completeOnTimeout(null, waitNanos, TimeUnit.NANOSECONDS)
+        .thenComposeAsync(
+            ignored -> awaitCommits(tableId, rpc, latestTableVersion, deadlineNanos, executor),
+            executor);
+  }
 
+  private static void validateGetCommits(DeltaGetCommits rpc) {
     ValidationUtils.checkArgument(rpc.getTableId() != null, "Field can not be null: table_id");
     ValidationUtils.checkArgument(
         rpc.getStartVersion() != null, "Field can not be null: start_version");
-    UUID tableId = UUID.fromString(rpc.getTableId());
-    long startVersion = rpc.getStartVersion();
-    Optional<Long> endVersion = Optional.ofNullable(rpc.getEndVersion());
-    ValidationUtils.checkArgument(startVersion >= 0, "Field must be >=0: start_version");
+    ValidationUtils.checkArgument(rpc.getStartVersion() >= 0, "Field must be >=0: start_version");
     ValidationUtils.checkArgument(
-        endVersion.filter(x -> x < startVersion).isEmpty(),
+        rpc.getEndVersion() == null || rpc.getEndVersion() >= rpc.getStartVersion(),
         "end_version must be >=start_version if set");
+  }
 
-    List<DeltaCommitDAO> allCommitDAOsDesc = getAllCommitDAOsDesc(tableId);
+  private static DeltaGetCommitsResponse toGetCommitsResponse(
+      UUID tableId, DeltaGetCommits rpc, List<DeltaCommitDAO> allCommitDAOsDesc) {
+    long startVersion = rpc.getStartVersion();
+    Optional<Long> endVersion = Optional.ofNullable(rpc.getEndVersion());
     int commitCount = allCommitDAOsDesc.size();
     if (commitCount > MAX_NUM_COMMITS_PER_TABLE) {
       // This should never occur. But this is recoverable and not fatal.
@@ -213,16 +351,48 @@ public class DeltaCommitRepository {
    * </ul>
    *
    * <p>The method validates the commit, ensures the table is a managed Delta table, and performs
-   * the appropriate commit operation within a transaction.
+   * the appropriate commit operation within a transaction. Commits to the same table are serialized
+   * on this server, and sequenced across servers by the table's last_commit_version.
    *
    * @param commit the commit request containing version info, metadata, and backfill information
    * @throws BaseException if the commit is invalid, table is not found, or commit limits are
-   *     exceeded
+   *     exceeded, or ALREADY_EXISTS if a concurrent commit accepted the version first
    */
   public void postCommit(DeltaCommit commit) {
     serverProperties.checkManagedTableEnabled();
     validateCommit(commit);
-    TransactionManager.executeWithTransaction(
+    Lock lock = commitLocks.get(commit.getTableId());
+    lock.lock();
+    try {
+      List<DeltaCommitDAO> commitsDesc = commitInTransaction(commit);
+      commitCache.put(UUID.fromString(commit.getTableId()), commitsDesc);
+    } catch (BaseException e) {
+      if (e.getErrorCode() == ErrorCode.ALREADY_EXISTS) {
+        // Another server may have committed; the cached commits are likely behind.
+        commitCache.invalidate(UUID.fromString(commit.getTableId()));
+      }
+      throw e;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static UUID parseTableId(String tableId) {
+    try {
+      return UUID.fromString(tableId);
+    } catch (IllegalArgumentException e) {
+      throw new BaseException(ErrorCode.INVALID_ARGUMENT, "Invalid table ID: " + tableId);
+    }
+  }
+
+  /** Sets a batch result to the error a commit failed with. */
+  private static void setError(DeltaBatchCommitResult result, BaseException e) {
+    result.errorCode(e.getErrorCode().name()).message(e.getMessage());
+  }
+
+  /** Commits in a transaction, and returns the commits of the table after the commit. */
+  private List<DeltaCommitDAO> commitInTransaction(DeltaCommit commit) {
+    return TransactionManager.executeWithTransaction(
         sessionFactory,
         session -> {
           UUID tableId = UUID.fromString(commit.getTableId());
@@ -230,34 +400,218 @@ public class DeltaCommitRepository {
           if (tableInfoDAO == null) {
             throw new BaseException(ErrorCode.NOT_FOUND, "Table not found: " + commit.getTableId());
           }
-          validateTableForCommit(commit, tableInfoDAO);
-          List<DeltaCommitDAO> firstAndLastCommits = getFirstAndLastCommits(session, tableId);
-          if (firstAndLastCommits.isEmpty()) {
-            handleOnboardingCommit(session, tableId, tableInfoDAO, commit);
-          } else {
-            DeltaCommitDAO firstCommitDAO = firstAndLastCommits.get(0);
-            DeltaCommitDAO lastCommitDAO = firstAndLastCommits.get(1);
-            assert firstCommitDAO.getCommitVersion() <= lastCommitDAO.getCommitVersion();
-            if (commit.getCommitInfo() == null) {
-              // This is already checked in validateCommit()
-              assert commit.getLatestBackfilledVersion() != null;
-              handleBackfillOnlyCommit(
-                  session,
-                  tableId,
-                  commit.getLatestBackfilledVersion(),
-                  firstCommitDAO.getCommitVersion(),
-                  lastCommitDAO.getCommitVersion());
-            } else {
-              handleNormalCommit(
-                  session, tableId, tableInfoDAO, commit, firstCommitDAO, lastCommitDAO);
+          applyCommit(
+              new SessionCommitWriter(session),
+              tableId,
+              tableInfoDAO,
+              commit,
+              getFirstAndLastCommits(session, tableId));
+          // Backfilling updates commits with native queries, which bypass the session. Clearing it
+          // makes the commits read back reflect them.
+          session.flush();
+          session.clear();
+          return getAllCommitDAOsDesc(session, tableId);
+        },
+        "Error committing to table: " + commit.getTableId(),
+        /* readOnly = */ false);
+  }
+
+  /**
+   * Commits to many managed Delta tables, and returns the result of each commit in order.
+   *
+   * <p>Each commit is validated and applied as by {@link #postCommit(DeltaCommit)}, but the
+   * commits of up to {@link #NUM_TABLES_PER_COMMIT_GROUP} tables share a transaction: their tables
+   * and commits are loaded with one query each, the new commits are inserted in one JDBC batch,
+   * and the backfilled commits of all the tables are deleted with one statement. A rejected commit
+   * is reported in its result and does not affect the others of its group. Should a group fail as
+   * a whole, its commits are applied one by one instead. The commits are grouped and applied in the
+   * order of their table IDs, so that concurrent batches lock the rows of their tables in the same
+   * order and cannot deadlock each other.
+   *
+   * @param commits the commits, at most one per table
+   * @return the result of each commit, in the order of {@code commits}
+   * @throws BaseException with INVALID_ARGUMENT if there are more than {@link #MAX_BATCH_COMMITS}
+   *     commits
+   */
+  public List<DeltaBatchCommitResult> postCommits(List<DeltaCommit> commits) {
+    serverProperties.checkManagedTableEnabled();
+    ValidationUtils.checkArgument(
+        commits.size() <= MAX_BATCH_COMMITS,
+        "A batch can have at most %s commits, but has %s",
+        MAX_BATCH_COMMITS,
+        commits.size());
+    List<DeltaBatchCommitResult> results = new ArrayList<>(commits.size());
+    List<Integer> validCommits = new ArrayList<>();
+    Set<UUID> tableIds = new HashSet<>();
+    for (int i = 0; i < commits.size(); i++) {
+      DeltaCommit commit = commits.get(i);
+      results.add(new DeltaBatchCommitResult().tableId(commit.getTableId()));
+      try {
+        validateCommit(commit);
+        ValidationUtils.checkArgument(
+            tableIds.add(parseTableId(commit.getTableId())),
+            "Table %s has more than one commit in the batch",
+            commit.getTableId());
+        validCommits.add(i);
+      } catch (BaseException e) {
+        setError(results.get(i), e);
+      }
+    }
+    validCommits.sort(Comparator.comparing(i -> parseTableId(commits.get(i).getTableId())));
+    for (List<Integer> group : Lists.partition(validCommits, NUM_TABLES_PER_COMMIT_GROUP)) {
+      commitGroup(commits, group, results);
+    }
+    return results;
+  }
+
+  /** The outcome of the commits of a group that were applied in a transaction. */
+  private record GroupOutcome(
+      Map<Integer, BaseException> failures, Map<UUID, List<DeltaCommitDAO>> commitsDesc) {}
+
+  /** Commits a group of the commits of a batch, and sets their results. */
+  private void commitGroup(
+      List<DeltaCommit> commits, List<Integer> group, List<DeltaBatchCommitResult> results) {
+    List<String> tableIds = group.stream().map(i -> commits.get(i).getTableId()).toList();
+    // Striped returns the locks in a consistent order, so that groups sharing stripes cannot
+    // deadlock.
+    Iterable<Lock> locks = commitLocks.bulkGet(tableIds);
+    GroupOutcome outcome = null;
+    locks.forEach(Lock::lock);
+    try {
+      outcome = commitGroupInTransaction(commits, group);
+      outcome.commitsDesc().forEach(commitCache::put);
+    } catch (BaseException e) {
+      // Already logged. The commits are applied one by one below, to find out which failed.
+    } finally {
+      locks.forEach(Lock::unlock);
+    }
+    if (outcome == null) {
+      LOGGER.warn("Failed to commit a group of {} tables, committing one by one", group.size());
+      for (int i : group) {
+        try {
+          postCommit(commits.get(i));
+        } catch (BaseException e) {
+          setError(results.get(i), e);
+        }
+      }
+      return;
+    }
+    outcome
+        .failures()
+        .forEach(
+            (i, e) -> {
+              if (e.getErrorCode() == ErrorCode.ALREADY_EXISTS) {
+                // Another server may have committed; the cached commits are likely behind.
+                commitCache.invalidate(UUID.fromString(commits.get(i).getTableId()));
+              }
+              setError(results.get(i), e);
+            });
+  }
+
+  /**
+   * Applies the commits of a group in a transaction, and returns the commits that were rejected
+   * and the commits of the other tables after the commit.
+   *
+   * @throws BaseException if a commit failed after writing, which fails the whole group
+   */
+  private GroupOutcome commitGroupInTransaction(List<DeltaCommit> commits, List<Integer> group) {
+    List<UUID> tableIds =
+        group.stream().map(i -> UUID.fromString(commits.get(i).getTableId())).toList();
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          Map<UUID, TableInfoDAO> tableInfoDAOs =
+              session
+                  .createQuery("FROM TableInfoDAO WHERE id IN :tableIds", TableInfoDAO.class)
+                  .setParameterList("tableIds", tableIds)
+                  .list()
+                  .stream()
+                  .collect(Collectors.toMap(TableInfoDAO::getId, Function.identity()));
+          Map<UUID, List<DeltaCommitDAO>> commitDAOsDesc = getAllCommitDAOsDesc(session, tableIds);
+          BatchCommitWriter writer = new BatchCommitWriter(session);
+          Map<Integer, BaseException> failures = new HashMap<>();
+          Set<UUID> committedTableIds = new LinkedHashSet<>(tableIds);
+          for (int i = 0; i < group.size(); i++) {
+            UUID tableId = tableIds.get(i);
+            try {
+              TableInfoDAO tableInfoDAO = tableInfoDAOs.get(tableId);
+              if (tableInfoDAO == null) {
+                throw new BaseException(ErrorCode.NOT_FOUND, "Table not found: " + tableId);
+              }
+              List<DeltaCommitDAO> commitsDesc = commitDAOsDesc.get(tableId);
+              List<DeltaCommitDAO> firstAndLastCommits =
+                  commitsDesc.isEmpty()
+                      ? List.of()
+                      : List.of(commitsDesc.get(commitsDesc.size() - 1), commitsDesc.get(0));
+              applyCommit(
+                  writer, tableId, tableInfoDAO, commits.get(group.get(i)), firstAndLastCommits);
+            } catch (BaseException e) {
+              if (writer.hasWritten(tableId)) {
+                // Its writes cannot be undone without rolling back the others.
+                throw e;
+              }
+              failures.put(group.get(i), e);
+              committedTableIds.remove(tableId);
             }
           }
-          return null;
+          writer.flush();
+          // Backfilling updates commits with native queries, which bypass the session. Clearing it
+          // makes the commits read back reflect them.
+          session.flush();
+          session.clear();
+          Map<UUID, List<DeltaCommitDAO>> committed = new HashMap<>();
+          getAllCommitDAOsDesc(session, committedTableIds)
+              .forEach(
+                  (tableId, commitsDesc) ->
+                      committed.put(
+                          tableId,
+                          commitsDesc.subList(
+                              0, Math.min(commitsDesc.size(), NUM_COMMITS_PER_BATCH))));
+          return new GroupOutcome(failures, committed);
         },
-        "Error committing to table: " + commit.getTableId(),
+        "Error committing to " + group.size() + " tables",
         /* readOnly = */ false);
   }
 
+  /**
+   * Validates a commit against its table and applies it as an onboarding, backfill-only or normal
+   * commit. Any rejection is thrown before the commit writes anything.
+   *
+   * @param writer writes the commit rows, and gives access to the session
+   * @param tableId the unique identifier of the table being committed to
+   * @param tableInfoDAO the table, loaded in the session of the writer
+   * @param commit the commit request
+   * @param firstAndLastCommits the first and last commits of the table in database, as returned
+   *     by {@link #getFirstAndLastCommits(Session, UUID)}
+   */
+  private static void applyCommit(
+      CommitWriter writer,
+      UUID tableId,
+      TableInfoDAO tableInfoDAO,
+      DeltaCommit commit,
+      List<DeltaCommitDAO> firstAndLastCommits) {
+    validateTableForCommit(commit, tableInfoDAO);
+    if (firstAndLastCommits.isEmpty()) {
+      handleOnboardingCommit(writer, tableId, tableInfoDAO, commit);
+    } else {
+      DeltaCommitDAO firstCommitDAO = firstAndLastCommits.get(0);
+      DeltaCommitDAO lastCommitDAO = firstAndLastCommits.get(1);
+      assert firstCommitDAO.getCommitVersion() <= lastCommitDAO.getCommitVersion();
+      if (commit.getCommitInfo() == null) {
+        // This is already checked in validateCommit()
+        assert commit.getLatestBackfilledVersion() != null;
+        handleBackfillOnlyCommit(
+            writer,
+            tableId,
+            commit.getLatestBackfilledVersion(),
+            firstCommitDAO.getCommitVersion(),
+            lastCommitDAO.getCommitVersion());
+      } else {
+        handleNormalCommit(writer, tableId, tableInfoDAO, commit, firstCommitDAO, lastCommitDAO);
+      }
+    }
+  }
+
   /**
    * Handles an onboarding commit, which is the very first commit sent to Unity Catalog for a table.
    *
@@ -268,22 +622,24 @@ public class DeltaCommitRepository {
    *
    * <p>The method saves the commit and optionally updates table metadata if provided.
    *
-   * @param session the Hibernate session for database operations
+   * @param writer writes the commit rows, and gives access to the session
    * @param tableId the unique identifier of the table being committed to
    * @param tableInfoDAO the table information data access object
    * @param commit the commit request containing version info and optional metadata
    * @throws BaseException if the commit info is null
    */
   private static void handleOnboardingCommit(
-      Session session, UUID tableId, TableInfoDAO tableInfoDAO, DeltaCommit commit) {
+      CommitWriter writer, UUID tableId, TableInfoDAO tableInfoDAO, DeltaCommit commit) {
     DeltaCommitInfo commitInfo = commit.getCommitInfo();
     ValidationUtils.checkArgument(
         commitInfo != null,
         "Field can not be null: %s in onboarding commit",
         DeltaCommit.JSON_PROPERTY_COMMIT_INFO);
-    saveCommit(session, tableId, commitInfo);
+    advanceCommitVersion(writer.session(), tableId, Optional.empty(), commitInfo.getVersion());
+    writer.saveCommit(tableId, commitInfo);
     Optional.ofNullable(commit.getMetadata())
-        .ifPresent(metadata -> updateTableMetadata(session, tableId, tableInfoDAO, metadata));
+        .ifPresent(
+            metadata -> updateTableMetadata(writer.session(), tableId, tableInfoDAO, metadata));
   }
 
   /**
@@ -293,7 +649,7 @@ public class DeltaCommitRepository {
    * version. It validates that the backfilled version is not greater than the last committed
    * version, then delegates to the backfill logic to remove old commits from the repository.
    *
-   * @param session the Hibernate session for database operations
+   * @param writer writes the commit rows
    * @param tableId the unique identifier of the table
    * @param latestBackfilledVersion the version up to which backfilling has already been performed
    * @param firstCommitVersion the version number of the first commit currently in the database
@@ -301,7 +657,7 @@ public class DeltaCommitRepository {
    * @throws BaseException if the backfilled version is greater than the last commit version
    */
   private static void handleBackfillOnlyCommit(
-      Session session,
+      CommitWriter writer,
       UUID tableId,
       long latestBackfilledVersion,
       long firstCommitVersion,
@@ -314,7 +670,7 @@ public class DeltaCommitRepository {
               latestBackfilledVersion, lastCommitVersion));
     }
     backfillCommits(
-        session,
+        writer,
         tableId,
         latestBackfilledVersion,
         firstCommitVersion,
@@ -342,7 +698,7 @@ public class DeltaCommitRepository {
    *   <li>Adding the new commit won't exceed the maximum commits per table limit
    * </ul>
    *
-   * @param session the Hibernate session for database operations
+   * @param writer writes the commit rows, and gives access to the session
    * @param tableId the unique identifier of the table
    * @param tableInfoDAO the table information data access object
    * @param commit the commit request containing version info, optional backfill, and metadata
@@ -351,7 +707,7 @@ public class DeltaCommitRepository {
    * @throws BaseException if the commit version is invalid, already exists, or violates constraints
    */
   private static void handleNormalCommit(
-      Session session,
+      CommitWriter writer,
       UUID tableId,
       TableInfoDAO tableInfoDAO,
       DeltaCommit commit,
@@ -386,13 +742,16 @@ public class DeltaCommitRepository {
     }
     checkCommitLimit(
         tableId, newCommitVersion, latestBackfilledVersion, firstCommitDAO, lastCommitDAO);
-    saveCommit(session, tableId, commitInfo);
+    advanceCommitVersion(
+        writer.session(), tableId, Optional.of(lastCommitVersion), newCommitVersion);
+    writer.saveCommit(tableId, commitInfo);
     Optional.ofNullable(commit.getMetadata())
-        .ifPresent(metadata -> updateTableMetadata(session, tableId, tableInfoDAO, metadata));
+        .ifPresent(
+            metadata -> updateTableMetadata(writer.session(), tableId, tableInfoDAO, metadata));
     latestBackfilledVersion.ifPresent(
         latestBackfilled ->
             backfillCommits(
-                session,
+                writer,
                 tableId,
                 latestBackfilled,
                 firstCommitVersion,
@@ -492,10 +851,7 @@ public class DeltaCommitRepository {
    * <p>For backfill-only requests (when newCommitVersion is empty), if the backfilled version
    * equals the last commit version, that commit is marked as backfilled rather than deleted.
    *
-   * <p>This method performs deletions in batches and retries up to 5 times if not all commits are
-   * deleted, logging errors for investigation.
-   *
-   * @param session the Hibernate session for database operations
+   * @param writer writes the commit rows
    * @param tableId the unique identifier of the table
    * @param latestBackfilledVersion the version up to which backfilling should be performed
    * @param firstCommitVersion the version number of the first commit currently in the database with
@@ -506,7 +862,7 @@ public class DeltaCommitRepository {
    *     requests)
    */
   private static void backfillCommits(
-      Session session,
+      CommitWriter writer,
       UUID tableId,
       long latestBackfilledVersion,
       long firstCommitVersion,
@@ -529,28 +885,202 @@ public class DeltaCommitRepository {
     if (newCommitVersion.isEmpty() && latestBackfilledVersion == lastCommitVersion) {
       // Backfill only request will never delete the last existing commit. Instead, we mark it as
       // backfilled.
-      markCommitAsLatestBackfilled(session, tableId, lastCommitVersion);
+      writer.markCommitAsLatestBackfilled(tableId, lastCommitVersion);
     }
     long numCommitsToDelete = deleteUpTo - firstCommitVersion + 1L;
     if (numCommitsToDelete <= 0) {
       // Nothing to delete.
       return;
     }
+    writer.deleteCommitsUpTo(tableId, deleteUpTo, numCommitsToDelete);
+  }
 
-    // Retry backfilling 5 times to prioritize cleaning of the commit table and log bugs where there
-    // are more commits in the table than MAX_NUM_COMMITS_PER_TABLE
-    final int MAX_ITERATIONS = 5;
-    for (int i = 0; i < MAX_ITERATIONS && numCommitsToDelete > 0; i++) {
-      numCommitsToDelete -= deleteCommitsUpTo(session, tableId, deleteUpTo);
-      if (numCommitsToDelete > 0) {
-        LOGGER.error(
-            "Failed to backfill commits for tableId: {}, upTo: {}, in batch: {}, commits left: {}",
-            tableId,
-            deleteUpTo,
-            i,
-            numCommitsToDelete);
+  /**
+   * Writes the commit rows of commits. Rejections are decided before anything is written, so a
+   * writer may defer its writes until all the commits of a batch are decided.
+   */
+  private interface CommitWriter {
+    Session session();
+
+    void saveCommit(UUID tableId, DeltaCommitInfo commitInfo);
+
+    /** Deletes the commits of a table up to and including a version, which are that many. */
+    void deleteCommitsUpTo(UUID tableId, long upToCommitVersion, long numCommitsToDelete);
+
+    void markCommitAsLatestBackfilled(UUID tableId, long commitVersion);
+  }
+
+  /** Writes the rows of a single commit right away. */
+  private record SessionCommitWriter(Session session) implements CommitWriter {
+
+    @Override
+    public void saveCommit(UUID tableId, DeltaCommitInfo commitInfo) {
+      DeltaCommitRepository.saveCommit(session, tableId, commitInfo);
+    }
+
+    /**
+     * Deletes commits in batches, and retries up to 5 times if not all commits are deleted, logging
+     * errors for investigation.
+     */
+    @Override
+    public void deleteCommitsUpTo(UUID tableId, long upToCommitVersion, long numCommitsToDelete) {
+      // Retry backfilling 5 times to prioritize cleaning of the commit table and log bugs where
+      // there are more commits in the table than MAX_NUM_COMMITS_PER_TABLE
+      final int MAX_ITERATIONS = 5;
+      for (int i = 0; i < MAX_ITERATIONS && numCommitsToDelete > 0; i++) {
+        numCommitsToDelete -=
+            DeltaCommitRepository.deleteCommitsUpTo(session, tableId, upToCommitVersion);
+        if (numCommitsToDelete > 0) {
+          LOGGER.error(
+              "Failed to backfill commits for tableId: {}, upTo: {}, in batch: {}, commits left: {}",
+              tableId,
+              upToCommitVersion,
+              i,
+              numCommitsToDelete);
+        }
       }
     }
+
+    @Override
+    public void markCommitAsLatestBackfilled(UUID tableId, long commitVersion) {
+      DeltaCommitRepository.markCommitAsLatestBackfilled(session, tableId, commitVersion);
+    }
+  }
+
+  /**
+   * Defers the rows of the commits of a batch to {@link #flush()}, which inserts all new commits in
+   * one JDBC batch, and marks and deletes the backfilled commits of all tables with one statement
+   * each.
+   */
+  private static class BatchCommitWriter implements CommitWriter {
+    private final Session session;
+    private final List<DeltaCommitDAO> commitsToSave = new ArrayList<>();
+    private final Map<UUID, Long> commitVersionsToMark = new LinkedHashMap<>();
+    private final Map<UUID, Long> commitVersionsToDeleteUpTo = new LinkedHashMap<>();
+    private final Set<UUID> writtenTableIds = new HashSet<>();
+    private long numCommitsToDelete = 0;
+
+    BatchCommitWriter(Session session) {
+      this.session = session;
+    }
+
+    @Override
+    public Session session() {
+      return session;
+    }
+
+    /** Whether a table has had its commit version advanced or commit rows written. */
+    boolean hasWritten(UUID tableId) {
+      return writtenTableIds.contains(tableId);
+    }
+
+    @Override
+    public void saveCommit(UUID tableId, DeltaCommitInfo commitInfo) {
+      // The commit version of the table was advanced right before.
+      writtenTableIds.add(tableId);
+      commitsToSave.add(DeltaCommitDAO.from(tableId, commitInfo));
+    }
+
+    @Override
+    public void deleteCommitsUpTo(UUID tableId, long upToCommitVersion, long numCommitsToDelete) {
+      writtenTableIds.add(tableId);
+      commitVersionsToDeleteUpTo.put(tableId, upToCommitVersion);
+      this.numCommitsToDelete += numCommitsToDelete;
+    }
+
+    @Override
+    public void markCommitAsLatestBackfilled(UUID tableId, long commitVersion) {
+      writtenTableIds.add(tableId);
+      commitVersionsToMark.put(tableId, commitVersion);
+    }
+
+    void flush() {
+      if (!commitsToSave.isEmpty()) {
+        session.setJdbcBatchSize(commitsToSave.size());
+        commitsToSave.forEach(session::persist);
+        session.flush();
+      }
+      if (!commitVersionsToMark.isEmpty()) {
+        NativeQuery<?> query =
+            session.createNativeQuery(
+                "UPDATE uc_delta_commits SET is_backfilled_latest_commit = true WHERE "
+                    + commitVersionConditions(commitVersionsToMark, "="));
+        setCommitVersionParameters(query, commitVersionsToMark);
+        query.executeUpdate();
+      }
+      if (!commitVersionsToDeleteUpTo.isEmpty()) {
+        // The limit is a safety measure like NUM_COMMITS_PER_BATCH is for single commits.
+        NativeQuery<?> query =
+            session.createNativeQuery(
+                "DELETE FROM uc_delta_commits WHERE "
+                    + commitVersionConditions(commitVersionsToDeleteUpTo, "<=")
+                    + " LIMIT :numCommitsToDelete");
+        setCommitVersionParameters(query, commitVersionsToDeleteUpTo);
+        query.setParameter("numCommitsToDelete", numCommitsToDelete);
+        int numDeleted = query.executeUpdate();
+        if (numDeleted != numCommitsToDelete) {
+          LOGGER.error(
+              "Failed to backfill commits for {} tables, commits left: {}",
+              commitVersionsToDeleteUpTo.size(),
+              numCommitsToDelete - numDeleted);
+        }
+      }
+    }
+
+    private static String commitVersionConditions(Map<UUID, Long> commitVersions, String op) {
+      return IntStream.range(0, commitVersions.size())
+          .mapToObj(
+              i -> "(table_id = :tableId" + i + " AND commit_version " + op + " :version" + i + ")")
+          .collect(Collectors.joining(" OR "));
+    }
+
+    private static void setCommitVersionParameters(
+        NativeQuery<?> query, Map<UUID, Long> commitVersions) {
+      int i = 0;
+      for (Map.Entry<UUID, Long> commitVersion : commitVersions.entrySet()) {
+        query.setParameter("tableId" + i, commitVersion.getKey());
+        query.setParameter("version" + i, commitVersion.getValue());
+        i++;
+      }
+    }
+  }
+
+  /**
+   * Advances the last_commit_version of a table with a compare-and-set update, before the new
+   * commit is written.
+   *
+   * <p>The update only succeeds if the table is still at the version the commit was validated
+   * against. A NULL last_commit_version is accepted in place of the expected version for tables
+   * whose commits predate the column. If another writer advanced the table first, the update
+   * either finds a different version, or waits for the row lock of the other transaction and then
+   * finds its version, and the commit fails without writing anything.
+   *
+   * @param session the Hibernate session for database operations
+   * @param tableId the unique identifier of the table
+   * @param expectedVersion the last commit version the commit was validated against, empty if the
+   *     table has no commits
+   * @param newCommitVersion the version number of the new commit
+   * @throws BaseException with ALREADY_EXISTS if the table is no longer at the expected version
+   */
+  private static void advanceCommitVersion(
+      Session session, UUID tableId, Optional<Long> expectedVersion, long newCommitVersion) {
+    String sql =
+        "UPDATE uc_tables SET last_commit_version = :newCommitVersion WHERE id = :tableId AND "
+            + (expectedVersion.isPresent()
+                ? "(last_commit_version = :expectedVersion OR last_commit_version IS NULL)"
+                : "last_commit_version IS NULL");
+    NativeQuery<?> query = session.createNativeQuery(sql);
+    query.setParameter("newCommitVersion", newCommitVersion);
+    query.setParameter("tableId", tableId);
+    expectedVersion.ifPresent(version -> query.setParameter("expectedVersion", version));
+    if (query.executeUpdate() == 0) {
+      throw new BaseException(
+          ErrorCode.ALREADY_EXISTS,
+          String.format(
+              "Commit version %d conflicts with a concurrent commit to table %s. Reload the "
+                  + "table and retry.",
+              newCommitVersion, tableId));
+    }
   }
 
   /**
@@ -917,5 +1447,6 @@ public class DeltaCommitRepository {
       LOGGER.error(
           "Failed to purge all commits for table {} after {} iterations", tableId, MAX_ITERATIONS);
     }
+    commitCache.invalidate(tableId);
   }
 }
@@ -121,17 +121,16 @@ public class ExternalLocationRepository {
     return TransactionManager.executeWithTransaction(
         sessionFactory,
         session -> {
-          List<ExternalLocationDAO> daoList =
-              LISTING_HELPER.listEntity(
+          PagedListingHelper.Page<ExternalLocationDAO> page =
+              LISTING_HELPER.listPage(
                   session, maxResults, pageToken, /* parentEntityId = */ null);
-          String nextPageToken = LISTING_HELPER.getNextPageToken(daoList, maxResults);
           List<ExternalLocationInfo> results = new ArrayList<>();
-          for (ExternalLocationDAO dao : daoList) {
+          for (ExternalLocationDAO dao : page.entities()) {
             results.add(dao.toExternalLocationInfo());
           }
           return new ListExternalLocationsResponse()
               .externalLocations(results)
-              .nextPageToken(nextPageToken);
+              .nextPageToken(page.nextPageToken());
         },
         "Failed to list external locations",
         /* readOnly = */ true);
@@ -153,18 +153,17 @@ public class FunctionRepository {
       String schemaName,
       Optional<Integer> maxResults,
       Optional<String> pageToken) {
-    List<FunctionInfoDAO> functionInfoDAOList =
-        LISTING_HELPER.listEntity(session, maxResults, pageToken, schemaId);
-    String nextPageToken = LISTING_HELPER.getNextPageToken(functionInfoDAOList, maxResults);
+    PagedListingHelper.Page<FunctionInfoDAO> page =
+        LISTING_HELPER.listPage(session, maxResults, pageToken, schemaId);
     List<FunctionInfo> result = new ArrayList<>();
-    for (FunctionInfoDAO functionInfoDAO : functionInfoDAOList) {
+    for (FunctionInfoDAO functionInfoDAO : page.entities()) {
       FunctionInfo functionInfo = functionInfoDAO.toFunctionInfo();
-      RepositoryUtils.attachProperties(
-          functionInfo, functionInfo.getFunctionId(), Constants.FUNCTION, session);
       addNamespaceData(functionInfo, catalogName, schemaName);
       result.add(functionInfo);
     }
-    return new ListFunctionsResponse().functions(result).nextPageToken(nextPageToken);
+    RepositoryUtils.attachProperties(
+        result, FunctionInfo::getFunctionId, Constants.FUNCTION, session);
+    return new ListFunctionsResponse().functions(result).nextPageToken(page.nextPageToken());
   }
 
   public FunctionInfo getFunction(String name) {
@@ -70,15 +70,12 @@ public class ModelRepository {
   }
 
   public List<RegisteredModelInfoDAO> getAllRegisteredModelsDao(
-      Session session, Optional<String> token, Optional<Integer> maxResults) {
-    UUID tokenToUse = new UUID(0, 0);
-    if (token.isPresent()) {
-      tokenToUse = UUID.fromString(token.get());
-    }
+      Session session, Optional<String> afterId, int maxResults) {
+    UUID tokenToUse = afterId.map(UUID::fromString).orElse(new UUID(0, 0));
     String hql = "FROM RegisteredModelInfoDAO t WHERE t.id > :token ORDER BY t.id ASC";
     Query<RegisteredModelInfoDAO> query = session.createQuery(hql, RegisteredModelInfoDAO.class);
     query.setParameter("token", tokenToUse);
-    query.setMaxResults(REGISTERED_MODEL_LISTING_HELPER.getPageSize(maxResults));
+    query.setMaxResults(maxResults);
     return query.getResultList(); // Returns null if no result is found
   }
 
@@ -137,16 +134,6 @@ public class ModelRepository {
     return catalogName + "." + schemaName + "." + modelName;
   }
 
-  public String getNextPageToken(List<ModelVersionInfoDAO> entities, Optional<Integer> maxResults) {
-    if (entities == null
-        || entities.isEmpty()
-        || entities.size() < PagedListingHelper.getPageSize(maxResults)) {
-      return null;
-    }
-    // return the last version
-    return entities.get(entities.size() - 1).getVersion().toString();
-  }
-
   /** **************** Registered Model handlers ***************** */
   public RegisteredModelInfo getRegisteredModel(String fullName) {
     LOGGER.info("Getting registered model: {}", fullName);
@@ -284,13 +271,20 @@ public class ModelRepository {
         if (catalogName.isEmpty() || schemaName.isEmpty()) {
           // Run the custom query to pull all models back from all catalogs/schemas
           LOGGER.info("Listing all registered models in the metastore.");
-          List<RegisteredModelInfoDAO> registeredModelInfoDAOList =
-              getAllRegisteredModelsDao(session, pageToken, maxResults);
-          String nextPageToken =
-              REGISTERED_MODEL_LISTING_HELPER.getNextPageToken(
-                  registeredModelInfoDAOList, maxResults);
+          // Models of all schemas are listed in the order of their id.
+          String scope = "RegisteredModelInfoDAO/*";
+          int pageSize = PagedListingHelper.getPageSize(maxResults);
+          PagedListingHelper.Page<RegisteredModelInfoDAO> page =
+              PagedListingHelper.toPage(
+                  getAllRegisteredModelsDao(
+                      session,
+                      PagedListingHelper.decodePageToken(scope, pageToken),
+                      pageSize + 1),
+                  pageSize,
+                  scope,
+                  dao -> dao.getId().toString());
           List<RegisteredModelInfo> result = new ArrayList<>();
-          for (RegisteredModelInfoDAO registeredModelInfoDAO : registeredModelInfoDAOList) {
+          for (RegisteredModelInfoDAO registeredModelInfoDAO : page.entities()) {
             SchemaInfoDAO schemaInfoDAO =
                 RepositoryUtils.getSchemaByIdOrThrow(session, registeredModelInfoDAO.getSchemaId());
             CatalogInfoDAO catalogInfoDAO =
@@ -305,7 +299,7 @@ public class ModelRepository {
           }
           return new ListRegisteredModelsResponse()
               .registeredModels(result)
-              .nextPageToken(nextPageToken);
+              .nextPageToken(page.nextPageToken());
         } else {
           LOGGER.info("Listing registered models in {}.{}", catalogName.get(), schemaName.get());
           UUID schemaId =
@@ -334,19 +328,19 @@ public class ModelRepository {
       String schemaName,
       Optional<Integer> maxResults,
       Optional<String> pageToken) {
-    List<RegisteredModelInfoDAO> registeredModelInfoDAOList =
-        REGISTERED_MODEL_LISTING_HELPER.listEntity(session, maxResults, pageToken, schemaId);
-    String nextPageToken =
-        REGISTERED_MODEL_LISTING_HELPER.getNextPageToken(registeredModelInfoDAOList, maxResults);
+    PagedListingHelper.Page<RegisteredModelInfoDAO> page =
+        REGISTERED_MODEL_LISTING_HELPER.listPage(session, maxResults, pageToken, schemaId);
     List<RegisteredModelInfo> result = new ArrayList<>();
-    for (RegisteredModelInfoDAO registeredModelInfoDAO : registeredModelInfoDAOList) {
+    for (RegisteredModelInfoDAO registeredModelInfoDAO : page.entities()) {
       RegisteredModelInfo registeredModelInfo = registeredModelInfoDAO.toRegisteredModelInfo();
       registeredModelInfo.setCatalogName(catalogName);
       registeredModelInfo.setSchemaName(schemaName);
       registeredModelInfo.setFullName(getRegisteredModelFullName(registeredModelInfo));
       result.add(registeredModelInfo);
     }
-    return new ListRegisteredModelsResponse().registeredModels(result).nextPageToken(nextPageToken);
+    return new ListRegisteredModelsResponse()
+        .registeredModels(result)
+        .nextPageToken(page.nextPageToken());
   }
 
   public RegisteredModelInfo updateRegisteredModel(
@@ -633,27 +627,30 @@ public class ModelRepository {
         RegisteredModelInfoDAO existingRegisteredModel =
             getRegisteredModelDaoOrThrow(session, schemaId, registeredModelName);
         UUID registeredModelId = existingRegisteredModel.getId();
-        List<ModelVersionInfoDAO> modelVersions =
-            getModelVersionsDao(
-                session,
-                registeredModelId,
-                pageToken.orElse("0"),
-                PagedListingHelper.getPageSize(maxResults));
-        String nextPageToken = getNextPageToken(modelVersions, maxResults);
+        String scope = "ModelVersionInfoDAO/" + registeredModelId;
+        int pageSize = PagedListingHelper.getPageSize(maxResults);
+        PagedListingHelper.Page<ModelVersionInfoDAO> page =
+            PagedListingHelper.toPage(
+                getModelVersionsDao(
+                    session,
+                    registeredModelId,
+                    PagedListingHelper.decodePageToken(scope, pageToken).orElse("0"),
+                    pageSize + 1),
+                pageSize,
+                scope,
+                dao -> dao.getVersion().toString());
         List<ModelVersionInfo> modelVersionInfoList = new ArrayList<ModelVersionInfo>();
-        if (modelVersions != null) {
-          for (ModelVersionInfoDAO curDao : modelVersions) {
-            ModelVersionInfo curInfo = curDao.toModelVersionInfo();
-            curInfo.setCatalogName(catalogName);
-            curInfo.setSchemaName(schemaName);
-            curInfo.setModelName(registeredModelName);
-            modelVersionInfoList.add(curInfo);
-          }
+        for (ModelVersionInfoDAO curDao : page.entities()) {
+          ModelVersionInfo curInfo = curDao.toModelVersionInfo();
+          curInfo.setCatalogName(catalogName);
+          curInfo.setSchemaName(schemaName);
+          curInfo.setModelName(registeredModelName);
+          modelVersionInfoList.add(curInfo);
         }
         ListModelVersionsResponse response =
             new ListModelVersionsResponse()
                 .modelVersions(modelVersionInfoList)
-                .nextPageToken(nextPageToken);
+                .nextPageToken(page.nextPageToken());
         tx.commit();
         return response;
       } catch (Exception e) {
@@ -0,0 +1,100 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.control.model.User;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of users keyed by email address.
+ *
+ * <p>Resolving the principal of a request maps the subject of its access token to a user, which
+ * happens several times for every authenticated request. Entries expire after a time-to-live, and
+ * the least recently used entry is dropped once the cache is full. The user repository invalidates
+ * the entry of a user it updates, so changes made through this server apply immediately; changes
+ * made through another server sharing the database apply once the entry expires.
+ *
+ * <p>Users are mutable, so the cache keeps an immutable snapshot of each user and returns a new
+ * copy on every hit; a caller modifying the user it got does not change what others get.
+ */
+class PrincipalCache {
+
+  /** The fields of a user, as they were when it was cached. */
+  private record Snapshot(
+      String id,
+      String name,
+      String email,
+      String externalId,
+      User.StateEnum state,
+      String pictureUrl,
+      Long createdAt,
+      Long updatedAt) {
+
+    static Snapshot of(User user) {
+      return new Snapshot(
+          user.getId(),
+          user.getName(),
+          user.getEmail(),
+          user.getExternalId(),
+          user.getState(),
+          user.getPictureUrl(),
+          user.getCreatedAt(),
+          user.getUpdatedAt());
+    }
+
+    User toUser() {
+      return new User()
+          .id(id)
+          .name(name)
+          .email(email)
+          .externalId(externalId)
+          .state(state)
+          .pictureUrl(pictureUrl)
+          .createdAt(createdAt)
+          .updatedAt(updatedAt);
+    }
+  }
+
+  private record Entry(Snapshot user, long expiresAtNanos) {}
+
+  private final long ttlNanos;
+  private final Map<String, Entry> entries;
+
+  PrincipalCache(int maxSize, long ttlMillis) {
+    this.ttlNanos = maxSize > 0 ? Math.max(ttlMillis, 0) * 1_000_000 : 0;
+    this.entries =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, /* accessOrder = */ true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+              }
+            });
+  }
+
+  /** Returns the cached user, or null if it is not cached or has expired. */
+  User get(String email) {
+    if (ttlNanos == 0) {
+      return null;
+    }
+    Entry entry = entries.get(email);
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+      entries.remove(email, entry);
+      return null;
+    }
+    return entry.user().toUser();
+  }
+
+  void put(String email, User user) {
+    if (ttlNanos > 0) {
+      entries.put(email, new Entry(Snapshot.of(user), System.nanoTime() + ttlNanos));
+    }
+  }
+
+  void invalidate(String email) {
+    entries.remove(email);
+  }
+}
@@ -1,7 +1,11 @@
 package io.unitycatalog.server.persist;
 
 import io.unitycatalog.server.persist.dao.PropertyDAO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
@@ -10,6 +14,8 @@ import org.slf4j.LoggerFactory;
 
 public class PropertyRepository {
   private static final Logger LOGGER = LoggerFactory.getLogger(PropertyRepository.class);
+  // Keeps the IN list of a batched lookup well below the bind parameter limits of the databases.
+  private static final int MAX_ENTITIES_PER_QUERY = 500;
 
   public static List<PropertyDAO> findProperties(
       Session session, UUID entityId, String entityType) {
@@ -20,4 +26,27 @@ public class PropertyRepository {
     query.setParameter("entityType", entityType);
     return query.list();
   }
+
+  /**
+   * Finds the properties of several entities of the same type, grouped by entity id. Entities
+   * without properties are not in the result.
+   */
+  public static Map<UUID, List<PropertyDAO>> findProperties(
+      Session session, Collection<UUID> entityIds, String entityType) {
+    LOGGER.debug("Getting properties for {} {} entities", entityIds.size(), entityType);
+    Map<UUID, List<PropertyDAO>> result = new HashMap<>();
+    List<UUID> ids = new ArrayList<>(entityIds);
+    String hql =
+        "FROM PropertyDAO p WHERE p.entityId IN (:entityIds) and p.entityType = :entityType";
+    for (int from = 0; from < ids.size(); from += MAX_ENTITIES_PER_QUERY) {
+      Query<PropertyDAO> query = session.createQuery(hql, PropertyDAO.class);
+      query.setParameterList(
+          "entityIds", ids.subList(from, Math.min(from + MAX_ENTITIES_PER_QUERY, ids.size())));
+      query.setParameter("entityType", entityType);
+      for (PropertyDAO propertyDAO : query.list()) {
+        result.computeIfAbsent(propertyDAO.getEntityId(), k -> new ArrayList<>()).add(propertyDAO);
+      }
+    }
+    return result;
+  }
 }
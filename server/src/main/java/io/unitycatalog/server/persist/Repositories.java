@@ -1,7 +1,9 @@
 package io.unitycatalog.server.persist;
 
 import io.unitycatalog.server.persist.utils.FileOperations;
+import io.unitycatalog.server.persist.utils.PageTokens;
 import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
 import lombok.Getter;
 import org.hibernate.SessionFactory;
 
@@ -26,9 +28,18 @@ public class Repositories {
   private final CredentialRepository credentialRepository;
   private final ExternalLocationRepository externalLocationRepository;
   private final DeltaCommitRepository deltaCommitRepository;
+  private final StoragePurgeRepository storagePurgeRepository;
+  private final ServerSecretRepository serverSecretRepository;
+  private final CascadeDeleter cascadeDeleter;
 
   public Repositories(SessionFactory sessionFactory, ServerProperties serverProperties) {
     this.sessionFactory = sessionFactory;
+    this.serverSecretRepository = new ServerSecretRepository(sessionFactory);
+    String pageTokenSecret = serverProperties.get(Property.PAGE_TOKEN_SECRET);
+    PageTokens.setSecret(
+        pageTokenSecret != null && !pageTokenSecret.isEmpty()
+            ? pageTokenSecret
+            : serverSecretRepository.getOrCreate(PageTokens.SECRET_NAME));
     this.fileOperations = new FileOperations(serverProperties);
 
     this.catalogRepository = new CatalogRepository(this, sessionFactory);
@@ -37,12 +48,14 @@ public class Repositories {
     this.stagingTableRepository =
         new StagingTableRepository(this, sessionFactory, serverProperties);
     this.volumeRepository = new VolumeRepository(this, sessionFactory);
-    this.userRepository = new UserRepository(this, sessionFactory);
+    this.userRepository = new UserRepository(this, sessionFactory, serverProperties);
     this.metastoreRepository = new MetastoreRepository(this, sessionFactory);
     this.functionRepository = new FunctionRepository(this, sessionFactory);
     this.modelRepository = new ModelRepository(this, sessionFactory);
     this.credentialRepository = new CredentialRepository(this, sessionFactory);
     this.externalLocationRepository = new ExternalLocationRepository(this, sessionFactory);
     this.deltaCommitRepository = new DeltaCommitRepository(sessionFactory, serverProperties);
+    this.storagePurgeRepository = new StoragePurgeRepository(sessionFactory);
+    this.cascadeDeleter = new CascadeDeleter(this, sessionFactory);
   }
 }
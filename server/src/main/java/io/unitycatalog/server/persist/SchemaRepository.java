@@ -3,17 +3,9 @@ package io.unitycatalog.server.persist;
 import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.model.CreateSchema;
-import io.unitycatalog.server.model.FunctionInfo;
-import io.unitycatalog.server.model.ListFunctionsResponse;
-import io.unitycatalog.server.model.ListRegisteredModelsResponse;
 import io.unitycatalog.server.model.ListSchemasResponse;
-import io.unitycatalog.server.model.ListTablesResponse;
-import io.unitycatalog.server.model.ListVolumesResponseContent;
-import io.unitycatalog.server.model.RegisteredModelInfo;
 import io.unitycatalog.server.model.SchemaInfo;
-import io.unitycatalog.server.model.TableInfo;
 import io.unitycatalog.server.model.UpdateSchema;
-import io.unitycatalog.server.model.VolumeInfo;
 import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
 import io.unitycatalog.server.persist.dao.PropertyDAO;
 import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
@@ -156,18 +148,16 @@ public class SchemaRepository {
       String catalogName,
       Optional<Integer> maxResults,
       Optional<String> pageToken) {
-    List<SchemaInfoDAO> schemaInfoDAOList =
-        LISTING_HELPER.listEntity(session, maxResults, pageToken, catalogId);
-    String nextPageToken = LISTING_HELPER.getNextPageToken(schemaInfoDAOList, maxResults);
+    PagedListingHelper.Page<SchemaInfoDAO> page =
+        LISTING_HELPER.listPage(session, maxResults, pageToken, catalogId);
     List<SchemaInfo> result = new ArrayList<>();
-    for (SchemaInfoDAO schemaInfoDAO : schemaInfoDAOList) {
+    for (SchemaInfoDAO schemaInfoDAO : page.entities()) {
       SchemaInfo schemaInfo = schemaInfoDAO.toSchemaInfo();
-      RepositoryUtils.attachProperties(
-          schemaInfo, schemaInfo.getSchemaId(), Constants.SCHEMA, session);
       addNamespaceData(schemaInfo, catalogName);
       result.add(schemaInfo);
     }
-    return new ListSchemasResponse().schemas(result).nextPageToken(nextPageToken);
+    RepositoryUtils.attachProperties(result, SchemaInfo::getSchemaId, Constants.SCHEMA, session);
+    return new ListSchemasResponse().schemas(result).nextPageToken(page.nextPageToken());
   }
 
   public SchemaInfo getSchema(String fullName) {
@@ -234,186 +224,16 @@ public class SchemaRepository {
         /* readOnly = */ false);
   }
 
-  public void deleteSchema(String fullName, boolean force) {
-    TransactionManager.executeWithTransaction(
-        sessionFactory,
-        session -> {
-          String[] namespace = fullName.split("\\.");
-          if (namespace.length != 2) {
-            throw new BaseException(ErrorCode.INVALID_ARGUMENT, "Invalid schema name: " + fullName);
-          }
-          CatalogInfoDAO catalog =
-              repositories.getCatalogRepository().getCatalogDAO(session, namespace[0]);
-          if (catalog == null) {
-            throw new BaseException(ErrorCode.NOT_FOUND, "Catalog not found: " + namespace[0]);
-          }
-          deleteSchema(session, catalog.getId(), namespace[0], namespace[1], force);
-          return null;
-        },
-        "Failed to delete schema",
-        /* readOnly = */ false);
-  }
-
-  public void processChildTables(
-      Session session, UUID schemaId, String catalogName, String schemaName, boolean force) {
-    // first check if there are any child tables
-    List<TableInfo> tables =
-        repositories
-            .getTableRepository()
-            .listTables(
-                session,
-                schemaId,
-                catalogName,
-                schemaName,
-                Optional.of(1),
-                Optional.empty(),
-                true,
-                true)
-            .getTables();
-    if (tables != null && !tables.isEmpty()) {
-      if (!force) {
-        throw new BaseException(ErrorCode.FAILED_PRECONDITION, "Cannot delete schema with tables");
-      }
-      String nextToken = null;
-      do {
-        ListTablesResponse listTablesResponse =
-            repositories
-                .getTableRepository()
-                .listTables(
-                    session,
-                    schemaId,
-                    catalogName,
-                    schemaName,
-                    Optional.empty(),
-                    Optional.ofNullable(nextToken),
-                    true,
-                    true);
-        for (TableInfo tableInfo : listTablesResponse.getTables()) {
-          repositories.getTableRepository().deleteTable(session, schemaId, tableInfo.getName());
-        }
-        nextToken = listTablesResponse.getNextPageToken();
-      } while (nextToken != null);
-    }
-  }
-
-  public void processChildVolumes(
-      Session session, UUID schemaId, String catalogName, String schemaName, boolean force) {
-    // first check if there are any child volumes
-    List<VolumeInfo> volumes =
-        repositories
-            .getVolumeRepository()
-            .listVolumes(
-                session, schemaId, catalogName, schemaName, Optional.of(1), Optional.empty())
-            .getVolumes();
-    if (volumes != null && !volumes.isEmpty()) {
-      if (!force) {
-        throw new BaseException(ErrorCode.FAILED_PRECONDITION, "Cannot delete schema with volumes");
-      }
-      String nextToken = null;
-      do {
-        ListVolumesResponseContent listVolumesResponse =
-            repositories
-                .getVolumeRepository()
-                .listVolumes(
-                    session,
-                    schemaId,
-                    catalogName,
-                    schemaName,
-                    Optional.empty(),
-                    Optional.ofNullable(nextToken));
-        for (VolumeInfo volumeInfo : listVolumesResponse.getVolumes()) {
-          repositories.getVolumeRepository().deleteVolume(session, schemaId, volumeInfo.getName());
-        }
-        nextToken = listVolumesResponse.getNextPageToken();
-      } while (nextToken != null);
-    }
-  }
-
-  public void processChildFunctions(
-      Session session, UUID schemaId, String catalogName, String schemaName, boolean force) {
-    // first check if there are any child functions
-    List<FunctionInfo> functions =
-        repositories
-            .getFunctionRepository()
-            .listFunctions(
-                session, schemaId, catalogName, schemaName, Optional.of(1), Optional.empty())
-            .getFunctions();
-    if (functions != null && !functions.isEmpty()) {
-      if (!force) {
-        throw new BaseException(
-            ErrorCode.FAILED_PRECONDITION, "Cannot delete schema with functions");
-      }
-      String nextToken = null;
-      do {
-        ListFunctionsResponse listFunctionsResponse =
-            repositories
-                .getFunctionRepository()
-                .listFunctions(
-                    session,
-                    schemaId,
-                    catalogName,
-                    schemaName,
-                    Optional.empty(),
-                    Optional.ofNullable(nextToken));
-        for (FunctionInfo functionInfo : listFunctionsResponse.getFunctions()) {
-          repositories
-              .getFunctionRepository()
-              .deleteFunction(session, schemaId, functionInfo.getName());
-        }
-        nextToken = listFunctionsResponse.getNextPageToken();
-      } while (nextToken != null);
-    }
-  }
-
-  public void processChildModels(
-      Session session, UUID schemaId, String catalogName, String schemaName, boolean force) {
-    // first check if there are any child Models
-    List<RegisteredModelInfo> registeredModels =
-        repositories
-            .getModelRepository()
-            .listRegisteredModels(
-                session, schemaId, catalogName, schemaName, Optional.of(1), Optional.empty())
-            .getRegisteredModels();
-    if (registeredModels != null && !registeredModels.isEmpty()) {
-      if (!force) {
-        throw new BaseException(ErrorCode.FAILED_PRECONDITION, "Cannot delete schema with models");
-      }
-      String nextToken = null;
-      do {
-        ListRegisteredModelsResponse listRegisteredModelsResponse =
-            repositories
-                .getModelRepository()
-                .listRegisteredModels(
-                    session,
-                    schemaId,
-                    catalogName,
-                    schemaName,
-                    Optional.empty(),
-                    Optional.ofNullable(nextToken));
-        for (RegisteredModelInfo registeredModelInfo :
-            listRegisteredModelsResponse.getRegisteredModels()) {
-          repositories
-              .getModelRepository()
-              .deleteRegisteredModel(session, schemaId, registeredModelInfo.getName(), true);
-        }
-        nextToken = listRegisteredModelsResponse.getNextPageToken();
-      } while (nextToken != null);
-    }
-  }
-
-  public void deleteSchema(
-      Session session, UUID catalogId, String catalogName, String schemaName, boolean force) {
-    SchemaInfoDAO schemaInfo = getSchemaDAO(session, catalogId, schemaName);
-    if (schemaInfo != null) {
-      processChildTables(session, schemaInfo.getId(), catalogName, schemaName, force);
-      processChildVolumes(session, schemaInfo.getId(), catalogName, schemaName, force);
-      processChildFunctions(session, schemaInfo.getId(), catalogName, schemaName, force);
-      processChildModels(session, schemaInfo.getId(), catalogName, schemaName, force);
-      session.remove(schemaInfo);
-      PropertyRepository.findProperties(session, schemaInfo.getId(), Constants.SCHEMA)
-          .forEach(session::remove);
-    } else {
-      throw new BaseException(ErrorCode.NOT_FOUND, "Schema not found: " + schemaName);
+  /**
+   * Deletes a schema, and with {@code force} all its children; see {@link CascadeDeleter}.
+   *
+   * @return what was deleted
+   */
+  public CascadeDeleter.Progress deleteSchema(String fullName, boolean force) {
+    String[] namespace = fullName.split("\\.");
+    if (namespace.length != 2) {
+      throw new BaseException(ErrorCode.INVALID_ARGUMENT, "Invalid schema name: " + fullName);
     }
+    return repositories.getCascadeDeleter().deleteSchema(namespace[0], namespace[1], force);
   }
 }
@@ -0,0 +1,67 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.persist.dao.ServerSecretDAO;
+import io.unitycatalog.server.persist.utils.TransactionManager;
+import java.security.SecureRandom;
+import java.util.Base64;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates secrets once per metadata database, so that all servers using it share them.
+ *
+ * <p>Secrets are stored in plain text in the {@code uc_server_secrets} table, so anyone who can
+ * read the metadata database can read them. Deployments that restrict access to secrets more than
+ * to the database set them in the server properties instead, such as {@code
+ * server.page-token.secret}, in which case nothing is generated or stored.
+ */
+public class ServerSecretRepository {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServerSecretRepository.class);
+  private static final int SECRET_BYTES = 32;
+
+  private final SessionFactory sessionFactory;
+
+  public ServerSecretRepository(SessionFactory sessionFactory) {
+    this.sessionFactory = sessionFactory;
+  }
+
+  /** Returns the secret with the given name, generating and storing it if there is none yet. */
+  public String getOrCreate(String name) {
+    try {
+      return TransactionManager.executeWithTransaction(
+          sessionFactory,
+          session -> {
+            ServerSecretDAO secretDAO = session.get(ServerSecretDAO.class, name);
+            if (secretDAO == null) {
+              LOGGER.info("No {} secret found, generating one for the metastore", name);
+              secretDAO = ServerSecretDAO.builder().name(name).secret(generate()).build();
+              session.persist(secretDAO);
+            }
+            return secretDAO.getSecret();
+          },
+          "Failed to initialize the " + name + " secret",
+          /* readOnly = */ false);
+    } catch (BaseException e) {
+      // Another server stored the secret first; use its secret.
+      return TransactionManager.executeWithTransaction(
+          sessionFactory,
+          session -> {
+            ServerSecretDAO secretDAO = session.get(ServerSecretDAO.class, name);
+            if (secretDAO == null) {
+              throw e;
+            }
+            return secretDAO.getSecret();
+          },
+          "Failed to read the " + name + " secret",
+          /* readOnly = */ true);
+    }
+  }
+
+  private static String generate() {
+    byte[] bytes = new byte[SECRET_BYTES];
+    new SecureRandom().nextBytes(bytes);
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+}
@@ -0,0 +1,147 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.persist.dao.StoragePurgeDAO;
+import io.unitycatalog.server.persist.utils.TransactionManager;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+/**
+ * The durable queue of storage locations to delete.
+ *
+ * <p>Repositories enqueue the storage location of a dropped managed entity with {@link
+ * #enqueue(Session, String, String, UUID)} in the transaction that deletes its metadata, so the
+ * purge is recorded if and only if the drop commits. Purges are claimed by moving their next
+ * attempt time past a lease, which lets several server replicas drain the same queue without
+ * working on the same location at once. Parked purges are kept for an operator to look into, and
+ * are never claimed.
+ */
+public class StoragePurgeRepository {
+  private static final int MAX_ERROR_LENGTH = 1024;
+
+  private final SessionFactory sessionFactory;
+
+  public StoragePurgeRepository(SessionFactory sessionFactory) {
+    this.sessionFactory = sessionFactory;
+  }
+
+  public void enqueue(Session session, String storageLocation, String entityType, UUID entityId) {
+    Date now = new Date();
+    session.persist(
+        StoragePurgeDAO.builder()
+            .storageLocation(storageLocation)
+            .entityType(entityType)
+            .entityId(entityId)
+            .attempts(0)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .build());
+  }
+
+  /** The numbers of purges in the queue, for monitoring. */
+  public record Counts(long pending, long parked) {}
+
+  /** Claims up to {@code limit} purges that are due, for {@code leaseMillis}. */
+  public List<StoragePurgeDAO> claimDue(int limit, long leaseMillis) {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          Date now = new Date();
+          List<StoragePurgeDAO> due =
+              session
+                  .createQuery(
+                      "FROM StoragePurgeDAO WHERE parkedAt IS NULL AND nextAttemptAt <= :now "
+                          + "ORDER BY nextAttemptAt",
+                      StoragePurgeDAO.class)
+                  .setParameter("now", now)
+                  .setMaxResults(limit)
+                  .list();
+          Date leaseUntil = new Date(now.getTime() + leaseMillis);
+          List<StoragePurgeDAO> claimed = new ArrayList<>();
+          for (StoragePurgeDAO purge : due) {
+            // Another replica may have claimed the purge since it was read.
+            int updated =
+                session
+                    .createMutationQuery(
+                        "UPDATE StoragePurgeDAO SET nextAttemptAt = :leaseUntil "
+                            + "WHERE id = :id AND nextAttemptAt = :nextAttemptAt")
+                    .setParameter("leaseUntil", leaseUntil)
+                    .setParameter("id", purge.getId())
+                    .setParameter("nextAttemptAt", purge.getNextAttemptAt())
+                    .executeUpdate();
+            if (updated == 1) {
+              claimed.add(purge);
+            }
+          }
+          return claimed;
+        },
+        "Failed to claim storage purges",
+        /* readOnly = */ false);
+  }
+
+  public void complete(UUID id) {
+    TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          StoragePurgeDAO purge = session.get(StoragePurgeDAO.class, id);
+          if (purge != null) {
+            session.remove(purge);
+          }
+          return null;
+        },
+        "Failed to complete storage purge",
+        /* readOnly = */ false);
+  }
+
+  /** Records a failed attempt and schedules the next one. */
+  public void fail(UUID id, String error, Date nextAttemptAt) {
+    recordFailure(id, error, nextAttemptAt, /* parkedAt = */ null);
+  }
+
+  /** Records a failed attempt and gives up on the purge. */
+  public void park(UUID id, String error) {
+    Date now = new Date();
+    recordFailure(id, error, now, now);
+  }
+
+  private void recordFailure(UUID id, String error, Date nextAttemptAt, Date parkedAt) {
+    TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          StoragePurgeDAO purge = session.get(StoragePurgeDAO.class, id);
+          if (purge != null) {
+            purge.setAttempts(purge.getAttempts() + 1);
+            purge.setNextAttemptAt(nextAttemptAt);
+            purge.setParkedAt(parkedAt);
+            purge.setLastError(
+                error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH)
+                    : error);
+            session.merge(purge);
+          }
+          return null;
+        },
+        "Failed to record storage purge failure",
+        /* readOnly = */ false);
+  }
+
+  public Counts count() {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          Object[] counts =
+              session
+                  .createQuery(
+                      "SELECT COUNT(*), COUNT(parkedAt) FROM StoragePurgeDAO", Object[].class)
+                  .uniqueResult();
+          long total = ((Number) counts[0]).longValue();
+          long parked = ((Number) counts[1]).longValue();
+          return new Counts(total - parked, parked);
+        },
+        "Failed to count storage purges",
+        /* readOnly = */ true);
+  }
+}
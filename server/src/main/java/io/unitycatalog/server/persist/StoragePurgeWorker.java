@@ -0,0 +1,176 @@
+package io.unitycatalog.server.persist;
+
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.persist.StoragePurgeRepository.Counts;
+import io.unitycatalog.server.persist.dao.StoragePurgeDAO;
+import io.unitycatalog.server.persist.utils.FileOperations;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drains the {@link StoragePurgeRepository} queue in the background.
+ *
+ * <p>A poller claims due purges whenever a worker is free, and the workers delete the storage
+ * locations. A failed purge is retried with exponential backoff, up to the configured maximum
+ * delay. A purge that fails for a reason retrying cannot fix, such as an unsupported location, or
+ * that has failed the configured number of times, is parked instead: it is logged, counted and left
+ * in the queue with its last error. A purge claimed by a server that stops before finishing it
+ * becomes due again once its lease expires.
+ */
+public class StoragePurgeWorker implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StoragePurgeWorker.class);
+
+  private static final long INITIAL_BACKOFF_MILLIS = 10_000;
+  private static final long LEASE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+  /** Counters of the worker, for monitoring. */
+  public record Stats(long purged, long failures, long pending, long parked) {}
+
+  private final StoragePurgeRepository purgeRepository;
+  private final FileOperations fileOperations;
+  private final int workers;
+  private final long pollIntervalMillis;
+  private final long maxBackoffMillis;
+  private final int maxAttempts;
+  private final ScheduledExecutorService poller;
+  private final ExecutorService workerPool;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder purged = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+
+  public StoragePurgeWorker(
+      StoragePurgeRepository purgeRepository,
+      FileOperations fileOperations,
+      ServerProperties serverProperties) {
+    this.purgeRepository = purgeRepository;
+    this.fileOperations = fileOperations;
+    this.workers = Math.max(1, (int) serverProperties.getLong(Property.STORAGE_PURGE_WORKERS));
+    this.pollIntervalMillis = serverProperties.getLong(Property.STORAGE_PURGE_POLL_INTERVAL_MS);
+    this.maxBackoffMillis = serverProperties.getLong(Property.STORAGE_PURGE_MAX_BACKOFF_MS);
+    this.maxAttempts =
+        Math.max(1, (int) serverProperties.getLong(Property.STORAGE_PURGE_MAX_ATTEMPTS));
+    this.poller =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "storage-purge-poller");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.workerPool =
+        Executors.newFixedThreadPool(
+            workers,
+            r -> {
+              Thread thread = new Thread(r, "storage-purge-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public void start() {
+    poller.scheduleWithFixedDelay(
+        this::pollQuietly, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void pollQuietly() {
+    try {
+      poll();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to poll the storage purge queue", e);
+    }
+  }
+
+  /** Claims as many due purges as there are free workers and hands them to the workers. */
+  void poll() {
+    int capacity = workers - inFlight.get();
+    if (capacity <= 0) {
+      return;
+    }
+    List<StoragePurgeDAO> claimed = purgeRepository.claimDue(capacity, LEASE_MILLIS);
+    for (StoragePurgeDAO purge : claimed) {
+      inFlight.incrementAndGet();
+      workerPool.execute(
+          () -> {
+            try {
+              purge(purge);
+            } finally {
+              inFlight.decrementAndGet();
+            }
+          });
+    }
+  }
+
+  void purge(StoragePurgeDAO purge) {
+    try {
+      fileOperations.deleteDirectory(purge.getStorageLocation());
+      purgeRepository.complete(purge.getId());
+      purged.increment();
+      LOGGER.info(
+          "Purged storage location {} of {} {}",
+          purge.getStorageLocation(),
+          purge.getEntityType(),
+          purge.getEntityId());
+    } catch (Exception e) {
+      failures.increment();
+      int attempts = purge.getAttempts() + 1;
+      try {
+        if (!isRetryable(e) || attempts >= maxAttempts) {
+          LOGGER.error(
+              "Giving up on purging storage location {} of {} {} after {} attempts",
+              purge.getStorageLocation(),
+              purge.getEntityType(),
+              purge.getEntityId(),
+              attempts,
+              e);
+          purgeRepository.park(purge.getId(), e.getMessage());
+        } else {
+          long backoffMillis = backoffMillis(purge.getAttempts());
+          LOGGER.warn(
+              "Failed to purge storage location {} (attempt {}), retrying in {} ms",
+              purge.getStorageLocation(),
+              attempts,
+              backoffMillis,
+              e);
+          purgeRepository.fail(
+              purge.getId(),
+              e.getMessage(),
+              new Date(System.currentTimeMillis() + backoffMillis));
+        }
+      } catch (Exception recordError) {
+        // The purge is retried once its lease expires.
+        LOGGER.error("Failed to record storage purge failure", recordError);
+      }
+    }
+  }
+
+  /** Invalid locations, e.g. with an unsupported scheme, fail the same way every time. */
+  private static boolean isRetryable(Exception e) {
+    return !(e instanceof BaseException baseException
+        && baseException.getErrorCode() == ErrorCode.INVALID_ARGUMENT);
+  }
+
+  long backoffMillis(int attempts) {
+    return Math.min(maxBackoffMillis, INITIAL_BACKOFF_MILLIS << Math.min(attempts, 20));
+  }
+
+  public Stats stats() {
+    Counts counts = purgeRepository.count();
+    return new Stats(purged.sum(), failures.sum(), counts.pending(), counts.parked());
+  }
+
+  @Override
+  public void close() {
+    poller.shutdownNow();
+    workerPool.shutdownNow();
+  }
+}
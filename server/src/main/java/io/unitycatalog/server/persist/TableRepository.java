@@ -21,8 +21,11 @@ import io.unitycatalog.server.utils.IdentityUtils;
 import io.unitycatalog.server.utils.ServerProperties;
 import io.unitycatalog.server.utils.ValidationUtils;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,7 +41,6 @@ public class TableRepository {
   private static final Logger LOGGER = LoggerFactory.getLogger(TableRepository.class);
   private final SessionFactory sessionFactory;
   private final Repositories repositories;
-  private final FileOperations fileOperations;
   private final ServerProperties serverProperties;
   private static final PagedListingHelper<TableInfoDAO> LISTING_HELPER =
       new PagedListingHelper<>(TableInfoDAO.class);
@@ -47,7 +49,6 @@ public class TableRepository {
       Repositories repositories, SessionFactory sessionFactory, ServerProperties serverProperties) {
     this.repositories = repositories;
     this.sessionFactory = sessionFactory;
-    this.fileOperations = repositories.getFileOperations();
     this.serverProperties = serverProperties;
   }
 
@@ -130,6 +131,39 @@ public class TableRepository {
         /* readOnly = */ true);
   }
 
+  /**
+   * Retrieves the catalog and schema IDs of many tables in one query, for authorizing requests that
+   * address tables by ID in bulk. Unlike {@link #getCatalogSchemaIdsByTableOrStagingTableId(UUID)},
+   * staging tables are not looked up, and tables that are not found are left out of the result.
+   *
+   * @param tableIds the UUIDs of the tables
+   * @return a Pair containing the catalog ID (left) and schema ID (right) of each table found
+   */
+  public Map<UUID, Pair<UUID, UUID>> getCatalogSchemaIdsByTableIds(Collection<UUID> tableIds) {
+    if (tableIds.isEmpty()) {
+      return Map.of();
+    }
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          Map<UUID, Pair<UUID, UUID>> catalogSchemaIds = new HashMap<>();
+          session
+              .createQuery(
+                  "SELECT t.id, s.catalogId, s.id FROM TableInfoDAO t, SchemaInfoDAO s "
+                      + "WHERE t.schemaId = s.id AND t.id IN :tableIds",
+                  Object[].class)
+              .setParameterList("tableIds", tableIds)
+              .list()
+              .forEach(
+                  row ->
+                      catalogSchemaIds.put(
+                          (UUID) row[0], Pair.of((UUID) row[1], (UUID) row[2])));
+          return catalogSchemaIds;
+        },
+        "Failed to get tables by ID",
+        /* readOnly = */ true);
+  }
+
   public TableInfo getTable(String fullName) {
     LOGGER.debug("Getting table: {}", fullName);
     return TransactionManager.executeWithTransaction(
@@ -325,19 +359,62 @@ public class TableRepository {
       Optional<String> pageToken,
       Boolean omitProperties,
       Boolean omitColumns) {
-    List<TableInfoDAO> tableInfoDAOList =
-        LISTING_HELPER.listEntity(session, maxResults, pageToken, schemaId);
-    String nextPageToken = LISTING_HELPER.getNextPageToken(tableInfoDAOList, maxResults);
+    PagedListingHelper.Page<TableInfoDAO> page =
+        LISTING_HELPER.listPage(session, maxResults, pageToken, schemaId);
     List<TableInfo> result = new ArrayList<>();
-    for (TableInfoDAO tableInfoDAO : tableInfoDAOList) {
-      TableInfo tableInfo = tableInfoDAO.toTableInfo(!omitColumns, catalogName, schemaName);
-      if (!omitProperties) {
-        RepositoryUtils.attachProperties(
-            tableInfo, tableInfo.getTableId(), Constants.TABLE, session);
-      }
-      result.add(tableInfo);
+    for (TableInfoDAO tableInfoDAO : page.entities()) {
+      result.add(tableInfoDAO.toTableInfo(!omitColumns, catalogName, schemaName));
     }
-    return new ListTablesResponse().tables(result).nextPageToken(nextPageToken);
+    if (!omitProperties) {
+      RepositoryUtils.attachProperties(result, TableInfo::getTableId, Constants.TABLE, session);
+    }
+    return new ListTablesResponse().tables(result).nextPageToken(page.nextPageToken());
+  }
+
+  /** A table with Iceberg metadata, as listed by the Iceberg REST catalog. */
+  public record UniformTable(UUID id, String name, String metadataLocation) {}
+
+  /**
+   * Lists the tables of a schema that have Iceberg metadata, in ascending order of their name. Only
+   * the columns needed are read, with a single query. All tables are returned if {@code pageSize}
+   * is empty; otherwise the page after {@code pageToken} is returned.
+   */
+  public PagedListingHelper.Page<UniformTable> listUniformTables(
+      String catalogName,
+      String schemaName,
+      Optional<Integer> pageSize,
+      Optional<String> pageToken) {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          UUID schemaId =
+              repositories.getSchemaRepository().getSchemaId(session, catalogName, schemaName);
+          String scope = "UniformTable/" + schemaId;
+          Optional<String> afterName = PagedListingHelper.decodePageToken(scope, pageToken);
+          Query<Object[]> query =
+              session
+                  .createQuery(
+                      "SELECT t.id, t.name, t.uniformIcebergMetadataLocation "
+                          + "FROM TableInfoDAO t WHERE t.schemaId = :schemaId "
+                          + "AND t.uniformIcebergMetadataLocation IS NOT NULL "
+                          + (afterName.isPresent() ? "AND t.name > :afterName " : "")
+                          + "ORDER BY t.name",
+                      Object[].class)
+                  .setParameter("schemaId", schemaId);
+          afterName.ifPresent(name -> query.setParameter("afterName", name));
+          // Read one more table than requested to know whether there is a next page.
+          pageSize.ifPresent(size -> query.setMaxResults(size + 1));
+          List<UniformTable> tables =
+              query.getResultList().stream()
+                  .map(row -> new UniformTable((UUID) row[0], (String) row[1], (String) row[2]))
+                  .toList();
+          if (pageSize.isEmpty()) {
+            return new PagedListingHelper.Page<>(tables, null);
+          }
+          return PagedListingHelper.toPage(tables, pageSize.get(), scope, UniformTable::name);
+        },
+        "Failed to list uniform tables",
+        /* readOnly = */ true);
   }
 
   public void deleteTable(String fullName) {
@@ -366,11 +443,10 @@ public class TableRepository {
       throw new BaseException(ErrorCode.NOT_FOUND, "Table not found: " + tableName);
     }
     if (TableType.MANAGED.getValue().equals(tableInfoDAO.getType())) {
-      try {
-        fileOperations.deleteDirectory(tableInfoDAO.getUrl());
-      } catch (Throwable e) {
-        LOGGER.error("Error deleting table directory: {}", tableInfoDAO.getUrl(), e);
-      }
+      // The directory is deleted in the background once this transaction commits.
+      repositories
+          .getStoragePurgeRepository()
+          .enqueue(session, tableInfoDAO.getUrl(), Constants.TABLE, tableInfoDAO.getId());
       repositories
           .getDeltaCommitRepository()
           .permanentlyDeleteTableCommits(session, tableInfoDAO.getId());
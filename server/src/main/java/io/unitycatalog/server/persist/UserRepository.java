@@ -9,6 +9,8 @@ import io.unitycatalog.server.persist.model.UpdateUser;
 import io.unitycatalog.server.persist.utils.PagedListingHelper;
 import io.unitycatalog.server.persist.utils.TransactionManager;
 import io.unitycatalog.server.utils.IdentityUtils;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -24,11 +26,17 @@ import org.slf4j.LoggerFactory;
 public class UserRepository {
   private static final Logger LOGGER = LoggerFactory.getLogger(UserRepository.class);
   private final SessionFactory sessionFactory;
+  private final PrincipalCache principalCache;
   private static final PagedListingHelper<UserDAO> LISTING_HELPER =
       new PagedListingHelper<>(UserDAO.class);
 
-  public UserRepository(Repositories repositories, SessionFactory sessionFactory) {
+  public UserRepository(
+      Repositories repositories, SessionFactory sessionFactory, ServerProperties serverProperties) {
     this.sessionFactory = sessionFactory;
+    this.principalCache =
+        new PrincipalCache(
+            (int) serverProperties.getLong(Property.PRINCIPAL_CACHE_MAX_SIZE),
+            serverProperties.getLong(Property.PRINCIPAL_CACHE_TTL_MS));
   }
 
   public User createUser(CreateUser createUser) {
@@ -67,11 +75,11 @@ public class UserRepository {
           Optional<String> nextPageToken = Optional.empty();
           boolean hasMore = true;
           while (users.size() < maxUsers && hasMore) {
-            List<UserDAO> userDAOs =
-                LISTING_HELPER.listEntity(session, Optional.empty(), nextPageToken, null);
+            PagedListingHelper.Page<UserDAO> page =
+                LISTING_HELPER.listPage(session, Optional.empty(), nextPageToken, null);
 
             List<User> userBlock =
-                userDAOs.stream()
+                page.entities().stream()
                     .map(UserDAO::toUser)
                     .filter(filter::test)
                     .collect(Collectors.toList());
@@ -89,9 +97,7 @@ public class UserRepository {
               users.addAll(userBlock.subList(firstIndex, userBlock.size()));
               count += userBlock.size();
             }
-            nextPageToken =
-                Optional.ofNullable(
-                    userDAOs.isEmpty() ? null : userDAOs.get(userDAOs.size() - 1).getName());
+            nextPageToken = Optional.ofNullable(page.nextPageToken());
             hasMore = nextPageToken.isPresent();
           }
 
@@ -122,18 +128,29 @@ public class UserRepository {
     return query.uniqueResult();
   }
 
+  /**
+   * Returns the user with the given email address, which is the subject of the access tokens of
+   * the user. Found users are cached, so lookups for unknown users always reach the database.
+   */
   public User getUserByEmail(String email) {
-    return TransactionManager.executeWithTransaction(
-        sessionFactory,
-        session -> {
-          UserDAO userDAO = getUserByEmail(session, email);
-          if (userDAO == null) {
-            throw new BaseException(ErrorCode.NOT_FOUND, "User not found: " + email);
-          }
-          return userDAO.toUser();
-        },
-        "Failed to get user by email",
-        /* readOnly = */ true);
+    User cached = principalCache.get(email);
+    if (cached != null) {
+      return cached;
+    }
+    User user =
+        TransactionManager.executeWithTransaction(
+            sessionFactory,
+            session -> {
+              UserDAO userDAO = getUserByEmail(session, email);
+              if (userDAO == null) {
+                throw new BaseException(ErrorCode.NOT_FOUND, "User not found: " + email);
+              }
+              return userDAO.toUser();
+            },
+            "Failed to get user by email",
+            /* readOnly = */ true);
+    principalCache.put(email, user);
+    return user;
   }
 
   public UserDAO getUserByEmail(Session session, String email) {
@@ -152,51 +169,60 @@ public class UserRepository {
   }
 
   public User updateUser(String id, UpdateUser updateUser) {
-    return TransactionManager.executeWithTransaction(
-        sessionFactory,
-        session -> {
-          UserDAO userDAO = getUserById(session, id);
-          if (userDAO == null) {
-            throw new BaseException(ErrorCode.NOT_FOUND, "User not found: " + id);
-          }
-          if (updateUser.getName() != null) {
-            userDAO.setName(updateUser.getName());
-          }
-          if (updateUser.getActive() != null) {
-            userDAO.setState(
-                updateUser.getActive()
-                    ? User.StateEnum.ENABLED.toString()
-                    : User.StateEnum.DISABLED.toString());
-          }
-          if (updateUser.getExternalId() != null) {
-            userDAO.setExternalId(updateUser.getExternalId());
-          }
-          session.merge(userDAO);
-          return userDAO.toUser();
-        },
-        "Failed to update user",
-        /* readOnly = */ false);
+    User user =
+        TransactionManager.executeWithTransaction(
+            sessionFactory,
+            session -> {
+              UserDAO userDAO = getUserById(session, id);
+              if (userDAO == null) {
+                throw new BaseException(ErrorCode.NOT_FOUND, "User not found: " + id);
+              }
+              if (updateUser.getName() != null) {
+                userDAO.setName(updateUser.getName());
+              }
+              if (updateUser.getActive() != null) {
+                userDAO.setState(
+                    updateUser.getActive()
+                        ? User.StateEnum.ENABLED.toString()
+                        : User.StateEnum.DISABLED.toString());
+              }
+              if (updateUser.getExternalId() != null) {
+                userDAO.setExternalId(updateUser.getExternalId());
+              }
+              session.merge(userDAO);
+              return userDAO.toUser();
+            },
+            "Failed to update user",
+            /* readOnly = */ false);
+    principalCache.invalidate(user.getEmail());
+    return user;
   }
 
   public void deleteUser(String id) {
-    TransactionManager.executeWithTransaction(
-        sessionFactory,
-        session -> {
-          UserDAO userDAO = getUserById(session, id);
-          if (userDAO != null) {
-            userDAO.setState(User.StateEnum.DISABLED.toString());
-            session.merge(userDAO);
-            LOGGER.info("Deleted user: {}", id);
-            return null;
-          } else {
-            throw new BaseException(ErrorCode.NOT_FOUND, "User not found: " + id);
-          }
-        },
-        "Failed to delete user",
-        /* readOnly = */ false);
+    String email =
+        TransactionManager.executeWithTransaction(
+            sessionFactory,
+            session -> {
+              UserDAO userDAO = getUserById(session, id);
+              if (userDAO != null) {
+                userDAO.setState(User.StateEnum.DISABLED.toString());
+                session.merge(userDAO);
+                LOGGER.info("Deleted user: {}", id);
+                return userDAO.getEmail();
+              } else {
+                throw new BaseException(ErrorCode.NOT_FOUND, "User not found: " + id);
+              }
+            },
+            "Failed to delete user",
+            /* readOnly = */ false);
+    principalCache.invalidate(email);
   }
 
   public UUID findPrincipalId() {
+    User principal = IdentityUtils.findPrincipal();
+    if (principal != null) {
+      return UUID.fromString(principal.getId());
+    }
     String principalEmailAddress = IdentityUtils.findPrincipalEmailAddress();
     if (principalEmailAddress != null) {
       return UUID.fromString(getUserByEmail(principalEmailAddress).getId());
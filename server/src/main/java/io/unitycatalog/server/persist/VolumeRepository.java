@@ -10,9 +10,9 @@ import io.unitycatalog.server.model.VolumeType;
 import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
 import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
 import io.unitycatalog.server.persist.dao.VolumeInfoDAO;
-import io.unitycatalog.server.persist.utils.FileOperations;
 import io.unitycatalog.server.persist.utils.PagedListingHelper;
 import io.unitycatalog.server.persist.utils.TransactionManager;
+import io.unitycatalog.server.utils.Constants;
 import io.unitycatalog.server.utils.IdentityUtils;
 import io.unitycatalog.server.utils.ValidationUtils;
 import java.util.ArrayList;
@@ -30,14 +30,12 @@ public class VolumeRepository {
   private static final Logger LOGGER = LoggerFactory.getLogger(VolumeRepository.class);
   private final Repositories repositories;
   private final SessionFactory sessionFactory;
-  private final FileOperations fileOperations;
   private static final PagedListingHelper<VolumeInfoDAO> LISTING_HELPER =
       new PagedListingHelper<>(VolumeInfoDAO.class);
 
   public VolumeRepository(Repositories repositories, SessionFactory sessionFactory) {
     this.repositories = repositories;
     this.sessionFactory = sessionFactory;
-    this.fileOperations = repositories.getFileOperations();
   }
 
   public VolumeInfo createVolume(CreateVolumeRequestContent createVolumeRequest) {
@@ -221,16 +219,17 @@ public class VolumeRepository {
       String schemaName,
       Optional<Integer> maxResults,
       Optional<String> pageToken) {
-    List<VolumeInfoDAO> volumeInfoDAOList =
-        LISTING_HELPER.listEntity(session, maxResults, pageToken, schemaId);
-    String nextPageToken = LISTING_HELPER.getNextPageToken(volumeInfoDAOList, maxResults);
+    PagedListingHelper.Page<VolumeInfoDAO> page =
+        LISTING_HELPER.listPage(session, maxResults, pageToken, schemaId);
     List<VolumeInfo> result = new ArrayList<>();
-    for (VolumeInfoDAO volumeInfoDAO : volumeInfoDAOList) {
+    for (VolumeInfoDAO volumeInfoDAO : page.entities()) {
       VolumeInfo volumeInfo = volumeInfoDAO.toVolumeInfo();
       addNamespaceData(volumeInfo, catalogName, schemaName);
       result.add(volumeInfo);
     }
-    return new ListVolumesResponseContent().volumes(result).nextPageToken(nextPageToken);
+    return new ListVolumesResponseContent()
+        .volumes(result)
+        .nextPageToken(page.nextPageToken());
   }
 
   private VolumeInfo convertFromDAO(
@@ -314,11 +313,14 @@ public class VolumeRepository {
       throw new BaseException(ErrorCode.NOT_FOUND, "Volume not found: " + volumeName);
     }
     if (VolumeType.MANAGED.getValue().equals(volumeInfoDAO.getVolumeType())) {
-      try {
-        fileOperations.deleteDirectory(volumeInfoDAO.getStorageLocation());
-      } catch (Exception e) {
-        LOGGER.error("Error deleting volume directory", e);
-      }
+      // The directory is deleted in the background once this transaction commits.
+      repositories
+          .getStoragePurgeRepository()
+          .enqueue(
+              session,
+              volumeInfoDAO.getStorageLocation(),
+              Constants.VOLUME,
+              volumeInfoDAO.getId());
     }
     session.remove(volumeInfoDAO);
     LOGGER.info("Deleted volume: {}", volumeInfoDAO.getName());
@@ -0,0 +1,64 @@
+package io.unitycatalog.server.persist.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Date;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An entry of the authorization change log. Every mutation made through the cached policy
+ * authorizer appends one row here so that the other server replicas can apply the same change to
+ * their in-memory policy index. The version is a monotonically increasing, database generated
+ * sequence number.
+ */
+@Entity
+@Table(name = "uc_authorization_changes")
+// Lombok
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorizationChangeDAO {
+  public enum ChangeType {
+    GRANT,
+    REVOKE,
+    CLEAR_PRINCIPAL,
+    CLEAR_RESOURCE,
+    ADD_CHILD,
+    REMOVE_CHILD,
+    REMOVE_CHILDREN
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "version")
+  private Long version;
+
+  @Column(name = "change_type", nullable = false)
+  private String changeType;
+
+  @Column(name = "principal_id")
+  private UUID principalId;
+
+  @Column(name = "resource_id")
+  private UUID resourceId;
+
+  @Column(name = "parent_id")
+  private UUID parentId;
+
+  @Column(name = "privilege")
+  private String privilege;
+
+  @Column(name = "created_at", nullable = false)
+  private Date createdAt;
+}
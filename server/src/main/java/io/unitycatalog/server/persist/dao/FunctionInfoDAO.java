@@ -5,6 +5,7 @@ import io.unitycatalog.server.model.FunctionInfo;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -20,7 +21,11 @@ import org.hibernate.annotations.SQLRestriction;
 
 // Hibernate annotations
 @Entity
-@Table(name = "uc_functions")
+@Table(
+    name = "uc_functions",
+    indexes = {
+      @Index(name = "idx_functions_schema_name", columnList = "schema_id,name", unique = true),
+    })
 // Lombok annotations
 @Getter
 @Setter
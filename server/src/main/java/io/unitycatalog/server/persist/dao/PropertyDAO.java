@@ -19,7 +19,8 @@ import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.UuidGenerator;
 
-// Hibernate annotations
+// Hibernate annotations. The index of the unique constraint also serves the lookups of the
+// properties of entities, by its (entity_id, entity_type) prefix.
 @Entity
 @Table(
     name = "uc_properties",
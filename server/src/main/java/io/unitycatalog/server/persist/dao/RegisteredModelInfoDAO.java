@@ -20,6 +20,10 @@ import lombok.experimental.SuperBuilder;
     name = "uc_registered_models",
     indexes = {
       @Index(name = "uc_registered_models_name_idx", columnList = "name"),
+      @Index(
+          name = "idx_registered_models_schema_name",
+          columnList = "schema_id,name",
+          unique = true),
     })
 // Lombok annotations
 @Getter
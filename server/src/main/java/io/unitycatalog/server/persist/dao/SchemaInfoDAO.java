@@ -3,6 +3,7 @@ package io.unitycatalog.server.persist.dao;
 import io.unitycatalog.server.model.SchemaInfo;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.Date;
@@ -15,7 +16,11 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "uc_schemas")
+@Table(
+    name = "uc_schemas",
+    indexes = {
+      @Index(name = "idx_schemas_catalog_name", columnList = "catalog_id,name", unique = true),
+    })
 // Lombok
 @Getter
 @Setter
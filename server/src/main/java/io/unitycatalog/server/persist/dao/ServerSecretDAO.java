@@ -0,0 +1,32 @@
+package io.unitycatalog.server.persist.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A secret generated by the first server that needed it, and shared through the metadata database
+ * with all servers that use the same database.
+ */
+@Entity
+@Table(name = "uc_server_secrets")
+// Lombok
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ServerSecretDAO {
+  @Id
+  @Column(name = "name")
+  private String name;
+
+  @Column(name = "secret", nullable = false)
+  private String secret;
+}
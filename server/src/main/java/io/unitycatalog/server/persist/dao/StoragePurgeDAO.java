@@ -0,0 +1,65 @@
+package io.unitycatalog.server.persist.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.util.Date;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
+
+/**
+ * A storage location waiting to be deleted. Dropping a managed table or volume enqueues its
+ * storage location in the same transaction that removes its metadata, and the storage purge worker
+ * deletes the location afterwards. A purge that cannot succeed, or keeps failing, is parked: it
+ * stays in the table with its last error, but is no longer attempted.
+ */
+@Entity
+@Table(
+    name = "uc_storage_purges",
+    indexes = {@Index(name = "idx_storage_purges_next_attempt", columnList = "next_attempt_at")})
+// Lombok
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoragePurgeDAO {
+  @Id
+  @UuidGenerator
+  @Column(name = "id", columnDefinition = "BINARY(16)")
+  private UUID id;
+
+  @Column(name = "storage_location", nullable = false, length = 4096)
+  private String storageLocation;
+
+  @Column(name = "entity_type", nullable = false)
+  private String entityType;
+
+  @Column(name = "entity_id", columnDefinition = "BINARY(16)")
+  private UUID entityId;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  // The time the purge may be attempted next. Claiming a purge moves it into the future, so that
+  // other server replicas skip it while it is being worked on.
+  @Column(name = "next_attempt_at", nullable = false)
+  private Date nextAttemptAt;
+
+  @Column(name = "last_error", length = 1024)
+  private String lastError;
+
+  // Set once the purge is given up on.
+  @Column(name = "parked_at")
+  private Date parkedAt;
+
+  @Column(name = "created_at", nullable = false)
+  private Date createdAt;
+}
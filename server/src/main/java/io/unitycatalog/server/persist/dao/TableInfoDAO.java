@@ -27,6 +27,7 @@ import lombok.experimental.SuperBuilder;
     name = "uc_tables",
     indexes = {
       @Index(name = "idx_name", columnList = "name"),
+      @Index(name = "idx_tables_schema_name", columnList = "schema_id,name", unique = true),
     })
 // Lombok annotations
 @Getter
@@ -79,6 +80,14 @@ public class TableInfoDAO extends IdentifiableDAO {
   @Column(name = "uniform_iceberg_metadata_location", length = 65535)
   private String uniformIcebergMetadataLocation;
 
+  /**
+   * The latest Delta commit version accepted for a managed table, or null if no commit has been
+   * accepted yet. Only advanced by DeltaCommitRepository with a compare-and-set update, so entity
+   * updates never write it.
+   */
+  @Column(name = "last_commit_version", updatable = false)
+  private Long lastCommitVersion;
+
   public static TableInfoDAO from(TableInfo tableInfo, UUID schemaId) {
     return TableInfoDAO.builder()
         .id(UUID.fromString(tableInfo.getTableId()))
@@ -5,6 +5,7 @@ import io.unitycatalog.server.model.VolumeType;
 import io.unitycatalog.server.persist.utils.FileOperations;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.util.Date;
 import java.util.UUID;
@@ -16,7 +17,11 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "uc_volumes")
+@Table(
+    name = "uc_volumes",
+    indexes = {
+      @Index(name = "idx_volumes_schema_name", columnList = "schema_id,name", unique = true),
+    })
 // lombok annotations
 @Getter
 @Setter
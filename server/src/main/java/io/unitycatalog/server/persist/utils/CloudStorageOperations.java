@@ -0,0 +1,348 @@
+package io.unitycatalog.server.persist.utils;
+
+import com.azure.core.credential.TokenCredential;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.util.Context;
+import com.azure.identity.ClientSecretCredentialBuilder;
+import com.azure.identity.DefaultAzureCredentialBuilder;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.file.datalake.DataLakeServiceClient;
+import com.azure.storage.file.datalake.DataLakeServiceClientBuilder;
+import com.azure.storage.file.datalake.models.DataLakeStorageException;
+import com.google.api.gax.paging.Page;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.service.credential.aws.S3StorageConfig;
+import io.unitycatalog.server.service.credential.azure.ADLSLocationUtils;
+import io.unitycatalog.server.service.credential.azure.ADLSStorageConfig;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+
+/**
+ * Deletes directories from cloud object stores.
+ *
+ * <p>Clients are created once per S3 bucket, ADLS account or GCS bucket and reused, so their
+ * connection pools are shared by all deletes. Objects are removed with the batch delete APIs of
+ * each store, and the batches of one directory run in parallel on a shared executor while the
+ * directory is still being listed. The listing itself is sequential: each page is requested with
+ * the continuation token of the previous one, and listing a page takes far less time than deleting
+ * it, so the deletes rather than the listing bound how fast a directory is removed.
+ *
+ * <p>ADLS accounts with a hierarchical namespace delete a directory recursively with a single
+ * call. Directories do not really exist in accounts with a flat namespace, so their blobs are
+ * listed and deleted like the objects of the other stores.
+ */
+class CloudStorageOperations {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CloudStorageOperations.class);
+
+  // S3 lists and batch deletes at most 1000 keys at a time.
+  private static final int LIST_PAGE_SIZE = 1000;
+  private static final int GCS_DELETE_BATCH_SIZE = 100;
+  // Blobs are deleted one at a time, so a batch only groups the deletes run by one task.
+  private static final int ADLS_DELETE_BATCH_SIZE = 100;
+  private static final int MAX_BATCHES_IN_FLIGHT = 16;
+  private static final int HTTP_NOT_FOUND = 404;
+
+  private static final ExecutorService DELETE_EXECUTOR =
+      Executors.newFixedThreadPool(
+          8,
+          runnable -> {
+            Thread thread = new Thread(runnable, "storage-delete");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final ServerProperties serverProperties;
+  private final Function<String, S3Client> s3ClientFactory;
+  private final Map<String, S3Client> s3Clients = new ConcurrentHashMap<>();
+  private final Map<String, AdlsClients> adlsClients = new ConcurrentHashMap<>();
+  private final Map<String, Storage> gcsClients = new ConcurrentHashMap<>();
+
+  CloudStorageOperations(ServerProperties serverProperties) {
+    this(serverProperties, null);
+  }
+
+  CloudStorageOperations(
+      ServerProperties serverProperties, Function<String, S3Client> s3ClientFactory) {
+    this.serverProperties = serverProperties;
+    this.s3ClientFactory = s3ClientFactory != null ? s3ClientFactory : this::createS3Client;
+  }
+
+  void deleteS3Directory(URI directoryUri) {
+    String bucketName = directoryUri.getHost();
+    String prefix = directoryPrefix(directoryUri);
+    S3Client s3Client = s3Clients.computeIfAbsent(bucketName, s3ClientFactory);
+
+    ParallelDeletes deletes = new ParallelDeletes();
+    ListObjectsV2Request request =
+        ListObjectsV2Request.builder()
+            .bucket(bucketName)
+            .prefix(prefix)
+            .maxKeys(LIST_PAGE_SIZE)
+            .build();
+    for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(request)) {
+      List<ObjectIdentifier> objects =
+          page.contents().stream()
+              .map(object -> ObjectIdentifier.builder().key(object.key()).build())
+              .toList();
+      if (!objects.isEmpty()) {
+        deletes.submit(() -> deleteS3Objects(s3Client, bucketName, objects));
+      }
+    }
+    deletes.await();
+    LOGGER.debug("Deleted {} batches under {}", deletes.submitted, directoryUri);
+  }
+
+  private static void deleteS3Objects(
+      S3Client s3Client, String bucketName, List<ObjectIdentifier> objects) {
+    DeleteObjectsResponse response =
+        s3Client.deleteObjects(
+            request ->
+                request.bucket(bucketName).delete(delete -> delete.objects(objects).quiet(true)));
+    if (response.hasErrors() && !response.errors().isEmpty()) {
+      throw new BaseException(
+          ErrorCode.INTERNAL,
+          String.format(
+              "Failed to delete %d objects from bucket %s: %s",
+              response.errors().size(), bucketName, response.errors().get(0).message()));
+    }
+  }
+
+  void deleteAdlsDirectory(URI directoryUri) {
+    ADLSLocationUtils.ADLSLocationParts locationParts =
+        ADLSLocationUtils.parseLocation(directoryUri.toString());
+    String path = relativePath(directoryUri);
+    AdlsClients clients =
+        adlsClients.computeIfAbsent(locationParts.account(), this::createAdlsClients);
+    if (!clients.hierarchicalNamespace()) {
+      deleteAdlsBlobs(
+          clients.blobClient().getBlobContainerClient(locationParts.container()), path + "/");
+      LOGGER.debug("Deleted the blobs under {}", directoryUri);
+      return;
+    }
+    try {
+      clients
+          .dataLakeClient()
+          .getFileSystemClient(locationParts.container())
+          .getDirectoryClient(path)
+          .deleteWithResponse(/* recursive = */ true, null, null, Context.NONE);
+    } catch (DataLakeStorageException e) {
+      // A directory that does not exist has nothing to delete, as with the other stores.
+      if (e.getStatusCode() != HTTP_NOT_FOUND) {
+        throw e;
+      }
+      LOGGER.debug("Directory {} does not exist", directoryUri);
+    }
+  }
+
+  private static void deleteAdlsBlobs(BlobContainerClient containerClient, String prefix) {
+    ParallelDeletes deletes = new ParallelDeletes();
+    ListBlobsOptions options =
+        new ListBlobsOptions().setPrefix(prefix).setMaxResultsPerPage(LIST_PAGE_SIZE);
+    for (PagedResponse<BlobItem> page : containerClient.listBlobs(options, null).iterableByPage()) {
+      List<String> names = page.getValue().stream().map(BlobItem::getName).toList();
+      for (int i = 0; i < names.size(); i += ADLS_DELETE_BATCH_SIZE) {
+        List<String> batch = names.subList(i, Math.min(i + ADLS_DELETE_BATCH_SIZE, names.size()));
+        deletes.submit(
+            () -> batch.forEach(name -> containerClient.getBlobClient(name).deleteIfExists()));
+      }
+    }
+    deletes.await();
+  }
+
+  void deleteGcsDirectory(URI directoryUri) {
+    String bucketName = directoryUri.getHost();
+    String prefix = directoryPrefix(directoryUri);
+    Storage storage = gcsClients.computeIfAbsent(bucketName, this::createGcsClient);
+
+    ParallelDeletes deletes = new ParallelDeletes();
+    Page<Blob> page =
+        storage.list(
+            bucketName,
+            Storage.BlobListOption.prefix(prefix),
+            Storage.BlobListOption.pageSize(LIST_PAGE_SIZE));
+    while (page != null) {
+      List<BlobId> blobIds = new ArrayList<>();
+      page.getValues().forEach(blob -> blobIds.add(blob.getBlobId()));
+      for (int i = 0; i < blobIds.size(); i += GCS_DELETE_BATCH_SIZE) {
+        List<BlobId> batch =
+            blobIds.subList(i, Math.min(i + GCS_DELETE_BATCH_SIZE, blobIds.size()));
+        // Blobs that are already gone are reported as not deleted, which is fine here.
+        deletes.submit(() -> storage.delete(batch));
+      }
+      page = page.hasNextPage() ? page.getNextPage() : null;
+    }
+    deletes.await();
+    LOGGER.debug("Deleted {} batches under {}", deletes.submitted, directoryUri);
+  }
+
+  /** Returns the path of a directory within its bucket or container, without enclosing slashes. */
+  private static String relativePath(URI directoryUri) {
+    String path = directoryUri.getPath() == null ? "" : directoryUri.getPath();
+    while (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    while (path.endsWith("/")) {
+      path = path.substring(0, path.length() - 1);
+    }
+    if (path.isEmpty()) {
+      throw new BaseException(
+          ErrorCode.INVALID_ARGUMENT, "Refusing to delete the root of " + directoryUri);
+    }
+    return path;
+  }
+
+  /**
+   * Returns the key prefix of the objects in a directory. The prefix ends with a slash, so that
+   * deleting {@code tables/a} does not also delete {@code tables/ab}.
+   */
+  private static String directoryPrefix(URI directoryUri) {
+    return relativePath(directoryUri) + "/";
+  }
+
+  private S3Client createS3Client(String bucketName) {
+    String accessKey = serverProperties.get(Property.AWS_S3_ACCESS_KEY);
+    String secretKey = serverProperties.get(Property.AWS_S3_SECRET_KEY);
+    String sessionToken = serverProperties.get(Property.AWS_S3_SESSION_TOKEN);
+    String region = serverProperties.get(Property.AWS_REGION);
+
+    // Static keys configured for the bucket take precedence over the server-wide ones.
+    S3StorageConfig config = serverProperties.getS3Configurations().get("s3://" + bucketName);
+    if (config != null && config.getAccessKey() != null && !config.getAccessKey().isEmpty()) {
+      accessKey = config.getAccessKey();
+      secretKey = config.getSecretKey();
+      sessionToken = config.getSessionToken();
+    }
+    if (config != null && config.getRegion() != null) {
+      region = config.getRegion();
+    }
+
+    S3ClientBuilder builder = S3Client.builder();
+    if (region != null) {
+      builder.region(Region.of(region));
+    }
+    if (accessKey != null && secretKey != null) {
+      AwsCredentials credentials =
+          sessionToken != null && !sessionToken.isEmpty()
+              ? AwsSessionCredentials.create(accessKey, secretKey, sessionToken)
+              : AwsBasicCredentials.create(accessKey, secretKey);
+      builder.credentialsProvider(StaticCredentialsProvider.create(credentials));
+    }
+    return builder.build();
+  }
+
+  private record AdlsClients(
+      DataLakeServiceClient dataLakeClient,
+      BlobServiceClient blobClient,
+      boolean hierarchicalNamespace) {}
+
+  private AdlsClients createAdlsClients(String account) {
+    ADLSStorageConfig config =
+        serverProperties.getAdlsConfigurations().get(account.split("\\.")[0]);
+    TokenCredential credential =
+        config == null
+            ? new DefaultAzureCredentialBuilder().build()
+            : new ClientSecretCredentialBuilder()
+                .tenantId(config.getTenantId())
+                .clientId(config.getClientId())
+                .clientSecret(config.getClientSecret())
+                .build();
+    DataLakeServiceClient dataLakeClient =
+        new DataLakeServiceClientBuilder()
+            .endpoint("https://" + account)
+            .credential(credential)
+            .buildClient();
+    BlobServiceClient blobClient =
+        new BlobServiceClientBuilder()
+            .endpoint("https://" + account.replace(".dfs.", ".blob."))
+            .credential(credential)
+            .buildClient();
+    boolean hierarchicalNamespace;
+    try {
+      hierarchicalNamespace = blobClient.getAccountInfo().isHierarchicalNamespaceEnabled();
+    } catch (BlobStorageException e) {
+      // Reading the account information takes a permission that deleting does not need.
+      LOGGER.warn(
+          "Failed to read whether {} has a hierarchical namespace, assuming it does", account, e);
+      hierarchicalNamespace = true;
+    }
+    return new AdlsClients(dataLakeClient, blobClient, hierarchicalNamespace);
+  }
+
+  private Storage createGcsClient(String bucketName) {
+    String serviceAccountKeyJsonFilePath =
+        serverProperties.getGcsConfigurations().get("gs://" + bucketName);
+    StorageOptions.Builder builder = StorageOptions.newBuilder();
+    if (serviceAccountKeyJsonFilePath != null && !serviceAccountKeyJsonFilePath.isEmpty()) {
+      try (InputStream keyStream = new FileInputStream(serviceAccountKeyJsonFilePath)) {
+        builder.setCredentials(ServiceAccountCredentials.fromStream(keyStream));
+      } catch (IOException e) {
+        throw new BaseException(ErrorCode.FAILED_PRECONDITION, "GCS credentials not found.", e);
+      }
+    }
+    return builder.build().getService();
+  }
+
+  /** Runs the batch deletes of one directory, with a bounded number of batches in flight. */
+  private static class ParallelDeletes {
+    private final Semaphore inFlight = new Semaphore(MAX_BATCHES_IN_FLIGHT);
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+    private int submitted = 0;
+
+    void submit(Runnable delete) {
+      inFlight.acquireUninterruptibly();
+      submitted++;
+      futures.add(
+          CompletableFuture.runAsync(delete, DELETE_EXECUTOR)
+              .whenComplete((result, error) -> inFlight.release()));
+    }
+
+    void await() {
+      try {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.unitycatalog.server.persist.utils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Properties;
+import javax.sql.DataSource;
+
+/**
+ * The pool of connections to the metadata database, shared by Hibernate and the authorizer.
+ *
+ * <p>The database is the one configured in {@code hibernate.properties}, and the pool is sized and
+ * tuned by the {@code server.db.pool.*} server properties. A request waits for a connection while
+ * all are in use, up to the connection timeout, rather than failing right away.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+  private static final String POOL_NAME = "uc-db-pool";
+
+  /** Counters of the pool, for monitoring. */
+  public record Stats(
+      int activeConnections, int idleConnections, int totalConnections, int waitingThreads) {}
+
+  private final HikariDataSource dataSource;
+
+  public ConnectionPool(Properties hibernateProperties, ServerProperties serverProperties) {
+    String url = hibernateProperties.getProperty("hibernate.connection.url");
+    HikariConfig config = new HikariConfig();
+    config.setPoolName(POOL_NAME);
+    String driverClassName = hibernateProperties.getProperty("hibernate.connection.driver_class");
+    if (driverClassName != null) {
+      config.setDriverClassName(driverClassName);
+    }
+    config.setJdbcUrl(url);
+    config.setUsername(hibernateProperties.getProperty("hibernate.connection.user"));
+    config.setPassword(hibernateProperties.getProperty("hibernate.connection.password"));
+
+    int maxSize = (int) serverProperties.getLong(Property.DB_POOL_MAX_SIZE);
+    config.setMaximumPoolSize(maxSize);
+    config.setMinimumIdle(
+        (int) Math.min(serverProperties.getLong(Property.DB_POOL_MIN_IDLE), maxSize));
+    config.setConnectionTimeout(serverProperties.getLong(Property.DB_POOL_CONNECTION_TIMEOUT_MS));
+    config.setLeakDetectionThreshold(
+        serverProperties.getLong(Property.DB_POOL_LEAK_DETECTION_THRESHOLD_MS));
+
+    // Prepared statements are cached by the driver. H2 caches the statements of each connection on
+    // its own.
+    long statementCacheSize = serverProperties.getLong(Property.DB_POOL_STATEMENT_CACHE_SIZE);
+    if (statementCacheSize > 0 && url != null) {
+      if (url.startsWith("jdbc:postgresql:")) {
+        config.addDataSourceProperty("preparedStatementCacheQueries", statementCacheSize);
+      } else if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+        config.addDataSourceProperty("cachePrepStmts", true);
+        config.addDataSourceProperty("prepStmtCacheSize", statementCacheSize);
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", 2048);
+        config.addDataSourceProperty("useServerPrepStmts", true);
+      }
+    }
+    this.dataSource = new HikariDataSource(config);
+  }
+
+  /**
+   * Returns a pool, or null if {@code server.db.pool.max-size} is 0, in which case Hibernate and
+   * the authorizer open connections on their own.
+   */
+  public static ConnectionPool create(
+      Properties hibernateProperties, ServerProperties serverProperties) {
+    if (serverProperties.getLong(Property.DB_POOL_MAX_SIZE) <= 0) {
+      return null;
+    }
+    return new ConnectionPool(hibernateProperties, serverProperties);
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  public Stats stats() {
+    HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    return new Stats(
+        pool.getActiveConnections(),
+        pool.getIdleConnections(),
+        pool.getTotalConnections(),
+        pool.getThreadsAwaitingConnection());
+  }
+
+  @Override
+  public void close() {
+    dataSource.close();
+  }
+}
@@ -1,19 +1,10 @@
 package io.unitycatalog.server.persist.utils;
 
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicSessionCredentials;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
-import com.amazonaws.services.s3.model.ListObjectsRequest;
-import com.amazonaws.services.s3.model.ObjectListing;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
 import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.utils.Constants;
 import io.unitycatalog.server.utils.ServerProperties;
 import io.unitycatalog.server.utils.ServerProperties.Property;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -29,11 +20,13 @@ import org.slf4j.LoggerFactory;
 public class FileOperations {
   private static final Logger LOGGER = LoggerFactory.getLogger(FileOperations.class);
   private final ServerProperties serverProperties;
+  private final CloudStorageOperations cloudStorageOperations;
   private static String modelStorageRootCached;
   private static String modelStorageRootPropertyCached;
 
   public FileOperations(ServerProperties serverProperties) {
     this.serverProperties = serverProperties;
+    this.cloudStorageOperations = new CloudStorageOperations(serverProperties);
   }
 
   /**
@@ -91,7 +84,9 @@ public class FileOperations {
   }
 
   private static URI createURI(String uri) {
-    if (uri.startsWith("s3://") || uri.startsWith("file:")) {
+    if (uri.startsWith("file:")
+        || Constants.SUPPORTED_CLOUD_SCHEMES.stream()
+            .anyMatch(scheme -> uri.startsWith(scheme + "://"))) {
       return URI.create(uri);
     } else {
       return Paths.get(uri).toUri();
@@ -107,15 +102,27 @@ public class FileOperations {
       } catch (RuntimeException | IOException e) {
         throw new BaseException(ErrorCode.INTERNAL, "Failed to delete directory: " + path, e);
       }
-    } else if (directoryUri.getScheme().equals("s3")) {
-      modifyS3Directory(directoryUri, false);
     } else {
-      throw new BaseException(
-          ErrorCode.INVALID_ARGUMENT, "Unsupported URI scheme: " + directoryUri.getScheme());
+      try {
+        switch (directoryUri.getScheme()) {
+          case Constants.URI_SCHEME_S3 -> cloudStorageOperations.deleteS3Directory(directoryUri);
+          case Constants.URI_SCHEME_ABFS, Constants.URI_SCHEME_ABFSS ->
+              cloudStorageOperations.deleteAdlsDirectory(directoryUri);
+          case Constants.URI_SCHEME_GS -> cloudStorageOperations.deleteGcsDirectory(directoryUri);
+          default -> throw new BaseException(
+              ErrorCode.INVALID_ARGUMENT, "Unsupported URI scheme: " + directoryUri.getScheme());
+        }
+      } catch (BaseException e) {
+        throw e;
+      } catch (RuntimeException e) {
+        throw new BaseException(ErrorCode.INTERNAL, "Failed to delete directory: " + path, e);
+      }
     }
   }
 
   private static void deleteLocalDirectory(Path dirPath) throws IOException {
+    // A directory that does not exist has nothing to delete, as with object stores. Storage purges
+    // are retried until they succeed, so this must not fail.
     if (Files.exists(dirPath)) {
       try (Stream<Path> walk = Files.walk(dirPath, FileVisitOption.FOLLOW_LINKS)) {
         walk.sorted(Comparator.reverseOrder())
@@ -128,63 +135,6 @@ public class FileOperations {
                   }
                 });
       }
-    } else {
-      throw new IOException("Directory does not exist: " + dirPath);
-    }
-  }
-
-  private URI modifyS3Directory(URI parsedUri, boolean createOrDelete) {
-    String bucketName = parsedUri.getHost();
-    String path = parsedUri.getPath().substring(1); // Remove leading '/'
-    String accessKey = serverProperties.get(Property.AWS_S3_ACCESS_KEY);
-    String secretKey = serverProperties.get(Property.AWS_S3_SECRET_KEY);
-    String sessionToken = serverProperties.get(Property.AWS_S3_SESSION_TOKEN);
-    String region = serverProperties.get(Property.AWS_REGION);
-
-    BasicSessionCredentials sessionCredentials =
-        new BasicSessionCredentials(accessKey, secretKey, sessionToken);
-    AmazonS3 s3Client =
-        AmazonS3ClientBuilder.standard()
-            .withCredentials(new AWSStaticCredentialsProvider(sessionCredentials))
-            .withRegion(region)
-            .build();
-
-    if (createOrDelete) {
-
-      if (!path.endsWith("/")) {
-        path += "/";
-      }
-      if (s3Client.doesObjectExist(bucketName, path)) {
-        throw new BaseException(ErrorCode.ALREADY_EXISTS, "Directory already exists: " + path);
-      }
-      try {
-        // Create empty content
-        byte[] emptyContent = new byte[0];
-        ByteArrayInputStream emptyContentStream = new ByteArrayInputStream(emptyContent);
-
-        // Set metadata for the empty content
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(0);
-        s3Client.putObject(new PutObjectRequest(bucketName, path, emptyContentStream, metadata));
-        LOGGER.debug("Directory created successfully: {}", path);
-        return URI.create(String.format("s3://%s/%s", bucketName, path));
-      } catch (Exception e) {
-        throw new BaseException(ErrorCode.INTERNAL, "Failed to create directory: " + path, e);
-      }
-    } else {
-      ObjectListing listing;
-      ListObjectsRequest req = new ListObjectsRequest().withBucketName(bucketName).withPrefix(path);
-      do {
-        listing = s3Client.listObjects(req);
-        listing
-            .getObjectSummaries()
-            .forEach(
-                object -> {
-                  s3Client.deleteObject(bucketName, object.getKey());
-                });
-        req.setMarker(listing.getNextMarker());
-      } while (listing.isTruncated());
-      return URI.create(String.format("s3://%s/%s", bucketName, path));
     }
   }
 
@@ -1,5 +1,7 @@
 package io.unitycatalog.server.persist.utils;
 
+import io.unitycatalog.server.metrics.DatabaseMetricsListener;
+import io.unitycatalog.server.persist.dao.AuthorizationChangeDAO;
 import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
 import io.unitycatalog.server.persist.dao.ColumnInfoDAO;
 import io.unitycatalog.server.persist.dao.CredentialDAO;
@@ -12,7 +14,9 @@ import io.unitycatalog.server.persist.dao.ModelVersionInfoDAO;
 import io.unitycatalog.server.persist.dao.PropertyDAO;
 import io.unitycatalog.server.persist.dao.RegisteredModelInfoDAO;
 import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
+import io.unitycatalog.server.persist.dao.ServerSecretDAO;
 import io.unitycatalog.server.persist.dao.StagingTableDAO;
+import io.unitycatalog.server.persist.dao.StoragePurgeDAO;
 import io.unitycatalog.server.persist.dao.TableInfoDAO;
 import io.unitycatalog.server.persist.dao.UserDAO;
 import io.unitycatalog.server.persist.dao.VolumeInfoDAO;
@@ -26,7 +30,9 @@ import java.nio.file.Paths;
 import java.util.Properties;
 import lombok.Getter;
 import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistry;
 import org.slf4j.Logger;
@@ -44,15 +50,43 @@ public class HibernateConfigurator {
 
   private final SessionFactory sessionFactory;
   private final Properties hibernateProperties;
+  /** The pool the connections are taken from, or null if pooling is disabled. */
+  private final ConnectionPool connectionPool;
 
   public HibernateConfigurator(ServerProperties serverProperties) {
-    this.hibernateProperties = setupHibernateProperties(serverProperties);
-    this.sessionFactory = createSessionFactory(hibernateProperties);
+    this(serverProperties, setupHibernateProperties(serverProperties));
   }
 
-  private static SessionFactory createSessionFactory(Properties hibernateProperties) {
+  public HibernateConfigurator(ServerProperties serverProperties, Properties hibernateProperties) {
+    this.hibernateProperties = hibernateProperties;
+    this.connectionPool = ConnectionPool.create(hibernateProperties, serverProperties);
+    this.sessionFactory = createSessionFactory(hibernateProperties, connectionPool);
+  }
+
+  private static SessionFactory createSessionFactory(
+      Properties hibernateProperties, ConnectionPool connectionPool) {
     try {
-      Configuration configuration = new Configuration().setProperties(hibernateProperties);
+      Properties properties = new Properties();
+      properties.putAll(hibernateProperties);
+      // Counts the statements each request runs.
+      properties.put(
+          AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, DatabaseMetricsListener.class.getName());
+      Configuration configuration = new Configuration();
+      if (connectionPool != null) {
+        properties.put(AvailableSettings.DATASOURCE, connectionPool.getDataSource());
+        // Hibernate does not close a data source it was given.
+        configuration.setSessionFactoryObserver(
+            new SessionFactoryObserver() {
+              @Override
+              public void sessionFactoryCreated(SessionFactory factory) {}
+
+              @Override
+              public void sessionFactoryClosed(SessionFactory factory) {
+                connectionPool.close();
+              }
+            });
+      }
+      configuration.setProperties(properties);
 
       // Add annotated classes
       configuration.addAnnotatedClass(CatalogInfoDAO.class);
@@ -71,6 +105,9 @@ public class HibernateConfigurator {
       configuration.addAnnotatedClass(CredentialDAO.class);
       configuration.addAnnotatedClass(ExternalLocationDAO.class);
       configuration.addAnnotatedClass(DeltaCommitDAO.class);
+      configuration.addAnnotatedClass(AuthorizationChangeDAO.class);
+      configuration.addAnnotatedClass(StoragePurgeDAO.class);
+      configuration.addAnnotatedClass(ServerSecretDAO.class);
 
       ServiceRegistry serviceRegistry =
           new StandardServiceRegistryBuilder().applySettings(configuration.getProperties()).build();
@@ -0,0 +1,88 @@
+package io.unitycatalog.server.persist.utils;
+
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encodes the position of a listing into an opaque page token.
+ *
+ * <p>A token holds the sort key of the last entity of a page, and a signature of that key together
+ * with the scope of the listing, such as the entity type and its parent. Clients therefore cannot
+ * craft tokens, nor reuse the token of one listing in another. Tokens are signed with the secret
+ * configured by {@code server.page-token.secret}, or otherwise with a secret generated once and
+ * stored in the metadata database, so that all servers sharing the database accept each other's
+ * tokens.
+ */
+public class PageTokens {
+
+  /** The name of the generated secret in the metadata database. */
+  public static final String SECRET_NAME = "page-token";
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int SIGNATURE_BYTES = 16;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private static volatile SecretKeySpec key = randomKey();
+
+  private PageTokens() {}
+
+  /** Signs tokens with the given secret. A null or empty secret keeps the current key. */
+  public static void setSecret(String secret) {
+    if (secret != null && !secret.isEmpty()) {
+      key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+  }
+
+  public static String encode(String scope, String lastKey) {
+    byte[] keyBytes = lastKey.getBytes(StandardCharsets.UTF_8);
+    return ENCODER.encodeToString(keyBytes) + "." + ENCODER.encodeToString(sign(scope, keyBytes));
+  }
+
+  /**
+   * Returns the sort key of the last entity of the previous page.
+   *
+   * @throws BaseException if the token was not issued for this scope
+   */
+  public static String decode(String scope, String token) {
+    int separator = token.lastIndexOf('.');
+    if (separator > 0) {
+      try {
+        byte[] keyBytes = DECODER.decode(token.substring(0, separator));
+        byte[] signature = DECODER.decode(token.substring(separator + 1));
+        if (MessageDigest.isEqual(signature, sign(scope, keyBytes))) {
+          return new String(keyBytes, StandardCharsets.UTF_8);
+        }
+      } catch (IllegalArgumentException e) {
+        // Not base64; rejected below.
+      }
+    }
+    throw new BaseException(ErrorCode.INVALID_ARGUMENT, "Invalid page token: " + token);
+  }
+
+  private static byte[] sign(String scope, byte[] keyBytes) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      mac.update(scope.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return Arrays.copyOf(mac.doFinal(keyBytes), SIGNATURE_BYTES);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static SecretKeySpec randomKey() {
+    byte[] bytes = new byte[32];
+    new SecureRandom().nextBytes(bytes);
+    return new SecretKeySpec(bytes, ALGORITHM);
+  }
+}
@@ -11,12 +11,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 
 /**
  * Helper class to list entities in a paged manner. Entities are listed in ascending order of their
- * name. The name of the last entity in the list can be used as a page token to fetch the next page.
+ * name, with a keyset query: a page starts after the name of the last entity of the previous page,
+ * which the composite (parent id, name) index of the entity table answers without scanning or
+ * sorting the earlier entities. One entity more than the page size is fetched to decide whether
+ * there is a next page, so the last page never has a next page token. Page tokens are opaque; see
+ * {@link PageTokens}.
  *
  * @param <T> The DAO class of the entity to be listed
  */
@@ -30,6 +35,13 @@ public class PagedListingHelper<T extends IdentifiableDAO> {
 
   public static final Integer DEFAULT_PAGE_SIZE = 100;
 
+  /**
+   * A page of entities.
+   *
+   * @param nextPageToken the token to fetch the next page with, or null if this is the last page
+   */
+  public record Page<E>(List<E> entities, String nextPageToken) {}
+
   /**
    * Get the page size to use for listing entities. The page size is the minimum of the maxResults
    * and the default page size.
@@ -45,32 +57,45 @@ public class PagedListingHelper<T extends IdentifiableDAO> {
   }
 
   /**
-   * This function returns the next page token to use to fetch the next page of entities. The next
-   * page token is the name of the last entity in the list.
+   * Turns the result of a keyset query that fetched up to {@code pageSize + 1} rows into a page.
+   * The token of the next page is the key of the last row of the page, signed for {@code scope}.
    *
-   * @param entities The list of entities to check
-   * @param maxResults The maximum number of results to return
-   * @return The next page token to use to fetch the next page of entities. Returns null if there
-   *     are no more entities to fetch.
+   * @param rows The rows fetched, in ascending order of their key
+   * @param pageSize The size of the page
+   * @param scope The listing the token is valid for; see {@link PageTokens}
+   * @param keyOf The sort key of a row
    */
-  public String getNextPageToken(List<T> entities, Optional<Integer> maxResults) {
-    if (entities == null || entities.isEmpty() || entities.size() < getPageSize(maxResults)) {
-      return null;
+  public static <E> Page<E> toPage(
+      List<E> rows, int pageSize, String scope, Function<E, String> keyOf) {
+    if (rows.size() <= pageSize) {
+      return new Page<>(rows, null);
     }
-    // return the last entity name
-    return entities.get(entities.size() - 1).getName();
+    List<E> entities = rows.subList(0, pageSize);
+    return new Page<>(
+        entities, PageTokens.encode(scope, keyOf.apply(entities.get(pageSize - 1))));
+  }
+
+  /**
+   * Returns the sort key encoded in a page token, or empty for the first page.
+   *
+   * @throws BaseException if the token was not issued for {@code scope}
+   */
+  public static Optional<String> decodePageToken(String scope, Optional<String> pageToken) {
+    return pageToken
+        .filter(token -> !token.isEmpty())
+        .map(token -> PageTokens.decode(scope, token));
   }
 
   /**
    * This function builds a query to fetch the next page of entities. The query fetches entities
-   * whose name is greater than the page token.
+   * whose name is greater than the given name.
    *
    * @param session The Hibernate session
    * @param parentEntityId The parent entity id
-   * @param pageToken The page token
+   * @param afterName The name of the last entity of the previous page, or null for the first page
    * @return The query to fetch the next page of entities
    */
-  public Query<T> buildListQuery(Session session, UUID parentEntityId, String pageToken) {
+  public Query<T> buildListQuery(Session session, UUID parentEntityId, String afterName) {
     CriteriaBuilder cb = session.getCriteriaBuilder();
     CriteriaQuery<T> cr = cb.createQuery(entityClass);
     Root<T> root = cr.from(entityClass);
@@ -78,8 +103,9 @@ public class PagedListingHelper<T extends IdentifiableDAO> {
     List<Predicate> predicates = new ArrayList<>();
     Optional<String> parentEntityIdColumn = IdentifiableDAO.getParentIdColumnName(entityClass);
     parentEntityIdColumn.ifPresent(s -> predicates.add(cb.equal(root.get(s), parentEntityId)));
-    predicates.add(
-        cb.or(cb.greaterThan(root.get("name"), pageToken), cb.isNull(cb.literal(pageToken))));
+    if (afterName != null) {
+      predicates.add(cb.greaterThan(root.get("name"), afterName));
+    }
 
     Predicate combinedPredicate = cb.and(predicates.toArray(new Predicate[0]));
     cr.select(root).where(combinedPredicate).orderBy(cb.asc(root.get("name")));
@@ -88,28 +114,30 @@ public class PagedListingHelper<T extends IdentifiableDAO> {
   }
 
   /**
-   * This function lists entities in a paged manner. The entities are listed in ascending order of
-   * their name. The name of the last entity in the list can be used as a page token to fetch the
-   * next page.
+   * This function lists a page of entities. The entities are listed in ascending order of their
+   * name.
    *
    * @param session The Hibernate session
    * @param maxResultsOpt The maximum number of results to return
-   * @param nextPageTokenOpt The page token to use to fetch the next page of entities
+   * @param pageTokenOpt The page token returned with the previous page
    * @param parentEntityId The parent entity id
-   * @return the list of entities based on the input parameters
+   * @return the page of entities, and the token of the next page if there is one
    */
-  public List<T> listEntity(
+  public Page<T> listPage(
       Session session,
       Optional<Integer> maxResultsOpt,
-      Optional<String> nextPageTokenOpt,
+      Optional<String> pageTokenOpt,
       UUID parentEntityId) {
     if (maxResultsOpt.isPresent() && maxResultsOpt.get() < 0) {
       throw new BaseException(
           ErrorCode.INVALID_ARGUMENT, "maxResults must be greater than or equal to 0");
     }
-    Integer pageSize = getPageSize(maxResultsOpt);
-    Query<T> query = buildListQuery(session, parentEntityId, nextPageTokenOpt.orElse(null));
-    query.setMaxResults(pageSize);
-    return query.getResultList();
+    int pageSize = getPageSize(maxResultsOpt);
+    String scope = entityClass.getSimpleName() + "/" + parentEntityId;
+    Query<T> query =
+        buildListQuery(
+            session, parentEntityId, decodePageToken(scope, pageTokenOpt).orElse(null));
+    query.setMaxResults(pageSize + 1);
+    return toPage(query.getResultList(), pageSize, scope, IdentifiableDAO::getName);
   }
 }
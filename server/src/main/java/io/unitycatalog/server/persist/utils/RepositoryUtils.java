@@ -2,51 +2,85 @@ package io.unitycatalog.server.persist.utils;
 
 import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.CatalogInfo;
+import io.unitycatalog.server.model.FunctionInfo;
+import io.unitycatalog.server.model.SchemaInfo;
+import io.unitycatalog.server.model.TableInfo;
 import io.unitycatalog.server.persist.PropertyRepository;
 import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
 import io.unitycatalog.server.persist.dao.PropertyDAO;
 import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
-import io.unitycatalog.server.utils.Constants;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.HashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import org.apache.commons.lang3.tuple.Pair;
 import org.hibernate.Session;
 
 public class RepositoryUtils {
 
-  private static final Map<String, Class<?>> PROPERTY_TYPE_MAP = new HashMap<>();
+  // Typed property setters of the entity models, keyed by model class.
+  private static final Map<Class<?>, BiConsumer<Object, Map<String, String>>> PROPERTY_SETTERS =
+      new HashMap<>();
 
   static {
-    PROPERTY_TYPE_MAP.put(Constants.FUNCTION, String.class);
+    registerPropertySetter(CatalogInfo.class, CatalogInfo::setProperties);
+    registerPropertySetter(SchemaInfo.class, SchemaInfo::setProperties);
+    registerPropertySetter(TableInfo.class, TableInfo::setProperties);
+    // Function properties are exposed as a single string
+    registerPropertySetter(
+        FunctionInfo.class,
+        (functionInfo, properties) -> functionInfo.setProperties(properties.toString()));
+  }
+
+  private static <T> void registerPropertySetter(
+      Class<T> entityClass, BiConsumer<T, Map<String, String>> setter) {
+    PROPERTY_SETTERS.put(
+        entityClass, (entity, properties) -> setter.accept(entityClass.cast(entity), properties));
+  }
+
+  private static BiConsumer<Object, Map<String, String>> getPropertySetter(Class<?> entityClass) {
+    BiConsumer<Object, Map<String, String>> setter = PROPERTY_SETTERS.get(entityClass);
+    if (setter == null) {
+      throw new BaseException(
+          ErrorCode.INTERNAL, "No property setter for " + entityClass.getSimpleName());
+    }
+    return setter;
   }
 
   public static <T> T attachProperties(
       T entityInfo, String uuid, String entityType, Session session) {
-    try {
-      List<PropertyDAO> propertyDAOList =
-          PropertyRepository.findProperties(session, UUID.fromString(uuid), entityType);
-      if (propertyDAOList.isEmpty()) {
-        return entityInfo;
-      }
-      Class<?> entityClass = PROPERTY_TYPE_MAP.getOrDefault(entityType, Map.class);
-      Method setPropertiesMethod =
-          entityInfo.getClass().getMethod("setProperties", entityClass);
-      Map<String, String> propertyMap = PropertyDAO.toMap(propertyDAOList);
-      Object propertiesArgument = switch (entityClass.getSimpleName()) {
-        case "Map" -> propertyMap;
-        case "String" -> propertyMap.toString();
-        default -> throw new IllegalArgumentException(
-            "Unsupported parameter type: " + entityClass.getSimpleName());
-      };
-      setPropertiesMethod.invoke(entityInfo, propertiesArgument);
-      return entityInfo;
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      throw new RuntimeException(e);
+    BiConsumer<Object, Map<String, String>> setter = getPropertySetter(entityInfo.getClass());
+    List<PropertyDAO> propertyDAOList =
+        PropertyRepository.findProperties(session, UUID.fromString(uuid), entityType);
+    if (!propertyDAOList.isEmpty()) {
+      setter.accept(entityInfo, PropertyDAO.toMap(propertyDAOList));
+    }
+    return entityInfo;
+  }
+
+  /**
+   * Attaches the properties of a page of entities of the same type, loading them with a single
+   * query instead of one per entity.
+   */
+  public static <T> List<T> attachProperties(
+      List<T> entityInfos, Function<T, String> idGetter, String entityType, Session session) {
+    if (entityInfos.isEmpty()) {
+      return entityInfos;
+    }
+    BiConsumer<Object, Map<String, String>> setter =
+        getPropertySetter(entityInfos.get(0).getClass());
+    Map<UUID, T> entitiesById = new HashMap<>();
+    for (T entityInfo : entityInfos) {
+      entitiesById.put(UUID.fromString(idGetter.apply(entityInfo)), entityInfo);
     }
+    PropertyRepository.findProperties(session, entitiesById.keySet(), entityType)
+        .forEach(
+            (entityId, propertyDAOList) ->
+                setter.accept(entitiesById.get(entityId), PropertyDAO.toMap(propertyDAOList)));
+    return entityInfos;
   }
 
   public static String[] parseFullName(String fullName) {
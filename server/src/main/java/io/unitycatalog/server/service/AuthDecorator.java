@@ -31,8 +31,8 @@ import org.slf4j.LoggerFactory;
  * signature is checked against the internal issuer key. If all these checks pass, the request is
  * allowed to continue.
  *
- * <p>The decoded token is also added to the request attributes so it can be referenced by the
- * request if needed.
+ * <p>The decoded token and the user it was issued to are also added to the request attributes so
+ * they can be referenced by the request if needed.
  */
 public class AuthDecorator implements DecoratingHttpServiceFunction {
 
@@ -46,6 +46,9 @@ public class AuthDecorator implements DecoratingHttpServiceFunction {
   public static final AttributeKey<DecodedJWT> DECODED_JWT_ATTR =
       AttributeKey.valueOf(DecodedJWT.class, "DECODED_JWT_ATTR");
 
+  public static final AttributeKey<User> PRINCIPAL_ATTR =
+      AttributeKey.valueOf(User.class, "PRINCIPAL_ATTR");
+
   private final JwksOperations jwksOperations;
 
   public AuthDecorator(SecurityContext securityContext, Repositories repositories) {
@@ -97,6 +100,7 @@ public class AuthDecorator implements DecoratingHttpServiceFunction {
     LOGGER.debug("Access allowed for subject: {}", subject);
 
     ctx.setAttr(DECODED_JWT_ATTR, decodedJWT);
+    ctx.setAttr(PRINCIPAL_ATTR, user);
 
     return delegate.serve(ctx, req);
   }
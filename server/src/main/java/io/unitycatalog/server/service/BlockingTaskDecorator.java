@@ -0,0 +1,32 @@
+package io.unitycatalog.server.service;
+
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.DecoratingHttpServiceFunction;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import io.unitycatalog.server.utils.BlockingExecutor;
+
+/**
+ * Serves requests from the blocking task executor.
+ *
+ * <p>Armeria calls decorators on the event loop, whereas the authentication and access decorators
+ * look up users and resources in the database. Placed in front of them, this decorator moves them
+ * to the blocking task executor. Annotated services are called from that executor anyway.
+ */
+public class BlockingTaskDecorator implements DecoratingHttpServiceFunction {
+
+  @Override
+  public HttpResponse serve(HttpService delegate, ServiceRequestContext ctx, HttpRequest req) {
+    return HttpResponse.of(
+        BlockingExecutor.supplyOffEventLoop(
+            ctx,
+            () -> {
+              try {
+                return delegate.serve(ctx, req);
+              } catch (Exception e) {
+                return HttpResponse.ofFailure(e);
+              }
+            }));
+  }
+}
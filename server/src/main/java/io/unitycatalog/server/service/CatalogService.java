@@ -2,6 +2,7 @@ package io.unitycatalog.server.service;
 
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -29,6 +30,7 @@ import java.util.UUID;
 import static io.unitycatalog.server.model.SecurableType.CATALOG;
 import static io.unitycatalog.server.model.SecurableType.METASTORE;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class CatalogService extends AuthorizedService {
   private final CatalogRepository catalogRepository;
@@ -106,6 +108,7 @@ public class CatalogService extends AuthorizedService {
   public void filterCatalogs(String expression, List<CatalogInfo> entries) {
     // TODO: would be nice to move this to filtering in the Decorator response
     UUID principalId = userRepository.findPrincipalId();
+    UUID metastoreId = metastoreRepository.getMetastoreId();
 
     evaluator.filter(
         principalId,
@@ -113,7 +116,7 @@ public class CatalogService extends AuthorizedService {
         entries,
         ci -> Map.of(
             METASTORE,
-            metastoreRepository.getMetastoreId(),
+            metastoreId,
             CATALOG,
             UUID.fromString(ci.getId())));
   }
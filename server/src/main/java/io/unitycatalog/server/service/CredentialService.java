@@ -15,6 +15,7 @@ import io.unitycatalog.server.persist.Repositories;
 import java.util.Optional;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Post;
@@ -23,6 +24,7 @@ import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.Patch;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class CredentialService extends AuthorizedService {
   private final CredentialRepository credentialRepository;
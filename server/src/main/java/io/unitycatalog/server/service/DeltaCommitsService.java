@@ -1,44 +1,96 @@
 package io.unitycatalog.server.service;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.util.TimeoutMode;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
+import com.linecorp.armeria.server.annotation.Header;
 import com.linecorp.armeria.server.annotation.Post;
 import io.unitycatalog.server.auth.UnityCatalogAuthorizer;
 import io.unitycatalog.server.auth.annotation.AuthorizeExpression;
 import io.unitycatalog.server.auth.annotation.AuthorizeKey;
 import io.unitycatalog.server.auth.annotation.AuthorizeKeys;
+import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.exception.GlobalExceptionHandler;
+import io.unitycatalog.server.model.DeltaBatchCommit;
+import io.unitycatalog.server.model.DeltaBatchCommitResponse;
+import io.unitycatalog.server.model.DeltaBatchCommitResult;
 import io.unitycatalog.server.model.DeltaCommit;
+import io.unitycatalog.server.model.DeltaCommitInfo;
 import io.unitycatalog.server.model.DeltaGetCommits;
+import io.unitycatalog.server.model.DeltaGetCommitsResponse;
 import io.unitycatalog.server.persist.DeltaCommitRepository;
+import io.unitycatalog.server.persist.MetastoreRepository;
 import io.unitycatalog.server.persist.Repositories;
+import io.unitycatalog.server.persist.TableRepository;
+import io.unitycatalog.server.utils.ValidationUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.SneakyThrows;
+import org.apache.commons.lang3.tuple.Pair;
 
+import static io.unitycatalog.server.model.SecurableType.CATALOG;
 import static io.unitycatalog.server.model.SecurableType.METASTORE;
+import static io.unitycatalog.server.model.SecurableType.SCHEMA;
 import static io.unitycatalog.server.model.SecurableType.TABLE;
 
 /**
  * REST API service for Delta commits to Delta tables in Unity Catalog.
+ *
+ * <p>Commits responses carry a weak {@code ETag} of the latest table version and of the commits
+ * returned, so it changes when commits are backfilled or another version range is requested. A
+ * request whose {@code If-None-Match} header holds the current one receives {@code 304 Not
+ * Modified}. With a {@code Prefer: wait=<seconds>} header as well, the request instead waits up to
+ * that long, at most {@link #MAX_WAIT}, for the latest version to change, and only then answers
+ * 304.
  */
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class DeltaCommitsService extends AuthorizedService {
 
+  /** The longest a commits request waits for a new version. */
+  static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+  /** How much longer than its wait a waiting request may take before it times out. */
+  private static final Duration WAIT_TIMEOUT_MARGIN = Duration.ofSeconds(10);
+
+  /** The authorization of a commit, which a batch evaluates for each of its commits. */
+  private static final String COMMIT_EXPRESSION = """
+        #authorizeAny(#principal, #schema, OWNER, USE_SCHEMA) &&
+        #authorizeAny(#principal, #catalog, OWNER, USE_CATALOG) &&
+        #authorizeAny(#principal, #table, OWNER, MODIFY)
+      """;
+
   private final DeltaCommitRepository deltaCommitRepository;
+  private final TableRepository tableRepository;
+  private final MetastoreRepository metastoreRepository;
 
   @SneakyThrows
   public DeltaCommitsService(UnityCatalogAuthorizer authorizer, Repositories repositories) {
     super(authorizer, repositories.getUserRepository());
     this.deltaCommitRepository = repositories.getDeltaCommitRepository();
+    this.tableRepository = repositories.getTableRepository();
+    this.metastoreRepository = repositories.getMetastoreRepository();
   }
 
   @Post("")
-  @AuthorizeExpression("""
-        #authorizeAny(#principal, #schema, OWNER, USE_SCHEMA) &&
-        #authorizeAny(#principal, #catalog, OWNER, USE_CATALOG) &&
-        #authorizeAny(#principal, #table, OWNER, MODIFY)
-      """)
+  @AuthorizeExpression(COMMIT_EXPRESSION)
   @AuthorizeKey(METASTORE)
   public HttpResponse postCommit(
       @AuthorizeKeys({@AuthorizeKey(value = TABLE, key = "table_id")})
@@ -47,6 +99,79 @@ public class DeltaCommitsService extends AuthorizedService {
     return HttpResponse.of(HttpStatus.OK);
   }
 
+  /**
+   * Commits to many tables. Each commit is authorized as {@link #postCommit} authorizes a single
+   * one, and a commit the principal is not allowed to make fails with PERMISSION_DENIED in its
+   * result without failing the others. A commit to a table that does not exist fails the same way,
+   * so that a batch cannot tell which table IDs exist.
+   */
+  @Post("/batch")
+  public HttpResponse postCommits(DeltaBatchCommit batch) {
+    List<DeltaCommit> commits = Optional.ofNullable(batch.getCommits()).orElse(List.of());
+    ValidationUtils.checkArgument(
+        commits.size() <= DeltaCommitRepository.MAX_BATCH_COMMITS,
+        "A batch can have at most %s commits, but has %s",
+        DeltaCommitRepository.MAX_BATCH_COMMITS,
+        commits.size());
+    List<Integer> permitted = filterPermittedCommits(commits);
+    List<DeltaBatchCommitResult> permittedResults =
+        deltaCommitRepository.postCommits(permitted.stream().map(commits::get).toList());
+    List<DeltaBatchCommitResult> results = new ArrayList<>(commits.size());
+    for (DeltaCommit commit : commits) {
+      results.add(
+          new DeltaBatchCommitResult()
+              .tableId(commit.getTableId())
+              .errorCode(ErrorCode.PERMISSION_DENIED.name())
+              .message("Not authorized to commit to table: " + commit.getTableId()));
+    }
+    for (int i = 0; i < permitted.size(); i++) {
+      results.set(permitted.get(i), permittedResults.get(i));
+    }
+    return HttpResponse.ofJson(new DeltaBatchCommitResponse().results(results));
+  }
+
+  /**
+   * Returns the indices of the commits the principal may make. Commits to tables that are not found
+   * are not permitted, as if the principal were not authorized for them.
+   */
+  private List<Integer> filterPermittedCommits(List<DeltaCommit> commits) {
+    Map<Integer, UUID> tableIds = new HashMap<>();
+    for (int i = 0; i < commits.size(); i++) {
+      try {
+        tableIds.put(i, UUID.fromString(commits.get(i).getTableId()));
+      } catch (IllegalArgumentException | NullPointerException e) {
+        // Not a table ID, so not a table that exists.
+      }
+    }
+    Map<UUID, Pair<UUID, UUID>> catalogSchemaIds =
+        tableRepository.getCatalogSchemaIdsByTableIds(new HashSet<>(tableIds.values()));
+    List<Integer> permitted = new ArrayList<>();
+    for (int i = 0; i < commits.size(); i++) {
+      if (catalogSchemaIds.containsKey(tableIds.get(i))) {
+        permitted.add(i);
+      }
+    }
+    UUID metastoreId = metastoreRepository.getMetastoreId();
+    evaluator.filter(
+        userRepository.findPrincipalId(),
+        COMMIT_EXPRESSION,
+        permitted,
+        i -> {
+          UUID tableId = tableIds.get(i);
+          Pair<UUID, UUID> catalogAndSchemaId = catalogSchemaIds.get(tableId);
+          return Map.of(
+              METASTORE,
+              metastoreId,
+              CATALOG,
+              catalogAndSchemaId.getLeft(),
+              SCHEMA,
+              catalogAndSchemaId.getRight(),
+              TABLE,
+              tableId);
+        });
+    return permitted;
+  }
+
   @Get("")
   @AuthorizeExpression("""
         #authorizeAny(#principal, #schema, OWNER, USE_SCHEMA) &&
@@ -54,9 +179,81 @@ public class DeltaCommitsService extends AuthorizedService {
         #authorizeAny(#principal, #table, OWNER, SELECT)
       """)
   @AuthorizeKey(METASTORE)
-  public HttpResponse getCommits(
+  public CompletableFuture<HttpResponse> getCommits(
+    ServiceRequestContext ctx,
     @AuthorizeKeys({@AuthorizeKey(value = TABLE, key = "table_id")})
-    DeltaGetCommits rpc) {
-    return HttpResponse.ofJson(deltaCommitRepository.getCommits(rpc));
+    DeltaGetCommits rpc,
+    @Header("If-None-Match") Optional<String> ifNoneMatch,
+    @Header("Prefer") Optional<String> prefer) {
+    Optional<Duration> wait = prefer.flatMap(DeltaCommitsService::parseWait);
+    DeltaGetCommitsResponse response = deltaCommitRepository.getCommits(rpc);
+    if (wait.isPresent() && matches(ifNoneMatch, etag(response))) {
+      ctx.setRequestTimeout(TimeoutMode.SET_FROM_NOW, wait.get().plus(WAIT_TIMEOUT_MARGIN));
+      return deltaCommitRepository
+          .awaitCommits(
+              rpc, response.getLatestTableVersion(), wait.get(), ctx.blockingTaskExecutor())
+          .thenApply(awaited -> toHttpResponse(awaited, ifNoneMatch));
+    }
+    return CompletableFuture.completedFuture(toHttpResponse(response, ifNoneMatch));
+  }
+
+  private static HttpResponse toHttpResponse(
+      DeltaGetCommitsResponse response, Optional<String> ifNoneMatch) {
+    String etag = etag(response);
+    if (matches(ifNoneMatch, etag)) {
+      return HttpResponse.of(
+          ResponseHeaders.builder(HttpStatus.NOT_MODIFIED).set(HttpHeaderNames.ETAG, etag).build());
+    }
+    return HttpResponse.ofJson(
+        ResponseHeaders.builder(HttpStatus.OK).set(HttpHeaderNames.ETAG, etag).build(), response);
+  }
+
+  /**
+   * Returns the entity tag of a commits response: its latest table version, and a hash of the
+   * versions and files of the commits it returns, which differ once commits are backfilled or for
+   * another version range.
+   */
+  static String etag(DeltaGetCommitsResponse response) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (DeltaCommitInfo commit : Optional.ofNullable(response.getCommits()).orElse(List.of())) {
+      hasher
+          .putLong(commit.getVersion())
+          .putString(Objects.toString(commit.getFileName()), StandardCharsets.UTF_8)
+          .putByte((byte) 0);
+    }
+    return "W/\"" + response.getLatestTableVersion() + "-" + hasher.hash() + "\"";
+  }
+
+  /** Returns whether an {@code If-None-Match} header holds the given weak entity tag. */
+  static boolean matches(Optional<String> ifNoneMatch, String etag) {
+    if (ifNoneMatch.isEmpty()) {
+      return false;
+    }
+    String opaqueTag = etag.substring(2);
+    for (String tag : ifNoneMatch.get().split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the wait preference of a {@code Prefer} header, capped at {@link #MAX_WAIT}. */
+  static Optional<Duration> parseWait(String prefer) {
+    for (String preference : prefer.split(",")) {
+      String[] nameAndValue = preference.trim().split("=", 2);
+      if (nameAndValue.length == 2 && nameAndValue[0].trim().equalsIgnoreCase("wait")) {
+        try {
+          long seconds = Long.parseLong(nameAndValue[1].trim());
+          if (seconds > 0) {
+            return Optional.of(Duration.ofSeconds(Math.min(seconds, MAX_WAIT.toSeconds())));
+          }
+        } catch (NumberFormatException e) {
+          // Ignored, like any preference the server does not understand.
+        }
+      }
+    }
+    return Optional.empty();
   }
 }
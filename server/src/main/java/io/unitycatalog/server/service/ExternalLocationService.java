@@ -4,6 +4,7 @@ import static io.unitycatalog.server.model.SecurableType.METASTORE;
 
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -23,6 +24,7 @@ import io.unitycatalog.server.persist.dao.ExternalLocationDAO;
 import java.util.Optional;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class ExternalLocationService extends AuthorizedService {
   private final ExternalLocationRepository externalLocationRepository;
@@ -10,7 +10,6 @@ import io.unitycatalog.server.auth.annotation.AuthorizeExpression;
 import io.unitycatalog.server.auth.annotation.AuthorizeKey;
 import io.unitycatalog.server.auth.annotation.AuthorizeKeys;
 import io.unitycatalog.server.exception.GlobalExceptionHandler;
-import io.unitycatalog.server.model.CatalogInfo;
 import io.unitycatalog.server.model.CreateFunctionRequest;
 import io.unitycatalog.server.model.FunctionInfo;
 import io.unitycatalog.server.model.ListFunctionsResponse;
@@ -20,12 +19,14 @@ import io.unitycatalog.server.persist.FunctionRepository;
 import io.unitycatalog.server.persist.MetastoreRepository;
 import io.unitycatalog.server.persist.Repositories;
 import io.unitycatalog.server.persist.SchemaRepository;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -33,6 +34,7 @@ import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Post;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class FunctionService extends AuthorizedService {
 
@@ -135,22 +137,31 @@ public class FunctionService extends AuthorizedService {
   public void filterFunctions(String expression, List<FunctionInfo> entries) {
     // TODO: would be nice to move this to filtering in the Decorator response
     UUID principalId = userRepository.findPrincipalId();
+    // The entries of a page usually share their parents, so resolve each parent only once.
+    UUID metastoreId = metastoreRepository.getMetastoreId();
+    Map<String, UUID> catalogIds = new HashMap<>();
+    Map<String, UUID> schemaIds = new HashMap<>();
 
     evaluator.filter(
         principalId,
         expression,
         entries,
         fi -> {
-          CatalogInfo catalogInfo = catalogRepository.getCatalog(fi.getCatalogName());
-          SchemaInfo schemaInfo =
-              schemaRepository.getSchema(fi.getCatalogName() + "." + fi.getSchemaName());
+          UUID catalogId =
+              catalogIds.computeIfAbsent(
+                  fi.getCatalogName(),
+                  name -> UUID.fromString(catalogRepository.getCatalog(name).getId()));
+          UUID schemaId =
+              schemaIds.computeIfAbsent(
+                  fi.getCatalogName() + "." + fi.getSchemaName(),
+                  name -> UUID.fromString(schemaRepository.getSchema(name).getSchemaId()));
           return Map.of(
               METASTORE,
-              metastoreRepository.getMetastoreId(),
+              metastoreId,
               CATALOG,
-              UUID.fromString(catalogInfo.getId()),
+              catalogId,
               SCHEMA,
-              UUID.fromString(schemaInfo.getSchemaId()),
+              schemaId,
               FUNCTION,
               UUID.fromString(fi.getFunctionId()));
         });
@@ -1,29 +1,39 @@
 package io.unitycatalog.server.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
 import com.linecorp.armeria.server.annotation.Head;
+import com.linecorp.armeria.server.annotation.Header;
 import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Post;
 import com.linecorp.armeria.server.annotation.ProducesJson;
 import io.unitycatalog.server.exception.IcebergRestExceptionHandler;
 import io.unitycatalog.server.model.ListSchemasResponse;
-import io.unitycatalog.server.model.ListTablesResponse;
-import io.unitycatalog.server.model.SchemaInfo;
+import io.unitycatalog.server.model.TableInfo;
 import io.unitycatalog.server.persist.Repositories;
+import io.unitycatalog.server.persist.SchemaRepository;
 import io.unitycatalog.server.persist.TableRepository;
+import io.unitycatalog.server.persist.utils.PagedListingHelper;
 import io.unitycatalog.server.service.iceberg.MetadataService;
 import io.unitycatalog.server.service.iceberg.TableConfigService;
-import io.unitycatalog.server.utils.JsonUtils;
-import java.util.Collections;
+import io.unitycatalog.server.utils.RESTObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import org.apache.iceberg.TableMetadata;
 import org.apache.iceberg.catalog.Namespace;
@@ -35,15 +45,21 @@ import org.apache.iceberg.rest.Endpoint;
 import org.apache.iceberg.rest.responses.ConfigResponse;
 import org.apache.iceberg.rest.responses.GetNamespaceResponse;
 import org.apache.iceberg.rest.responses.ListNamespacesResponse;
+import org.apache.iceberg.rest.responses.ListTablesResponse;
 import org.apache.iceberg.rest.responses.LoadTableResponse;
 import org.apache.iceberg.rest.responses.LoadViewResponse;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 
+@Blocking
 @ExceptionHandler(IcebergRestExceptionHandler.class)
 public class IcebergRestCatalogService {
 
   private static final String PREFIX_BASE = "catalogs/";
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  // Iceberg clients join the levels of a namespace with the unit separator, sent as %1F in paths.
+  private static final char NAMESPACE_SEPARATOR = '\u001f';
 
   private static final List<Endpoint> ENDPOINTS =
       List.of(
@@ -60,6 +76,7 @@ public class IcebergRestCatalogService {
   private final TableService tableService;
   private final TableConfigService tableConfigService;
   private final MetadataService metadataService;
+  private final SchemaRepository schemaRepository;
   private final TableRepository tableRepository;
   private final SessionFactory sessionFactory;
 
@@ -75,6 +92,7 @@ public class IcebergRestCatalogService {
     this.tableService = tableService;
     this.tableConfigService = tableConfigService;
     this.metadataService = metadataService;
+    this.schemaRepository = repositories.getSchemaRepository();
     this.tableRepository = repositories.getTableRepository();
     this.sessionFactory = repositories.getSessionFactory();
   }
@@ -101,41 +119,48 @@ public class IcebergRestCatalogService {
   @Get("/v1/catalogs/{catalog}/namespaces")
   @ProducesJson
   public ListNamespacesResponse listNamespaces(
-      @Param("catalog") String catalog, @Param("parent") Optional<String> parent)
-      throws JsonProcessingException {
-    List<Namespace> namespaces;
+      @Param("catalog") String catalog,
+      @Param("parent") Optional<String> parent,
+      @Param("pageToken") Optional<String> pageToken,
+      @Param("pageSize") Optional<Integer> pageSize) {
     if (parent.isPresent() && !parent.get().isEmpty()) {
       // nested namespaces is not supported, so child namespaces will be empty
-      namespaces = Collections.emptyList();
-    } else {
-      String respContent =
-          schemaService
-              .listSchemas(catalog, Optional.of(Integer.MAX_VALUE), Optional.empty())
-              .aggregate()
-              .join()
-              .contentUtf8();
+      return ListNamespacesResponse.builder().build();
+    }
+
+    List<Namespace> namespaces = new ArrayList<>();
+    if (pageToken.isPresent()) {
       ListSchemasResponse resp =
-          JsonUtils.getInstance().readValue(respContent, ListSchemasResponse.class);
-      assert resp.getSchemas() != null;
-      namespaces =
-          resp.getSchemas().stream()
-              .map(schemaInfo -> Namespace.of(schemaInfo.getName()))
-              .collect(Collectors.toList());
+          schemaService.listListableSchemas(
+              catalog, Optional.of(getPageSize(pageSize)), nonEmpty(pageToken));
+      resp.getSchemas().forEach(schemaInfo -> namespaces.add(Namespace.of(schemaInfo.getName())));
+      return ListNamespacesResponse.builder()
+          .addAll(namespaces)
+          .nextPageToken(resp.getNextPageToken())
+          .build();
     }
 
+    // Clients that do not paginate get all namespaces.
+    Optional<String> nextPageToken = Optional.empty();
+    do {
+      ListSchemasResponse resp =
+          schemaService.listListableSchemas(catalog, Optional.empty(), nextPageToken);
+      resp.getSchemas().forEach(schemaInfo -> namespaces.add(Namespace.of(schemaInfo.getName())));
+      nextPageToken = Optional.ofNullable(resp.getNextPageToken());
+    } while (nextPageToken.isPresent());
     return ListNamespacesResponse.builder().addAll(namespaces).build();
   }
 
   @Get("/v1/catalogs/{catalog}/namespaces/{namespace}")
   @ProducesJson
   public GetNamespaceResponse getNamespace(
-      @Param("catalog") String catalog, @Param("namespace") String namespace)
-      throws JsonProcessingException {
+      @Param("catalog") String catalog, @Param("namespace") String namespace) {
+    namespace = decodeNamespace(catalog, namespace);
     String schemaFullName = String.join(".", catalog, namespace);
-    String resp = schemaService.getSchema(schemaFullName).aggregate().join().contentUtf8();
+    Map<String, String> properties = schemaRepository.getSchema(schemaFullName).getProperties();
     return GetNamespaceResponse.builder()
         .withNamespace(Namespace.of(namespace))
-        .setProperties(JsonUtils.getInstance().readValue(resp, SchemaInfo.class).getProperties())
+        .setProperties(properties)
         .build();
   }
 
@@ -146,6 +171,7 @@ public class IcebergRestCatalogService {
       @Param("catalog") String catalog,
       @Param("namespace") String namespace,
       @Param("table") String table) {
+    namespace = decodeNamespace(catalog, namespace);
     try (Session session = sessionFactory.openSession()) {
       tableRepository.getTable(catalog + "." + namespace + "." + table);
       String metadataLocation =
@@ -160,10 +186,13 @@ public class IcebergRestCatalogService {
 
   @Get("/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table}")
   @ProducesJson
-  public LoadTableResponse loadTable(
+  public HttpResponse loadTable(
       @Param("catalog") String catalog,
       @Param("namespace") String namespace,
-      @Param("table") String table) {
+      @Param("table") String table,
+      @Header("If-None-Match") Optional<String> ifNoneMatch)
+      throws JsonProcessingException {
+    namespace = decodeNamespace(catalog, namespace);
     String metadataLocation;
     try (Session session = sessionFactory.openSession()) {
       tableRepository.getTable(catalog + "." + namespace + "." + table);
@@ -178,21 +207,70 @@ public class IcebergRestCatalogService {
     TableMetadata tableMetadata = metadataService.readTableMetadata(metadataLocation);
     Map<String, String> config = tableConfigService.getTableConfig(tableMetadata);
 
-    return LoadTableResponse.builder()
-        .withTableMetadata(tableMetadata)
-        .addAllConfig(config)
-        .build();
+    // Clients that already hold this response get a 304 instead of the whole metadata again.
+    String etag = etag(metadataLocation, config);
+    if (ifNoneMatch.isPresent() && etagMatches(ifNoneMatch.get(), etag)) {
+      return HttpResponse.of(
+          ResponseHeaders.builder(HttpStatus.NOT_MODIFIED).set(HttpHeaderNames.ETAG, etag).build());
+    }
+    LoadTableResponse response =
+        LoadTableResponse.builder().withTableMetadata(tableMetadata).addAllConfig(config).build();
+    return HttpResponse.of(
+        ResponseHeaders.builder(HttpStatus.OK)
+            .contentType(MediaType.JSON_UTF_8)
+            .set(HttpHeaderNames.ETAG, etag)
+            .build(),
+        HttpData.wrap(RESTObjectMapper.mapper().writeValueAsBytes(response)));
+  }
+
+  /**
+   * Returns the entity tag of a load table response. Metadata files are immutable, so the response
+   * only changes with the metadata location, or with the vended credentials in its config.
+   */
+  private static String etag(String metadataLocation, Map<String, String> config) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(metadataLocation.getBytes(StandardCharsets.UTF_8));
+    new TreeMap<>(config)
+        .forEach(
+            (key, value) -> {
+              digest.update((byte) 0);
+              digest.update(key.getBytes(StandardCharsets.UTF_8));
+              digest.update((byte) 0);
+              digest.update(value.getBytes(StandardCharsets.UTF_8));
+            });
+    return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+  }
+
+  private static boolean etagMatches(String ifNoneMatch, String etag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if (trimmed.startsWith("W/")) {
+        trimmed = trimmed.substring(2);
+      }
+      if (trimmed.equals("*") || trimmed.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Get("/v1/catalogs/{catalog}/namespaces/{namespace}/views/{view}")
   @ProducesJson
   public LoadViewResponse loadView(
-      @Param("namespace") String namespace, @Param("view") String view) {
+      @Param("catalog") String catalog,
+      @Param("namespace") String namespace,
+      @Param("view") String view) {
     // this is not supported yet, but Iceberg REST client tries to load
     // a table with given path name and then tries to load a view with that
     // name if it didn't find a table, so for now, let's just return a 404
     // as that should be expected since it didn't find a table with the name
-    throw new NoSuchViewException("View does not exist: %s", namespace + "." + view);
+    throw new NoSuchViewException(
+        "View does not exist: %s", decodeNamespace(catalog, namespace) + "." + view);
   }
 
   @Post("/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table}/metrics")
@@ -203,44 +281,72 @@ public class IcebergRestCatalogService {
 
   @Get("/v1/catalogs/{catalog}/namespaces/{namespace}/tables")
   @ProducesJson
-  public org.apache.iceberg.rest.responses.ListTablesResponse listTables(
-      @Param("catalog") String catalog, @Param("namespace") String namespace)
-      throws JsonProcessingException {
-    AggregatedHttpResponse resp =
-        tableService
-            .listTables(
-                catalog,
-                namespace,
-                Optional.of(Integer.MAX_VALUE),
-                Optional.empty(),
-                Optional.empty(),
-                Optional.empty())
-            .aggregate()
-            .join();
-    List<TableIdentifier> filteredTables;
-    try (Session session = sessionFactory.openSession()) {
-      filteredTables =
-          Objects.requireNonNull(
-                  JsonUtils.getInstance()
-                      .readValue(resp.contentUtf8(), ListTablesResponse.class)
-                      .getTables())
-              .stream()
-              .filter(
-                  tableInfo -> {
-                    String metadataLocation =
-                        tableRepository.getTableUniformMetadataLocation(
-                            session, catalog, namespace, tableInfo.getName());
-                    return metadataLocation != null;
-                  })
-              .map(
-                  tableInfo ->
-                      TableIdentifier.of(
-                          Namespace.of(tableInfo.getSchemaName()), tableInfo.getName()))
-              .collect(Collectors.toList());
-    }
+  public ListTablesResponse listTables(
+      @Param("catalog") String catalog,
+      @Param("namespace") String encodedNamespace,
+      @Param("pageToken") Optional<String> pageToken,
+      @Param("pageSize") Optional<Integer> pageSize) {
+    String namespace = decodeNamespace(catalog, encodedNamespace);
+    // Clients that do not paginate get all tables.
+    PagedListingHelper.Page<TableRepository.UniformTable> page =
+        tableRepository.listUniformTables(
+            catalog,
+            namespace,
+            pageToken.map(token -> getPageSize(pageSize)),
+            nonEmpty(pageToken));
+
+    List<TableInfo> tableInfos =
+        page.entities().stream()
+            .map(
+                table ->
+                    new TableInfo()
+                        .tableId(table.id().toString())
+                        .name(table.name())
+                        .catalogName(catalog)
+                        .schemaName(namespace))
+            .collect(Collectors.toList());
+    tableService.filterListableTables(tableInfos);
 
-    return org.apache.iceberg.rest.responses.ListTablesResponse.builder()
-        .addAll(filteredTables)
+    return ListTablesResponse.builder()
+        .addAll(
+            tableInfos.stream()
+                .map(tableInfo -> TableIdentifier.of(Namespace.of(namespace), tableInfo.getName()))
+                .toList())
+        .nextPageToken(page.nextPageToken())
         .build();
   }
+
+  /** Returns the page size to use for an Iceberg paginated listing. */
+  private static int getPageSize(Optional<Integer> pageSize) {
+    return pageSize
+        .filter(size -> size > 0)
+        .map(size -> Math.min(size, MAX_PAGE_SIZE))
+        .orElse(PagedListingHelper.DEFAULT_PAGE_SIZE);
+  }
+
+  /** Iceberg clients start paginating with an empty page token. */
+  private static Optional<String> nonEmpty(Optional<String> pageToken) {
+    return pageToken.filter(token -> !token.isEmpty());
+  }
+
+  /**
+   * Returns the schema an Iceberg namespace names in the catalog of the request. A namespace is
+   * either the schema, or the catalog followed by the schema.
+   *
+   * @throws BadRequestException if the namespace has more levels, or names another catalog
+   */
+  private static String decodeNamespace(String catalog, String namespace) {
+    String[] levels = namespace.split(String.valueOf(NAMESPACE_SEPARATOR), -1);
+    if (levels.length == 1) {
+      return namespace;
+    }
+    if (levels.length == 2 && levels[0].equals(catalog)) {
+      return levels[1];
+    }
+    throw new BadRequestException(
+        "Invalid namespace %s in catalog %s: a namespace is a schema, optionally preceded by its "
+            + "catalog",
+        String.join(".", levels),
+        catalog);
+  }
 }
@@ -2,6 +2,7 @@ package io.unitycatalog.server.service;
 
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -14,7 +15,6 @@ import io.unitycatalog.server.auth.annotation.AuthorizeKey;
 import io.unitycatalog.server.auth.annotation.AuthorizeKeys;
 import io.unitycatalog.server.auth.decorator.UnityAccessEvaluator;
 import io.unitycatalog.server.exception.GlobalExceptionHandler;
-import io.unitycatalog.server.model.CatalogInfo;
 import io.unitycatalog.server.model.CreateModelVersion;
 import io.unitycatalog.server.model.CreateRegisteredModel;
 import io.unitycatalog.server.model.FinalizeModelVersion;
@@ -30,6 +30,7 @@ import io.unitycatalog.server.persist.ModelRepository;
 import io.unitycatalog.server.persist.Repositories;
 import io.unitycatalog.server.persist.SchemaRepository;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -42,6 +43,7 @@ import static io.unitycatalog.server.model.SecurableType.METASTORE;
 import static io.unitycatalog.server.model.SecurableType.REGISTERED_MODEL;
 import static io.unitycatalog.server.model.SecurableType.SCHEMA;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class ModelService extends AuthorizedService {
 
@@ -280,22 +282,31 @@ public class ModelService extends AuthorizedService {
   public void filterModels(String expression, List<RegisteredModelInfo> entries) {
     // TODO: would be nice to move this to filtering in the Decorator response
     UUID principalId = userRepository.findPrincipalId();
+    // The entries of a page usually share their parents, so resolve each parent only once.
+    UUID metastoreId = metastoreRepository.getMetastoreId();
+    Map<String, UUID> catalogIds = new HashMap<>();
+    Map<String, UUID> schemaIds = new HashMap<>();
 
     evaluator.filter(
         principalId,
         expression,
         entries,
         ti -> {
-          CatalogInfo catalogInfo = catalogRepository.getCatalog(ti.getCatalogName());
-          SchemaInfo schemaInfo =
-              schemaRepository.getSchema(ti.getCatalogName() + "." + ti.getSchemaName());
+          UUID catalogId =
+              catalogIds.computeIfAbsent(
+                  ti.getCatalogName(),
+                  name -> UUID.fromString(catalogRepository.getCatalog(name).getId()));
+          UUID schemaId =
+              schemaIds.computeIfAbsent(
+                  ti.getCatalogName() + "." + ti.getSchemaName(),
+                  name -> UUID.fromString(schemaRepository.getSchema(name).getSchemaId()));
           return Map.of(
               METASTORE,
-              metastoreRepository.getMetastoreId(),
+              metastoreId,
               CATALOG,
-              UUID.fromString(catalogInfo.getId()),
+              catalogId,
               SCHEMA,
-              UUID.fromString(schemaInfo.getSchemaId()),
+              schemaId,
               REGISTERED_MODEL,
               UUID.fromString(ti.getId()));
         });
@@ -40,11 +40,13 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
 import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Patch;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class PermissionService {
 
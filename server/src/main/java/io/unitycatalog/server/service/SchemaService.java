@@ -17,12 +17,14 @@ import io.unitycatalog.server.persist.CatalogRepository;
 import io.unitycatalog.server.persist.MetastoreRepository;
 import io.unitycatalog.server.persist.Repositories;
 import io.unitycatalog.server.persist.SchemaRepository;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -31,6 +33,7 @@ import com.linecorp.armeria.server.annotation.Patch;
 import com.linecorp.armeria.server.annotation.Post;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class SchemaService extends AuthorizedService {
   private final SchemaRepository schemaRepository;
@@ -67,6 +70,12 @@ public class SchemaService extends AuthorizedService {
       @Param("catalog_name") String catalogName,
       @Param("max_results") Optional<Integer> maxResults,
       @Param("page_token") Optional<String> pageToken) {
+    return HttpResponse.ofJson(listListableSchemas(catalogName, maxResults, pageToken));
+  }
+
+  /** Lists a page of the schemas of a catalog that the current principal is allowed to list. */
+  public ListSchemasResponse listListableSchemas(
+      String catalogName, Optional<Integer> maxResults, Optional<String> pageToken) {
     ListSchemasResponse listSchemasResponse =
         schemaRepository.listSchemas(catalogName, maxResults, pageToken);
     filterSchemas("""
@@ -76,7 +85,7 @@ public class SchemaService extends AuthorizedService {
             #authorizeAny(#principal, #catalog, OWNER, USE_CATALOG))
         """,
         listSchemasResponse.getSchemas());
-    return HttpResponse.ofJson(listSchemasResponse);
+    return listSchemasResponse;
   }
 
   @Get("/{full_name}")
@@ -135,21 +144,26 @@ public class SchemaService extends AuthorizedService {
   public void filterSchemas(String expression, List<SchemaInfo> entries) {
     // TODO: would be nice to move this to filtering in the Decorator response
     UUID principalId = userRepository.findPrincipalId();
+    // The entries of a page usually share their catalog, so resolve each catalog only once.
+    UUID metastoreId = metastoreRepository.getMetastoreId();
+    Map<String, UUID> catalogIds = new HashMap<>();
 
     evaluator.filter(
         principalId,
         expression,
         entries,
         si -> {
-          CatalogInfo catalogInfo = catalogRepository.getCatalog(si.getCatalogName());
+          UUID catalogId =
+              catalogIds.computeIfAbsent(
+                  si.getCatalogName(),
+                  name -> UUID.fromString(catalogRepository.getCatalog(name).getId()));
           return Map.of(
               METASTORE,
-              metastoreRepository.getMetastoreId(),
+              metastoreId,
               CATALOG,
-              UUID.fromString(catalogInfo.getId()),
+              catalogId,
               SCHEMA,
               UUID.fromString(si.getSchemaId()));
         });
   }
 }
-
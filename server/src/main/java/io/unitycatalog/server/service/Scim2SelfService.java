@@ -6,6 +6,7 @@ import static io.unitycatalog.server.utils.Scim2Utils.asUserResource;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
 import com.linecorp.armeria.server.annotation.Produces;
@@ -21,6 +22,7 @@ import io.unitycatalog.server.persist.Repositories;
 import io.unitycatalog.server.persist.UserRepository;
 import io.unitycatalog.server.security.JwtClaim;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class Scim2SelfService {
   private final UserRepository userRepository;
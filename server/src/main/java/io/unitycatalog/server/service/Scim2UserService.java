@@ -6,6 +6,7 @@ import static io.unitycatalog.server.utils.Scim2Utils.asUserResource;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -63,6 +64,7 @@ import java.util.UUID;
  *   <li>userName - maps to SCIM primary email
  * </ul>
  */
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class Scim2UserService {
   private final UserRepository userRepository;
@@ -10,7 +10,6 @@ import io.unitycatalog.server.auth.annotation.AuthorizeExpression;
 import io.unitycatalog.server.auth.annotation.AuthorizeKey;
 import io.unitycatalog.server.auth.annotation.AuthorizeKeys;
 import io.unitycatalog.server.exception.GlobalExceptionHandler;
-import io.unitycatalog.server.model.CatalogInfo;
 import io.unitycatalog.server.model.CreateTable;
 import io.unitycatalog.server.model.ListTablesResponse;
 import io.unitycatalog.server.model.SchemaInfo;
@@ -20,12 +19,14 @@ import io.unitycatalog.server.persist.MetastoreRepository;
 import io.unitycatalog.server.persist.Repositories;
 import io.unitycatalog.server.persist.SchemaRepository;
 import io.unitycatalog.server.persist.TableRepository;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -33,6 +34,7 @@ import com.linecorp.armeria.server.annotation.Param;
 import com.linecorp.armeria.server.annotation.Post;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class TableService extends AuthorizedService {
 
@@ -108,6 +110,13 @@ public class TableService extends AuthorizedService {
         omitProperties.orElse(false),
         omitColumns.orElse(false));
 
+    filterListableTables(listTablesResponse.getTables());
+
+    return HttpResponse.ofJson(listTablesResponse);
+  }
+
+  /** Removes the tables the current principal is not allowed to list. */
+  public void filterListableTables(List<TableInfo> tables) {
     filterTables("""
         #authorize(#principal, #metastore, OWNER) ||
         #authorize(#principal, #catalog, OWNER) ||
@@ -115,9 +124,7 @@ public class TableService extends AuthorizedService {
         (#authorize(#principal, #schema, USE_SCHEMA) &&
             #authorize(#principal, #catalog, USE_CATALOG) &&
             #authorizeAny(#principal, #table, OWNER, SELECT, MODIFY))
-        """, listTablesResponse.getTables());
-
-    return HttpResponse.ofJson(listTablesResponse);
+        """, tables);
   }
 
   @Delete("/{full_name}")
@@ -142,22 +149,31 @@ public class TableService extends AuthorizedService {
   public void filterTables(String expression, List<TableInfo> entries) {
     // TODO: would be nice to move this to filtering in the Decorator response
     UUID principalId = userRepository.findPrincipalId();
+    // The entries of a page usually share their parents, so resolve each parent only once.
+    UUID metastoreId = metastoreRepository.getMetastoreId();
+    Map<String, UUID> catalogIds = new HashMap<>();
+    Map<String, UUID> schemaIds = new HashMap<>();
 
     evaluator.filter(
         principalId,
         expression,
         entries,
         ti -> {
-          CatalogInfo catalogInfo = catalogRepository.getCatalog(ti.getCatalogName());
-          SchemaInfo schemaInfo =
-              schemaRepository.getSchema(ti.getCatalogName() + "." + ti.getSchemaName());
+          UUID catalogId =
+              catalogIds.computeIfAbsent(
+                  ti.getCatalogName(),
+                  name -> UUID.fromString(catalogRepository.getCatalog(name).getId()));
+          UUID schemaId =
+              schemaIds.computeIfAbsent(
+                  ti.getCatalogName() + "." + ti.getSchemaName(),
+                  name -> UUID.fromString(schemaRepository.getSchema(name).getSchemaId()));
           return Map.of(
               METASTORE,
-              metastoreRepository.getMetastoreId(),
+              metastoreId,
               CATALOG,
-              UUID.fromString(catalogInfo.getId()),
+              catalogId,
               SCHEMA,
-              UUID.fromString(schemaInfo.getSchemaId()),
+              schemaId,
               TABLE,
               UUID.fromString(ti.getTableId()));
         });
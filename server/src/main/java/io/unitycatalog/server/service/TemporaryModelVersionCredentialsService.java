@@ -27,10 +27,12 @@ import io.unitycatalog.server.service.credential.CredentialContext;
 import java.util.Map;
 import java.util.Set;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Post;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class TemporaryModelVersionCredentialsService {
   private final ModelRepository modelRepository;
@@ -11,7 +11,6 @@ import io.unitycatalog.server.auth.annotation.AuthorizeKey;
 import io.unitycatalog.server.auth.annotation.AuthorizeKeys;
 import io.unitycatalog.server.auth.decorator.UnityAccessEvaluator;
 import io.unitycatalog.server.exception.GlobalExceptionHandler;
-import io.unitycatalog.server.model.CatalogInfo;
 import io.unitycatalog.server.model.CreateVolumeRequestContent;
 import io.unitycatalog.server.model.ListVolumesResponseContent;
 import io.unitycatalog.server.model.SchemaInfo;
@@ -22,12 +21,14 @@ import io.unitycatalog.server.persist.MetastoreRepository;
 import io.unitycatalog.server.persist.Repositories;
 import io.unitycatalog.server.persist.SchemaRepository;
 import io.unitycatalog.server.persist.VolumeRepository;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Delete;
 import com.linecorp.armeria.server.annotation.ExceptionHandler;
 import com.linecorp.armeria.server.annotation.Get;
@@ -36,6 +37,7 @@ import com.linecorp.armeria.server.annotation.Patch;
 import com.linecorp.armeria.server.annotation.Post;
 import lombok.SneakyThrows;
 
+@Blocking
 @ExceptionHandler(GlobalExceptionHandler.class)
 public class VolumeService extends AuthorizedService {
   private final VolumeRepository volumeRepository;
@@ -153,22 +155,31 @@ public class VolumeService extends AuthorizedService {
   public void filterVolumes(String expression, List<VolumeInfo> entries) {
     // TODO: would be nice to move this to filtering in the Decorator response
     UUID principalId = userRepository.findPrincipalId();
+    // The entries of a page usually share their parents, so resolve each parent only once.
+    UUID metastoreId = metastoreRepository.getMetastoreId();
+    Map<String, UUID> catalogIds = new HashMap<>();
+    Map<String, UUID> schemaIds = new HashMap<>();
 
     evaluator.filter(
         principalId,
         expression,
         entries,
         vi -> {
-          CatalogInfo catalogInfo = catalogRepository.getCatalog(vi.getCatalogName());
-          SchemaInfo schemaInfo =
-              schemaRepository.getSchema(vi.getCatalogName() + "." + vi.getSchemaName());
+          UUID catalogId =
+              catalogIds.computeIfAbsent(
+                  vi.getCatalogName(),
+                  name -> UUID.fromString(catalogRepository.getCatalog(name).getId()));
+          UUID schemaId =
+              schemaIds.computeIfAbsent(
+                  vi.getCatalogName() + "." + vi.getSchemaName(),
+                  name -> UUID.fromString(schemaRepository.getSchema(name).getSchemaId()));
           return Map.of(
               METASTORE,
-              metastoreRepository.getMetastoreId(),
+              metastoreId,
               CATALOG,
-              UUID.fromString(catalogInfo.getId()),
+              catalogId,
               SCHEMA,
-              UUID.fromString(schemaInfo.getSchemaId()),
+              schemaId,
               VOLUME,
               UUID.fromString(vi.getVolumeId()));
         });
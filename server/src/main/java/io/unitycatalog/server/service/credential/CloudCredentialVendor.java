@@ -5,6 +5,11 @@ import static io.unitycatalog.server.utils.Constants.URI_SCHEME_ABFSS;
 import static io.unitycatalog.server.utils.Constants.URI_SCHEME_GS;
 import static io.unitycatalog.server.utils.Constants.URI_SCHEME_S3;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.exception.ErrorCode;
 import io.unitycatalog.server.model.AwsCredentials;
@@ -16,24 +21,132 @@ import io.unitycatalog.server.service.credential.aws.AwsCredentialVendor;
 import io.unitycatalog.server.service.credential.azure.AzureCredential;
 import io.unitycatalog.server.service.credential.azure.AzureCredentialVendor;
 import io.unitycatalog.server.service.credential.gcp.GcpCredentialVendor;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
 import java.net.URI;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import com.google.auth.oauth2.AccessToken;
 import software.amazon.awssdk.services.sts.model.Credentials;
 
-public class CloudCredentialVendor {
+public class CloudCredentialVendor implements MeterBinder {
 
   private final AwsCredentialVendor awsCredentialVendor;
   private final AzureCredentialVendor azureCredentialVendor;
   private final GcpCredentialVendor gcpCredentialVendor;
+  private final CredentialCache<Credentials> awsCredentialCache;
+  private final CredentialCache<AzureCredential> azureCredentialCache;
+  private final CredentialCache<AccessToken> gcpCredentialCache;
+  // The timers of the calls to each cloud provider, which record nothing until bound to a registry.
+  private volatile Map<String, Timer> vendTimers = vendTimers(new CompositeMeterRegistry());
 
   public CloudCredentialVendor(
       AwsCredentialVendor awsCredentialVendor,
       AzureCredentialVendor azureCredentialVendor,
       GcpCredentialVendor gcpCredentialVendor) {
+    this(awsCredentialVendor, azureCredentialVendor, gcpCredentialVendor, new ServerProperties());
+  }
+
+  public CloudCredentialVendor(
+      AwsCredentialVendor awsCredentialVendor,
+      AzureCredentialVendor azureCredentialVendor,
+      GcpCredentialVendor gcpCredentialVendor,
+      ServerProperties serverProperties) {
     this.awsCredentialVendor = awsCredentialVendor;
     this.azureCredentialVendor = azureCredentialVendor;
     this.gcpCredentialVendor = gcpCredentialVendor;
+    this.awsCredentialCache =
+        createCache(
+            serverProperties,
+            credentials ->
+                credentials.expiration() != null
+                    ? credentials.expiration().toEpochMilli()
+                    : Long.MAX_VALUE);
+    this.azureCredentialCache =
+        createCache(serverProperties, AzureCredential::getExpirationTimeInEpochMillis);
+    this.gcpCredentialCache =
+        createCache(
+            serverProperties,
+            token ->
+                token.getExpirationTime() != null
+                    ? token.getExpirationTime().getTime()
+                    : Long.MAX_VALUE);
+  }
+
+  private static <T> CredentialCache<T> createCache(
+      ServerProperties serverProperties, ToLongFunction<T> expirationTime) {
+    return new CredentialCache<>(
+        (int) serverProperties.getLong(Property.CREDENTIAL_CACHE_MAX_SIZE),
+        serverProperties.getLong(Property.CREDENTIAL_CACHE_MIN_REMAINING_MS),
+        serverProperties.getLong(Property.CREDENTIAL_CACHE_REFRESH_AHEAD_MS),
+        expirationTime);
+  }
+
+  /** Returns the counters of the credential cache of each storage scheme. */
+  public Map<String, CredentialCache.Stats> getCacheStats() {
+    return Map.of(
+        URI_SCHEME_S3, awsCredentialCache.stats(),
+        URI_SCHEME_ABFS, azureCredentialCache.stats(),
+        URI_SCHEME_GS, gcpCredentialCache.stats());
+  }
+
+  /**
+   * Registers the counters of the credential caches, and times the calls to the cloud providers,
+   * by storage scheme.
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bindCache(registry, URI_SCHEME_S3, awsCredentialCache);
+    bindCache(registry, URI_SCHEME_ABFS, azureCredentialCache);
+    bindCache(registry, URI_SCHEME_GS, gcpCredentialCache);
+    this.vendTimers = vendTimers(registry);
+  }
+
+  private static Map<String, Timer> vendTimers(MeterRegistry registry) {
+    return Map.of(
+        URI_SCHEME_S3, vendTimer(registry, URI_SCHEME_S3),
+        URI_SCHEME_ABFS, vendTimer(registry, URI_SCHEME_ABFS),
+        URI_SCHEME_GS, vendTimer(registry, URI_SCHEME_GS));
+  }
+
+  private static Timer vendTimer(MeterRegistry registry, String storageScheme) {
+    return Timer.builder("uc.credentials.vend")
+        .description("The calls to cloud providers to vend temporary credentials")
+        .tag("cloud", storageScheme)
+        .register(registry);
+  }
+
+  private static void bindCache(
+      MeterRegistry registry, String storageScheme, CredentialCache<?> cache) {
+    FunctionCounter.builder("uc.credential.cache.hits", cache, c -> c.stats().hits())
+        .tag("cloud", storageScheme)
+        .register(registry);
+    FunctionCounter.builder("uc.credential.cache.misses", cache, c -> c.stats().misses())
+        .tag("cloud", storageScheme)
+        .register(registry);
+    FunctionCounter.builder("uc.credential.cache.refreshes", cache, c -> c.stats().refreshes())
+        .tag("cloud", storageScheme)
+        .register(registry);
+    FunctionCounter.builder(
+            "uc.credential.cache.refresh.failures", cache, c -> c.stats().refreshFailures())
+        .tag("cloud", storageScheme)
+        .register(registry);
+  }
+
+  private <T> Function<CredentialContext, T> timed(
+      String storageScheme, Function<CredentialContext, T> vendor) {
+    return context -> {
+      Timer timer = vendTimers.get(storageScheme);
+      long startNanos = System.nanoTime();
+      try {
+        return vendor.apply(context);
+      } finally {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      }
+    };
   }
 
   public TemporaryCredentials vendCredential(
@@ -89,14 +202,17 @@ public class CloudCredentialVendor {
   }
 
   public Credentials vendAwsCredential(CredentialContext context) {
-    return awsCredentialVendor.vendAwsCredentials(context);
+    return awsCredentialCache.get(
+        context, timed(URI_SCHEME_S3, awsCredentialVendor::vendAwsCredentials));
   }
 
   public AzureCredential vendAzureCredential(CredentialContext context) {
-    return azureCredentialVendor.vendAzureCredential(context);
+    return azureCredentialCache.get(
+        context, timed(URI_SCHEME_ABFS, azureCredentialVendor::vendAzureCredential));
   }
 
   public AccessToken vendGcpToken(CredentialContext context) {
-    return gcpCredentialVendor.vendGcpToken(context);
+    return gcpCredentialCache.get(
+        context, timed(URI_SCHEME_GS, gcpCredentialVendor::vendGcpToken));
   }
 }
@@ -0,0 +1,204 @@
+package io.unitycatalog.server.service.credential;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches vended temporary credentials until shortly before they expire.
+ *
+ * <p>Credentials are keyed by storage base, locations and privileges, which are exactly the inputs
+ * that scope a vended credential, so a cached credential is never broader than a freshly vended
+ * one. Concurrent requests for a credential that is not cached yet wait for a single call to the
+ * cloud provider. A cached credential is returned while it remains valid for at least {@code
+ * minRemainingMillis}; once it has less than {@code refreshAheadMillis} left it is still returned,
+ * but replaced in the background.
+ *
+ * @param <T> the credential type of the cloud provider
+ */
+public class CredentialCache<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CredentialCache.class);
+
+  private static final ExecutorService REFRESH_EXECUTOR =
+      Executors.newFixedThreadPool(
+          4,
+          runnable -> {
+            Thread thread = new Thread(runnable, "credential-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Counters of the cache, for monitoring. */
+  public record Stats(long hits, long misses, long refreshes, long refreshFailures) {}
+
+  private record Key(
+      String storageBase, List<String> locations, Set<CredentialContext.Privilege> privileges) {
+
+    static Key of(CredentialContext context) {
+      List<String> locations =
+          context.getLocations().stream()
+              .map(
+                  location ->
+                      location.endsWith("/")
+                          ? location.substring(0, location.length() - 1)
+                          : location)
+              .distinct()
+              .sorted()
+              .toList();
+      Set<CredentialContext.Privilege> privileges =
+          EnumSet.noneOf(CredentialContext.Privilege.class);
+      if (context.getPrivileges() != null) {
+        privileges.addAll(context.getPrivileges());
+      }
+      return new Key(context.getStorageBase(), locations, privileges);
+    }
+  }
+
+  private final int maxSize;
+  private final long minRemainingMillis;
+  private final long refreshAheadMillis;
+  private final ToLongFunction<T> expirationTime;
+  private final Map<Key, CompletableFuture<T>> entries = new ConcurrentHashMap<>();
+  private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder refreshes = new LongAdder();
+  private final LongAdder refreshFailures = new LongAdder();
+
+  /**
+   * @param expirationTime returns the expiration time of a credential in epoch milliseconds, or
+   *     {@link Long#MAX_VALUE} if it does not expire
+   */
+  public CredentialCache(
+      int maxSize,
+      long minRemainingMillis,
+      long refreshAheadMillis,
+      ToLongFunction<T> expirationTime) {
+    this.maxSize = maxSize;
+    this.minRemainingMillis = minRemainingMillis;
+    this.refreshAheadMillis = Math.max(refreshAheadMillis, minRemainingMillis);
+    this.expirationTime = expirationTime;
+  }
+
+  public T get(CredentialContext context, Function<CredentialContext, T> vendor) {
+    if (maxSize <= 0) {
+      return vendor.apply(context);
+    }
+    Key key = Key.of(context);
+    while (true) {
+      CompletableFuture<T> future = entries.get(key);
+      if (future == null) {
+        misses.increment();
+        return load(key, context, vendor);
+      }
+      T credential = join(future);
+      long remainingMillis = expirationTime.applyAsLong(credential) - System.currentTimeMillis();
+      if (remainingMillis < minRemainingMillis) {
+        // Too close to expiry to hand out, load a new one.
+        entries.remove(key, future);
+        continue;
+      }
+      if (remainingMillis < refreshAheadMillis) {
+        refreshInBackground(key, future, context, vendor);
+      }
+      hits.increment();
+      return credential;
+    }
+  }
+
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), refreshes.sum(), refreshFailures.sum());
+  }
+
+  private T load(Key key, CredentialContext context, Function<CredentialContext, T> vendor) {
+    if (entries.size() >= maxSize) {
+      evictExpired();
+      if (entries.size() >= maxSize) {
+        return vendor.apply(context);
+      }
+    }
+    CompletableFuture<T> loading = new CompletableFuture<>();
+    CompletableFuture<T> existing = entries.putIfAbsent(key, loading);
+    if (existing != null) {
+      // Another request is already vending this credential.
+      return join(existing);
+    }
+    T credential;
+    try {
+      credential = vendor.apply(context);
+    } catch (RuntimeException | Error e) {
+      entries.remove(key, loading);
+      loading.completeExceptionally(e);
+      throw e;
+    }
+    loading.complete(credential);
+    if (expirationTime.applyAsLong(credential) - System.currentTimeMillis() < minRemainingMillis) {
+      entries.remove(key, loading);
+    }
+    return credential;
+  }
+
+  private void refreshInBackground(
+      Key key,
+      CompletableFuture<T> current,
+      CredentialContext context,
+      Function<CredentialContext, T> vendor) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+    REFRESH_EXECUTOR.execute(
+        () -> {
+          try {
+            T credential = vendor.apply(context);
+            entries.replace(key, current, CompletableFuture.completedFuture(credential));
+            refreshes.increment();
+          } catch (Exception e) {
+            refreshFailures.increment();
+            LOGGER.warn("Failed to refresh credential for {}", key.storageBase(), e);
+          } finally {
+            refreshing.remove(key);
+          }
+        });
+  }
+
+  private void evictExpired() {
+    long now = System.currentTimeMillis();
+    entries
+        .entrySet()
+        .removeIf(
+            entry -> {
+              CompletableFuture<T> future = entry.getValue();
+              return future.isDone()
+                  && !future.isCompletedExceptionally()
+                  && expirationTime.applyAsLong(future.join()) - now < minRemainingMillis;
+            });
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // Rethrow what the vendor threw, as if it had been called directly.
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
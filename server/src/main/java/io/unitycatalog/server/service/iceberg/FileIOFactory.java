@@ -4,6 +4,7 @@ import com.google.auth.oauth2.AccessToken;
 import io.unitycatalog.server.exception.BaseException;
 import io.unitycatalog.server.service.credential.CloudCredentialVendor;
 import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
 import io.unitycatalog.server.service.credential.CredentialContext;
 import io.unitycatalog.server.service.credential.aws.S3StorageConfig;
 import io.unitycatalog.server.service.credential.azure.ADLSLocationUtils;
@@ -15,10 +16,14 @@ import org.apache.iceberg.azure.adlsv2.ADLSFileIO;
 import org.apache.iceberg.gcp.GCPProperties;
 import org.apache.iceberg.gcp.gcs.GCSFileIO;
 import org.apache.iceberg.io.FileIO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.sts.model.Credentials;
@@ -26,98 +31,223 @@ import software.amazon.awssdk.services.sts.model.Credentials;
 import java.net.URI;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static io.unitycatalog.server.utils.Constants.URI_SCHEME_ABFS;
 import static io.unitycatalog.server.utils.Constants.URI_SCHEME_ABFSS;
 import static io.unitycatalog.server.utils.Constants.URI_SCHEME_GS;
 import static io.unitycatalog.server.utils.Constants.URI_SCHEME_S3;
 
+/**
+ * Creates the {@link FileIO}s used to read Iceberg metadata.
+ *
+ * <p>FileIOs for cloud storage are pooled per credential scope, which is the directory of the
+ * metadata file within its storage base, so that engines polling a table reuse the vended
+ * credential and the warm connections of its client. A FileIO is replaced once its credential
+ * has less than {@code server.credential-cache.min-remaining-ms} left, or less than half of the
+ * validity it had when the FileIO was created if that is shorter, so that short-lived credentials
+ * are still reused. It is closed shortly after, once reads still using it have finished. The S3
+ * clients of one bucket also share a connection pool.
+ */
 public class FileIOFactory {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileIOFactory.class);
+
+  // FileIOs whose credential does not expire are still replaced this often.
+  private static final long MAX_LIFETIME_MILLIS = TimeUnit.HOURS.toMillis(1);
+  private static final long CLOSE_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final ScheduledExecutorService CLOSE_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "fileio-close");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private record PooledFileIO(FileIO fileIO, long expiresAtMillis, long createdAtMillis) {
+    PooledFileIO(FileIO fileIO, long expiresAtMillis) {
+      this(fileIO, expiresAtMillis, System.currentTimeMillis());
+    }
+  }
 
   private final CloudCredentialVendor cloudCredentialVendor;
   private final Map<String, S3StorageConfig> s3Configurations;
+  private final long minRemainingMillis;
+  private final Map<String, PooledFileIO> fileIOs = new ConcurrentHashMap<>();
+  private final Map<String, SdkHttpClient> s3HttpClients = new ConcurrentHashMap<>();
+  private volatile long lastSweepMillis = System.currentTimeMillis();
 
   public FileIOFactory(CloudCredentialVendor cloudCredentialVendor,
       ServerProperties serverProperties) {
     this.cloudCredentialVendor = cloudCredentialVendor;
     this.s3Configurations = serverProperties.getS3Configurations();
+    this.minRemainingMillis =
+        serverProperties.getLong(Property.CREDENTIAL_CACHE_MIN_REMAINING_MS);
   }
 
-  // TODO: Cache fileIOs
+  /**
+   * Returns a FileIO that can read the given location. The FileIO is shared, so callers must not
+   * close it.
+   */
   public FileIO getFileIO(URI tableLocationUri) {
-    return switch (tableLocationUri.getScheme()) {
-      case URI_SCHEME_ABFS, URI_SCHEME_ABFSS -> getADLSFileIO(tableLocationUri);
-      case URI_SCHEME_GS -> getGCSFileIO(tableLocationUri);
-      case URI_SCHEME_S3 -> getS3FileIO(tableLocationUri);
+    String scheme = tableLocationUri.getScheme();
+    if (!URI_SCHEME_S3.equals(scheme) && !URI_SCHEME_GS.equals(scheme)
+        && !URI_SCHEME_ABFS.equals(scheme) && !URI_SCHEME_ABFSS.equals(scheme)) {
       // TODO: should we default/fallback to HadoopFileIO ?
-      default -> new SimpleLocalFileIO();
+      return new SimpleLocalFileIO();
+    }
+
+    long now = System.currentTimeMillis();
+    if (now - lastSweepMillis > SWEEP_INTERVAL_MILLIS) {
+      lastSweepMillis = now;
+      evictExpired(now);
+    }
+
+    URI scopeUri = getCredentialScope(tableLocationUri);
+    PooledFileIO pooled = fileIOs.get(scopeUri.toString());
+    if (pooled == null || !isUsable(pooled, now)) {
+      pooled =
+          fileIOs.compute(
+              scopeUri.toString(),
+              (scope, current) -> {
+                if (current != null && isUsable(current, System.currentTimeMillis())) {
+                  return current;
+                }
+                if (current != null) {
+                  closeLater(current);
+                }
+                return createFileIO(scopeUri);
+              });
+    }
+    return pooled.fileIO();
+  }
+
+  private boolean isUsable(PooledFileIO pooled, long now) {
+    long lifetimeMillis = Math.max(0, pooled.expiresAtMillis() - pooled.createdAtMillis());
+    long requiredMillis = Math.min(minRemainingMillis, lifetimeMillis / 2);
+    return pooled.expiresAtMillis() - now > requiredMillis;
+  }
+
+  private void evictExpired(long now) {
+    fileIOs.forEach(
+        (scope, pooled) -> {
+          if (!isUsable(pooled, now) && fileIOs.remove(scope, pooled)) {
+            closeLater(pooled);
+          }
+        });
+  }
+
+  private static void closeLater(PooledFileIO pooled) {
+    CLOSE_EXECUTOR.schedule(
+        () -> {
+          try {
+            pooled.fileIO().close();
+          } catch (RuntimeException e) {
+            LOGGER.warn("Failed to close FileIO", e);
+          }
+        },
+        CLOSE_DELAY_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the location credentials are vended for: the directory of the file, which holds all
+   * the metadata files of a table.
+   */
+  private static URI getCredentialScope(URI locationUri) {
+    String path = locationUri.getPath();
+    int lastSlash = path == null ? -1 : path.lastIndexOf('/');
+    if (lastSlash <= 0) {
+      return locationUri;
+    }
+    String storageBase = locationUri.getScheme() + "://" + locationUri.getAuthority();
+    return URI.create(storageBase + path.substring(0, lastSlash));
+  }
+
+  private PooledFileIO createFileIO(URI scopeUri) {
+    return switch (scopeUri.getScheme()) {
+      case URI_SCHEME_ABFS, URI_SCHEME_ABFSS -> getADLSFileIO(scopeUri);
+      case URI_SCHEME_GS -> getGCSFileIO(scopeUri);
+      case URI_SCHEME_S3 -> getS3FileIO(scopeUri);
+      default -> throw new IllegalArgumentException("Unsupported scheme: " + scopeUri);
     };
   }
 
-  protected ADLSFileIO getADLSFileIO(URI tableLocationUri) {
+  private PooledFileIO getADLSFileIO(URI tableLocationUri) {
     CredentialContext credentialContext = getCredentialContextFromTableLocation(tableLocationUri);
     AzureCredential credential = cloudCredentialVendor.vendAzureCredential(credentialContext);
     ADLSLocationUtils.ADLSLocationParts locationParts =
         ADLSLocationUtils.parseLocation(tableLocationUri.toString());
 
-    // NOTE: when fileio caching is implemented, need to set/deal with expiry here
     Map<String, String> properties =
         Map.of(AzureProperties.ADLS_SAS_TOKEN_PREFIX + locationParts.account(),
             credential.getSasToken());
 
     ADLSFileIO result = new ADLSFileIO();
     result.initialize(properties);
-    return result;
+    return new PooledFileIO(result, credential.getExpirationTimeInEpochMillis());
   }
 
   @SneakyThrows
-  protected GCSFileIO getGCSFileIO(URI tableLocationUri) {
+  private PooledFileIO getGCSFileIO(URI tableLocationUri) {
     CredentialContext credentialContext = getCredentialContextFromTableLocation(tableLocationUri);
     AccessToken gcpToken = cloudCredentialVendor.vendGcpToken(credentialContext);
 
-    // NOTE: when fileio caching is implemented, need to set/deal with expiry here
     Map<String, String> properties =
         Map.of(GCPProperties.GCS_OAUTH2_TOKEN, gcpToken.getTokenValue());
 
     GCSFileIO result = new GCSFileIO();
     result.initialize(properties);
-    return result;
+    long expiresAtMillis = gcpToken.getExpirationTime() != null
+        ? gcpToken.getExpirationTime().getTime()
+        : System.currentTimeMillis() + MAX_LIFETIME_MILLIS;
+    return new PooledFileIO(result, expiresAtMillis);
   }
 
-  protected S3FileIO getS3FileIO(URI tableLocationUri) {
+  private PooledFileIO getS3FileIO(URI tableLocationUri) {
     CredentialContext context = getCredentialContextFromTableLocation(tableLocationUri);
     S3StorageConfig s3StorageConfig = s3Configurations.get(context.getStorageBase());
 
-    S3FileIO s3FileIO =
-        new S3FileIO(() -> getS3Client(getAwsCredentialsProvider(context),
-            s3StorageConfig.getRegion()));
+    long expiresAtMillis = System.currentTimeMillis() + MAX_LIFETIME_MILLIS;
+    AwsCredentialsProvider awsCredentialsProvider;
+    try {
+      Credentials awsSessionCredentials = cloudCredentialVendor.vendAwsCredential(context);
+      awsCredentialsProvider = StaticCredentialsProvider.create(
+          AwsSessionCredentials.create(
+              awsSessionCredentials.accessKeyId(),
+              awsSessionCredentials.secretAccessKey(),
+              awsSessionCredentials.sessionToken()));
+      if (awsSessionCredentials.expiration() != null) {
+        expiresAtMillis = awsSessionCredentials.expiration().toEpochMilli();
+      }
+    } catch (BaseException e) {
+      awsCredentialsProvider = DefaultCredentialsProvider.create();
+    }
 
+    SdkHttpClient httpClient =
+        s3HttpClients.computeIfAbsent(context.getStorageBase(), base -> ApacheHttpClient.create());
+    S3Client s3Client =
+        getS3Client(awsCredentialsProvider, s3StorageConfig.getRegion(), httpClient);
+    S3FileIO s3FileIO = new S3FileIO(() -> s3Client);
     s3FileIO.initialize(Map.of());
-
-    return s3FileIO;
+    return new PooledFileIO(s3FileIO, expiresAtMillis);
   }
 
-  protected S3Client getS3Client(AwsCredentialsProvider awsCredentialsProvider, String region) {
+  protected S3Client getS3Client(
+      AwsCredentialsProvider awsCredentialsProvider, String region, SdkHttpClient httpClient) {
+    // The HTTP client is shared by the S3 clients of the bucket, and is not closed with them.
     return S3Client.builder()
         .region(Region.of(region))
         .credentialsProvider(awsCredentialsProvider)
+        .httpClient(httpClient)
         .forcePathStyle(false)
         .build();
   }
 
-  private AwsCredentialsProvider getAwsCredentialsProvider(CredentialContext context) {
-    try {
-      Credentials awsSessionCredentials = cloudCredentialVendor.vendAwsCredential(context);
-      return StaticCredentialsProvider.create(
-          AwsSessionCredentials.create(
-              awsSessionCredentials.accessKeyId(),
-              awsSessionCredentials.secretAccessKey(),
-              awsSessionCredentials.sessionToken()));
-    } catch (BaseException e) {
-      return DefaultCredentialsProvider.create();
-    }
-  }
-
   private CredentialContext getCredentialContextFromTableLocation(URI tableLocationUri) {
     // FIXME!! privileges are defaulted to READ only here for now as Iceberg REST impl doesn't
     // support write
@@ -125,4 +255,3 @@ public class FileIOFactory {
         Set.of(CredentialContext.Privilege.SELECT));
   }
 }
-
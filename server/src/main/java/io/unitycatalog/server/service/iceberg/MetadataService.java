@@ -1,25 +1,60 @@
 package io.unitycatalog.server.service.iceberg;
 
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.util.concurrent.CompletableFuture;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 import org.apache.iceberg.TableMetadata;
 import org.apache.iceberg.TableMetadataParser;
+import org.apache.iceberg.exceptions.RuntimeIOException;
 import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.io.InputFile;
 
 public class MetadataService {
 
   private final FileIOFactory fileIOFactory;
+  private final TableMetadataCache metadataCache;
 
   public MetadataService(FileIOFactory fileIOFactory) {
+    this(fileIOFactory, new ServerProperties());
+  }
+
+  public MetadataService(FileIOFactory fileIOFactory, ServerProperties serverProperties) {
     this.fileIOFactory = fileIOFactory;
+    String spillDirectory = serverProperties.get(Property.ICEBERG_METADATA_CACHE_SPILL_DIRECTORY);
+    this.metadataCache =
+        new TableMetadataCache(
+            serverProperties.getLong(Property.ICEBERG_METADATA_CACHE_MAX_BYTES),
+            spillDirectory != null && !spillDirectory.isEmpty() ? Path.of(spillDirectory) : null,
+            serverProperties.getLong(Property.ICEBERG_METADATA_CACHE_SPILL_MAX_BYTES));
   }
 
   public TableMetadata readTableMetadata(String metadataLocation) {
+    return metadataCache.get(metadataLocation, this::readMetadataFile);
+  }
+
+  public TableMetadataCache.Stats getCacheStats() {
+    return metadataCache.stats();
+  }
+
+  private TableMetadataCache.MetadataFile readMetadataFile(String metadataLocation) {
     URI metadataLocationUri = URI.create(metadataLocation);
-    // TODO: cache fileIO
+    // The FileIO is pooled by the factory, so it is not closed here.
     FileIO fileIO = fileIOFactory.getFileIO(metadataLocationUri);
-
-    return CompletableFuture.supplyAsync(() -> TableMetadataParser.read(fileIO, metadataLocation))
-        .join();
+    InputFile inputFile = fileIO.newInputFile(metadataLocation);
+    boolean gzipped =
+        TableMetadataParser.Codec.fromFileName(metadataLocation)
+            == TableMetadataParser.Codec.GZIP;
+    try (InputStream stream =
+        gzipped ? new GZIPInputStream(inputFile.newStream()) : inputFile.newStream()) {
+      return new TableMetadataCache.MetadataFile(
+          inputFile.location(), new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new RuntimeIOException(e, "Failed to read file: %s", metadataLocation);
+    }
   }
 }
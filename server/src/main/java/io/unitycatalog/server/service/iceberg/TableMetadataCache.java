@@ -0,0 +1,317 @@
+package io.unitycatalog.server.service.iceberg;
+
+import com.google.common.base.Utf8;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.TableMetadataParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches parsed Iceberg table metadata by metadata location.
+ *
+ * <p>Metadata files are never modified once written, so a cached entry never goes stale. Entries
+ * are weighed by an estimate of the memory they take, {@value #PARSED_SIZE_FACTOR} times the size
+ * of their JSON in UTF-8, and the least recently used ones are evicted once the total exceeds
+ * {@code maxWeightBytes}. With a spill directory, the JSON of every loaded entry is also kept on
+ * local disk, up to {@code maxSpillBytes}, so that entries evicted from memory are parsed again
+ * without downloading them from object storage. A spill file holds the location of the metadata
+ * file on its first line, followed by the JSON, and is written to a temporary file first;
+ * temporary files left behind by a crash are deleted on startup. Concurrent requests for a location
+ * that is not cached wait for a single load.
+ */
+public class TableMetadataCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TableMetadataCache.class);
+
+  private static final String SPILL_FILE_SUFFIX = ".metadata.json";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  // Parsed metadata takes several times the size of its JSON: every snapshot, schema field and
+  // property becomes objects and strings of its own.
+  static final int PARSED_SIZE_FACTOR = 4;
+
+  /** Counters of the cache, for monitoring. */
+  public record Stats(long hits, long spillHits, long misses, long weightBytes, long spillBytes) {}
+
+  /**
+   * A metadata file as read from storage.
+   *
+   * @param location the location of the file, as reported by its FileIO
+   */
+  public record MetadataFile(String location, String json) {}
+
+  private record Entry(TableMetadata metadata, long weight) {}
+
+  private final long maxWeightBytes;
+  private final Path spillDirectory;
+  private final long maxSpillBytes;
+
+  // Both maps are in access order, so that iteration starts at the least recently used entry, and
+  // are guarded by this cache.
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final LinkedHashMap<String, Long> spillFiles = new LinkedHashMap<>(16, 0.75f, true);
+  private long weightBytes = 0;
+  private long spillBytes = 0;
+
+  private final Map<String, CompletableFuture<TableMetadata>> loading = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder spillHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param spillDirectory the directory to keep metadata JSON in, or null to only cache in memory
+   */
+  public TableMetadataCache(long maxWeightBytes, Path spillDirectory, long maxSpillBytes) {
+    this.maxWeightBytes = maxWeightBytes;
+    this.spillDirectory = maxSpillBytes > 0 ? spillDirectory : null;
+    this.maxSpillBytes = maxSpillBytes;
+    if (this.spillDirectory != null) {
+      loadSpillFiles();
+    }
+  }
+
+  /**
+   * Returns the metadata at the given location.
+   *
+   * @param reader reads the metadata file at a location, on a cache miss
+   */
+  public TableMetadata get(String metadataLocation, Function<String, MetadataFile> reader) {
+    if (maxWeightBytes <= 0 && spillDirectory == null) {
+      MetadataFile file = reader.apply(metadataLocation);
+      return TableMetadataParser.fromJson(file.location(), file.json());
+    }
+    synchronized (this) {
+      Entry entry = entries.get(metadataLocation);
+      if (entry != null) {
+        hits.increment();
+        return entry.metadata();
+      }
+    }
+
+    CompletableFuture<TableMetadata> future = new CompletableFuture<>();
+    CompletableFuture<TableMetadata> existing = loading.putIfAbsent(metadataLocation, future);
+    if (existing != null) {
+      // Another request is already loading this location.
+      return join(existing);
+    }
+    try {
+      TableMetadata metadata = load(metadataLocation, reader);
+      future.complete(metadata);
+      return metadata;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      loading.remove(metadataLocation, future);
+    }
+  }
+
+  public synchronized Stats stats() {
+    return new Stats(hits.sum(), spillHits.sum(), misses.sum(), weightBytes, spillBytes);
+  }
+
+  private TableMetadata load(String metadataLocation, Function<String, MetadataFile> reader) {
+    String spillFileName = spillDirectory != null ? spillFileName(metadataLocation) : null;
+    MetadataFile spilled = spillFileName != null ? readSpillFile(spillFileName) : null;
+    if (spilled != null) {
+      try {
+        TableMetadata metadata = TableMetadataParser.fromJson(spilled.location(), spilled.json());
+        spillHits.increment();
+        put(metadataLocation, new Entry(metadata, weigh(spilled.json())));
+        return metadata;
+      } catch (RuntimeException e) {
+        LOGGER.warn("Discarding unreadable spilled metadata {}", spillFileName, e);
+        discardSpillFile(spillFileName);
+      }
+    }
+    misses.increment();
+    MetadataFile file = reader.apply(metadataLocation);
+    if (spillFileName != null) {
+      writeSpillFile(spillFileName, file);
+    }
+    TableMetadata metadata = TableMetadataParser.fromJson(file.location(), file.json());
+    put(metadataLocation, new Entry(metadata, weigh(file.json())));
+    return metadata;
+  }
+
+  /** Returns the estimated memory taken by the metadata parsed from the given JSON. */
+  static long weigh(String json) {
+    return (long) Utf8.encodedLength(json) * PARSED_SIZE_FACTOR;
+  }
+
+  private synchronized void put(String metadataLocation, Entry entry) {
+    if (entry.weight() > maxWeightBytes) {
+      return;
+    }
+    Entry previous = entries.put(metadataLocation, entry);
+    weightBytes += entry.weight() - (previous != null ? previous.weight() : 0);
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (weightBytes > maxWeightBytes && iterator.hasNext()) {
+      weightBytes -= iterator.next().weight();
+      iterator.remove();
+    }
+  }
+
+  private MetadataFile readSpillFile(String spillFileName) {
+    synchronized (this) {
+      if (spillFiles.get(spillFileName) == null) {
+        return null;
+      }
+    }
+    try {
+      String content =
+          Files.readString(spillDirectory.resolve(spillFileName), StandardCharsets.UTF_8);
+      int newline = content.indexOf('\n');
+      if (newline < 0) {
+        // Not a complete spill file; read the metadata from storage instead.
+        LOGGER.warn("Discarding spilled metadata {} without a location line", spillFileName);
+        discardSpillFile(spillFileName);
+        return null;
+      }
+      return new MetadataFile(content.substring(0, newline), content.substring(newline + 1));
+    } catch (IOException e) {
+      // The file was evicted meanwhile, or is unreadable; read the metadata from storage instead.
+      LOGGER.debug("Failed to read spilled metadata {}", spillFileName, e);
+      discardSpillFile(spillFileName);
+      return null;
+    }
+  }
+
+  private void discardSpillFile(String spillFileName) {
+    synchronized (this) {
+      Long size = spillFiles.remove(spillFileName);
+      if (size != null) {
+        spillBytes -= size;
+      }
+    }
+    try {
+      Files.deleteIfExists(spillDirectory.resolve(spillFileName));
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete spilled metadata {}", spillFileName, e);
+    }
+  }
+
+  private void writeSpillFile(String spillFileName, MetadataFile file) {
+    byte[] bytes = (file.location() + "\n" + file.json()).getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > maxSpillBytes) {
+      return;
+    }
+    try {
+      Path tempFile = Files.createTempFile(spillDirectory, spillFileName, TEMP_FILE_SUFFIX);
+      Files.write(tempFile, bytes);
+      Files.move(
+          tempFile, spillDirectory.resolve(spillFileName), StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to spill metadata to {}", spillDirectory, e);
+      return;
+    }
+    List<String> evicted = new ArrayList<>();
+    synchronized (this) {
+      Long previous = spillFiles.put(spillFileName, (long) bytes.length);
+      spillBytes += bytes.length - (previous != null ? previous : 0);
+      Iterator<Map.Entry<String, Long>> iterator = spillFiles.entrySet().iterator();
+      while (spillBytes > maxSpillBytes && iterator.hasNext()) {
+        Map.Entry<String, Long> eldest = iterator.next();
+        spillBytes -= eldest.getValue();
+        evicted.add(eldest.getKey());
+        iterator.remove();
+      }
+    }
+    for (String fileName : evicted) {
+      try {
+        Files.deleteIfExists(spillDirectory.resolve(fileName));
+      } catch (IOException e) {
+        LOGGER.warn("Failed to delete spilled metadata {}", fileName, e);
+      }
+    }
+  }
+
+  /**
+   * Registers the files spilled before a restart, oldest first, since they remain valid, and
+   * deletes the temporary files of spills that were cut off by a crash.
+   */
+  private void loadSpillFiles() {
+    try {
+      Files.createDirectories(spillDirectory);
+      List<Path> files;
+      List<Path> tempFiles;
+      try (Stream<Path> stream = Files.list(spillDirectory)) {
+        List<Path> all = stream.toList();
+        files =
+            all.stream()
+                .filter(path -> path.getFileName().toString().endsWith(SPILL_FILE_SUFFIX))
+                .sorted(Comparator.comparingLong(TableMetadataCache::lastModified))
+                .toList();
+        tempFiles =
+            all.stream()
+                .filter(path -> path.getFileName().toString().endsWith(TEMP_FILE_SUFFIX))
+                .toList();
+      }
+      for (Path tempFile : tempFiles) {
+        Files.deleteIfExists(tempFile);
+      }
+      for (Path file : files) {
+        long size = Files.size(file);
+        spillFiles.put(file.getFileName().toString(), size);
+        spillBytes += size;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to open the metadata spill directory " + spillDirectory, e);
+    }
+  }
+
+  private static long lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static String spillFileName(String metadataLocation) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(metadataLocation.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash) + SPILL_FILE_SUFFIX;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static TableMetadata join(CompletableFuture<TableMetadata> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // Rethrow what the reader threw, as if it had been called directly.
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package io.unitycatalog.server.utils;
+
+import com.linecorp.armeria.server.ServiceRequestContext;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The executor that requests do their blocking work on: reading and writing the database,
+ * authorizing and calling cloud providers. Armeria serves all connections from a few event loop
+ * threads, so none of this work may run on them.
+ *
+ * <p>It is a pool of at most the configured number of platform threads, and further tasks are
+ * queued, since the database and cloud providers only serve so many requests at once. Annotated
+ * services are {@code @Blocking}, so Armeria calls them on this executor; decorators move only
+ * their own blocking work to it with {@link #supplyOffEventLoop}.
+ */
+public class BlockingExecutor implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BlockingExecutor.class);
+
+  private static final String THREAD_NAME_PREFIX = "uc-blocking-";
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  /** Counters of the executor, for monitoring. */
+  public record Stats(int threads, int activeTasks, long queuedTasks, long completedTasks) {}
+
+  private final ScheduledThreadPoolExecutor executor;
+
+  public BlockingExecutor(ServerProperties serverProperties) {
+    long threads = serverProperties.getLong(Property.BLOCKING_EXECUTOR_THREADS);
+    if (threads <= 0 || threads > Integer.MAX_VALUE) {
+      throw new BaseException(
+          ErrorCode.INVALID_ARGUMENT,
+          "Invalid value for server property '"
+              + Property.BLOCKING_EXECUTOR_THREADS.getKey()
+              + "': "
+              + threads);
+    }
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ScheduledThreadPoolExecutor(
+            (int) threads,
+            r -> {
+              Thread thread = new Thread(r, THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    executor.allowCoreThreadTimeOut(true);
+    executor.setRemoveOnCancelPolicy(true);
+    LOGGER.info("Running blocking tasks on up to {} threads.", threads);
+  }
+
+  /**
+   * Runs blocking work of a request, such as a database lookup, off the event loop. From the event
+   * loop, the work is handed to the blocking task executor; from any other thread, it runs right
+   * away, so a request is never dispatched to the executor twice in a row. Anything the work
+   * throws, errors included, fails the returned future, so the request never waits forever.
+   */
+  public static <T> CompletableFuture<T> supplyOffEventLoop(
+      ServiceRequestContext ctx, Supplier<T> work) {
+    if (ctx.eventLoop().inEventLoop()) {
+      // Unlike supplyAsync, fails the future with the exception itself rather than wrapping it.
+      CompletableFuture<T> future = new CompletableFuture<>();
+      ctx.blockingTaskExecutor()
+          .execute(
+              () -> {
+                try {
+                  future.complete(work.get());
+                } catch (Throwable e) {
+                  future.completeExceptionally(e);
+                }
+              });
+      return future;
+    }
+    try {
+      return CompletableFuture.completedFuture(work.get());
+    } catch (Throwable e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  public ScheduledExecutorService executor() {
+    return executor;
+  }
+
+  public Stats stats() {
+    return new Stats(
+        executor.getPoolSize(),
+        executor.getActiveCount(),
+        executor.getQueue().size(),
+        executor.getCompletedTaskCount());
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+}
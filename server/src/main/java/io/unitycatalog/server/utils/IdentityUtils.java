@@ -3,6 +3,7 @@ package io.unitycatalog.server.utils;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.linecorp.armeria.server.ServiceRequestContext;
+import io.unitycatalog.control.model.User;
 import io.unitycatalog.server.security.JwtClaim;
 import io.unitycatalog.server.service.AuthDecorator;
 
@@ -18,4 +19,9 @@ public class IdentityUtils {
       return null;
     }
   }
+
+  /** Returns the user the current request was authenticated as, or null if not authenticated. */
+  public static User findPrincipal() {
+    return ServiceRequestContext.current().attr(AuthDecorator.PRINCIPAL_ATTR);
+  }
 }
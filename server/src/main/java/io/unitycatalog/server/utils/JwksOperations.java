@@ -3,8 +3,9 @@ package io.unitycatalog.server.utils;
 import static io.unitycatalog.server.security.SecurityContext.Issuers.INTERNAL;
 
 import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
-import com.auth0.jwk.JwkProviderBuilder;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
@@ -16,33 +17,83 @@ import io.unitycatalog.server.exception.OAuthInvalidClientException;
 import io.unitycatalog.server.exception.OAuthInvalidRequestException;
 import io.unitycatalog.server.security.SecurityContext;
 import java.net.URI;
-import java.nio.file.Path;
+import java.net.URL;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.SneakyThrows;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Resolves the verifier for the signing key of a token issuer.
+ *
+ * <p>The signing keys of every issuer are fetched once, along with its OIDC discovery document, and
+ * the verifier of each key is built on first use, so verifying a token usually involves no I/O.
+ * Keys older than the refresh interval keep being served while they are refetched in the
+ * background. A key id that is not known yet triggers an immediate refetch, to pick up rotated
+ * keys, but the keys of an issuer are never fetched more than once per minimum refetch interval.
+ */
 public class JwksOperations {
 
+  private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(15);
+  private static final Duration MIN_REFETCH_INTERVAL = Duration.ofSeconds(30);
+
+  private static final ExecutorService REFRESH_EXECUTOR =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
   private final WebClient webClient = WebClient.builder().build();
   private static final ObjectMapper mapper = new ObjectMapper();
   private final SecurityContext securityContext;
+  private final long refreshIntervalNanos;
+  private final long minRefetchIntervalNanos;
+  private final Map<String, IssuerKeys> issuerKeys = new ConcurrentHashMap<>();
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JwksOperations.class);
 
   public JwksOperations(SecurityContext securityContext) {
+    this(securityContext, REFRESH_INTERVAL, MIN_REFETCH_INTERVAL);
+  }
+
+  JwksOperations(
+      SecurityContext securityContext, Duration refreshInterval, Duration minRefetchInterval) {
     this.securityContext = securityContext;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+    this.minRefetchIntervalNanos = minRefetchInterval.toNanos();
   }
 
   @SneakyThrows
   public JWTVerifier verifierForIssuerAndKey(String issuer, String keyId) {
-    JwkProvider jwkProvider = loadJwkProvider(issuer);
-    Jwk jwk = jwkProvider.get(keyId);
+    IssuerKeys keys = issuerKeys.computeIfAbsent(issuer, IssuerKeys::new);
+    try {
+      return keys.verifierFor(keyId);
+    } catch (Exception e) {
+      // Only remember issuers whose keys could be loaded, so that tokens from unknown issuers
+      // don't accumulate.
+      if (!keys.isLoaded()) {
+        issuerKeys.remove(issuer, keys);
+      }
+      throw e;
+    }
+  }
 
+  @SneakyThrows
+  private static JWTVerifier buildVerifier(String issuer, Jwk jwk) {
     if (!"RSA".equalsIgnoreCase(jwk.getPublicKey().getAlgorithm())) {
-      throw new OAuthInvalidRequestException(ErrorCode.ABORTED,
-          String.format("Invalid algorithm '%s' for issuer '%s'",
+      throw new OAuthInvalidRequestException(
+          ErrorCode.ABORTED,
+          String.format(
+              "Invalid algorithm '%s' for issuer '%s'",
               jwk.getPublicKey().getAlgorithm(), issuer));
     }
 
@@ -52,24 +103,23 @@ public class JwksOperations {
   }
 
   @SneakyThrows
-  private Algorithm algorithmForJwk(Jwk jwk) {
+  private static Algorithm algorithmForJwk(Jwk jwk) {
     return switch (jwk.getAlgorithm()) {
       case "RS256" -> Algorithm.RSA256((RSAPublicKey) jwk.getPublicKey(), null);
       case "RS384" -> Algorithm.RSA384((RSAPublicKey) jwk.getPublicKey(), null);
       case "RS512" -> Algorithm.RSA512((RSAPublicKey) jwk.getPublicKey(), null);
-      default -> throw new OAuthInvalidClientException(ErrorCode.ABORTED,
-          String.format("Unsupported algorithm: %s", jwk.getAlgorithm()));
+      default -> throw new OAuthInvalidClientException(
+          ErrorCode.ABORTED, String.format("Unsupported algorithm: %s", jwk.getAlgorithm()));
     };
   }
 
   @SneakyThrows
-  public JwkProvider loadJwkProvider(String issuer) {
-    LOGGER.debug("Loading JwkProvider for issuer '{}'", issuer);
+  private URL jwksUrl(String issuer) {
+    LOGGER.debug("Loading JWKS location for issuer '{}'", issuer);
     if (issuer.equals(INTERNAL)) {
       // Return our own "self-signed" provider, for easy mode.
       // TODO: This should be configurable
-      Path certsFile = securityContext.getCertsFile();
-      return new JwkProviderBuilder(certsFile.toUri().toURL()).cached(false).build();
+      return securityContext.getCertsFile().toUri().toURL();
     } else {
       // Get the JWKS from the OIDC well-known location described here
       // https://openid.net/specs/openid-connect-discovery-1_0-21.html#ProviderConfig
@@ -87,35 +137,112 @@ public class JwksOperations {
       var path = wellKnownConfigUrl + ".well-known/openid-configuration";
       LOGGER.debug("path: {}", path);
 
-      String response = webClient
-          .get(path)
-          .aggregate()
-          .join()
-          .contentUtf8();
+      String response = webClient.get(path).aggregate().join().contentUtf8();
 
-      // TODO: We should cache this. No need to fetch it each time.
       Map<String, Object> configMap = mapper.readValue(response, new TypeReference<>() {});
 
       if (configMap == null || configMap.isEmpty()) {
-        throw new OAuthInvalidRequestException(ErrorCode.ABORTED,
-            "Could not get issuer configuration");
+        throw new OAuthInvalidRequestException(
+            ErrorCode.ABORTED, "Could not get issuer configuration");
       }
 
       String configIssuer = (String) configMap.get("issuer");
       String configJwksUri = (String) configMap.get("jwks_uri");
 
-      if (!configIssuer.equals(issuer)) {
-        throw new OAuthInvalidRequestException(ErrorCode.ABORTED,
-            "Issuer doesn't match configuration");
+      if (!issuer.equals(configIssuer)) {
+        throw new OAuthInvalidRequestException(
+            ErrorCode.ABORTED, "Issuer doesn't match configuration");
       }
 
       if (configJwksUri == null) {
         throw new OAuthInvalidRequestException(ErrorCode.ABORTED, "JWKS configuration missing");
       }
 
-      // TODO: Or maybe just cache the provider for reuse.
-      return new JwkProviderBuilder(URI.create(configJwksUri).toURL()).cached(false).build();
+      return URI.create(configJwksUri).toURL();
     }
   }
-}
 
+  /** The signing keys fetched at some point, and the verifiers built from them so far. */
+  private record KeySet(
+      URL jwksUrl, Map<String, Jwk> jwks, Map<Jwk, JWTVerifier> verifiers, long fetchedAtNanos) {}
+
+  /** The cached signing keys of one issuer. */
+  private class IssuerKeys {
+    private final String issuer;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile KeySet keySet;
+    private volatile long lastFetchNanos;
+
+    IssuerKeys(String issuer) {
+      this.issuer = issuer;
+    }
+
+    boolean isLoaded() {
+      return keySet != null;
+    }
+
+    JWTVerifier verifierFor(String keyId) throws JwkException {
+      KeySet current = keySet;
+      if (current == null) {
+        current = refetch(null);
+      } else if (System.nanoTime() - current.fetchedAtNanos() > refreshIntervalNanos) {
+        refreshInBackground();
+      }
+      Jwk jwk = current.jwks().get(keyId);
+      if (jwk == null) {
+        // The issuer may have rotated its keys since they were fetched.
+        current = refetch(current);
+        jwk = current.jwks().get(keyId);
+        if (jwk == null) {
+          throw new SigningKeyNotFoundException("No key found for kid " + keyId, null);
+        }
+      }
+      return current.verifiers().computeIfAbsent(jwk, key -> buildVerifier(issuer, key));
+    }
+
+    /**
+     * Fetches the keys again unless another thread already did since {@code seen} was read, or they
+     * were fetched too recently.
+     */
+    private synchronized KeySet refetch(KeySet seen) throws JwkException {
+      KeySet current = keySet;
+      if (current != seen
+          || (current != null && System.nanoTime() - lastFetchNanos < minRefetchIntervalNanos)) {
+        return current;
+      }
+      keySet = fetch(current == null ? null : current.jwksUrl());
+      return keySet;
+    }
+
+    private void refreshInBackground() {
+      if (System.nanoTime() - lastFetchNanos < minRefetchIntervalNanos
+          || !refreshing.compareAndSet(false, true)) {
+        return;
+      }
+      REFRESH_EXECUTOR.execute(
+          () -> {
+            try {
+              synchronized (this) {
+                // Discover the JWKS location again, in case the issuer moved it.
+                keySet = fetch(null);
+              }
+            } catch (Exception e) {
+              LOGGER.warn("Failed to refresh signing keys for issuer '{}'", issuer, e);
+            } finally {
+              refreshing.set(false);
+            }
+          });
+    }
+
+    private KeySet fetch(URL knownJwksUrl) throws JwkException {
+      lastFetchNanos = System.nanoTime();
+      URL jwksUrl = knownJwksUrl != null ? knownJwksUrl : jwksUrl(issuer);
+      LOGGER.debug("Fetching signing keys for issuer '{}' from {}", issuer, jwksUrl);
+      Map<String, Jwk> jwks = new HashMap<>();
+      for (Jwk jwk : new UrlJwkProvider(jwksUrl).getAll()) {
+        jwks.putIfAbsent(jwk.getId(), jwk);
+      }
+      return new KeySet(jwksUrl, jwks, new ConcurrentHashMap<>(), System.nanoTime());
+    }
+  }
+}
@@ -26,12 +26,37 @@ public class ServerProperties {
   public enum Property {
     SERVER_ENV("server.env"),
     AUTHORIZATION_ENABLED("server.authorization", "disable"),
+    AUTHORIZATION_BACKEND("server.authorization.backend", "jcasbin"),
+    AUTHORIZATION_CACHE_REFRESH_INTERVAL_MS(
+        "server.authorization.cache.refresh-interval-ms", "1000"),
     AUTHORIZATION_URL("server.authorization-url"),
     TOKEN_URL("server.token-url"),
     CLIENT_ID("server.client-id"),
     CLIENT_SECRET("server.client-secret"),
     REDIRECT_PORT("server.redirect-port"),
     COOKIE_TIMEOUT("server.cookie-timeout", "P5D"),
+    DB_POOL_MAX_SIZE("server.db.pool.max-size", "20"),
+    DB_POOL_MIN_IDLE("server.db.pool.min-idle", "2"),
+    DB_POOL_CONNECTION_TIMEOUT_MS("server.db.pool.connection-timeout-ms", "30000"),
+    DB_POOL_LEAK_DETECTION_THRESHOLD_MS("server.db.pool.leak-detection-threshold-ms", "0"),
+    DB_POOL_STATEMENT_CACHE_SIZE("server.db.pool.statement-cache-size", "250"),
+    BLOCKING_EXECUTOR_THREADS("server.blocking-executor.threads", "200"),
+    PRINCIPAL_CACHE_TTL_MS("server.principal-cache.ttl-ms", "60000"),
+    PRINCIPAL_CACHE_MAX_SIZE("server.principal-cache.max-size", "10000"),
+    CREDENTIAL_CACHE_MAX_SIZE("server.credential-cache.max-size", "10000"),
+    CREDENTIAL_CACHE_MIN_REMAINING_MS("server.credential-cache.min-remaining-ms", "900000"),
+    CREDENTIAL_CACHE_REFRESH_AHEAD_MS("server.credential-cache.refresh-ahead-ms", "1800000"),
+    STORAGE_PURGE_WORKERS("server.storage-purge.workers", "4"),
+    STORAGE_PURGE_POLL_INTERVAL_MS("server.storage-purge.poll-interval-ms", "5000"),
+    STORAGE_PURGE_MAX_BACKOFF_MS("server.storage-purge.max-backoff-ms", "3600000"),
+    STORAGE_PURGE_MAX_ATTEMPTS("server.storage-purge.max-attempts", "20"),
+    ICEBERG_METADATA_CACHE_MAX_BYTES("server.iceberg.metadata-cache.max-bytes", "268435456"),
+    ICEBERG_METADATA_CACHE_SPILL_DIRECTORY("server.iceberg.metadata-cache.spill-directory"),
+    ICEBERG_METADATA_CACHE_SPILL_MAX_BYTES(
+        "server.iceberg.metadata-cache.spill-max-bytes", "2147483648"),
+    PAGE_TOKEN_SECRET("server.page-token.secret"),
+    DELTA_COMMIT_CACHE_MAX_SIZE("server.delta-commit-cache.max-size", "10000"),
+    DELTA_COMMIT_CACHE_TTL_MS("server.delta-commit-cache.ttl-ms", "1000"),
     MANAGED_TABLE_ENABLED("server.managed-table.enabled", "false"),
     MODEL_STORAGE_ROOT("storage-root.models", "file:///tmp/ucroot"),
     TABLE_STORAGE_ROOT("storage-root.tables", "file:///tmp/ucroot"),
@@ -212,6 +237,22 @@ public class ServerProperties {
     return isTrueOrEnable(get(Property.AUTHORIZATION_ENABLED));
   }
 
+  /** Returns whether a property is set to {@code true} or {@code enable}. */
+  public boolean getBoolean(Property property) {
+    return isTrueOrEnable(get(property));
+  }
+
+  public long getLong(Property property) {
+    String value = get(property);
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NullPointerException | NumberFormatException e) {
+      throw new BaseException(
+          ErrorCode.INVALID_ARGUMENT,
+          "Invalid value for server property '" + property.getKey() + "': " + value);
+    }
+  }
+
   /**
    * Check if experimental MANAGED table feature is enabled. This method throws BaseException with
    * ErrorCode.INVALID_ARGUMENT if it's disabled.
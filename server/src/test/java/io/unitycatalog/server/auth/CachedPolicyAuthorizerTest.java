@@ -0,0 +1,245 @@
+package io.unitycatalog.server.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import io.unitycatalog.server.persist.model.Privileges;
+import jakarta.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachedPolicyAuthorizerTest extends BaseDatabaseTest {
+  // Long enough that the background refresh never runs during a test.
+  private static final long REFRESH_INTERVAL_MS = 3_600_000;
+
+  private CachedPolicyAuthorizer authorizer;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    authorizer = new CachedPolicyAuthorizer(hibernateConfigurator, REFRESH_INTERVAL_MS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    authorizer.close();
+  }
+
+  private long countRules(UUID principal, UUID resource) {
+    return execute(
+        session ->
+            ((Number)
+                    session
+                        .createNativeQuery(
+                            "SELECT COUNT(*) FROM casbin_rule "
+                                + "WHERE v0 = :principal AND v1 = :resource")
+                        .setParameter("principal", principal.toString())
+                        .setParameter("resource", resource.toString())
+                        .getSingleResult())
+                .longValue());
+  }
+
+  @Test
+  void testGrantAndRevokeAuthorization() {
+    UUID principal = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+
+    assertThat(authorizer.grantAuthorization(principal, resource, Privileges.SELECT)).isTrue();
+    assertThat(authorizer.grantAuthorization(principal, resource, Privileges.SELECT)).isFalse();
+    assertThat(authorizer.authorize(principal, resource, Privileges.SELECT)).isTrue();
+    assertThat(authorizer.authorize(principal, resource, Privileges.MODIFY)).isFalse();
+
+    assertThat(authorizer.revokeAuthorization(principal, resource, Privileges.SELECT)).isTrue();
+    assertThat(authorizer.authorize(principal, resource, Privileges.SELECT)).isFalse();
+  }
+
+  @Test
+  void testHierarchyInheritance() {
+    UUID principal = UUID.randomUUID();
+    UUID catalog = UUID.randomUUID();
+    UUID schema = UUID.randomUUID();
+    UUID table = UUID.randomUUID();
+
+    authorizer.addHierarchyChild(catalog, schema);
+    authorizer.addHierarchyChild(schema, table);
+    authorizer.grantAuthorization(principal, catalog, Privileges.SELECT);
+    authorizer.grantAuthorization(principal, catalog, Privileges.OWNER);
+
+    assertThat(authorizer.getHierarchyParent(table)).isEqualTo(schema);
+    assertThat(authorizer.authorize(principal, table, Privileges.SELECT)).isTrue();
+    // OWNER is never inherited
+    assertThat(authorizer.authorize(principal, table, Privileges.OWNER)).isFalse();
+    assertThat(authorizer.authorizeAny(principal, table, Privileges.OWNER, Privileges.SELECT))
+        .isTrue();
+    assertThat(authorizer.authorizeAll(principal, table, Privileges.OWNER, Privileges.SELECT))
+        .isFalse();
+
+    authorizer.removeHierarchyChild(schema, table);
+    assertThat(authorizer.authorize(principal, table, Privileges.SELECT)).isFalse();
+    assertThat(authorizer.authorize(principal, schema, Privileges.SELECT)).isTrue();
+
+    authorizer.removeHierarchyChildren(catalog);
+    assertThat(authorizer.authorize(principal, schema, Privileges.SELECT)).isFalse();
+  }
+
+  @Test
+  void testClearAuthorizations() {
+    UUID principal = UUID.randomUUID();
+    UUID principal2 = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+    UUID resource2 = UUID.randomUUID();
+
+    authorizer.grantAuthorization(principal, resource, Privileges.USE_CATALOG);
+    authorizer.grantAuthorization(principal, resource2, Privileges.USE_CATALOG);
+    authorizer.grantAuthorization(principal2, resource, Privileges.USE_CATALOG);
+
+    authorizer.clearAuthorizationsForResource(resource);
+    assertThat(authorizer.authorize(principal, resource, Privileges.USE_CATALOG)).isFalse();
+    assertThat(authorizer.authorize(principal2, resource, Privileges.USE_CATALOG)).isFalse();
+    assertThat(authorizer.authorize(principal, resource2, Privileges.USE_CATALOG)).isTrue();
+
+    authorizer.clearAuthorizationsForPrincipal(principal);
+    assertThat(authorizer.authorize(principal, resource2, Privileges.USE_CATALOG)).isFalse();
+  }
+
+  @Test
+  void testListAuthorizations() {
+    UUID principal = UUID.randomUUID();
+    UUID principal2 = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+
+    assertThat(authorizer.listAuthorizations(principal, resource)).isEmpty();
+    authorizer.grantAuthorization(principal, resource, Privileges.CREATE_CATALOG);
+    authorizer.grantAuthorization(principal, resource, Privileges.USE_CATALOG);
+    authorizer.grantAuthorization(principal2, resource, Privileges.SELECT);
+
+    assertThat(authorizer.listAuthorizations(principal, resource))
+        .containsExactlyInAnyOrder(Privileges.USE_CATALOG, Privileges.CREATE_CATALOG);
+    Map<UUID, List<Privileges>> all = authorizer.listAuthorizations(resource);
+    assertThat(all).containsOnlyKeys(principal, principal2);
+    assertThat(all.get(principal2)).containsExactly(Privileges.SELECT);
+  }
+
+  @Test
+  void testChangesPropagateToOtherInstances() throws Exception {
+    CachedPolicyAuthorizer replica =
+        new CachedPolicyAuthorizer(hibernateConfigurator, REFRESH_INTERVAL_MS);
+    UUID principal = UUID.randomUUID();
+    UUID catalog = UUID.randomUUID();
+    UUID schema = UUID.randomUUID();
+
+    authorizer.addHierarchyChild(catalog, schema);
+    authorizer.grantAuthorization(principal, catalog, Privileges.USE_SCHEMA);
+    assertThat(replica.authorize(principal, schema, Privileges.USE_SCHEMA)).isFalse();
+
+    replica.refresh();
+    assertThat(replica.authorize(principal, schema, Privileges.USE_SCHEMA)).isTrue();
+    assertThat(replica.getHierarchyParent(schema)).isEqualTo(catalog);
+
+    replica.revokeAuthorization(principal, catalog, Privileges.USE_SCHEMA);
+    authorizer.refresh();
+    assertThat(authorizer.authorize(principal, schema, Privileges.USE_SCHEMA)).isFalse();
+
+    // A freshly started instance loads the current state from the policy table.
+    authorizer.grantAuthorization(principal, schema, Privileges.MODIFY);
+    CachedPolicyAuthorizer restarted =
+        new CachedPolicyAuthorizer(hibernateConfigurator, REFRESH_INTERVAL_MS);
+    assertThat(restarted.authorize(principal, schema, Privileges.MODIFY)).isTrue();
+    assertThat(restarted.authorize(principal, schema, Privileges.USE_SCHEMA)).isFalse();
+    replica.close();
+    restarted.close();
+  }
+
+  @Test
+  void testConcurrentGrantsWriteOneRule() throws Exception {
+    UUID principal = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> grants = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        grants.add(
+            executor.submit(
+                () -> authorizer.grantAuthorization(principal, resource, Privileges.SELECT)));
+      }
+      int granted = 0;
+      for (Future<Boolean> grant : grants) {
+        granted += grant.get() ? 1 : 0;
+      }
+      assertThat(granted).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(countRules(principal, resource)).isEqualTo(1);
+
+    assertThat(authorizer.revokeAuthorization(principal, resource, Privileges.SELECT)).isTrue();
+    assertThat(countRules(principal, resource)).isZero();
+  }
+
+  @Test
+  void testMutationsUseThePolicyTable() throws Exception {
+    CachedPolicyAuthorizer replica =
+        new CachedPolicyAuthorizer(hibernateConfigurator, REFRESH_INTERVAL_MS);
+    UUID principal = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+
+    // The replica hasn't refreshed, but its mutations see the rule written by the other instance.
+    authorizer.grantAuthorization(principal, resource, Privileges.SELECT);
+    assertThat(replica.grantAuthorization(principal, resource, Privileges.SELECT)).isFalse();
+    assertThat(countRules(principal, resource)).isEqualTo(1);
+    assertThat(replica.revokeAuthorization(principal, resource, Privileges.SELECT)).isTrue();
+
+    authorizer.refresh();
+    assertThat(authorizer.authorize(principal, resource, Privileges.SELECT)).isFalse();
+    replica.close();
+  }
+
+  @Test
+  void testPolicyTableRejectsDuplicateRules() {
+    UUID principal = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+    authorizer.grantAuthorization(principal, resource, Privileges.SELECT);
+
+    // What a replica that passed the existence check at the same time would insert.
+    try (Session session = sessionFactory.openSession()) {
+      Transaction tx = session.beginTransaction();
+      assertThatThrownBy(
+              () ->
+                  session
+                      .createNativeQuery(
+                          "INSERT INTO casbin_rule (ptype, v0, v1, v2, v3, v4, v5) "
+                              + "VALUES ('p', :principal, :resource, 'SELECT', '', '', '')")
+                      .setParameter("principal", principal.toString())
+                      .setParameter("resource", resource.toString())
+                      .executeUpdate())
+          .isInstanceOf(PersistenceException.class);
+      tx.rollback();
+    }
+    assertThat(countRules(principal, resource)).isEqualTo(1);
+  }
+
+  @Test
+  void testIndexIsRebuiltAfterManyRevokes() {
+    UUID resource = UUID.randomUUID();
+    int sizeBefore = authorizer.indexSize();
+    for (int i = 0; i < 2000; i++) {
+      UUID principal = UUID.randomUUID();
+      authorizer.grantAuthorization(principal, resource, Privileges.SELECT);
+      authorizer.revokeAuthorization(principal, resource, Privileges.SELECT);
+    }
+    assertThat(authorizer.indexSize()).isGreaterThan(sizeBefore + 2000);
+
+    authorizer.refresh();
+    assertThat(authorizer.indexSize()).isLessThanOrEqualTo(sizeBefore);
+  }
+}
@@ -0,0 +1,70 @@
+package io.unitycatalog.server.auth.decorator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.unitycatalog.server.auth.AllowingAuthorizer;
+import io.unitycatalog.server.model.SecurableType;
+import io.unitycatalog.server.service.TableService;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AuthorizationPlanTest {
+
+  private UnityAccessEvaluator evaluator;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    evaluator = new UnityAccessEvaluator(new AllowingAuthorizer());
+  }
+
+  @Test
+  void testPlanForAnnotatedMethod() {
+    List<Method> methods =
+        AuthorizationPlanRegistry.findMethodsByName(TableService.class, "getTable");
+    assertThat(methods).hasSize(1);
+
+    AuthorizationPlan plan = AuthorizationPlan.forMethod(methods.get(0), evaluator);
+    assertThat(plan).isNotNull();
+    assertThat(plan.getMethodName()).isEqualTo("TableService.getTable");
+    assertThat(plan.hasLocators()).isTrue();
+    assertThat(plan.getSystemLocators())
+        .extracting(KeyLocator::getType)
+        .containsExactly(SecurableType.METASTORE);
+    assertThat(plan.getParamLocators())
+        .extracting(KeyLocator::getType, KeyLocator::getKey)
+        .containsExactly(tuple(SecurableType.TABLE, "full_name"));
+    assertThat(plan.getPayloadLocators()).isEmpty();
+  }
+
+  @Test
+  void testPlanForPayloadKeys() {
+    List<Method> methods =
+        AuthorizationPlanRegistry.findMethodsByName(TableService.class, "createTable");
+    AuthorizationPlan plan = AuthorizationPlan.forMethod(methods.get(0), evaluator);
+    assertThat(plan).isNotNull();
+    assertThat(plan.getPayloadLocators())
+        .extracting(KeyLocator::getType)
+        .containsExactlyInAnyOrder(SecurableType.CATALOG, SecurableType.SCHEMA);
+  }
+
+  @Test
+  void testExpressionsAreParsedOnce() {
+    assertThat(evaluator.compile("#permit")).isSameAs(evaluator.compile("#permit"));
+
+    UUID principal = UUID.randomUUID();
+    Map<SecurableType, Object> resourceIds = Map.of(SecurableType.CATALOG, UUID.randomUUID());
+    assertThat(evaluator.evaluate(principal, "#deny", resourceIds)).isFalse();
+    assertThat(
+            evaluator.evaluate(
+                principal, "#authorize(#principal, #catalog, USE_CATALOG)", resourceIds))
+        .isTrue();
+    // The same compiled expression evaluates against the variables of each call.
+    assertThat(evaluator.evaluate(principal, "#catalog != null", resourceIds)).isTrue();
+    assertThat(evaluator.evaluate(principal, "#catalog != null", Map.of())).isFalse();
+  }
+}
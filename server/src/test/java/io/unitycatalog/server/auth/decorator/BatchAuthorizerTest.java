@@ -0,0 +1,131 @@
+package io.unitycatalog.server.auth.decorator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.unitycatalog.server.auth.AllowingAuthorizer;
+import io.unitycatalog.server.model.SecurableType;
+import io.unitycatalog.server.persist.model.Privileges;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class BatchAuthorizerTest {
+
+  private static final String EXPRESSION =
+      """
+      #authorize(#principal, #catalog, OWNER) ||
+      (#authorize(#principal, #schema, USE_SCHEMA) &&
+          #authorize(#principal, #catalog, USE_CATALOG) &&
+          #authorizeAny(#principal, #table, OWNER, SELECT, MODIFY))
+      """;
+
+  @Test
+  void testFilterChecksSharedTermsOncePerPage() throws Exception {
+    UUID principal = UUID.randomUUID();
+    UUID catalog = UUID.randomUUID();
+    UUID schema = UUID.randomUUID();
+    List<UUID> tables = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      tables.add(UUID.randomUUID());
+    }
+
+    CountingAuthorizer authorizer = new CountingAuthorizer();
+    authorizer.grant(catalog, Privileges.USE_CATALOG);
+    authorizer.grant(schema, Privileges.USE_SCHEMA);
+    for (int i = 0; i < tables.size(); i += 2) {
+      authorizer.grant(tables.get(i), i % 4 == 0 ? Privileges.SELECT : Privileges.MODIFY);
+    }
+
+    UnityAccessEvaluator evaluator = new UnityAccessEvaluator(authorizer);
+    List<UUID> entries = new ArrayList<>(tables);
+    evaluator.filter(
+        principal,
+        EXPRESSION,
+        entries,
+        table ->
+            Map.of(
+                SecurableType.CATALOG, catalog,
+                SecurableType.SCHEMA, schema,
+                SecurableType.TABLE, table));
+
+    assertThat(entries).hasSize(50);
+    for (int i = 0; i < tables.size(); i++) {
+      assertThat(entries.contains(tables.get(i))).isEqualTo(i % 2 == 0);
+    }
+    // One batched call per distinct term: catalog OWNER, schema USE_SCHEMA, catalog USE_CATALOG
+    // and the table privileges.
+    assertThat(authorizer.calls).isEqualTo(4);
+  }
+
+  @Test
+  void testEvaluateIsNotBatched() throws Exception {
+    UUID catalog = UUID.randomUUID();
+    CountingAuthorizer authorizer = new CountingAuthorizer();
+    authorizer.grant(catalog, Privileges.OWNER);
+
+    UnityAccessEvaluator evaluator = new UnityAccessEvaluator(authorizer);
+    assertThat(
+            evaluator.evaluate(
+                UUID.randomUUID(), EXPRESSION, Map.of(SecurableType.CATALOG, catalog)))
+        .isTrue();
+    assertThat(authorizer.calls).isEqualTo(1);
+  }
+
+  /** Grants privileges to every principal and counts the authorizer calls. */
+  public static class CountingAuthorizer extends AllowingAuthorizer {
+    private final Set<String> grants = new HashSet<>();
+    private int calls = 0;
+
+    void grant(UUID resource, Privileges privilege) {
+      grants.add(resource + "/" + privilege);
+    }
+
+    private boolean granted(UUID resource, Privileges privilege) {
+      return grants.contains(resource + "/" + privilege);
+    }
+
+    @Override
+    public boolean authorize(UUID principal, UUID resource, Privileges action) {
+      calls++;
+      return granted(resource, action);
+    }
+
+    @Override
+    public boolean authorizeAny(UUID principal, UUID resource, Privileges... actions) {
+      calls++;
+      for (Privileges action : actions) {
+        if (granted(resource, action)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean authorizeAll(UUID principal, UUID resource, Privileges... actions) {
+      calls++;
+      for (Privileges action : actions) {
+        if (!granted(resource, action)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean[] authorizeMany(UUID principal, UUID[] resources, Privileges... actions) {
+      calls++;
+      boolean[] decisions = new boolean[resources.length];
+      for (int i = 0; i < resources.length; i++) {
+        for (Privileges action : actions) {
+          decisions[i] |= granted(resources[i], action);
+        }
+      }
+      return decisions;
+    }
+  }
+}
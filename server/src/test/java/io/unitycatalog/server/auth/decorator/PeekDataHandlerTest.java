@@ -0,0 +1,146 @@
+package io.unitycatalog.server.auth.decorator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.MediaType;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.SecurableType;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class PeekDataHandlerTest {
+
+  private static final List<KeyLocator> LOCATORS =
+      List.of(
+          KeyLocator.builder()
+              .source(KeyLocator.Source.PAYLOAD)
+              .type(SecurableType.CATALOG)
+              .key("catalog_name")
+              .build(),
+          KeyLocator.builder()
+              .source(KeyLocator.Source.PAYLOAD)
+              .type(SecurableType.SCHEMA)
+              .key("table.schema_name")
+              .build());
+
+  @Test
+  void testExtractsKeysAcrossChunks() {
+    StringBuilder columns = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      columns.append(i == 0 ? "" : ",").append("{\"name\":\"col").append(i).append("\"}");
+    }
+    String payload =
+        "{\"columns\":["
+            + columns
+            + "],\"catalog_name\":\"cat\",\"nested\":{\"schema_name\":\"wrong\"},"
+            + "\"table\":{\"properties\":{},\"schema_name\":\"sch\"},\"comment\":\"ignored\"}";
+
+    Map<SecurableType, Object> resourceKeys = new HashMap<>();
+    PeekDataHandler handler = new PeekDataHandler(MediaType.JSON, LOCATORS, resourceKeys);
+
+    byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+    int completedAt = -1;
+    for (int offset = 0; offset < bytes.length; offset += 7) {
+      byte[] chunk = Arrays.copyOfRange(bytes, offset, Math.min(offset + 7, bytes.length));
+      if (handler.processPeekData(HttpData.wrap(chunk))) {
+        assertThat(completedAt).isEqualTo(-1);
+        completedAt = offset;
+      }
+    }
+
+    // Completes with the top level object, so a later duplicate of a key can't be missed.
+    assertThat(completedAt).isGreaterThan(bytes.length - 8);
+    handler.endOfPayload();
+    assertThat(resourceKeys)
+        .containsEntry(SecurableType.CATALOG, "cat")
+        .containsEntry(SecurableType.SCHEMA, "sch");
+  }
+
+  @Test
+  void testMissingKeysResolveToNull() {
+    Map<SecurableType, Object> resourceKeys = new HashMap<>();
+    PeekDataHandler handler = new PeekDataHandler(MediaType.JSON, LOCATORS, resourceKeys);
+
+    assertThat(handler.processPeekData(HttpData.ofUtf8("{\"catalog_name\":"))).isFalse();
+    assertThat(handler.processPeekData(HttpData.ofUtf8("\"cat\", \"other\": [1, 2]}"))).isTrue();
+    assertThat(resourceKeys)
+        .containsEntry(SecurableType.CATALOG, "cat")
+        .containsEntry(SecurableType.SCHEMA, null);
+  }
+
+  @Test
+  void testMalformedPayload() {
+    assertInvalid("{\"catalog_name\" 1}");
+    assertInvalid("[{\"catalog_name\": \"cat\"}]");
+    assertInvalid("\"cat\"");
+  }
+
+  @Test
+  void testDuplicateKeyIsRejected() {
+    // The service binds the last value, so authorizing the first one would authorize the wrong
+    // securable.
+    assertInvalid(
+        "{\"catalog_name\": \"allowed\", \"name\": \"s\", \"catalog_name\": \"victim\"}");
+    assertInvalid(
+        "{\"table\": {\"schema_name\": \"a\", \"schema_name\": \"b\"}, \"catalog_name\": 1}");
+    assertInvalid("{\"table\": {\"schema_name\": \"a\"}, \"table\": {\"schema_name\": \"b\"}}");
+  }
+
+  @Test
+  void testDuplicateOfOtherFieldIsIgnored() {
+    // Only the locator paths are tracked, the service decides about duplicates of other fields.
+    Map<SecurableType, Object> resourceKeys = new HashMap<>();
+    PeekDataHandler handler = new PeekDataHandler(MediaType.JSON, LOCATORS, resourceKeys);
+    String payload =
+        "{\"name\": \"a\", \"name\": \"b\", \"nested\": {\"table\": 1, \"table\": 2},"
+            + " \"table\": {\"comment\": \"x\", \"comment\": \"y\"}, \"catalog_name\": \"cat\"}";
+
+    assertThat(handler.processPeekData(HttpData.ofUtf8(payload))).isTrue();
+    assertThat(resourceKeys).containsEntry(SecurableType.CATALOG, "cat");
+  }
+
+  @Test
+  void testTruncatedPayloadIsRejected() {
+    Map<SecurableType, Object> resourceKeys = new HashMap<>();
+    PeekDataHandler handler = new PeekDataHandler(MediaType.JSON, LOCATORS, resourceKeys);
+
+    assertThat(handler.processPeekData(HttpData.ofUtf8("{\"catalog_name\": \"cat\""))).isFalse();
+    assertThatThrownBy(handler::endOfPayload)
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ARGUMENT);
+
+    PeekDataHandler empty = new PeekDataHandler(MediaType.JSON, LOCATORS, new HashMap<>());
+    assertThatThrownBy(empty::endOfPayload).isInstanceOf(BaseException.class);
+  }
+
+  @Test
+  void testUnsupportedContentTypeIsRejected() {
+    PeekDataHandler handler =
+        new PeekDataHandler(MediaType.PLAIN_TEXT_UTF_8, LOCATORS, new HashMap<>());
+    assertThatThrownBy(() -> handler.processPeekData(HttpData.ofUtf8("{\"catalog_name\": \"c\"}")))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ARGUMENT);
+
+    PeekDataHandler withCharset =
+        new PeekDataHandler(MediaType.JSON_UTF_8, LOCATORS, new HashMap<>());
+    assertThat(withCharset.processPeekData(HttpData.ofUtf8("{\"catalog_name\": \"c\"}"))).isTrue();
+  }
+
+  private static void assertInvalid(String payload) {
+    PeekDataHandler handler = new PeekDataHandler(MediaType.JSON, LOCATORS, new HashMap<>());
+    assertThatThrownBy(
+            () -> {
+              handler.processPeekData(HttpData.ofUtf8(payload));
+              handler.endOfPayload();
+            })
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ARGUMENT);
+  }
+}
@@ -0,0 +1,70 @@
+package io.unitycatalog.server.base;
+
+import io.unitycatalog.server.persist.utils.HibernateConfigurator;
+import io.unitycatalog.server.persist.utils.TransactionManager;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.Map;
+import java.util.Properties;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Base class for tests that use the metadata database directly, without starting a server. Every
+ * test gets a new in-memory database, which is dropped when the test ends.
+ */
+public abstract class BaseDatabaseTest {
+
+  protected ServerProperties serverProperties;
+  protected HibernateConfigurator hibernateConfigurator;
+  protected SessionFactory sessionFactory;
+
+  /** Sets the server properties of the tests, on top of the test environment. */
+  protected void setUpProperties(Properties properties) {}
+
+  @BeforeEach
+  public void setUpDatabase() {
+    Properties properties = new Properties();
+    setUpProperties(properties);
+    serverProperties = testServerProperties(properties);
+    hibernateConfigurator = new HibernateConfigurator(serverProperties);
+    sessionFactory = hibernateConfigurator.getSessionFactory();
+  }
+
+  @AfterEach
+  public void tearDownDatabase() {
+    if (sessionFactory != null) {
+      sessionFactory.close();
+    }
+  }
+
+  /** Returns the server properties of the test environment, with the given ones on top. */
+  protected static ServerProperties testServerProperties(Map<?, ?> overrides) {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    properties.putAll(overrides);
+    return new ServerProperties(properties);
+  }
+
+  /** Runs the operation in a read-write transaction of its own. */
+  protected <R> R execute(TransactionManager.DatabaseOperation<R> operation) {
+    return TransactionManager.executeWithTransaction(
+        sessionFactory, operation, "Failed to access the test database", /* readOnly = */ false);
+  }
+
+  protected void persist(Object entity) {
+    execute(
+        session -> {
+          session.persist(entity);
+          return null;
+        });
+  }
+
+  /** Returns the number of rows of an entity. */
+  protected long count(String entity) {
+    return execute(
+        session ->
+            session.createQuery("SELECT COUNT(*) FROM " + entity, Long.class).uniqueResult());
+  }
+}
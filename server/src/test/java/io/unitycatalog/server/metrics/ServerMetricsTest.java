@@ -0,0 +1,96 @@
+package io.unitycatalog.server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.unitycatalog.server.base.BaseServerTest;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerMetricsTest extends BaseServerTest {
+
+  private static final String CATALOGS_ENDPOINT = "/api/2.1/unity-catalog/catalogs";
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+  private WebClient client;
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+    client = WebClient.of(serverConfig.getServerUrl());
+  }
+
+  @Test
+  public void testRequestsAreAssignedTraceIds() {
+    AggregatedHttpResponse response = client.get(CATALOGS_ENDPOINT).aggregate().join();
+    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+    assertThat(response.headers().get("x-request-id")).isNotBlank();
+
+    RequestHeaders traced =
+        RequestHeaders.builder(HttpMethod.GET, CATALOGS_ENDPOINT)
+            .add("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01")
+            .build();
+    response = client.execute(traced).aggregate().join();
+    assertThat(response.headers().get("x-request-id")).isEqualTo(TRACE_ID);
+
+    traced =
+        RequestHeaders.builder(HttpMethod.GET, CATALOGS_ENDPOINT)
+            .add("x-request-id", "client-request-1")
+            .build();
+    response = client.execute(traced).aggregate().join();
+    assertThat(response.headers().get("x-request-id")).isEqualTo("client-request-1");
+  }
+
+  @Test
+  public void testMetricsEndpoint() {
+    AggregatedHttpResponse created =
+        client
+            .prepare()
+            .post(CATALOGS_ENDPOINT)
+            .content(MediaType.JSON, "{\"name\":\"metrics_catalog\"}")
+            .execute()
+            .aggregate()
+            .join();
+    assertThat(created.status()).isEqualTo(HttpStatus.OK);
+    client.get(CATALOGS_ENDPOINT).aggregate().join();
+
+    AggregatedHttpResponse response = client.get(ServerMetrics.PATH).aggregate().join();
+    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+    assertThat(response.contentUtf8())
+        .contains("uc_http_requests_total")
+        .contains("uc_db_request_statements_count")
+        .contains("uc_db_request_time_seconds")
+        .contains("uc_blocking_executor_")
+        .contains("uc_event_loop_lag_seconds")
+        .contains("jvm_memory_used_bytes");
+  }
+
+  @Test
+  public void testMetersOfAComponentShareOneSnapshot() {
+    record Counts(int pending, int parked) {}
+    AtomicInteger reads = new AtomicInteger();
+    try (ServerMetrics metrics = new ServerMetrics()) {
+      metrics
+          .bind(
+              "uc.test",
+              () -> {
+                reads.incrementAndGet();
+                return new Counts(2, 1);
+              })
+          .gauge("pending", Counts::pending)
+          .gauge("parked", Counts::parked);
+
+      MeterRegistry registry = metrics.registry();
+      assertThat(registry.get("uc.test.pending").gauge().value()).isEqualTo(2);
+      assertThat(registry.get("uc.test.parked").gauge().value()).isEqualTo(1);
+      assertThat(reads).hasValue(1);
+    }
+  }
+}
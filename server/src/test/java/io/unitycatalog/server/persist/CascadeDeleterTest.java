@@ -0,0 +1,145 @@
+package io.unitycatalog.server.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.TableType;
+import io.unitycatalog.server.persist.dao.CatalogInfoDAO;
+import io.unitycatalog.server.persist.dao.ModelVersionInfoDAO;
+import io.unitycatalog.server.persist.dao.PropertyDAO;
+import io.unitycatalog.server.persist.dao.RegisteredModelInfoDAO;
+import io.unitycatalog.server.persist.dao.SchemaInfoDAO;
+import io.unitycatalog.server.persist.dao.TableInfoDAO;
+import io.unitycatalog.server.persist.dao.VolumeInfoDAO;
+import io.unitycatalog.server.utils.Constants;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CascadeDeleterTest extends BaseDatabaseTest {
+
+  private static final String CATALOG = "catalog";
+
+  private Repositories repositories;
+  private CascadeDeleter cascadeDeleter;
+  private UUID catalogId;
+
+  @BeforeEach
+  void setUp() {
+    repositories = new Repositories(sessionFactory, serverProperties);
+    // A small chunk size, so that deleting a few entities takes several chunks.
+    cascadeDeleter = new CascadeDeleter(repositories, sessionFactory, 2);
+    catalogId = UUID.randomUUID();
+    persist(CatalogInfoDAO.builder().id(catalogId).name(CATALOG).createdAt(new Date()).build());
+  }
+
+  private UUID createSchema(String name, int tables) {
+    UUID schemaId = UUID.randomUUID();
+    persist(SchemaInfoDAO.builder().id(schemaId).name(name).catalogId(catalogId).build());
+    PropertyDAO.from(Map.of("key", "value"), schemaId, Constants.SCHEMA).forEach(this::persist);
+    for (int i = 0; i < tables; i++) {
+      UUID tableId = UUID.randomUUID();
+      persist(
+          TableInfoDAO.builder()
+              .id(tableId)
+              .name("table_" + i)
+              .schemaId(schemaId)
+              .type(i == 0 ? TableType.MANAGED.getValue() : TableType.EXTERNAL.getValue())
+              .dataSourceFormat("DELTA")
+              .url("file:///tmp/" + name + "/table_" + i)
+              .build());
+      PropertyDAO.from(Map.of("key", "value"), tableId, Constants.TABLE).forEach(this::persist);
+    }
+    return schemaId;
+  }
+
+  @Test
+  public void testDeleteSchemaRequiresForceWhenNotEmpty() {
+    createSchema("schema", 1);
+    assertThatThrownBy(() -> cascadeDeleter.deleteSchema(CATALOG, "schema", false))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FAILED_PRECONDITION)
+        .hasMessageContaining("Cannot delete schema with tables");
+    assertThat(count("TableInfoDAO")).isEqualTo(1);
+
+    assertThatThrownBy(() -> cascadeDeleter.deleteSchema(CATALOG, "unknown", true))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.NOT_FOUND);
+  }
+
+  @Test
+  public void testDeleteEmptySchemaWithoutForce() {
+    createSchema("schema", 0);
+    createSchema("other", 1);
+
+    CascadeDeleter.Progress progress = cascadeDeleter.deleteSchema(CATALOG, "schema", false);
+
+    assertThat(progress).isEqualTo(new CascadeDeleter.Progress(1, 0, 0, 0, 0));
+    assertThat(count("SchemaInfoDAO")).isEqualTo(1);
+    assertThat(count("TableInfoDAO")).isEqualTo(1);
+    // Only the properties of the other schema and its table remain.
+    assertThat(count("PropertyDAO")).isEqualTo(2);
+  }
+
+  @Test
+  public void testDeleteSchemaDeletesAllChildrenInChunks() {
+    UUID schemaId = createSchema("schema", 5);
+    for (int i = 0; i < 3; i++) {
+      persist(
+          VolumeInfoDAO.builder()
+              .id(UUID.randomUUID())
+              .name("volume_" + i)
+              .schemaId(schemaId)
+              .volumeType("EXTERNAL")
+              .storageLocation("file:///tmp/volume_" + i)
+              .build());
+    }
+    UUID modelId = UUID.randomUUID();
+    persist(RegisteredModelInfoDAO.builder().id(modelId).name("model").schemaId(schemaId).build());
+    for (long version = 1; version <= 3; version++) {
+      persist(
+          ModelVersionInfoDAO.builder()
+              .id(UUID.randomUUID())
+              .registeredModelId(modelId)
+              .version(version)
+              .build());
+    }
+    createSchema("other", 1);
+
+    CascadeDeleter.Progress progress = cascadeDeleter.deleteSchema(CATALOG, "schema", true);
+
+    assertThat(progress).isEqualTo(new CascadeDeleter.Progress(1, 5, 3, 0, 1));
+    assertThat(count("SchemaInfoDAO")).isEqualTo(1);
+    assertThat(count("TableInfoDAO")).isEqualTo(1);
+    assertThat(count("VolumeInfoDAO")).isZero();
+    assertThat(count("RegisteredModelInfoDAO")).isZero();
+    assertThat(count("ModelVersionInfoDAO")).isZero();
+    // Only the properties of the other schema and its table remain.
+    assertThat(count("PropertyDAO")).isEqualTo(2);
+    // The storage of the managed table is queued for deletion.
+    assertThat(repositories.getStoragePurgeRepository().count().pending()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDeleteCatalog() {
+    createSchema("schema1", 3);
+    createSchema("schema2", 0);
+    createSchema("schema3", 1);
+    assertThatThrownBy(() -> cascadeDeleter.deleteCatalog(CATALOG, false))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FAILED_PRECONDITION);
+
+    CascadeDeleter.Progress progress = cascadeDeleter.deleteCatalog(CATALOG, true);
+
+    assertThat(progress).isEqualTo(new CascadeDeleter.Progress(3, 4, 0, 0, 0));
+    assertThat(count("CatalogInfoDAO")).isZero();
+    assertThat(count("SchemaInfoDAO")).isZero();
+    assertThat(count("TableInfoDAO")).isZero();
+    assertThat(count("PropertyDAO")).isZero();
+  }
+}
@@ -0,0 +1,296 @@
+package io.unitycatalog.server.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.model.DataSourceFormat;
+import io.unitycatalog.server.model.DeltaBatchCommitResult;
+import io.unitycatalog.server.model.DeltaCommit;
+import io.unitycatalog.server.model.DeltaCommitInfo;
+import io.unitycatalog.server.model.DeltaGetCommits;
+import io.unitycatalog.server.model.DeltaGetCommitsResponse;
+import io.unitycatalog.server.model.TableType;
+import io.unitycatalog.server.persist.dao.TableInfoDAO;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DeltaCommitRepositoryTest extends BaseDatabaseTest {
+
+  private static final String TABLE_URI = "file:///tmp/managed_table";
+
+  private DeltaCommitRepository deltaCommitRepository;
+  private UUID tableId;
+
+  @Override
+  protected void setUpProperties(Properties properties) {
+    properties.setProperty(Property.MANAGED_TABLE_ENABLED.getKey(), "true");
+  }
+
+  @BeforeEach
+  void setUp() {
+    deltaCommitRepository = new DeltaCommitRepository(sessionFactory, serverProperties);
+    tableId = createTable("managed_table", TABLE_URI);
+  }
+
+  private UUID createTable(String name, String url) {
+    TableInfoDAO table =
+        TableInfoDAO.builder()
+            .id(UUID.randomUUID())
+            .name(name)
+            .schemaId(UUID.randomUUID())
+            .type(TableType.MANAGED.toString())
+            .dataSourceFormat(DataSourceFormat.DELTA.toString())
+            .url(url)
+            .build();
+    persist(table);
+    return table.getId();
+  }
+
+  private DeltaCommit commit(long version) {
+    return commit(tableId, TABLE_URI, version);
+  }
+
+  private static DeltaCommit commit(UUID tableId, String tableUri, long version) {
+    return new DeltaCommit()
+        .tableId(tableId.toString())
+        .tableUri(tableUri)
+        .commitInfo(
+            new DeltaCommitInfo()
+                .version(version)
+                .timestamp(1700000000L + version)
+                .fileName("file" + version)
+                .fileSize(100L)
+                .fileModificationTimestamp(1700000000L + version))
+        .latestBackfilledVersion(version > 1 ? version - 1 : null);
+  }
+
+  private DeltaGetCommits getCommits() {
+    return getCommits(tableId);
+  }
+
+  private static DeltaGetCommits getCommits(UUID tableId) {
+    return new DeltaGetCommits().tableId(tableId.toString()).startVersion(0L);
+  }
+
+  private long latestTableVersion() {
+    return deltaCommitRepository.getCommits(getCommits()).getLatestTableVersion();
+  }
+
+  private Long lastCommitVersionColumn() {
+    return execute(session -> session.get(TableInfoDAO.class, tableId).getLastCommitVersion());
+  }
+
+  @Test
+  public void testCommitsAdvanceLastCommitVersion() {
+    assertThat(lastCommitVersionColumn()).isNull();
+    deltaCommitRepository.postCommit(commit(1));
+    deltaCommitRepository.postCommit(commit(2));
+    assertThat(lastCommitVersionColumn()).isEqualTo(2L);
+    assertThat(latestTableVersion()).isEqualTo(2L);
+
+    assertThatThrownBy(() -> deltaCommitRepository.postCommit(commit(2)))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ALREADY_EXISTS);
+  }
+
+  @Test
+  public void testCommitFailsFastWhenAnotherServerCommittedFirst() {
+    deltaCommitRepository.postCommit(commit(1));
+    // Another server has advanced the version, and its commit row is not visible yet.
+    execute(
+        session ->
+            session
+                .createNativeMutationQuery(
+                    "UPDATE uc_tables SET last_commit_version = 2 WHERE id = :tableId")
+                .setParameter("tableId", tableId)
+                .executeUpdate());
+
+    assertThatThrownBy(() -> deltaCommitRepository.postCommit(commit(2)))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ALREADY_EXISTS)
+        .hasMessageContaining("concurrent commit");
+    assertThat(latestTableVersion()).isEqualTo(1L);
+  }
+
+  @Test
+  public void testLegacyTableWithoutLastCommitVersion() {
+    deltaCommitRepository.postCommit(commit(1));
+    execute(
+        session ->
+            session
+                .createNativeMutationQuery(
+                    "UPDATE uc_tables SET last_commit_version = NULL WHERE id = :tableId")
+                .setParameter("tableId", tableId)
+                .executeUpdate());
+
+    deltaCommitRepository.postCommit(commit(2));
+    assertThat(lastCommitVersionColumn()).isEqualTo(2L);
+  }
+
+  @Test
+  public void testConcurrentCommitsOfTheSameVersion() throws Exception {
+    deltaCommitRepository.postCommit(commit(1));
+    int writers = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<ErrorCode>> results = new ArrayList<>();
+      for (int i = 0; i < writers; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  try {
+                    deltaCommitRepository.postCommit(commit(2));
+                    return null;
+                  } catch (BaseException e) {
+                    return e.getErrorCode();
+                  }
+                }));
+      }
+      start.countDown();
+      List<ErrorCode> errorCodes = new ArrayList<>();
+      for (Future<ErrorCode> result : results) {
+        errorCodes.add(result.get());
+      }
+      // Exactly one writer wins, and every other one is told the version is taken.
+      assertThat(errorCodes.stream().filter(Objects::isNull).count()).isEqualTo(1);
+      assertThat(errorCodes.stream().filter(ErrorCode.ALREADY_EXISTS::equals).count())
+          .isEqualTo(writers - 1);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(latestTableVersion()).isEqualTo(2L);
+  }
+
+  @Test
+  public void testCommitsAreCachedAndWrittenThrough() {
+    DeltaCommitCache cache = deltaCommitRepository.getCommitCache();
+    deltaCommitRepository.postCommit(commit(1));
+    assertThat(latestTableVersion()).isEqualTo(1L);
+    deltaCommitRepository.postCommit(commit(2));
+    DeltaGetCommitsResponse response = deltaCommitRepository.getCommits(getCommits());
+    assertThat(response.getLatestTableVersion()).isEqualTo(2L);
+    // Version 1 was backfilled with the commit of version 2.
+    assertThat(response.getCommits()).extracting("version").containsExactly(2L);
+    assertThat(cache.stats().hits()).isEqualTo(2);
+    assertThat(cache.stats().misses()).isZero();
+
+    cache.invalidate(tableId);
+    assertThat(latestTableVersion()).isEqualTo(2L);
+    assertThat(cache.stats().misses()).isEqualTo(1);
+  }
+
+  @Test
+  public void testAwaitCommits() throws Exception {
+    deltaCommitRepository.postCommit(commit(1));
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      // Nothing is committed while waiting: the unchanged commits are returned after the timeout.
+      DeltaGetCommitsResponse unchanged =
+          deltaCommitRepository
+              .awaitCommits(getCommits(), 1L, Duration.ofMillis(200), executor)
+              .get(10, TimeUnit.SECONDS);
+      assertThat(unchanged.getLatestTableVersion()).isEqualTo(1L);
+
+      // A version other than the one known is returned right away.
+      assertThat(
+              deltaCommitRepository
+                  .awaitCommits(getCommits(), 0L, Duration.ofSeconds(30), executor)
+                  .get(10, TimeUnit.SECONDS)
+                  .getLatestTableVersion())
+          .isEqualTo(1L);
+
+      CompletableFuture<DeltaGetCommitsResponse> waiting =
+          deltaCommitRepository.awaitCommits(getCommits(), 1L, Duration.ofSeconds(30), executor);
+      Thread.sleep(100);
+      assertThat(waiting).isNotDone();
+      deltaCommitRepository.postCommit(commit(2));
+      assertThat(waiting.get(10, TimeUnit.SECONDS).getLatestTableVersion()).isEqualTo(2L);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testBatchCommits() {
+    String otherTableUri = "file:///tmp/other_managed_table";
+    UUID otherTableId = createTable("other_managed_table", otherTableUri);
+    UUID unknownTableId = UUID.randomUUID();
+    deltaCommitRepository.postCommit(commit(1));
+
+    List<DeltaBatchCommitResult> results =
+        deltaCommitRepository.postCommits(
+            List.of(
+                commit(2),
+                commit(otherTableId, otherTableUri, 1),
+                commit(3),
+                commit(unknownTableId, TABLE_URI, 1),
+                new DeltaCommit().tableId("not-a-uuid").tableUri(TABLE_URI).commitInfo(null)));
+    assertThat(results)
+        .extracting("tableId")
+        .containsExactly(
+            tableId.toString(),
+            otherTableId.toString(),
+            tableId.toString(),
+            unknownTableId.toString(),
+            "not-a-uuid");
+    assertThat(results)
+        .extracting("errorCode")
+        .containsExactly(
+            null,
+            null,
+            ErrorCode.INVALID_ARGUMENT.name(),
+            ErrorCode.NOT_FOUND.name(),
+            ErrorCode.INVALID_ARGUMENT.name());
+    // Version 1 was backfilled with the commit of version 2.
+    DeltaGetCommitsResponse response = deltaCommitRepository.getCommits(getCommits());
+    assertThat(response.getLatestTableVersion()).isEqualTo(2L);
+    assertThat(response.getCommits()).extracting("version").containsExactly(2L);
+    assertThat(lastCommitVersionColumn()).isEqualTo(2L);
+    assertThat(latestTableVersion()).isEqualTo(2L);
+
+    // A rejected commit does not prevent the others of its group from being applied.
+    results =
+        deltaCommitRepository.postCommits(
+            List.of(
+                new DeltaCommit()
+                    .tableId(tableId.toString())
+                    .tableUri(TABLE_URI)
+                    .latestBackfilledVersion(2L),
+                commit(otherTableId, otherTableUri, 1)));
+    assertThat(results)
+        .extracting("errorCode")
+        .containsExactly(null, ErrorCode.ALREADY_EXISTS.name());
+    response = deltaCommitRepository.getCommits(getCommits());
+    assertThat(response.getLatestTableVersion()).isEqualTo(2L);
+    assertThat(response.getCommits()).isEmpty();
+    assertThat(
+            deltaCommitRepository.getCommits(getCommits(otherTableId)).getLatestTableVersion())
+        .isEqualTo(1L);
+
+    assertThatThrownBy(
+            () ->
+                deltaCommitRepository.postCommits(
+                    Collections.nCopies(DeltaCommitRepository.MAX_BATCH_COMMITS + 1, commit(3))))
+        .isInstanceOf(BaseException.class)
+        .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ARGUMENT);
+  }
+}
@@ -0,0 +1,26 @@
+package io.unitycatalog.server.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerSecretRepositoryTest extends BaseDatabaseTest {
+
+  @BeforeEach
+  void setUp() {
+    execute(session -> session.createMutationQuery("DELETE FROM ServerSecretDAO").executeUpdate());
+  }
+
+  @Test
+  public void testSecretIsSharedThroughTheDatabase() {
+    String secret = new ServerSecretRepository(sessionFactory).getOrCreate("page-token");
+
+    // Another server using the same database reads the stored secret instead of generating one.
+    assertThat(new ServerSecretRepository(sessionFactory).getOrCreate("page-token"))
+        .isEqualTo(secret);
+    assertThat(new ServerSecretRepository(sessionFactory).getOrCreate("other"))
+        .isNotEqualTo(secret);
+  }
+}
@@ -0,0 +1,146 @@
+package io.unitycatalog.server.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.exception.ErrorCode;
+import io.unitycatalog.server.persist.dao.StoragePurgeDAO;
+import io.unitycatalog.server.persist.utils.FileOperations;
+import io.unitycatalog.server.utils.Constants;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StoragePurgeWorkerTest extends BaseDatabaseTest {
+
+  @TempDir Path tempDir;
+
+  private StoragePurgeRepository purgeRepository;
+  private StoragePurgeWorker purgeWorker;
+
+  @BeforeEach
+  void setUp() {
+    purgeRepository = new StoragePurgeRepository(sessionFactory);
+    purgeWorker =
+        new StoragePurgeWorker(
+            purgeRepository, new FileOperations(serverProperties), serverProperties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    purgeWorker.close();
+  }
+
+  private void enqueue(String storageLocation) {
+    execute(
+        session -> {
+          purgeRepository.enqueue(session, storageLocation, Constants.TABLE, UUID.randomUUID());
+          return null;
+        });
+  }
+
+  @Test
+  void testPurgeDeletesDirectoryAndDequeues() throws IOException {
+    Path tableDir = Files.createDirectories(tempDir.resolve("tables/t1/_delta_log"));
+    Files.writeString(tableDir.resolve("00000.json"), "{}");
+    enqueue(tempDir.resolve("tables/t1").toUri().toString());
+
+    List<StoragePurgeDAO> claimed = purgeRepository.claimDue(10, 60_000);
+    assertThat(claimed).hasSize(1);
+    // A claimed purge is not handed out again while its lease holds.
+    assertThat(purgeRepository.claimDue(10, 60_000)).isEmpty();
+
+    purgeWorker.purge(claimed.get(0));
+
+    assertThat(tempDir.resolve("tables/t1")).doesNotExist();
+    assertThat(purgeWorker.stats()).isEqualTo(new StoragePurgeWorker.Stats(1, 0, 0, 0));
+  }
+
+  private StoragePurgeDAO get(UUID id) {
+    return execute(session -> session.get(StoragePurgeDAO.class, id));
+  }
+
+  /** Returns a worker whose deletes fail as if the store was unavailable. */
+  private StoragePurgeWorker failingWorker(int maxAttempts) {
+    ServerProperties properties =
+        testServerProperties(
+            Map.of(Property.STORAGE_PURGE_MAX_ATTEMPTS.getKey(), String.valueOf(maxAttempts)));
+    FileOperations unavailable =
+        new FileOperations(properties) {
+          @Override
+          public void deleteDirectory(String path) {
+            throw new BaseException(ErrorCode.INTERNAL, "Service unavailable");
+          }
+        };
+    return new StoragePurgeWorker(purgeRepository, unavailable, properties);
+  }
+
+  @Test
+  void testFailedPurgeIsRetriedLater() {
+    enqueue("s3://bucket/tables/t1");
+    StoragePurgeWorker worker = failingWorker(3);
+
+    StoragePurgeDAO purge = purgeRepository.claimDue(10, 0).get(0);
+    worker.purge(purge);
+
+    assertThat(worker.stats()).isEqualTo(new StoragePurgeWorker.Stats(0, 1, 1, 0));
+    // The next attempt is backed off, so the purge is not due yet.
+    assertThat(purgeRepository.claimDue(10, 0)).isEmpty();
+    StoragePurgeDAO failed = get(purge.getId());
+    assertThat(failed.getAttempts()).isEqualTo(1);
+    assertThat(failed.getLastError()).isNotEmpty();
+    assertThat(failed.getParkedAt()).isNull();
+    worker.close();
+  }
+
+  @Test
+  void testRepeatedlyFailingPurgeIsParked() {
+    enqueue("s3://bucket/tables/t1");
+    StoragePurgeWorker worker = failingWorker(3);
+
+    StoragePurgeDAO purge = purgeRepository.claimDue(10, 0).get(0);
+    for (int attempt = 0; attempt < 3; attempt++) {
+      worker.purge(get(purge.getId()));
+    }
+
+    assertThat(worker.stats()).isEqualTo(new StoragePurgeWorker.Stats(0, 3, 0, 1));
+    StoragePurgeDAO parked = get(purge.getId());
+    assertThat(parked.getAttempts()).isEqualTo(3);
+    assertThat(parked.getParkedAt()).isNotNull();
+    // A parked purge is never claimed again.
+    assertThat(purgeRepository.claimDue(10, 0)).isEmpty();
+    worker.close();
+  }
+
+  @Test
+  void testInvalidLocationIsParkedRightAway() {
+    // Deleting the root of a bucket is refused as an invalid location.
+    enqueue("s3://bucket/");
+
+    StoragePurgeDAO purge = purgeRepository.claimDue(10, 0).get(0);
+    purgeWorker.purge(purge);
+
+    assertThat(purgeWorker.stats()).isEqualTo(new StoragePurgeWorker.Stats(0, 1, 0, 1));
+    StoragePurgeDAO parked = get(purge.getId());
+    assertThat(parked.getAttempts()).isEqualTo(1);
+    assertThat(parked.getParkedAt()).isNotNull();
+    assertThat(parked.getLastError()).contains("root");
+  }
+
+  @Test
+  void testBackoffIsCapped() {
+    assertThat(purgeWorker.backoffMillis(0)).isEqualTo(10_000);
+    assertThat(purgeWorker.backoffMillis(1)).isEqualTo(20_000);
+    assertThat(purgeWorker.backoffMillis(100)).isEqualTo(3_600_000);
+  }
+}
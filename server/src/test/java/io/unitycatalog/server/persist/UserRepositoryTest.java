@@ -0,0 +1,84 @@
+package io.unitycatalog.server.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.unitycatalog.control.model.User;
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.persist.dao.UserDAO;
+import io.unitycatalog.server.persist.model.CreateUser;
+import io.unitycatalog.server.persist.model.UpdateUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class UserRepositoryTest extends BaseDatabaseTest {
+
+  private UserRepository userRepository;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = new UserRepository(null, sessionFactory, serverProperties);
+  }
+
+  /** Renames a user behind the repository's back, so only uncached lookups see the change. */
+  private void renameInDatabase(String email, String name) {
+    execute(
+        session -> {
+          UserDAO userDAO = userRepository.getUserByEmail(session, email);
+          userDAO.setName(name);
+          session.merge(userDAO);
+          return null;
+        });
+  }
+
+  @Test
+  void testGetUserByEmailIsCachedUntilUpdated() {
+    User created =
+        userRepository.createUser(
+            CreateUser.builder().name("before").email("cached@example.com").build());
+    assertThat(userRepository.getUserByEmail("cached@example.com").getName()).isEqualTo("before");
+
+    renameInDatabase("cached@example.com", "after");
+    assertThat(userRepository.getUserByEmail("cached@example.com").getName()).isEqualTo("before");
+
+    userRepository.updateUser(created.getId(), UpdateUser.builder().active(false).build());
+    User updated = userRepository.getUserByEmail("cached@example.com");
+    assertThat(updated.getName()).isEqualTo("after");
+    assertThat(updated.getState()).isEqualTo(User.StateEnum.DISABLED);
+  }
+
+  @Test
+  void testCachedUserCannotBeModifiedByCallers() {
+    userRepository.createUser(
+        CreateUser.builder().name("owner").email("shared@example.com").build());
+    User first = userRepository.getUserByEmail("shared@example.com");
+    first.name("changed").state(User.StateEnum.DISABLED);
+
+    User second = userRepository.getUserByEmail("shared@example.com");
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getName()).isEqualTo("owner");
+    assertThat(second.getState()).isEqualTo(User.StateEnum.ENABLED);
+  }
+
+  @Test
+  void testDeleteUserInvalidatesCache() {
+    User created =
+        userRepository.createUser(
+            CreateUser.builder().name("deleted").email("deleted@example.com").build());
+    assertThat(userRepository.getUserByEmail("deleted@example.com").getState())
+        .isEqualTo(User.StateEnum.ENABLED);
+
+    userRepository.deleteUser(created.getId());
+    assertThat(userRepository.getUserByEmail("deleted@example.com").getState())
+        .isEqualTo(User.StateEnum.DISABLED);
+  }
+
+  @Test
+  void testUnknownUsersAreNotCached() {
+    assertThatThrownBy(() -> userRepository.getUserByEmail("late@example.com"))
+        .isInstanceOf(BaseException.class);
+    userRepository.createUser(CreateUser.builder().name("late").email("late@example.com").build());
+    assertThat(userRepository.getUserByEmail("late@example.com").getName()).isEqualTo("late");
+  }
+}
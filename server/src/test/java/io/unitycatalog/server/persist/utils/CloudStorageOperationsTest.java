@@ -0,0 +1,78 @@
+package io.unitycatalog.server.persist.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.adobe.testing.s3mock.junit5.S3MockExtension;
+import io.unitycatalog.server.exception.BaseException;
+import io.unitycatalog.server.utils.ServerProperties;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+public class CloudStorageOperationsTest {
+  @RegisterExtension
+  public static final S3MockExtension S3_MOCK = S3MockExtension.builder().silent().build();
+
+  private static final String TEST_BUCKET = "delete-bucket";
+
+  private final S3Client s3Client = S3_MOCK.createS3ClientV2();
+  private CloudStorageOperations cloudStorageOperations;
+
+  @BeforeEach
+  public void setUp() {
+    cloudStorageOperations = new CloudStorageOperations(new ServerProperties(), bucket -> s3Client);
+  }
+
+  private void putObjects(String prefix, int count) {
+    IntStream.range(0, count)
+        .parallel()
+        .forEach(
+            i ->
+                s3Client.putObject(
+                    builder -> builder.bucket(TEST_BUCKET).key(prefix + "part-" + i + ".parquet"),
+                    RequestBody.fromString("data")));
+  }
+
+  private List<String> listKeys() {
+    return s3Client.listObjectsV2Paginator(builder -> builder.bucket(TEST_BUCKET)).contents()
+        .stream()
+        .map(S3Object::key)
+        .toList();
+  }
+
+  @Test
+  public void testDeleteS3DirectoryInBatches() {
+    s3Client.createBucket(builder -> builder.bucket(TEST_BUCKET));
+    // More than two batches, plus siblings sharing the key prefix.
+    putObjects("tables/t1/", 2345);
+    putObjects("tables/t10/", 3);
+    putObjects("tables/t2/", 2);
+
+    cloudStorageOperations.deleteS3Directory(URI.create("s3://" + TEST_BUCKET + "/tables/t1"));
+
+    assertThat(listKeys())
+        .hasSize(5)
+        .allMatch(key -> key.startsWith("tables/t10/") || key.startsWith("tables/t2/"));
+
+    // Deleting a directory that no longer exists is a no-op.
+    cloudStorageOperations.deleteS3Directory(URI.create("s3://" + TEST_BUCKET + "/tables/t1/"));
+    assertThat(listKeys()).hasSize(5);
+  }
+
+  @Test
+  public void testRefusesToDeleteBucketRoot() {
+    assertThatThrownBy(
+            () -> cloudStorageOperations.deleteS3Directory(URI.create("s3://" + TEST_BUCKET)))
+        .isInstanceOf(BaseException.class);
+    assertThatThrownBy(
+            () -> cloudStorageOperations.deleteGcsDirectory(URI.create("gs://some-bucket/")))
+        .isInstanceOf(BaseException.class);
+  }
+}
@@ -0,0 +1,92 @@
+package io.unitycatalog.server.persist.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.unitycatalog.server.auth.JCasbinAuthorizer;
+import io.unitycatalog.server.base.BaseDatabaseTest;
+import io.unitycatalog.server.persist.model.Privileges;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class ConnectionPoolTest extends BaseDatabaseTest {
+
+  private static final int MAX_CONNECTIONS = 4;
+
+  @Override
+  protected void setUpProperties(Properties properties) {
+    properties.setProperty(Property.DB_POOL_MAX_SIZE.getKey(), String.valueOf(MAX_CONNECTIONS));
+  }
+
+  private long countCatalogs() {
+    return count("CatalogInfoDAO");
+  }
+
+  @Test
+  public void testConcurrentTransactionsWaitForConnections() throws Exception {
+    ConnectionPool connectionPool = hibernateConfigurator.getConnectionPool();
+    assertThat(connectionPool).isNotNull();
+
+    // Many more transactions than connections, all of which succeed once a connection is free.
+    ExecutorService executor = Executors.newFixedThreadPool(8 * MAX_CONNECTIONS);
+    try {
+      List<Future<Long>> counts = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        counts.add(executor.submit(this::countCatalogs));
+      }
+      for (Future<Long> count : counts) {
+        assertThat(count.get()).isZero();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    ConnectionPool.Stats stats = connectionPool.stats();
+    assertThat(stats.totalConnections()).isBetween(1, MAX_CONNECTIONS);
+    assertThat(stats.activeConnections()).isZero();
+    assertThat(stats.waitingThreads()).isZero();
+  }
+
+  @Test
+  public void testAuthorizerSharesConnections() throws Exception {
+    JCasbinAuthorizer authorizer = new JCasbinAuthorizer(hibernateConfigurator);
+    UUID principal = UUID.randomUUID();
+    UUID resource = UUID.randomUUID();
+
+    assertThat(authorizer.grantAuthorization(principal, resource, Privileges.OWNER)).isTrue();
+    assertThat(authorizer.authorize(principal, resource, Privileges.OWNER)).isTrue();
+    assertThat(countCatalogs()).isZero();
+
+    assertThat(hibernateConfigurator.getConnectionPool().stats().totalConnections())
+        .isBetween(1, MAX_CONNECTIONS);
+  }
+
+  @Test
+  public void testPoolDisabled() {
+    HibernateConfigurator unpooled =
+        new HibernateConfigurator(
+            testServerProperties(Map.of(Property.DB_POOL_MAX_SIZE.getKey(), "0")));
+    try {
+      assertThat(unpooled.getConnectionPool()).isNull();
+      assertThat(
+              TransactionManager.executeWithTransaction(
+                  unpooled.getSessionFactory(),
+                  session ->
+                      session
+                          .createQuery("SELECT COUNT(*) FROM CatalogInfoDAO", Long.class)
+                          .uniqueResult(),
+                  "Failed to count catalogs",
+                  /* readOnly = */ true))
+          .isZero();
+    } finally {
+      unpooled.getSessionFactory().close();
+    }
+  }
+}
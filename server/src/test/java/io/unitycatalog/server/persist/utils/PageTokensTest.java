@@ -0,0 +1,62 @@
+package io.unitycatalog.server.persist.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.unitycatalog.server.exception.BaseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class PageTokensTest {
+
+  @Test
+  public void testRoundTrip() {
+    String token = PageTokens.encode("TableInfoDAO/schema", "table_ü.42");
+    assertThat(token).doesNotContain("table_");
+    assertThat(PageTokens.decode("TableInfoDAO/schema", token)).isEqualTo("table_ü.42");
+  }
+
+  @Test
+  public void testRejectsTamperedTokens() {
+    String token = PageTokens.encode("TableInfoDAO/schema", "table_b");
+    String forged = PageTokens.encode("TableInfoDAO/schema", "table_a");
+    String tampered =
+        forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+    assertThatThrownBy(() -> PageTokens.decode("TableInfoDAO/schema", tampered))
+        .isInstanceOf(BaseException.class);
+    assertThatThrownBy(() -> PageTokens.decode("TableInfoDAO/schema", "table_a"))
+        .isInstanceOf(BaseException.class);
+    assertThatThrownBy(() -> PageTokens.decode("TableInfoDAO/schema", "!!.??"))
+        .isInstanceOf(BaseException.class);
+  }
+
+  @Test
+  public void testRejectsTokensOfOtherListings() {
+    String token = PageTokens.encode("TableInfoDAO/schema1", "table_a");
+    assertThatThrownBy(() -> PageTokens.decode("TableInfoDAO/schema2", token))
+        .isInstanceOf(BaseException.class);
+    assertThatThrownBy(() -> PageTokens.decode("VolumeInfoDAO/schema1", token))
+        .isInstanceOf(BaseException.class);
+  }
+
+  @Test
+  public void testToPage() {
+    String scope = "TableInfoDAO/schema";
+    // Exactly a page of rows: the last page has no token.
+    PagedListingHelper.Page<String> last =
+        PagedListingHelper.toPage(List.of("a", "b"), 2, scope, Function.identity());
+    assertThat(last.entities()).containsExactly("a", "b");
+    assertThat(last.nextPageToken()).isNull();
+
+    // One row more than a page: the extra row is dropped, and the token points after the page.
+    PagedListingHelper.Page<String> page =
+        PagedListingHelper.toPage(List.of("a", "b", "c"), 2, scope, Function.identity());
+    assertThat(page.entities()).containsExactly("a", "b");
+    assertThat(PagedListingHelper.decodePageToken(scope, Optional.of(page.nextPageToken())))
+        .contains("b");
+    assertThat(PagedListingHelper.decodePageToken(scope, Optional.of(""))).isEmpty();
+  }
+}
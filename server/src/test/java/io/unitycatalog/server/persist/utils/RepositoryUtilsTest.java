@@ -0,0 +1,90 @@
+package io.unitycatalog.server.persist.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.unitycatalog.server.model.CatalogInfo;
+import io.unitycatalog.server.model.FunctionInfo;
+import io.unitycatalog.server.persist.dao.PropertyDAO;
+import io.unitycatalog.server.utils.Constants;
+import io.unitycatalog.server.utils.ServerProperties;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RepositoryUtilsTest {
+
+  private SessionFactory sessionFactory;
+
+  @BeforeEach
+  void setUp() {
+    Properties properties = new Properties();
+    properties.setProperty(Property.SERVER_ENV.getKey(), "test");
+    sessionFactory =
+        new HibernateConfigurator(new ServerProperties(properties)).getSessionFactory();
+  }
+
+  private void persistProperties(Map<String, String> properties, UUID entityId, String type) {
+    TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session -> {
+          PropertyDAO.from(properties, entityId, type).forEach(session::persist);
+          return null;
+        },
+        "Failed to persist properties",
+        /* readOnly = */ false);
+  }
+
+  @Test
+  void testAttachPropertiesToPage() {
+    List<CatalogInfo> catalogs = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      UUID id = UUID.randomUUID();
+      catalogs.add(new CatalogInfo().id(id.toString()).name("catalog" + i));
+      if (i % 2 == 0) {
+        persistProperties(Map.of("index", String.valueOf(i)), id, Constants.CATALOG);
+      }
+    }
+    // Same id but a different entity type must not be picked up.
+    persistProperties(
+        Map.of("other", "type"), UUID.fromString(catalogs.get(1).getId()), Constants.SCHEMA);
+
+    TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session ->
+            RepositoryUtils.attachProperties(
+                catalogs, CatalogInfo::getId, Constants.CATALOG, session),
+        "Failed to attach properties",
+        /* readOnly = */ true);
+
+    for (int i = 0; i < catalogs.size(); i++) {
+      if (i % 2 == 0) {
+        assertThat(catalogs.get(i).getProperties()).containsExactly(Map.entry("index", "" + i));
+      } else {
+        assertThat(catalogs.get(i).getProperties()).isNullOrEmpty();
+      }
+    }
+  }
+
+  @Test
+  void testAttachFunctionProperties() {
+    UUID id = UUID.randomUUID();
+    persistProperties(Map.of("key", "value"), id, Constants.FUNCTION);
+    FunctionInfo functionInfo = new FunctionInfo().functionId(id.toString());
+
+    TransactionManager.executeWithTransaction(
+        sessionFactory,
+        session ->
+            RepositoryUtils.attachProperties(
+                functionInfo, functionInfo.getFunctionId(), Constants.FUNCTION, session),
+        "Failed to attach properties",
+        /* readOnly = */ true);
+
+    assertThat(functionInfo.getProperties()).isEqualTo("{key=value}");
+  }
+}
@@ -0,0 +1,153 @@
+package io.unitycatalog.server.sdk.access;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpRequestWriter;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.auth.AuthToken;
+import io.unitycatalog.client.api.CatalogsApi;
+import io.unitycatalog.client.api.SchemasApi;
+import io.unitycatalog.client.model.CreateCatalog;
+import io.unitycatalog.client.model.SecurableType;
+import io.unitycatalog.server.base.ServerConfig;
+import io.unitycatalog.server.persist.model.Privileges;
+import io.unitycatalog.server.utils.TestUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Access control tests of requests whose securables are named in the payload. A payload the
+ * access decorator cannot read unambiguously must be rejected, never authorized against a
+ * different securable than the one the service acts on.
+ */
+public class SdkPayloadAccessControlTest extends SdkAccessControlBaseCRUDTest {
+
+  private static final String SCHEMAS_ENDPOINT = "/api/2.1/unity-catalog/schemas";
+  private static final String USER_EMAIL = "payload_user@example.com";
+  private static final String VICTIM_CATALOG = "victim_catalog";
+
+  private WebClient userClient() throws Exception {
+    createTestUser(USER_EMAIL, "Payload User");
+    grantPermissions(
+        USER_EMAIL,
+        SecurableType.CATALOG,
+        TestUtils.CATALOG_NAME,
+        Privileges.USE_CATALOG,
+        Privileges.CREATE_SCHEMA);
+    new CatalogsApi(TestUtils.createApiClient(adminConfig))
+        .createCatalog(new CreateCatalog().name(VICTIM_CATALOG));
+
+    ServerConfig userConfig = createTestUserServerConfig(USER_EMAIL);
+    return WebClient.builder(userConfig.getServerUrl())
+        .auth(AuthToken.ofOAuth2(userConfig.getAuthToken()))
+        .build();
+  }
+
+  private static AggregatedHttpResponse createSchema(WebClient client, String payload) {
+    return client
+        .prepare()
+        .post(SCHEMAS_ENDPOINT)
+        .content(MediaType.JSON, payload)
+        .execute()
+        .aggregate()
+        .join();
+  }
+
+  /** Sends the payload as a stream of data frames of the given size. */
+  private static AggregatedHttpResponse createSchemaInFrames(
+      WebClient client, String payload, int frameSize) {
+    HttpRequestWriter request =
+        HttpRequest.streaming(
+            RequestHeaders.of(
+                HttpMethod.POST,
+                SCHEMAS_ENDPOINT,
+                HttpHeaderNames.CONTENT_TYPE,
+                MediaType.JSON));
+    CompletableFuture<AggregatedHttpResponse> response = client.execute(request).aggregate();
+    byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+    for (int offset = 0; offset < bytes.length; offset += frameSize) {
+      int end = Math.min(offset + frameSize, bytes.length);
+      request.write(HttpData.wrap(Arrays.copyOfRange(bytes, offset, end)));
+    }
+    request.close();
+    return response.join();
+  }
+
+  @Test
+  public void testPayloadSplitAcrossFrames() throws Exception {
+    WebClient client = userClient();
+    SchemasApi adminSchemasApi = new SchemasApi(TestUtils.createApiClient(adminConfig));
+
+    String payload =
+        String.format(
+            "{\"name\": \"streamed\", \"comment\": \"split\", \"catalog_name\": \"%s\"}",
+            TestUtils.CATALOG_NAME);
+    assertThat(createSchemaInFrames(client, payload, 5).status()).isEqualTo(HttpStatus.OK);
+    assertThat(adminSchemasApi.getSchema(TestUtils.CATALOG_NAME + ".streamed").getName())
+        .isEqualTo("streamed");
+
+    payload =
+        String.format(
+            "{\"name\": \"streamed\", \"catalog_name\": \"%s\"}", VICTIM_CATALOG);
+    assertThat(createSchemaInFrames(client, payload, 5).status()).isEqualTo(HttpStatus.FORBIDDEN);
+    assertThat(adminSchemasApi.listSchemas(VICTIM_CATALOG, 100, null).getSchemas())
+        .isNullOrEmpty();
+
+    // A duplicate key in a later frame than the first value is still rejected.
+    payload =
+        String.format(
+            "{\"catalog_name\": \"%s\", \"name\": \"smuggled\", \"catalog_name\": \"%s\"}",
+            TestUtils.CATALOG_NAME, VICTIM_CATALOG);
+    assertThat(createSchemaInFrames(client, payload, 5).status())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+
+    String truncated = payload.substring(0, payload.length() - 1);
+    assertThat(createSchemaInFrames(client, truncated, 5).status())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(adminSchemasApi.listSchemas(VICTIM_CATALOG, 100, null).getSchemas())
+        .isNullOrEmpty();
+  }
+
+  @Test
+  public void testDuplicateKeyIsRejected() throws Exception {
+    WebClient client = userClient();
+
+    String payload =
+        String.format(
+            "{\"catalog_name\": \"%s\", \"name\": \"smuggled\", \"catalog_name\": \"%s\"}",
+            TestUtils.CATALOG_NAME, VICTIM_CATALOG);
+    assertThat(createSchema(client, payload).status()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+    SchemasApi adminSchemasApi = new SchemasApi(TestUtils.createApiClient(adminConfig));
+    assertThat(adminSchemasApi.listSchemas(VICTIM_CATALOG, 100, null).getSchemas())
+        .isNullOrEmpty();
+
+    // The same request without the duplicate is authorized.
+    payload =
+        String.format("{\"catalog_name\": \"%s\", \"name\": \"allowed\"}", TestUtils.CATALOG_NAME);
+    assertThat(createSchema(client, payload).status()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  public void testMalformedPayloadIsRejected() throws Exception {
+    WebClient client = userClient();
+
+    String truncated =
+        String.format("{\"catalog_name\": \"%s\", \"name\": \"truncated\"", TestUtils.CATALOG_NAME);
+    assertThat(createSchema(client, truncated).status()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(createSchema(client, "{\"catalog_name\" 1}").status())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(createSchema(client, "[]").status()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(createSchema(client, "").status()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+}
@@ -6,6 +6,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.RequestHeadersBuilder;
 import io.unitycatalog.client.ApiException;
 import io.unitycatalog.client.api.DeltaCommitsApi;
 import io.unitycatalog.client.model.ColumnInfo;
@@ -482,6 +489,45 @@ public class SdkDeltaCommitsCRUDTest extends BaseTableCRUDTestEnv {
         /* expectedLatestTableVersion= */ 6, /* expectedCommits= */ 6);
   }
 
+  private AggregatedHttpResponse getCommitsWithEtag(long startVersion, String ifNoneMatch) {
+    RequestHeadersBuilder headers =
+        RequestHeaders.builder(HttpMethod.GET, "/api/2.1/unity-catalog/delta/preview/commits")
+            .contentType(MediaType.JSON);
+    if (ifNoneMatch != null) {
+      headers.add(HttpHeaderNames.IF_NONE_MATCH, ifNoneMatch);
+    }
+    String body =
+        String.format(
+            "{\"table_id\":\"%s\",\"table_uri\":\"%s\",\"start_version\":%d}",
+            tableInfo.getTableId(), tableInfo.getStorageLocation(), startVersion);
+    return WebClient.of(serverConfig.getServerUrl())
+        .execute(headers.build(), body)
+        .aggregate()
+        .join();
+  }
+
+  @Test
+  public void testEtagChangesWhenCommitsChange() throws ApiException {
+    for (long i = 1; i <= 3; i++) {
+      deltaCommitsApi.commit(
+          createCommitObject(tableInfo.getTableId(), i, tableInfo.getStorageLocation()));
+    }
+    AggregatedHttpResponse response = getCommitsWithEtag(0, null);
+    assertEquals(200, response.status().code());
+    String etag = response.headers().get(HttpHeaderNames.ETAG);
+    assertNotNull(etag);
+    assertEquals(304, getCommitsWithEtag(0, etag).status().code());
+
+    // Another version range returns other commits.
+    assertEquals(200, getCommitsWithEtag(3, etag).status().code());
+
+    // Backfilling removes commits without changing the latest table version.
+    deltaCommitsApi.commit(createBackfillOnlyCommitObject(2L));
+    response = getCommitsWithEtag(0, etag);
+    assertEquals(200, response.status().code());
+    assertThat(response.headers().get(HttpHeaderNames.ETAG)).isNotEqualTo(etag);
+  }
+
   @Test
   public void testCommitLimit() throws ApiException {
     // MAX_NUM_COMMITS_PER_TABLE is 10, so we'll try to add 10 commits
@@ -0,0 +1,104 @@
+package io.unitycatalog.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import io.unitycatalog.server.base.BaseServerTest;
+import io.unitycatalog.server.model.TemporaryCredentials;
+import io.unitycatalog.server.service.credential.CloudCredentialVendor;
+import io.unitycatalog.server.utils.ServerProperties.Property;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that requests stuck in slow calls to cloud providers do not hold up the event loops, and
+ * hence other requests.
+ */
+public class BlockingExecutionTest extends BaseServerTest {
+
+  private static final String PATH_CREDENTIALS_ENDPOINT =
+      "/api/2.1/unity-catalog/temporary-path-credentials";
+  private static final String CATALOGS_ENDPOINT = "/api/2.1/unity-catalog/catalogs";
+  // Many more than the event loop threads, which are twice the number of cores.
+  private static final int SLOW_REQUESTS =
+      Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+  private final CountDownLatch slowCallsStarted = new CountDownLatch(SLOW_REQUESTS);
+  private final CountDownLatch slowCallsReleased = new CountDownLatch(1);
+  private WebClient client;
+
+  @Override
+  protected void setUpProperties() {
+    super.setUpProperties();
+    serverProperties.setProperty(
+        Property.BLOCKING_EXECUTOR_THREADS.getKey(), String.valueOf(SLOW_REQUESTS + 16));
+  }
+
+  @Override
+  protected void setUpCredentialOperations() {
+    cloudCredentialVendor = mock(CloudCredentialVendor.class);
+    doAnswer(
+            invocation -> {
+              slowCallsStarted.countDown();
+              slowCallsReleased.await(30, TimeUnit.SECONDS);
+              return new TemporaryCredentials();
+            })
+        .when(cloudCredentialVendor)
+        .vendCredential(anyString(), any());
+  }
+
+  @BeforeEach
+  public void setUp() {
+    super.setUp();
+    client =
+        WebClient.builder(serverConfig.getServerUrl())
+            .responseTimeout(Duration.ofSeconds(60))
+            .build();
+  }
+
+  @Test
+  public void testSlowCallsDoNotBlockOtherRequests() throws Exception {
+    List<CompletableFuture<AggregatedHttpResponse>> slowResponses = new ArrayList<>();
+    for (int i = 0; i < SLOW_REQUESTS; i++) {
+      slowResponses.add(
+          client
+              .prepare()
+              .post(PATH_CREDENTIALS_ENDPOINT)
+              .content(
+                  MediaType.JSON, "{\"url\": \"s3://bucket/path\", \"operation\": \"PATH_READ\"}")
+              .execute()
+              .aggregate());
+    }
+    try {
+      assertThat(slowCallsStarted.await(30, TimeUnit.SECONDS)).isTrue();
+
+      // All slow calls are in progress, yet other requests are served right away.
+      for (int i = 0; i < 10; i++) {
+        long startNanos = System.nanoTime();
+        AggregatedHttpResponse response = client.get(CATALOGS_ENDPOINT).aggregate().join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(elapsedMillis).isLessThan(500);
+      }
+    } finally {
+      slowCallsReleased.countDown();
+    }
+
+    for (CompletableFuture<AggregatedHttpResponse> slowResponse : slowResponses) {
+      assertThat(slowResponse.join().status()).isEqualTo(HttpStatus.OK);
+    }
+  }
+}
@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.auth.AuthToken;
 import io.unitycatalog.client.ApiException;
 import io.unitycatalog.client.model.CatalogInfo;
@@ -28,6 +31,7 @@ import io.unitycatalog.server.utils.RESTObjectMapper;
 import io.unitycatalog.server.utils.TestUtils;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -289,6 +293,26 @@ public class IcebergRestCatalogTest extends BaseServerTest {
               Objects.requireNonNull(this.getClass().getResource("/iceberg.metadata.json"))
                   .getPath());
 
+      // the metadata is unchanged, so a conditional request is not modified
+      String etag = resp.headers().get(HttpHeaderNames.ETAG);
+      assertThat(etag).isNotNull();
+      resp =
+          client
+              .execute(
+                  RequestHeaders.of(
+                      HttpMethod.GET,
+                      TEST_BASE_PREFIX
+                          + "/namespaces/"
+                          + TestUtils.SCHEMA_NAME
+                          + "/tables/"
+                          + TestUtils.TABLE_NAME,
+                      HttpHeaderNames.IF_NONE_MATCH,
+                      etag))
+              .aggregate()
+              .join();
+      assertThat(resp.status().code()).isEqualTo(304);
+      assertThat(resp.headers().get(HttpHeaderNames.ETAG)).isEqualTo(etag);
+
       // non-prefixed URL should result in 404
       resp =
           client
@@ -325,4 +349,151 @@ public class IcebergRestCatalogTest extends BaseServerTest {
       assertThat(resp.status().code()).isEqualTo(404);
     }
   }
+
+  @Test
+  public void testMultiLevelNamespaces() throws ApiException, URISyntaxException, IOException {
+    catalogOperations.createCatalog(new CreateCatalog().name(TestUtils.CATALOG_NAME));
+    schemaOperations.createSchema(
+        new CreateSchema().catalogName(TestUtils.CATALOG_NAME).name(TestUtils.SCHEMA_NAME));
+    TableInfo tableInfo =
+        tableOperations.createTable(
+            new CreateTable()
+                .name(TestUtils.TABLE_NAME)
+                .catalogName(TestUtils.CATALOG_NAME)
+                .schemaName(TestUtils.SCHEMA_NAME)
+                .columns(
+                    List.of(
+                        new ColumnInfo()
+                            .name("as_int")
+                            .typeText("INTEGER")
+                            .typeJson("{\"type\": \"integer\"}")
+                            .typeName(ColumnTypeName.INT)
+                            .position(0)))
+                .storageLocation("/tmp/stagingLocation")
+                .tableType(TableType.EXTERNAL)
+                .dataSourceFormat(DataSourceFormat.DELTA));
+    String metadataLocation =
+        Objects.requireNonNull(this.getClass().getResource("/iceberg.metadata.json"))
+            .toURI()
+            .toString();
+    try (Session session = hibernateConfigurator.getSessionFactory().openSession()) {
+      Transaction tx = session.beginTransaction();
+      TableInfoDAO tableInfoDAO =
+          session.get(TableInfoDAO.class, UUID.fromString(tableInfo.getTableId()));
+      tableInfoDAO.setUniformIcebergMetadataLocation(metadataLocation);
+      session.merge(tableInfoDAO);
+      tx.commit();
+    }
+
+    // Iceberg clients join the levels of a namespace with %1F. Two levels are the catalog of the
+    // request and a schema in it.
+    String namespace = TestUtils.CATALOG_NAME + "%1F" + TestUtils.SCHEMA_NAME;
+    AggregatedHttpResponse resp =
+        client.get(TEST_BASE_PREFIX + "/namespaces/" + namespace).aggregate().join();
+    assertThat(resp.status().code()).isEqualTo(200);
+    assertThat(
+            RESTObjectMapper.mapper()
+                .readValue(resp.contentUtf8(), GetNamespaceResponse.class)
+                .namespace())
+        .isEqualTo(Namespace.of(TestUtils.SCHEMA_NAME));
+
+    String tablePath =
+        TEST_BASE_PREFIX + "/namespaces/" + namespace + "/tables/" + TestUtils.TABLE_NAME;
+    resp = client.head(tablePath).aggregate().join();
+    assertThat(resp.status().code()).isEqualTo(200);
+    resp = client.get(tablePath).aggregate().join();
+    assertThat(resp.status().code()).isEqualTo(200);
+    assertThat(
+            RESTObjectMapper.mapper()
+                .readValue(resp.contentUtf8(), LoadTableResponse.class)
+                .tableMetadata()
+                .metadataFileLocation())
+        .isEqualTo(
+            Objects.requireNonNull(this.getClass().getResource("/iceberg.metadata.json"))
+                .getPath());
+    resp = client.get(TEST_BASE_PREFIX + "/namespaces/" + namespace + "/tables").aggregate().join();
+    assertThat(resp.status().code()).isEqualTo(200);
+    assertThat(
+            RESTObjectMapper.mapper()
+                .readValue(resp.contentUtf8(), ListTablesResponse.class)
+                .identifiers())
+        .containsExactly(
+            TableIdentifier.of(Namespace.of(TestUtils.SCHEMA_NAME), TestUtils.TABLE_NAME));
+
+    // More than two levels, or two levels naming another catalog, are rejected.
+    for (String invalid :
+        List.of(
+            namespace + "%1Fextra",
+            "other_catalog%1F" + TestUtils.SCHEMA_NAME,
+            namespace + "%1Fextra/tables/" + TestUtils.TABLE_NAME)) {
+      resp = client.get(TEST_BASE_PREFIX + "/namespaces/" + invalid).aggregate().join();
+      assertThat(resp.status().code()).isEqualTo(400);
+      ErrorResponse errorResponse = ErrorResponseParser.fromJson(resp.contentUtf8());
+      assertThat(errorResponse.type()).isEqualTo(BadRequestException.class.getSimpleName());
+      assertThat(errorResponse.message()).contains("Invalid namespace");
+    }
+  }
+
+  @Test
+  public void testListTablesPaginated() throws ApiException, IOException {
+    catalogOperations.createCatalog(new CreateCatalog().name(TestUtils.CATALOG_NAME));
+    schemaOperations.createSchema(
+        new CreateSchema().catalogName(TestUtils.CATALOG_NAME).name(TestUtils.SCHEMA_NAME));
+    for (String name : List.of("table_a", "table_b", "table_c", "table_d")) {
+      TableInfo tableInfo =
+          tableOperations.createTable(
+              new CreateTable()
+                  .name(name)
+                  .catalogName(TestUtils.CATALOG_NAME)
+                  .schemaName(TestUtils.SCHEMA_NAME)
+                  .columns(
+                      List.of(
+                          new ColumnInfo()
+                              .name("as_int")
+                              .typeText("INTEGER")
+                              .typeJson("{\"type\": \"integer\"}")
+                              .typeName(ColumnTypeName.INT)
+                              .position(0)))
+                  .storageLocation("/tmp/" + name)
+                  .tableType(TableType.EXTERNAL)
+                  .dataSourceFormat(DataSourceFormat.DELTA));
+      if (name.equals("table_b")) {
+        // Not an Iceberg table, so it is not listed.
+        continue;
+      }
+      try (Session session = hibernateConfigurator.getSessionFactory().openSession()) {
+        Transaction tx = session.beginTransaction();
+        TableInfoDAO tableInfoDAO =
+            session.get(TableInfoDAO.class, UUID.fromString(tableInfo.getTableId()));
+        tableInfoDAO.setUniformIcebergMetadataLocation("file:///tmp/" + name + ".metadata.json");
+        session.merge(tableInfoDAO);
+        tx.commit();
+      }
+    }
+
+    String path = TEST_BASE_PREFIX + "/namespaces/" + TestUtils.SCHEMA_NAME + "/tables";
+    List<String> names = new ArrayList<>();
+    String pageToken = "";
+    int pages = 0;
+    do {
+      AggregatedHttpResponse resp =
+          client.get(path + "?pageSize=2&pageToken=" + pageToken).aggregate().join();
+      assertThat(resp.status().code()).isEqualTo(200);
+      ListTablesResponse page =
+          RESTObjectMapper.mapper().readValue(resp.contentUtf8(), ListTablesResponse.class);
+      assertThat(page.identifiers()).hasSizeLessThanOrEqualTo(2);
+      page.identifiers().forEach(identifier -> names.add(identifier.name()));
+      pageToken = page.nextPageToken();
+      pages++;
+    } while (pageToken != null);
+    assertThat(names).containsExactly("table_a", "table_c", "table_d");
+    assertThat(pages).isEqualTo(2);
+
+    // Without a page token, all tables are listed at once.
+    AggregatedHttpResponse resp = client.get(path).aggregate().join();
+    ListTablesResponse all =
+        RESTObjectMapper.mapper().readValue(resp.contentUtf8(), ListTablesResponse.class);
+    assertThat(all.identifiers()).hasSize(3);
+    assertThat(all.nextPageToken()).isNull();
+  }
 }
@@ -0,0 +1,139 @@
+package io.unitycatalog.server.service.credential;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class CredentialCacheTest {
+
+  private static final long MINUTE = 60_000;
+
+  private static CredentialContext context(String location, CredentialContext.Privilege... privs) {
+    return CredentialContext.create(URI.create(location), Set.of(privs));
+  }
+
+  /** Vends credentials that expire after the given time and counts the calls. */
+  private static class CountingVendor implements Function<CredentialContext, Long> {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final long validityMillis;
+
+    CountingVendor(long validityMillis) {
+      this.validityMillis = validityMillis;
+    }
+
+    @Override
+    public Long apply(CredentialContext context) {
+      calls.incrementAndGet();
+      return System.currentTimeMillis() + validityMillis;
+    }
+  }
+
+  @Test
+  void testCachesPerLocationAndPrivileges() {
+    CredentialCache<Long> cache = new CredentialCache<>(100, 15 * MINUTE, 30 * MINUTE, e -> e);
+    CountingVendor vendor = new CountingVendor(60 * MINUTE);
+
+    Long first =
+        cache.get(context("s3://bucket/table/", CredentialContext.Privilege.SELECT), vendor);
+    assertThat(cache.get(context("s3://bucket/table", CredentialContext.Privilege.SELECT), vendor))
+        .isEqualTo(first);
+    cache.get(context("s3://bucket/table", CredentialContext.Privilege.UPDATE), vendor);
+    cache.get(context("s3://bucket/other", CredentialContext.Privilege.SELECT), vendor);
+
+    assertThat(vendor.calls).hasValue(3);
+    assertThat(cache.stats()).isEqualTo(new CredentialCache.Stats(1, 3, 0, 0));
+  }
+
+  @Test
+  void testShortLivedCredentialsAreNotCached() {
+    CredentialCache<Long> cache = new CredentialCache<>(100, 15 * MINUTE, 30 * MINUTE, e -> e);
+    CountingVendor vendor = new CountingVendor(10 * MINUTE);
+
+    cache.get(context("s3://bucket/table", CredentialContext.Privilege.SELECT), vendor);
+    cache.get(context("s3://bucket/table", CredentialContext.Privilege.SELECT), vendor);
+
+    assertThat(vendor.calls).hasValue(2);
+  }
+
+  @Test
+  void testRefreshesAheadOfExpiry() throws Exception {
+    CredentialCache<Long> cache = new CredentialCache<>(100, 15 * MINUTE, 30 * MINUTE, e -> e);
+    CountingVendor vendor = new CountingVendor(20 * MINUTE);
+    CredentialContext context = context("s3://bucket/table", CredentialContext.Privilege.SELECT);
+
+    Long first = cache.get(context, vendor);
+    // Still returned, but replaced in the background.
+    assertThat(cache.get(context, vendor)).isEqualTo(first);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (cache.stats().refreshes() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(vendor.calls).hasValue(2);
+    assertThat(cache.get(context, vendor)).isGreaterThanOrEqualTo(first);
+  }
+
+  @Test
+  void testConcurrentRequestsShareOneCall() throws Exception {
+    CredentialCache<Long> cache = new CredentialCache<>(100, 15 * MINUTE, 30 * MINUTE, e -> e);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    Function<CredentialContext, Long> slowVendor =
+        context -> {
+          calls.incrementAndGet();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+          return System.currentTimeMillis() + 60 * MINUTE;
+        };
+    CredentialContext context = context("gs://bucket/table", CredentialContext.Privilege.SELECT);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Long>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.get(context, slowVendor)));
+      }
+      Thread.sleep(100);
+      release.countDown();
+      Long credential = results.get(0).get(10, TimeUnit.SECONDS);
+      for (Future<Long> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(credential);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void testFailuresAreNotCached() {
+    CredentialCache<Long> cache = new CredentialCache<>(100, 15 * MINUTE, 30 * MINUTE, e -> e);
+    CredentialContext context = context("s3://bucket/table", CredentialContext.Privilege.SELECT);
+
+    assertThatThrownBy(
+            () ->
+                cache.get(
+                    context,
+                    c -> {
+                      throw new IllegalStateException("throttled");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    CountingVendor vendor = new CountingVendor(60 * MINUTE);
+    cache.get(context, vendor);
+    assertThat(vendor.calls).hasValue(1);
+  }
+}
@@ -0,0 +1,93 @@
+package io.unitycatalog.server.service.iceberg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.unitycatalog.server.service.credential.CloudCredentialVendor;
+import io.unitycatalog.server.utils.ServerProperties;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import org.apache.iceberg.io.FileIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+public class FileIOFactoryTest {
+
+  private final CloudCredentialVendor cloudCredentialVendor = mock();
+  private FileIOFactory fileIOFactory;
+
+  @BeforeEach
+  public void setUp() {
+    Properties properties = new Properties();
+    properties.setProperty("s3.bucketPath.0", "s3://test-bucket");
+    properties.setProperty("s3.region.0", "us-east-1");
+    properties.setProperty("s3.awsRoleArn.0", "arn:aws:iam::123456789012:role/test");
+    fileIOFactory = new FileIOFactory(cloudCredentialVendor, new ServerProperties(properties));
+  }
+
+  private static Credentials credentialsValidFor(Duration duration) {
+    return Credentials.builder()
+        .accessKeyId("accessKey")
+        .secretAccessKey("secretKey")
+        .sessionToken("sessionToken")
+        .expiration(Instant.now().plus(duration))
+        .build();
+  }
+
+  @Test
+  public void testFileIOIsReusedPerMetadataDirectory() {
+    when(cloudCredentialVendor.vendAwsCredential(any()))
+        .thenReturn(credentialsValidFor(Duration.ofHours(1)));
+
+    FileIO first =
+        fileIOFactory.getFileIO(URI.create("s3://test-bucket/t1/metadata/00001.metadata.json"));
+    FileIO second =
+        fileIOFactory.getFileIO(URI.create("s3://test-bucket/t1/metadata/00002.metadata.json"));
+    FileIO otherTable =
+        fileIOFactory.getFileIO(URI.create("s3://test-bucket/t2/metadata/00001.metadata.json"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(otherTable).isNotSameAs(first);
+    verify(cloudCredentialVendor, times(2)).vendAwsCredential(any());
+  }
+
+  @Test
+  public void testFileIOIsReplacedWhenCredentialExpires() {
+    when(cloudCredentialVendor.vendAwsCredential(any()))
+        .thenReturn(credentialsValidFor(Duration.ZERO));
+
+    URI location = URI.create("s3://test-bucket/t1/metadata/00001.metadata.json");
+    FileIO first = fileIOFactory.getFileIO(location);
+    FileIO second = fileIOFactory.getFileIO(location);
+
+    assertThat(second).isNotSameAs(first);
+    verify(cloudCredentialVendor, times(2)).vendAwsCredential(any());
+  }
+
+  @Test
+  public void testFileIOWithShortLivedCredentialIsReused() {
+    // Less than the default minimum remaining validity of 15 minutes.
+    when(cloudCredentialVendor.vendAwsCredential(any()))
+        .thenReturn(credentialsValidFor(Duration.ofMinutes(5)));
+
+    URI location = URI.create("s3://test-bucket/t1/metadata/00001.metadata.json");
+    FileIO first = fileIOFactory.getFileIO(location);
+    FileIO second = fileIOFactory.getFileIO(location);
+
+    assertThat(second).isSameAs(first);
+    verify(cloudCredentialVendor, times(1)).vendAwsCredential(any());
+  }
+
+  @Test
+  public void testLocalFileIOIsNotPooled() {
+    assertThat(fileIOFactory.getFileIO(URI.create("file:///tmp/t1/metadata/00001.metadata.json")))
+        .isInstanceOf(SimpleLocalFileIO.class);
+  }
+}
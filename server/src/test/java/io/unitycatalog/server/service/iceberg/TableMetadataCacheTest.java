@@ -0,0 +1,139 @@
+package io.unitycatalog.server.service.iceberg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.unitycatalog.server.service.iceberg.TableMetadataCache.MetadataFile;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.iceberg.TableMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TableMetadataCacheTest {
+
+  @TempDir Path spillDirectory;
+
+  private String json;
+  private long weight;
+  private final AtomicInteger reads = new AtomicInteger();
+  private final Function<String, MetadataFile> reader =
+      location -> {
+        reads.incrementAndGet();
+        return new MetadataFile(location, json);
+      };
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    json =
+        new String(
+            Objects.requireNonNull(getClass().getResourceAsStream("/iceberg.metadata.json"))
+                .readAllBytes(),
+            StandardCharsets.UTF_8);
+    weight = TableMetadataCache.weigh(json);
+  }
+
+  @Test
+  public void testEntriesAreWeighedByEstimatedMemory() {
+    // Weighed by UTF-8 bytes rather than chars: "é" takes two.
+    assertThat(TableMetadataCache.weigh("{\"é\": 1}"))
+        .isEqualTo(9L * TableMetadataCache.PARSED_SIZE_FACTOR);
+  }
+
+  @Test
+  public void testTempFilesAreDeletedOnStartup() throws IOException {
+    Path tempFile = spillDirectory.resolve("abc.metadata.json123.tmp");
+    Files.writeString(tempFile, "s3://bucket/t1/v1.metadata.json\n{\"form");
+
+    TableMetadataCache cache = new TableMetadataCache(weight, spillDirectory, 1 << 30);
+    assertThat(tempFile).doesNotExist();
+    assertThat(cache.stats().spillBytes()).isZero();
+  }
+
+  @Test
+  public void testMetadataIsReadOncePerLocation() {
+    TableMetadataCache cache = new TableMetadataCache(1024 * 1024, null, 0);
+
+    TableMetadata first = cache.get("s3://bucket/t1/metadata/v1.metadata.json", reader);
+    TableMetadata second = cache.get("s3://bucket/t1/metadata/v1.metadata.json", reader);
+    cache.get("s3://bucket/t1/metadata/v2.metadata.json", reader);
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.metadataFileLocation()).isEqualTo("s3://bucket/t1/metadata/v1.metadata.json");
+    assertThat(reads).hasValue(2);
+    assertThat(cache.stats().hits()).isEqualTo(1);
+    assertThat(cache.stats().weightBytes()).isEqualTo(2L * weight);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedMetadataIsEvictedByWeight() {
+    // Room for two entries.
+    TableMetadataCache cache = new TableMetadataCache(2L * weight + 1, null, 0);
+
+    cache.get("s3://bucket/t1/v1.metadata.json", reader);
+    cache.get("s3://bucket/t2/v1.metadata.json", reader);
+    cache.get("s3://bucket/t1/v1.metadata.json", reader);
+    cache.get("s3://bucket/t3/v1.metadata.json", reader);
+    assertThat(reads).hasValue(3);
+
+    // t2 was the least recently used entry.
+    cache.get("s3://bucket/t1/v1.metadata.json", reader);
+    cache.get("s3://bucket/t2/v1.metadata.json", reader);
+    assertThat(reads).hasValue(4);
+    assertThat(cache.stats().weightBytes()).isEqualTo(2L * weight);
+  }
+
+  @Test
+  public void testEvictedMetadataIsReloadedFromSpillDirectory() {
+    // Room for one entry in memory.
+    TableMetadataCache cache = new TableMetadataCache(weight, spillDirectory, 1 << 30);
+
+    cache.get("s3://bucket/t1/v1.metadata.json", reader);
+    cache.get("s3://bucket/t2/v1.metadata.json", reader);
+    TableMetadata reloaded = cache.get("s3://bucket/t1/v1.metadata.json", reader);
+
+    assertThat(reads).hasValue(2);
+    assertThat(cache.stats().spillHits()).isEqualTo(1);
+    assertThat(reloaded.metadataFileLocation()).isEqualTo("s3://bucket/t1/v1.metadata.json");
+
+    // Spilled metadata survives a restart.
+    TableMetadataCache restarted = new TableMetadataCache(weight, spillDirectory, 1 << 30);
+    restarted.get("s3://bucket/t2/v1.metadata.json", reader);
+    assertThat(reads).hasValue(2);
+    assertThat(restarted.stats().spillHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void testUnreadableSpillFileIsReloadedFromStorage() throws IOException {
+    TableMetadataCache cache = new TableMetadataCache(weight, spillDirectory, 1 << 30);
+    cache.get("s3://bucket/t1/v1.metadata.json", reader);
+    Path spillFile;
+    try (Stream<Path> files = Files.list(spillDirectory)) {
+      spillFile = files.findFirst().orElseThrow();
+    }
+
+    // A file cut off before the end of its location line, e.g. by a crash while writing it.
+    Files.writeString(spillFile, "s3://bucket/t1/v1.meta");
+    TableMetadataCache restarted = new TableMetadataCache(weight, spillDirectory, 1 << 30);
+    TableMetadata reloaded = restarted.get("s3://bucket/t1/v1.metadata.json", reader);
+    assertThat(reloaded.metadataFileLocation()).isEqualTo("s3://bucket/t1/v1.metadata.json");
+    assertThat(reads).hasValue(2);
+    assertThat(restarted.stats().misses()).isEqualTo(1);
+    // The spill file is written again from storage.
+    assertThat(Files.readString(spillFile)).endsWith(json);
+
+    // A file cut off within the JSON.
+    Files.writeString(spillFile, "s3://bucket/t1/v1.metadata.json\n{\"format-version\"");
+    restarted = new TableMetadataCache(weight, spillDirectory, 1 << 30);
+    restarted.get("s3://bucket/t1/v1.metadata.json", reader);
+    assertThat(reads).hasValue(3);
+    assertThat(restarted.stats().spillHits()).isZero();
+    assertThat(Files.readString(spillFile)).endsWith(json);
+  }
+}
@@ -0,0 +1,82 @@
+package io.unitycatalog.server.utils;
+
+import static io.unitycatalog.server.security.SecurityContext.Issuers.INTERNAL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.unitycatalog.server.security.SecurityConfiguration;
+import io.unitycatalog.server.security.SecurityContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JwksOperationsTest {
+
+  @TempDir Path configurationFolder;
+  @TempDir Path rotatedConfigurationFolder;
+
+  private static SecurityContext securityContext(Path configurationFolder) {
+    return new SecurityContext(
+        configurationFolder, new SecurityConfiguration(configurationFolder), "server", INTERNAL);
+  }
+
+  private static DecodedJWT verify(JwksOperations jwksOperations, String token) {
+    DecodedJWT decodedJWT = JWT.decode(token);
+    return jwksOperations
+        .verifierForIssuerAndKey(decodedJWT.getIssuer(), decodedJWT.getKeyId())
+        .verify(decodedJWT);
+  }
+
+  @Test
+  void testVerifierIsCached() throws Exception {
+    SecurityContext securityContext = securityContext(configurationFolder);
+    JwksOperations jwksOperations = new JwksOperations(securityContext);
+
+    String token = securityContext.createServiceToken();
+    assertThat(verify(jwksOperations, token).getSubject()).isEqualTo("admin");
+    assertThat(jwksOperations.verifierForIssuerAndKey(INTERNAL, securityContext.getKeyId()))
+        .isSameAs(jwksOperations.verifierForIssuerAndKey(INTERNAL, securityContext.getKeyId()));
+
+    // Verification no longer reads the certs file.
+    Files.delete(securityContext.getCertsFile());
+    assertThat(verify(jwksOperations, token).getSubject()).isEqualTo("admin");
+  }
+
+  @Test
+  void testUnknownKeyIsRefetched() throws Exception {
+    SecurityContext securityContext = securityContext(configurationFolder);
+    SecurityContext rotatedContext = securityContext(rotatedConfigurationFolder);
+    JwksOperations jwksOperations =
+        new JwksOperations(securityContext, Duration.ofMinutes(15), Duration.ZERO);
+    verify(jwksOperations, securityContext.createServiceToken());
+
+    Files.copy(
+        rotatedContext.getCertsFile(),
+        securityContext.getCertsFile(),
+        StandardCopyOption.REPLACE_EXISTING);
+    assertThat(verify(jwksOperations, rotatedContext.createServiceToken()).getSubject())
+        .isEqualTo("admin");
+  }
+
+  @Test
+  void testRefetchIsRateLimited() throws Exception {
+    SecurityContext securityContext = securityContext(configurationFolder);
+    SecurityContext rotatedContext = securityContext(rotatedConfigurationFolder);
+    JwksOperations jwksOperations =
+        new JwksOperations(securityContext, Duration.ofMinutes(15), Duration.ofMinutes(15));
+    verify(jwksOperations, securityContext.createServiceToken());
+
+    Files.copy(
+        rotatedContext.getCertsFile(),
+        securityContext.getCertsFile(),
+        StandardCopyOption.REPLACE_EXISTING);
+    assertThatThrownBy(() -> verify(jwksOperations, rotatedContext.createServiceToken()))
+        .isInstanceOf(SigningKeyNotFoundException.class);
+  }
+}